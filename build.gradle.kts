@@ -38,6 +38,7 @@ dependencies {
     testImplementation("org.mockito:mockito-core:5.7.0")
     testImplementation("org.mockito:mockito-junit-jupiter:5.7.0")
     testImplementation("org.assertj:assertj-core:3.24.2")
+    testImplementation("com.h2database:h2:2.2.224")
 
     annotationProcessor("org.projectlombok:lombok:1.18.34")
 }
@@ -125,6 +126,21 @@ tasks.register("generateDocs") {
     }
 }
 
+// Task para executar o teste de carga contra o banco embarcado (H2 em modo MySQL)
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Executa o harness de carga com usuários concorrentes simulados"
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass.set("br.com.dio.loadtest.LoadTestRunner")
+}
+
+tasks.register<JavaExec>("snapshotBenchmark") {
+    group = "verification"
+    description = "Mede backup e restauração de snapshots binários sobre um banco H2"
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass.set("br.com.dio.loadtest.SnapshotBenchmark")
+}
+
 // Task para executar verificações completas
 tasks.register("fullCheck") {
     group = "verification"
@@ -1,35 +1,127 @@
 package br.com.dio;
 
+import br.com.dio.batch.BatchRunner;
 import br.com.dio.config.ApplicationConfig;
+import br.com.dio.event.DomainEventBus;
+import br.com.dio.event.DomainEventCounters;
+import br.com.dio.export.ExportFormat;
+import br.com.dio.feed.ChangeFeed;
+import br.com.dio.importer.CardImporter;
+import br.com.dio.importer.ImportCheckpoint;
+import br.com.dio.importer.ImportRecordReader;
+import br.com.dio.persistence.config.ConnectionConfig;
+import br.com.dio.persistence.config.GroupCommitExecutor;
 import br.com.dio.persistence.migration.MigrationStrategy;
+import br.com.dio.readmodel.CardReadModel;
+import br.com.dio.readmodel.DatabaseCardReadModelSource;
+import br.com.dio.server.BoardHttpServer;
+import br.com.dio.service.AsyncBoardService;
+import br.com.dio.service.BoardStatsService;
+import br.com.dio.scheduler.BoardPurger;
+import br.com.dio.scheduler.FlowStatsRefresher;
+import br.com.dio.scheduler.DueDateIndex;
+import br.com.dio.search.CardFacetIndex;
+import br.com.dio.service.CardExportService;
+import br.com.dio.service.CardQueryService;
+import br.com.dio.service.SnapshotService;
 import br.com.dio.ui.MainMenu;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
 
+import static br.com.dio.persistence.config.ConnectionConfig.getBoardConnection;
 import static br.com.dio.persistence.config.ConnectionConfig.getConnection;
+import static br.com.dio.persistence.config.ConnectionConfig.getShardRouter;
 
 /**
  * Classe principal da aplicação Board de Tarefas
  * Sistema de gerenciamento de boards estilo Kanban
+ *
+ * Modos de execução:
+ * <ul>
+ *     <li>sem argumentos: menu interativo</li>
+ *     <li>{@code --server [porta]}: servidor HTTP/JSON sem interface</li>
+ *     <li>{@code --batch <arquivo|-> [--commit-every=N] [--stop-on-error]}: script de comandos em lote</li>
+ *     <li>{@code --export <csv|json> <arquivo|-> [--board=ID]}: exportação de cards</li>
+ *     <li>{@code --import <csv|json> <arquivo> --board=ID [--resume]}: importação de cards</li>
+ *     <li>{@code --backup <arquivo> [--board=ID]} e {@code --restore <arquivo>}: snapshots binários</li>
+ *     <li>{@code --rebuild-stats [--board=ID]}: recalcula o resumo materializado das colunas</li>
+ * </ul>
  */
 @Slf4j
 public class Main {
 
     public static void main(String[] args) {
         log.info("=== INICIANDO APLICAÇÃO BOARD DE TAREFAS ===");
+        var startupStart = System.nanoTime();
         
         try {
             // Carrega configurações
+            var phaseStart = System.nanoTime();
             ApplicationConfig config = ApplicationConfig.getInstance();
-            log.info("Configurações carregadas: ambiente={}", config.getLogLevel());
+            log.info("Configurações carregadas: ambiente={} ({} ms)", config.getLogLevel(), elapsedMillis(phaseStart));
             
             // Executa migrações do banco
             log.info("Executando migrações do banco de dados...");
-            executeMigrations();
-            log.info("Migrações executadas com sucesso");
+            phaseStart = System.nanoTime();
+            executeMigrations(config);
+            log.info("Migrações executadas com sucesso ({} ms)", elapsedMillis(phaseStart));
+            log.info("Inicialização concluída em {} ms", elapsedMillis(startupStart));
             
+            if (args.length > 0 && args[0].equals("--server")) {
+                var port = args.length > 1 ? Integer.parseInt(args[1]) : config.getServerPort();
+                startDueDateIndex(config);
+                startDomainEvents();
+                startFacetIndex(config);
+                startChangeFeed(config);
+                startReadModel(config);
+                startBoardPurger();
+                startFlowStatsRefresher();
+                startServer(port, config.getServerMaxThreads());
+                return;
+            }
+            if (args.length > 0 && args[0].equals("--batch")) {
+                rejectWhenSharded(config, "--batch");
+                var summary = runBatch(args, config.getBatchCommitEvery());
+                System.exit(summary.getFailed() == 0 ? 0 : 2);
+            }
+            if (args.length > 0 && args[0].equals("--import")) {
+                var report = runImport(args, config);
+                System.exit(report.getRejected() == 0 ? 0 : 2);
+            }
+            if (args.length > 0 && (args[0].equals("--backup") || args[0].equals("--restore"))) {
+                if (args[0].equals("--restore")) {
+                    rejectWhenSharded(config, "--restore");
+                }
+                runSnapshot(args);
+                return;
+            }
+            if (args.length > 0 && args[0].equals("--export")) {
+                runExport(args);
+                return;
+            }
+            if (args.length > 0 && args[0].equals("--rebuild-stats")) {
+                runRebuildStats(args);
+                return;
+            }
+
             // Inicia interface do usuário
+            startDueDateIndex(config);
+            startDomainEvents();
+            startFacetIndex(config);
+            startChangeFeed(config);
+            startReadModel(config);
+            startBoardPurger();
+            startFlowStatsRefresher();
             log.info("Iniciando interface do usuário");
             new MainMenu().execute();
             
@@ -46,10 +138,251 @@ public class Main {
         }
     }
     
-    private static void executeMigrations() throws SQLException {
+    private static void startServer(final int port, final int fallbackThreads) throws IOException {
+        var server = new BoardHttpServer(port, fallbackThreads);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            AsyncBoardService.shutdown();
+            GroupCommitExecutor.shutdown();
+            ChangeFeed.shutdown();
+            BoardPurger.shutdown();
+            FlowStatsRefresher.shutdown();
+            DomainEventBus.shutdown();
+            ConnectionConfig.closePools();
+        }, "shutdown"));
+        server.start();
+        System.out.println("✅ Servidor HTTP iniciado na porta " + port + " (Ctrl+C para encerrar)");
+    }
+
+    private static void startDueDateIndex(final ApplicationConfig config) throws Exception {
+        var start = System.nanoTime();
+        var index = DueDateIndex.getInstance();
+        index.addListener(card -> log.warn("Card {} ({}) do board {} passou do prazo de {}",
+                card.cardId(), card.title(), card.boardId(), card.dueDate()));
+        index.start(() -> getShardRouter()
+                .scatter(connection -> new CardQueryService(connection).findOpenWithDueDate(), null)
+                .stream()
+                .flatMap(List::stream)
+                .toList(), Duration.ofMinutes(config.getDueDateResyncMinutes()));
+        log.info("Índice de prazos iniciado ({} ms)", elapsedMillis(start));
+    }
+
+    private static void startDomainEvents() {
+        var bus = DomainEventBus.getInstance();
+        bus.subscribe("counters", DomainEventCounters.getInstance());
+        log.info("Barramento de eventos iniciado com {} posições", bus.getCapacity());
+    }
+
+    private static void startFacetIndex(final ApplicationConfig config) throws Exception {
+        var start = System.nanoTime();
+        CardFacetIndex.getInstance().start(() -> getShardRouter()
+                .scatter(connection -> new CardQueryService(connection).findFacetRows(), null)
+                .stream()
+                .flatMap(List::stream)
+                .toList(), Duration.ofMinutes(config.getFacetsResyncMinutes()));
+        log.info("Índice de facetas iniciado ({} ms)", elapsedMillis(start));
+    }
+
+    private static void startChangeFeed(final ApplicationConfig config) throws SQLException {
+        if (!config.isChangeFeedEnabled()) {
+            return;
+        }
+        ChangeFeed.getInstance().start();
+    }
+
+    private static void startReadModel(final ApplicationConfig config) throws Exception {
+        if (!config.isReadModelEnabled()) {
+            return;
+        }
+        var model = CardReadModel.getInstance();
+        if (config.isChangeFeedEnabled()) {
+            // O feed já marcou o ponto de partida e só lê depois de um intervalo: o que mudar durante a
+            // carga chega pelo feed, que espera a carga terminar para entregar
+            ChangeFeed.getInstance().subscribe("read-model", model::onChanges);
+        }
+        model.start(new DatabaseCardReadModelSource(), Duration.ofMinutes(config.getReadModelResyncMinutes()));
+    }
+
+    private static void startBoardPurger() {
+        BoardPurger.getInstance().start();
+        log.info("Expurgo de boards excluídos iniciado");
+    }
+
+    private static void startFlowStatsRefresher() {
+        FlowStatsRefresher.getInstance().start();
+        log.info("Atualização das métricas de fluxo iniciada");
+    }
+
+    private static BatchRunner.BatchSummary runBatch(final String[] args, final int defaultCommitEvery)
+            throws IOException, SQLException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Uso: --batch <arquivo|-> [--commit-every=N] [--stop-on-error]");
+        }
+        var commitEvery = defaultCommitEvery;
+        var stopOnError = false;
+        for (var i = 2; i < args.length; i++) {
+            if (args[i].startsWith("--commit-every=")) {
+                commitEvery = Integer.parseInt(args[i].substring("--commit-every=".length()));
+            } else if (args[i].equals("--stop-on-error")) {
+                stopOnError = true;
+            } else {
+                throw new IllegalArgumentException("Opção de lote desconhecida: " + args[i]);
+            }
+        }
+        log.info("Executando lote {} (commit a cada {} comandos)", args[1], commitEvery);
+        try (Reader reader = args[1].equals("-")
+                ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                : Files.newBufferedReader(Path.of(args[1]), StandardCharsets.UTF_8);
+             var connection = getConnection()) {
+            return new BatchRunner(commitEvery, stopOnError, System.out).run(reader, connection);
+        }
+    }
+
+    private static CardImporter.ImportReport runImport(final String[] args, final ApplicationConfig config)
+            throws IOException, SQLException, InterruptedException {
+        if (args.length < 4) {
+            throw new IllegalArgumentException("Uso: --import <csv|json> <arquivo> --board=ID [--resume]");
+        }
+        var format = ExportFormat.findByName(args[1]);
+        var input = Path.of(args[2]);
+        Long boardId = null;
+        var resume = false;
+        for (var i = 3; i < args.length; i++) {
+            if (args[i].startsWith("--board=")) {
+                boardId = Long.parseLong(args[i].substring("--board=".length()));
+            } else if (args[i].equals("--resume")) {
+                resume = true;
+            } else {
+                throw new IllegalArgumentException("Opção de importação desconhecida: " + args[i]);
+            }
+        }
+        if (boardId == null) {
+            throw new IllegalArgumentException("Informe o board de destino com --board=ID");
+        }
+        var checkpoint = ImportCheckpoint.forInput(input);
+        if (!resume) {
+            checkpoint.delete();
+        }
+        log.info("Importando {} para o board {} (lotes de {}, {} threads de validação)",
+                input, boardId, config.getImportBatchSize(), config.getImportValidationThreads());
+        var importer = new CardImporter(config.getImportBatchSize(), config.getImportValidationThreads(),
+                config.getImportQueueCapacity());
+        try (var reader = ImportRecordReader.open(format, Files.newInputStream(input));
+             var connection = getBoardConnection(boardId)) {
+            var report = importer.run(reader, boardId, connection, checkpoint);
+            report.printReport(System.out);
+            return report;
+        }
+    }
+
+    private static void runSnapshot(final String[] args) throws IOException, SQLException {
+        var backup = args[0].equals("--backup");
+        if (args.length < 2 || args.length > (backup ? 3 : 2)) {
+            throw new IllegalArgumentException("Uso: --backup <arquivo> [--board=ID] | --restore <arquivo>");
+        }
+        Long boardId = null;
+        if (args.length == 3) {
+            if (!args[2].startsWith("--board=")) {
+                throw new IllegalArgumentException("Opção de backup desconhecida: " + args[2]);
+            }
+            boardId = Long.parseLong(args[2].substring("--board=".length()));
+        }
+        if (backup && boardId == null) {
+            rejectWhenSharded(ApplicationConfig.getInstance(), "--backup sem --board");
+        }
+        try (var connection = getBoardConnection(boardId)) {
+            var service = new SnapshotService(connection);
+            var stats = backup
+                    ? service.backup(boardId, Path.of(args[1]))
+                    : service.restore(Path.of(args[1]));
+            stats.printReport();
+        }
+    }
+
+    private static void runExport(final String[] args) throws IOException, SQLException {
+        if (args.length < 3 || args.length > 4) {
+            throw new IllegalArgumentException("Uso: --export <csv|json> <arquivo|-> [--board=ID]");
+        }
+        var format = ExportFormat.findByName(args[1]);
+        Long boardId = null;
+        if (args.length == 4) {
+            if (!args[3].startsWith("--board=")) {
+                throw new IllegalArgumentException("Opção de exportação desconhecida: " + args[3]);
+            }
+            boardId = Long.parseLong(args[3].substring("--board=".length()));
+        }
+        if (boardId == null) {
+            rejectWhenSharded(ApplicationConfig.getInstance(), "--export sem --board");
+        }
+        var toStdout = args[2].equals("-");
+        try (OutputStream out = toStdout ? System.out : Files.newOutputStream(Path.of(args[2]));
+             var connection = getBoardConnection(boardId)) {
+            connection.setReadOnly(true);
+            var count = new CardExportService(connection).export(boardId, format, out);
+            if (!toStdout) {
+                System.out.printf("✅ %d cards exportados para %s%n", count, args[2]);
+            }
+        }
+    }
+
+    private static void runRebuildStats(final String[] args) throws SQLException {
+        if (args.length > 2 || (args.length == 2 && !args[1].startsWith("--board="))) {
+            throw new IllegalArgumentException("Uso: --rebuild-stats [--board=ID]");
+        }
+        Long boardId = args.length == 2 ? Long.parseLong(args[1].substring("--board=".length())) : null;
+        if (boardId != null) {
+            try (var connection = getBoardConnection(boardId)) {
+                var columns = new BoardStatsService(connection).rebuild(boardId);
+                System.out.printf("✅ Resumo de %d coluna(s) recalculado%n", columns);
+            }
+            return;
+        }
+        // Sem board, cada shard recalcula os resumos dos seus próprios boards
+        var router = getShardRouter();
+        var columns = 0;
+        for (var shard : router.getShardNames()) {
+            try (var connection = router.leaseShard(shard, true, null)) {
+                columns += new BoardStatsService(connection).rebuild(null);
+            }
+        }
+        System.out.printf("✅ Resumo de %d coluna(s) recalculado%n", columns);
+    }
+
+    /**
+     * Migra o banco principal e cada shard configurado; em seguida registra no mapa de shards os boards
+     * que o banco principal já tinha
+     */
+    private static void executeMigrations(final ApplicationConfig config) throws SQLException {
+        var start = System.nanoTime();
         try (var connection = getConnection()) {
-            new MigrationStrategy(connection).executeMigration();
+            log.info("Conexão de migração aberta ({} ms)", elapsedMillis(start));
+            new MigrationStrategy(connection).executeMigration(config.isMigrationFastPathEnabled());
             connection.commit();
         }
+        for (var shard : config.getDatabaseShardUrls().entrySet()) {
+            try (var connection = getConnection(shard.getValue())) {
+                new MigrationStrategy(connection).executeMigration(config.isMigrationFastPathEnabled());
+                connection.commit();
+            }
+            log.info("Shard {} migrado", shard.getKey());
+        }
+        if (config.isShardingEnabled()) {
+            getShardRouter().registerPrimaryBoards();
+        }
+    }
+
+    /**
+     * Lotes e restaurações criam boards e cruzam boards em uma única conexão, e exportações e backups
+     * completos gravam um único arquivo a partir de um único banco: nada disso cabe em um shard só
+     */
+    private static void rejectWhenSharded(final ApplicationConfig config, final String option) {
+        if (config.isShardingEnabled()) {
+            throw new IllegalStateException("%s não é suportado com shards configurados (database.shard.urls)"
+                    .formatted(option));
+        }
+    }
+
+    private static long elapsedMillis(final long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
     }
 }
@@ -0,0 +1,34 @@
+package br.com.dio.backup;
+
+import lombok.NoArgsConstructor;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Layout do arquivo de snapshot (big-endian):
+ * <pre>
+ * cabeçalho: magic (int "BRDS") | versão (short) | criado em (long, epoch ms)
+ * registro:  tipo (byte) | tamanho do conteúdo (int) | conteúdo
+ * </pre>
+ * Strings são gravadas como tamanho em bytes (int, -1 para nulo) seguido do UTF-8;
+ * datas/horas como long (epoch ms) e datas como long (epoch day), com {@link #NULL_TIME} para nulo.
+ * Como todo registro carrega o próprio tamanho, leitores antigos conseguem pular campos e tipos novos.
+ * Os registros aparecem na ordem boards, colunas, cards, bloqueios e terminam com {@link #END}.
+ */
+@NoArgsConstructor(access = PRIVATE)
+final class SnapshotFormat {
+
+    static final int MAGIC = 0x42524453;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + Long.BYTES;
+    static final int RECORD_HEADER_SIZE = Byte.BYTES + Integer.BYTES;
+
+    static final byte BOARD = 'B';
+    static final byte COLUMN = 'C';
+    static final byte CARD = 'K';
+    static final byte BLOCK = 'L';
+    static final byte END = 'E';
+
+    static final long NULL_TIME = Long.MIN_VALUE;
+
+}
@@ -0,0 +1,157 @@
+package br.com.dio.backup;
+
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+import static br.com.dio.backup.SnapshotFormat.*;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Lê um snapshot mapeando o arquivo em memória: os registros são decodificados direto das
+ * páginas do arquivo, sem cópias intermediárias para buffers de leitura
+ *
+ * Uso: {@code while (reader.next()) switch (reader.type()) ...}, lendo os campos na ordem de gravação.
+ */
+public class SnapshotReader implements Closeable {
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long createdAt;
+    private byte type;
+    private int nextRecord;
+
+    @Getter
+    private long boards;
+    @Getter
+    private long columns;
+    @Getter
+    private long cards;
+    @Getter
+    private long blocks;
+
+    public SnapshotReader(final Path path) throws IOException {
+        this.channel = FileChannel.open(path, READ);
+        try {
+            var size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot maior que 2 GB não pode ser mapeado de uma vez: " + path);
+            }
+            this.buffer = channel.map(READ_ONLY, 0, size);
+            if (size < HEADER_SIZE || buffer.getInt() != MAGIC) {
+                throw new IOException("Arquivo não é um snapshot de boards: " + path);
+            }
+            var version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Versão de snapshot não suportada: " + version);
+            }
+            this.createdAt = buffer.getLong();
+            this.nextRecord = buffer.position();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Avança para o próximo registro, pulando campos não lidos do registro atual
+     * @return false ao chegar no registro final
+     */
+    public boolean next() throws IOException {
+        if (type == END) {
+            return false;
+        }
+        if (buffer.limit() - nextRecord < RECORD_HEADER_SIZE) {
+            throw new IOException("Snapshot truncado: registro final não encontrado");
+        }
+        buffer.position(nextRecord);
+        type = buffer.get();
+        var length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Snapshot corrompido na posição " + nextRecord);
+        }
+        nextRecord = buffer.position() + length;
+        switch (type) {
+            case BOARD -> boards++;
+            case COLUMN -> columns++;
+            case CARD -> cards++;
+            case BLOCK -> blocks++;
+            default -> { }
+        }
+        return type != END;
+    }
+
+    public RecordType type() {
+        return switch (type) {
+            case BOARD -> RecordType.BOARD;
+            case COLUMN -> RecordType.COLUMN;
+            case CARD -> RecordType.CARD;
+            case BLOCK -> RecordType.BLOCK;
+            default -> RecordType.UNKNOWN;
+        };
+    }
+
+    public long createdAt() {
+        return createdAt;
+    }
+
+    public long size() {
+        return buffer.limit();
+    }
+
+    public long readLong() {
+        return buffer.getLong();
+    }
+
+    public int readInt() {
+        return buffer.getInt();
+    }
+
+    public String readString() {
+        var length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public Timestamp readTimestamp() {
+        var value = buffer.getLong();
+        return value == NULL_TIME ? null : new Timestamp(value);
+    }
+
+    public Date readDate() {
+        var value = buffer.getLong();
+        return value == NULL_TIME ? null : Date.valueOf(LocalDate.ofEpochDay(value));
+    }
+
+    public BigDecimal readDecimal() {
+        var value = readString();
+        return value == null ? null : new BigDecimal(value);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Tipos de registro; {@code UNKNOWN} indica um tipo gravado por uma versão mais nova, que pode ser pulado
+     */
+    public enum RecordType {
+        BOARD, COLUMN, CARD, BLOCK, UNKNOWN
+    }
+
+}
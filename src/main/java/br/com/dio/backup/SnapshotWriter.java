@@ -0,0 +1,168 @@
+package br.com.dio.backup;
+
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+
+import static br.com.dio.backup.SnapshotFormat.*;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Grava um snapshot em {@link SnapshotFormat} através de um {@link FileChannel}
+ * Cada registro é montado em um buffer de rascunho (para conhecer o tamanho) e copiado para um
+ * buffer direto, que só vai para o canal quando enche
+ */
+public class SnapshotWriter implements Closeable {
+
+    private static final int CHANNEL_BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocateDirect(CHANNEL_BUFFER_SIZE);
+    private ByteBuffer record = ByteBuffer.allocate(4 * 1024);
+
+    @Getter
+    private long bytesWritten;
+    @Getter
+    private long boards;
+    @Getter
+    private long columns;
+    @Getter
+    private long cards;
+    @Getter
+    private long blocks;
+
+    public SnapshotWriter(final Path path) throws IOException {
+        this.channel = FileChannel.open(path, CREATE, TRUNCATE_EXISTING, WRITE);
+        out.putInt(MAGIC).putShort(VERSION).putLong(System.currentTimeMillis());
+    }
+
+    public void writeBoard(final long id, final String name) throws IOException {
+        record.clear();
+        putLong(id);
+        putString(name);
+        append(BOARD);
+        boards++;
+    }
+
+    public void writeColumn(final long id, final long boardId, final String name, final int order,
+                            final String kind) throws IOException {
+        record.clear();
+        putLong(id);
+        putLong(boardId);
+        putString(name);
+        ensure(Integer.BYTES);
+        record.putInt(order);
+        putString(kind);
+        append(COLUMN);
+        columns++;
+    }
+
+    public void writeCard(final long id, final long columnId, final String title, final String description,
+                          final Timestamp createdAt, final String priority, final Date dueDate,
+                          final BigDecimal estimatedHours, final BigDecimal actualHours) throws IOException {
+        record.clear();
+        putLong(id);
+        putLong(columnId);
+        putString(title);
+        putString(description);
+        putTime(createdAt);
+        putString(priority);
+        putLong(dueDate == null ? NULL_TIME : dueDate.toLocalDate().toEpochDay());
+        putString(estimatedHours == null ? null : estimatedHours.toPlainString());
+        putString(actualHours == null ? null : actualHours.toPlainString());
+        append(CARD);
+        cards++;
+    }
+
+    public void writeBlock(final long id, final long cardId, final Timestamp blockedAt, final String blockReason,
+                           final Timestamp unblockedAt, final String unblockReason) throws IOException {
+        record.clear();
+        putLong(id);
+        putLong(cardId);
+        putTime(blockedAt);
+        putString(blockReason);
+        putTime(unblockedAt);
+        putString(unblockReason);
+        append(BLOCK);
+        blocks++;
+    }
+
+    private void putLong(final long value) {
+        ensure(Long.BYTES);
+        record.putLong(value);
+    }
+
+    private void putTime(final Timestamp value) {
+        putLong(value == null ? NULL_TIME : value.getTime());
+    }
+
+    private void putString(final String value) {
+        if (value == null) {
+            ensure(Integer.BYTES);
+            record.putInt(-1);
+            return;
+        }
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensure(Integer.BYTES + bytes.length);
+        record.putInt(bytes.length);
+        record.put(bytes);
+    }
+
+    private void ensure(final int bytes) {
+        if (record.remaining() < bytes) {
+            var grown = ByteBuffer.allocate(Math.max(record.capacity() * 2, record.position() + bytes));
+            grown.put(record.flip());
+            record = grown;
+        }
+    }
+
+    private void append(final byte type) throws IOException {
+        record.flip();
+        if (out.remaining() < RECORD_HEADER_SIZE + record.remaining()) {
+            flush();
+        }
+        out.put(type).putInt(record.remaining());
+        if (record.remaining() > out.remaining()) {
+            // Registro maior que o buffer do canal: vai direto para o arquivo
+            flush();
+            while (record.hasRemaining()) {
+                bytesWritten += channel.write(record);
+            }
+            return;
+        }
+        out.put(record);
+    }
+
+    private void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            bytesWritten += channel.write(out);
+        }
+        out.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (out.remaining() < RECORD_HEADER_SIZE) {
+                flush();
+            }
+            out.put(END).putInt(0);
+            flush();
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+}
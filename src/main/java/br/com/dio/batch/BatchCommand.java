@@ -0,0 +1,30 @@
+package br.com.dio.batch;
+
+import java.util.List;
+
+/**
+ * Comando de um script de lote: nome e argumentos já separados, com a linha de origem para mensagens
+ */
+public record BatchCommand(int line, String name, List<String> args) {
+
+    public String arg(final int index) {
+        if (index >= args.size()) {
+            throw new IllegalArgumentException("O comando %s espera pelo menos %d argumento(s)".formatted(name, index + 1));
+        }
+        return args.get(index);
+    }
+
+    public void requireArgs(final int min, final int max) {
+        if (args.size() < min || args.size() > max) {
+            var expected = min == max ? String.valueOf(min) : "%d a %d".formatted(min, max);
+            throw new IllegalArgumentException("O comando %s espera %s argumento(s), recebeu %d"
+                    .formatted(name, expected, args.size()));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return args.isEmpty() ? name : name + " " + String.join(" ", args);
+    }
+
+}
@@ -0,0 +1,346 @@
+package br.com.dio.batch;
+
+import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.persistence.config.DeferredCommitConnection;
+import br.com.dio.persistence.config.DeferredCommitConnection.UnitRollbackException;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.service.BoardQueryService;
+import br.com.dio.service.BoardService;
+import br.com.dio.service.CardService;
+import br.com.dio.validation.EntityValidator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.PENDING;
+
+/**
+ * Executa scripts de lote sobre uma única conexão
+ *
+ * Comandos suportados:
+ * <pre>
+ * create-board &lt;nome&gt; &lt;inicial&gt; &lt;final&gt; &lt;cancelamento&gt; [pendente...]
+ * create-card  &lt;boardId&gt; &lt;título&gt; &lt;descrição&gt;
+ * move-card    &lt;boardId&gt; &lt;cardId&gt;
+ * cancel-card  &lt;boardId&gt; &lt;cardId&gt;
+ * block-card   &lt;boardId&gt; &lt;cardId&gt; &lt;motivo&gt;
+ * unblock-card &lt;cardId&gt; &lt;motivo&gt;
+ * due-card     &lt;cardId&gt; &lt;aaaa-mm-dd|none&gt;
+ * delete-board &lt;boardId&gt;
+ * commit
+ * </pre>
+ * {@code $board} e {@code $card} referenciam o último board e o último card criados pelo script.
+ * Cada comando roda em um savepoint próprio; o commit acontece a cada {@code commitEvery}
+ * comandos bem-sucedidos, no comando {@code commit} e ao final do script.
+ * Uma linha malformada interrompe o lote depois de efetivar os comandos anteriores; uma falha de banco
+ * fora dos comandos (commit, savepoint que não pôde ser desfeito) desfaz o que estava pendente.
+ */
+@Slf4j
+public class BatchRunner {
+
+    private final int commitEvery;
+    private final boolean stopOnError;
+    private final PrintStream out;
+
+    private final Map<Long, BoardEntity> boards = new HashMap<>();
+    private Long lastBoardId;
+    private Long lastCardId;
+
+    public BatchRunner(final int commitEvery, final boolean stopOnError, final PrintStream out) {
+        if (commitEvery <= 0) {
+            throw new IllegalArgumentException("commitEvery deve ser maior que zero");
+        }
+        this.commitEvery = commitEvery;
+        this.stopOnError = stopOnError;
+        this.out = out;
+    }
+
+    public BatchSummary run(final Reader script, final Connection physical) throws IOException, SQLException {
+        var session = new DeferredCommitConnection(physical);
+        var summary = new BatchSummary();
+        var start = System.nanoTime();
+        try {
+            BatchScriptParser.parse(script, command -> execute(command, session, summary));
+            commit(session, summary);
+        } catch (StopException e) {
+            commit(session, summary);
+            out.printf("⛔ Execução interrompida na linha %d%n", e.line);
+        } catch (IllegalArgumentException e) {
+            // Linha que nem chega a ser um comando (aspas não fechadas): efetiva o que veio antes, como no stop-on-error
+            summary.failed++;
+            commit(session, summary);
+            out.printf("⛔ Execução interrompida: %s%n", e.getMessage());
+        } catch (UncheckedSqlException e) {
+            try {
+                session.rollback();
+            } catch (SQLException rollbackFailure) {
+                e.getCause().addSuppressed(rollbackFailure);
+            }
+            out.printf("⛔ Execução interrompida, comandos não efetivados foram desfeitos: %s%n", e.getCause().getMessage());
+            finish(summary, start);
+            throw e.getCause();
+        }
+        finish(summary, start);
+        return summary;
+    }
+
+    private void finish(final BatchSummary summary, final long start) {
+        summary.elapsedNanos = System.nanoTime() - start;
+        summary.print(out);
+    }
+
+    private void execute(final BatchCommand command, final DeferredCommitConnection session, final BatchSummary summary) {
+        if (command.name().equals("commit")) {
+            runCommit(session, summary);
+            return;
+        }
+        var start = System.nanoTime();
+        try {
+            var result = session.execute(connection -> dispatch(command, connection));
+            var millis = (System.nanoTime() - start) / 1_000_000.0;
+            summary.succeeded++;
+            out.printf("[linha %4d] %-13s OK   %8.2f ms%s%n", command.line(), command.name(), millis,
+                    result == null ? "" : " " + result);
+        } catch (UnitRollbackException e) {
+            // Os comandos pendentes foram perdidos junto com a transação: seguir daria a falsa impressão de sucesso
+            summary.failed++;
+            out.printf("[linha %4d] %-13s ERRO %s%n", command.line(), command.name(), e.getMessage());
+            throw new UncheckedSqlException(e);
+        } catch (Exception e) {
+            var millis = (System.nanoTime() - start) / 1_000_000.0;
+            summary.failed++;
+            out.printf("[linha %4d] %-13s ERRO %8.2f ms %s%n", command.line(), command.name(), millis, e.getMessage());
+            log.debug("Falha no comando de lote '{}' (linha {})", command, command.line(), e);
+            if (stopOnError) {
+                throw new StopException(command.line());
+            }
+        }
+        // Fora do try: uma falha no commit não é falha do comando e interrompe o lote
+        if (session.getPendingUnits() >= commitEvery) {
+            runCommit(session, summary);
+        }
+    }
+
+    private String dispatch(final BatchCommand command, final Connection connection) throws SQLException {
+        return switch (command.name()) {
+            case "create-board" -> createBoard(command, connection);
+            case "create-card" -> {
+                command.requireArgs(3, 3);
+                var board = board(command.arg(0), connection);
+                var card = new CardEntity();
+                card.setTitle(command.arg(1));
+                card.setDescription(command.arg(2));
+                card.setBoardColumn(board.getInitialColumn());
+                EntityValidator.validateCard(card);
+                new CardService(connection).create(card);
+                lastCardId = card.getId();
+                yield "id=" + card.getId();
+            }
+            case "move-card" -> {
+                command.requireArgs(2, 2);
+                var board = board(command.arg(0), connection);
+                new CardService(connection).moveToNextColumn(cardId(command.arg(1)), columnsInfo(board));
+                yield null;
+            }
+            case "cancel-card" -> {
+                command.requireArgs(2, 2);
+                var board = board(command.arg(0), connection);
+                new CardService(connection).cancel(cardId(command.arg(1)), board.getCancelColumn().getId(), columnsInfo(board));
+                yield null;
+            }
+            case "block-card" -> {
+                command.requireArgs(3, 3);
+                var board = board(command.arg(0), connection);
+                EntityValidator.validateBlockReason(command.arg(2));
+                new CardService(connection).block(cardId(command.arg(1)), command.arg(2), columnsInfo(board));
+                yield null;
+            }
+            case "unblock-card" -> {
+                command.requireArgs(2, 2);
+                new CardService(connection).unblock(cardId(command.arg(0)), command.arg(1));
+                yield null;
+            }
+            case "due-card" -> {
+                command.requireArgs(2, 2);
+                new CardService(connection).updateDueDate(cardId(command.arg(0)), dueDate(command.arg(1)));
+                yield null;
+            }
+            case "delete-board" -> {
+                command.requireArgs(1, 1);
+                var boardId = boardId(command.arg(0));
+                if (!new BoardService(connection).delete(boardId)) {
+                    throw new EntityNotFoundException("Board com ID %s não foi encontrado".formatted(boardId));
+                }
+                boards.remove(boardId);
+                yield null;
+            }
+            default -> throw new IllegalArgumentException("Comando desconhecido: " + command.name());
+        };
+    }
+
+    private String createBoard(final BatchCommand command, final Connection connection) throws SQLException {
+        command.requireArgs(4, 14);
+        var board = new BoardEntity();
+        board.setName(command.arg(0));
+        var pending = command.args().subList(4, command.args().size());
+        List<BoardColumnEntity> columns = new ArrayList<>();
+        columns.add(column(command.arg(1), INITIAL, 0));
+        for (var i = 0; i < pending.size(); i++) {
+            columns.add(column(pending.get(i), PENDING, i + 1));
+        }
+        columns.add(column(command.arg(2), FINAL, pending.size() + 1));
+        columns.add(column(command.arg(3), CANCEL, pending.size() + 2));
+        board.setBoardColumns(columns);
+        EntityValidator.validateBoard(board);
+        new BoardService(connection).insert(board);
+        boards.put(board.getId(), board);
+        lastBoardId = board.getId();
+        return "id=" + board.getId();
+    }
+
+    private BoardEntity board(final String reference, final Connection connection) throws SQLException {
+        var boardId = boardId(reference);
+        var cached = boards.get(boardId);
+        if (cached != null) {
+            return cached;
+        }
+        var board = new BoardQueryService(connection).findById(boardId)
+                .orElseThrow(() -> new EntityNotFoundException("Board com ID %s não foi encontrado".formatted(boardId)));
+        boards.put(boardId, board);
+        return board;
+    }
+
+    private Long boardId(final String reference) {
+        return resolve(reference, "$board", lastBoardId);
+    }
+
+    private Long cardId(final String reference) {
+        return resolve(reference, "$card", lastCardId);
+    }
+
+    private static Long resolve(final String reference, final String variable, final Long lastValue) {
+        if (reference.equals(variable)) {
+            if (lastValue == null) {
+                throw new IllegalArgumentException(variable + " usado antes de qualquer criação no script");
+            }
+            return lastValue;
+        }
+        try {
+            return Long.parseLong(reference);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Id inválido: " + reference);
+        }
+    }
+
+    private static LocalDate dueDate(final String value) {
+        if (value.equalsIgnoreCase("none")) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Prazo inválido (use aaaa-mm-dd ou none): " + value);
+        }
+    }
+
+    private static List<BoardColumnInfoDTO> columnsInfo(final BoardEntity board) {
+        return board.getBoardColumns().stream()
+                .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind()))
+                .toList();
+    }
+
+    private static BoardColumnEntity column(final String name, final BoardColumnKindEnum kind, final int order) {
+        var column = new BoardColumnEntity();
+        column.setName(name);
+        column.setKind(kind);
+        column.setOrder(order);
+        return column;
+    }
+
+    private void runCommit(final DeferredCommitConnection session, final BatchSummary summary) {
+        try {
+            commit(session, summary);
+        } catch (SQLException e) {
+            throw new UncheckedSqlException(e);
+        }
+    }
+
+    private void commit(final DeferredCommitConnection session, final BatchSummary summary) throws SQLException {
+        if (session.getPendingUnits() == 0) {
+            return;
+        }
+        var start = System.nanoTime();
+        var units = session.getPendingUnits();
+        session.commit();
+        summary.commits++;
+        out.printf("              commit        OK   %8.2f ms (%d comando(s))%n", (System.nanoTime() - start) / 1_000_000.0, units);
+    }
+
+    /**
+     * Totais de uma execução em lote
+     */
+    public static class BatchSummary {
+
+        private long succeeded;
+        private long failed;
+        private long commits;
+        private long elapsedNanos;
+
+        public long getSucceeded() { return succeeded; }
+        public long getFailed() { return failed; }
+        public long getCommits() { return commits; }
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        void print(final PrintStream out) {
+            var seconds = elapsedNanos / 1_000_000_000.0;
+            out.println("\n=== RESUMO DO LOTE ===");
+            out.printf("Comandos executados: %d | Falhas: %d | Commits: %d%n", succeeded, failed, commits);
+            out.printf("Tempo total: %.3f s | Vazão: %.1f comandos/s%n", seconds,
+                    seconds > 0 ? (succeeded + failed) / seconds : 0);
+            out.println("======================\n");
+        }
+
+    }
+
+    private static final class StopException extends RuntimeException {
+
+        private final int line;
+
+        private StopException(final int line) {
+            super(null, null, false, false);
+            this.line = line;
+        }
+
+    }
+
+    private static final class UncheckedSqlException extends RuntimeException {
+
+        private UncheckedSqlException(final SQLException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized SQLException getCause() {
+            return (SQLException) super.getCause();
+        }
+
+    }
+
+}
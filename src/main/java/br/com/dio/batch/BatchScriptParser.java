@@ -0,0 +1,77 @@
+package br.com.dio.batch;
+
+import lombok.NoArgsConstructor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Leitura de scripts de lote: um comando por linha, argumentos separados por espaço,
+ * aspas duplas para argumentos com espaços e {@code #} para comentários
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class BatchScriptParser {
+
+    /**
+     * Lê o script linha a linha, entregando cada comando ao consumidor sem manter o arquivo em memória
+     */
+    public static void parse(final Reader reader, final Consumer<BatchCommand> consumer) throws IOException {
+        var buffered = reader instanceof BufferedReader b ? b : new BufferedReader(reader);
+        String line;
+        var number = 0;
+        while ((line = buffered.readLine()) != null) {
+            number++;
+            var tokens = tokenize(line, number);
+            if (!tokens.isEmpty()) {
+                consumer.accept(new BatchCommand(number, tokens.get(0).toLowerCase(), tokens.subList(1, tokens.size())));
+            }
+        }
+    }
+
+    static List<String> tokenize(final String line, final int number) {
+        List<String> tokens = new ArrayList<>();
+        var current = new StringBuilder();
+        var inQuotes = false;
+        var hasToken = false;
+        for (var i = 0; i < line.length(); i++) {
+            var ch = line.charAt(i);
+            if (inQuotes) {
+                if (ch == '\\' && i + 1 < line.length()) {
+                    current.append(line.charAt(++i));
+                } else if (ch == '"') {
+                    inQuotes = false;
+                } else {
+                    current.append(ch);
+                }
+            } else if (ch == '"') {
+                inQuotes = true;
+                hasToken = true;
+            } else if (ch == '#') {
+                break;
+            } else if (Character.isWhitespace(ch)) {
+                if (hasToken) {
+                    tokens.add(current.toString());
+                    current.setLength(0);
+                    hasToken = false;
+                }
+            } else {
+                current.append(ch);
+                hasToken = true;
+            }
+        }
+        if (inQuotes) {
+            throw new IllegalArgumentException("Aspas não fechadas na linha " + number);
+        }
+        if (hasToken) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+}
@@ -5,6 +5,10 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -21,8 +25,41 @@ public class ApplicationConfig {
     private final String databaseUser;
     private final String databasePassword;
     private final int maxConnectionPoolSize;
+    private final long connectionLeaseTimeoutMs;
+    private final List<String> databaseReplicaUrls;
+    private final String replicaSelection;
+    private final long replicaStickinessMs;
+    private final Map<String, String> databaseShardUrls;
+    private final long shardTimeoutMs;
+    private final long groupCommitWindowMs;
+    private final int groupCommitMaxSize;
     private final boolean enableQueryLogging;
+    private final boolean migrationFastPathEnabled;
     private final String logLevel;
+    private final int serverPort;
+    private final int serverMaxThreads;
+    private final int batchCommitEvery;
+    private final int reportParallelism;
+    private final long reportTimeoutMs;
+    private final int asyncThreads;
+    private final int asyncQueueCapacity;
+    private final long asyncTimeoutMs;
+    private final int eventsBufferSize;
+    private final int importBatchSize;
+    private final int importValidationThreads;
+    private final int importQueueCapacity;
+    private final int dueDateResyncMinutes;
+    private final int facetsResyncMinutes;
+    private final boolean readModelEnabled;
+    private final int readModelResyncMinutes;
+    private final long changeFeedIntervalMs;
+    private final long changeFeedSafetyLagMs;
+    private final int changeFeedBatchSize;
+    private final int purgeChunkSize;
+    private final long purgePauseMs;
+    private final int purgeIntervalSeconds;
+    private final int analyticsRefreshSeconds;
+    private final long analyticsSafetyLagMs;
     
     private ApplicationConfig() {
         Properties props = loadProperties();
@@ -31,8 +68,45 @@ public class ApplicationConfig {
         this.databaseUser = props.getProperty("database.user", "board");
         this.databasePassword = props.getProperty("database.password", "board");
         this.maxConnectionPoolSize = Integer.parseInt(props.getProperty("database.pool.max", "10"));
+        this.connectionLeaseTimeoutMs = Long.parseLong(props.getProperty("database.pool.timeout.ms", "30000"));
+        this.databaseReplicaUrls = Arrays.stream(props.getProperty("database.replica.urls", "").split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .toList();
+        this.replicaSelection = props.getProperty("database.replica.selection", "round-robin");
+        this.replicaStickinessMs = Long.parseLong(props.getProperty("database.replica.stickiness.ms", "5000"));
+        this.databaseShardUrls = parseShards(props.getProperty("database.shard.urls", ""));
+        this.shardTimeoutMs = Long.parseLong(props.getProperty("database.shard.timeout.ms", "30000"));
+        this.groupCommitWindowMs = Long.parseLong(props.getProperty("database.group.commit.window.ms", "0"));
+        this.groupCommitMaxSize = Integer.parseInt(props.getProperty("database.group.commit.max", "32"));
         this.enableQueryLogging = Boolean.parseBoolean(props.getProperty("database.query.logging", "false"));
+        this.migrationFastPathEnabled = Boolean.parseBoolean(props.getProperty("database.migration.fastpath", "true"));
         this.logLevel = props.getProperty("logging.level", "INFO");
+        this.serverPort = Integer.parseInt(props.getProperty("server.port", "8080"));
+        this.serverMaxThreads = Integer.parseInt(props.getProperty("server.threads", "64"));
+        this.batchCommitEvery = Integer.parseInt(props.getProperty("batch.commit.every", "100"));
+        this.reportParallelism = Integer.parseInt(props.getProperty("report.parallelism", "4"));
+        this.reportTimeoutMs = Long.parseLong(props.getProperty("report.timeout.ms", "60000"));
+        this.asyncThreads = Integer.parseInt(props.getProperty("async.threads", "8"));
+        this.asyncQueueCapacity = Integer.parseInt(props.getProperty("async.queue.capacity", "200"));
+        this.asyncTimeoutMs = Long.parseLong(props.getProperty("async.timeout.ms", "10000"));
+        this.eventsBufferSize = Integer.parseInt(props.getProperty("events.buffer.size", "1024"));
+        this.importBatchSize = Integer.parseInt(props.getProperty("import.batch.size", "500"));
+        this.importValidationThreads = Integer.parseInt(props.getProperty("import.validation.threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        this.importQueueCapacity = Integer.parseInt(props.getProperty("import.queue.capacity", "8"));
+        this.dueDateResyncMinutes = Integer.parseInt(props.getProperty("duedate.resync.minutes", "15"));
+        this.facetsResyncMinutes = Integer.parseInt(props.getProperty("search.facets.resync.minutes", "15"));
+        this.readModelEnabled = Boolean.parseBoolean(props.getProperty("readmodel.enabled", "false"));
+        this.readModelResyncMinutes = Integer.parseInt(props.getProperty("readmodel.resync.minutes", "15"));
+        this.changeFeedIntervalMs = Long.parseLong(props.getProperty("changefeed.interval.ms", "0"));
+        this.changeFeedSafetyLagMs = Long.parseLong(props.getProperty("changefeed.safety.lag.ms", "2000"));
+        this.changeFeedBatchSize = Integer.parseInt(props.getProperty("changefeed.batch.size", "500"));
+        this.purgeChunkSize = Integer.parseInt(props.getProperty("purge.chunk.size", "500"));
+        this.purgePauseMs = Long.parseLong(props.getProperty("purge.pause.ms", "50"));
+        this.purgeIntervalSeconds = Integer.parseInt(props.getProperty("purge.interval.seconds", "60"));
+        this.analyticsRefreshSeconds = Integer.parseInt(props.getProperty("analytics.refresh.seconds", "30"));
+        this.analyticsSafetyLagMs = Long.parseLong(props.getProperty("analytics.safety.lag.ms", "2000"));
         
         log.info("Configuração da aplicação carregada com sucesso");
     }
@@ -48,6 +122,48 @@ public class ApplicationConfig {
         return instance;
     }
     
+    /**
+     * Há shards além do banco principal
+     */
+    public boolean isShardingEnabled() {
+        return !databaseShardUrls.isEmpty();
+    }
+
+    /**
+     * Escritas de cards do servidor são agrupadas em uma transação por janela
+     */
+    public boolean isGroupCommitEnabled() {
+        return groupCommitWindowMs > 0;
+    }
+
+    /**
+     * Mudanças de outros processos são lidas do banco a cada intervalo
+     */
+    public boolean isChangeFeedEnabled() {
+        return changeFeedIntervalMs > 0;
+    }
+
+    /**
+     * Lê a lista {@code nome=url,nome=url}; o nome {@code primary} é reservado ao banco principal
+     */
+    private static Map<String, String> parseShards(final String value) {
+        Map<String, String> shards = new LinkedHashMap<>();
+        for (var entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            var separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Shard inválido em database.shard.urls (use nome=url): " + entry.trim());
+            }
+            var name = entry.substring(0, separator).trim();
+            if (name.equals("primary") || shards.put(name, entry.substring(separator + 1).trim()) != null) {
+                throw new IllegalArgumentException("Nome de shard repetido ou reservado: " + name);
+            }
+        }
+        return shards;
+    }
+
     private Properties loadProperties() {
         Properties props = new Properties();
         
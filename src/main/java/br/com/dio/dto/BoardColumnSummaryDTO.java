@@ -0,0 +1,9 @@
+package br.com.dio.dto;
+
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+
+public record BoardColumnSummaryDTO(Long id,
+                                    String name,
+                                    int order,
+                                    BoardColumnKindEnum kind) {
+}
@@ -0,0 +1,12 @@
+package br.com.dio.dto;
+
+/**
+ * Andamento do expurgo: o board em expurgo agora (nulo se nenhum), quantos cards ele tinha e quantos
+ * já saíram, e os totais desde o início do processo
+ */
+public record BoardPurgeStatusDTO(Long currentBoardId,
+                                  long currentBoardCards,
+                                  long currentBoardPurgedCards,
+                                  long purgedBoards,
+                                  long purgedCards) {
+}
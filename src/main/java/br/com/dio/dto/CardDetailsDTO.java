@@ -1,5 +1,6 @@
 package br.com.dio.dto;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 
 public record CardDetailsDTO(Long id,
@@ -10,6 +11,8 @@ public record CardDetailsDTO(Long id,
                              String blockReason,
                              int blocksAmount,
                              Long columnId,
-                             String columnName
+                             String columnName,
+                             Long boardId,
+                             LocalDate dueDate
 ) {
 }
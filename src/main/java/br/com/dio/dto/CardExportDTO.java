@@ -0,0 +1,18 @@
+package br.com.dio.dto;
+
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+
+import java.time.OffsetDateTime;
+
+public record CardExportDTO(Long id,
+                            String title,
+                            String description,
+                            Long boardId,
+                            String boardName,
+                            Long columnId,
+                            String columnName,
+                            BoardColumnKindEnum columnKind,
+                            boolean blocked,
+                            String blockReason,
+                            OffsetDateTime createdAt) {
+}
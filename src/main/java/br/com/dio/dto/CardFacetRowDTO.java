@@ -0,0 +1,8 @@
+package br.com.dio.dto;
+
+public record CardFacetRowDTO(long cardId,
+                              long boardId,
+                              long columnId,
+                              String priority,
+                              boolean blocked) {
+}
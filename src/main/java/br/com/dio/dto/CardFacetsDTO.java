@@ -0,0 +1,14 @@
+package br.com.dio.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contagens por faceta dos cards que atendem aos filtros de board, coluna e bloqueio de uma busca
+ * As colunas vêm em ordem de board e coluna
+ */
+public record CardFacetsDTO(long total,
+                            long blocked,
+                            List<ColumnFacetDTO> columns,
+                            Map<String, Long> priorities) {
+}
@@ -0,0 +1,22 @@
+package br.com.dio.dto;
+
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Movimentação de card com os instantes necessários para as métricas de fluxo
+ * @param enteredFromColumnAt quando o card entrou na coluna de origem (movimentação anterior ou criação)
+ * @param firstMovedAt primeira movimentação do card, ou seja, quando saiu da coluna inicial
+ */
+public record CardMovementDTO(Long id,
+                              Long cardId,
+                              Long boardId,
+                              Long fromColumnId,
+                              Long toColumnId,
+                              BoardColumnKindEnum toColumnKind,
+                              OffsetDateTime movedAt,
+                              OffsetDateTime enteredFromColumnAt,
+                              OffsetDateTime cardCreatedAt,
+                              OffsetDateTime firstMovedAt) {
+}
@@ -0,0 +1,7 @@
+package br.com.dio.dto;
+
+public record CardReadRowDTO(long cardId,
+                             long boardId,
+                             long columnId,
+                             String title) {
+}
@@ -0,0 +1,9 @@
+package br.com.dio.dto;
+
+public record CardSummaryDTO(Long id,
+                             String title,
+                             String description,
+                             Long boardId,
+                             Long columnId,
+                             String columnName) {
+}
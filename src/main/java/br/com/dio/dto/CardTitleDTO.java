@@ -0,0 +1,5 @@
+package br.com.dio.dto;
+
+public record CardTitleDTO(Long id,
+                           String title) {
+}
@@ -0,0 +1,19 @@
+package br.com.dio.dto;
+
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+
+public record ColumnAgingDTO(Long boardId,
+                             String boardName,
+                             Long columnId,
+                             String columnName,
+                             BoardColumnKindEnum columnKind,
+                             long upTo7Days,
+                             long upTo30Days,
+                             long upTo90Days,
+                             long over90Days) {
+
+    public long total() {
+        return upTo7Days + upTo30Days + upTo90Days + over90Days;
+    }
+
+}
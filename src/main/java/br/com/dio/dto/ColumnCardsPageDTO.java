@@ -0,0 +1,16 @@
+package br.com.dio.dto;
+
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+
+import java.util.List;
+
+/**
+ * Uma página dos cards da coluna, em ordem de id; {@code nextAfter} é o {@code after} da próxima página,
+ * nulo na última
+ */
+public record ColumnCardsPageDTO(Long id,
+                                 String name,
+                                 BoardColumnKindEnum kind,
+                                 List<CardTitleDTO> cards,
+                                 Long nextAfter) {
+}
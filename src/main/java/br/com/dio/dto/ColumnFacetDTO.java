@@ -0,0 +1,7 @@
+package br.com.dio.dto;
+
+/**
+ * Contagem de uma coluna, identificada pelo board porque ids de colunas só são únicos dentro de um shard
+ */
+public record ColumnFacetDTO(long boardId, long columnId, long cards, long blocked) {
+}
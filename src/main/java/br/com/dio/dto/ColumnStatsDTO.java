@@ -0,0 +1,31 @@
+package br.com.dio.dto;
+
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public record ColumnStatsDTO(Long columnId,
+                             String columnName,
+                             BoardColumnKindEnum columnKind,
+                             long totalCards,
+                             long blockedCards,
+                             long overdueCards,
+                             BigDecimal estimatedHoursSum,
+                             long estimatedCount,
+                             BigDecimal actualHoursSum,
+                             long actualCount) {
+
+    public BigDecimal avgEstimatedHours() {
+        return average(estimatedHoursSum, estimatedCount);
+    }
+
+    public BigDecimal avgActualHours() {
+        return average(actualHoursSum, actualCount);
+    }
+
+    private static BigDecimal average(final BigDecimal sum, final long count) {
+        return count == 0 ? null : sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+
+}
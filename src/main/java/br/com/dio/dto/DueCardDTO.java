@@ -0,0 +1,9 @@
+package br.com.dio.dto;
+
+import java.time.LocalDate;
+
+public record DueCardDTO(Long cardId,
+                         String title,
+                         Long boardId,
+                         LocalDate dueDate) {
+}
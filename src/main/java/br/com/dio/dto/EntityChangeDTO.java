@@ -0,0 +1,12 @@
+package br.com.dio.dto;
+
+import br.com.dio.persistence.entity.ChangedEntityEnum;
+
+import java.time.OffsetDateTime;
+
+public record EntityChangeDTO(ChangedEntityEnum entity,
+                              long id,
+                              long boardId,
+                              OffsetDateTime changedAt,
+                              boolean deleted) {
+}
@@ -0,0 +1,9 @@
+package br.com.dio.dto;
+
+public record FlowTimeDTO(String name,
+                          long samples,
+                          double meanHours,
+                          double p50Hours,
+                          double p85Hours,
+                          double p95Hours) {
+}
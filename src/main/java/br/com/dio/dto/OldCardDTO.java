@@ -0,0 +1,15 @@
+package br.com.dio.dto;
+
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+
+import java.time.OffsetDateTime;
+
+public record OldCardDTO(Long id,
+                         String title,
+                         Long boardId,
+                         String boardName,
+                         String columnName,
+                         BoardColumnKindEnum columnKind,
+                         OffsetDateTime createdAt,
+                         long ageDays) {
+}
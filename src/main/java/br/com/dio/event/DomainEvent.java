@@ -0,0 +1,49 @@
+package br.com.dio.event;
+
+import lombok.Getter;
+
+/**
+ * Posição do {@link DomainEventBus}: alocada uma vez e reescrita a cada volta do buffer
+ * {@code toColumnId} é o destino nas movimentações e a coluna atual do card nos demais eventos de card;
+ * ids ausentes valem zero (card e colunas em eventos de board, origem fora das movimentações)
+ * Os handlers recebem uma cópia própria da assinatura, válida só durante {@link DomainEventHandler#onEvent}
+ */
+@Getter
+public final class DomainEvent {
+
+    private DomainEventType type;
+    private long boardId;
+    private long cardId;
+    private long fromColumnId;
+    private long toColumnId;
+    private long occurredAtMillis;
+
+    void set(final DomainEventType type, final long boardId, final long cardId, final long fromColumnId,
+             final long toColumnId, final long occurredAtMillis) {
+        this.type = type;
+        this.boardId = boardId;
+        this.cardId = cardId;
+        this.fromColumnId = fromColumnId;
+        this.toColumnId = toColumnId;
+        this.occurredAtMillis = occurredAtMillis;
+    }
+
+    void copyFrom(final DomainEvent other) {
+        set(other.type, other.boardId, other.cardId, other.fromColumnId, other.toColumnId, other.occurredAtMillis);
+    }
+
+    /**
+     * Cópia avulsa, para o handler que precisa guardar o evento além de {@link DomainEventHandler#onEvent}
+     */
+    public DomainEvent copy() {
+        var copy = new DomainEvent();
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return "%s(board=%d, card=%d, %d -> %d)".formatted(type, boardId, cardId, fromColumnId, toColumnId);
+    }
+
+}
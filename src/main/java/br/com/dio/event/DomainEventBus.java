@@ -0,0 +1,231 @@
+package br.com.dio.event;
+
+import br.com.dio.config.ApplicationConfig;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Barramento de eventos de domínio em memória: um buffer circular de posições pré-alocadas, escrito
+ * por um publicador de cada vez e lido por várias assinaturas, cada uma na sua thread e no seu ritmo
+ *
+ * Os serviços publicam depois do commit, então só escritas confirmadas aparecem. Publicar grava a
+ * posição e avança o cursor, sem alocar nada; as assinaturas leem sem trava tudo o que chegou desde
+ * a última leitura e entregam em lote ao handler. O publicador nunca espera por assinaturas lentas:
+ * quem fica uma volta inteira atrás perde os eventos sobrescritos e recebe
+ * {@link DomainEventHandler#onOverrun}
+ * Os eventos valem para o processo atual, como o índice de prazos
+ */
+@Slf4j
+public class DomainEventBus implements AutoCloseable {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static DomainEventBus instance;
+
+    private final DomainEvent[] slots;
+    private final int mask;
+    @Getter
+    private final int capacity;
+
+    // Último evento publicado por completo; as assinaturas leem até aqui
+    private volatile long cursor = -1;
+    // Posição em escrita: avança antes de a posição ser reescrita, para a leitura detectar a sobreposição
+    private volatile long claimed = -1;
+    private volatile Subscription[] subscriptions = new Subscription[0];
+
+    /**
+     * @param capacity arredondada para a próxima potência de dois
+     */
+    public DomainEventBus(final int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("O buffer de eventos precisa de pelo menos 2 posições");
+        }
+        this.capacity = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.slots = new DomainEvent[this.capacity];
+        for (var i = 0; i < this.capacity; i++) {
+            slots[i] = new DomainEvent();
+        }
+    }
+
+    public static DomainEventBus getInstance() {
+        if (instance == null) {
+            synchronized (DomainEventBus.class) {
+                if (instance == null) {
+                    instance = new DomainEventBus(ApplicationConfig.getInstance().getEventsBufferSize());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Encerra as assinaturas da instância compartilhada, se ela chegou a ser criada
+     */
+    public static void shutdown() {
+        if (instance != null) {
+            instance.close();
+        }
+    }
+
+    /**
+     * Publica um evento; ids nulos viram zero. A trava só serializa os publicadores (o buffer tem um
+     * escritor de cada vez) e dura a cópia de seis campos
+     */
+    public synchronized void publish(final DomainEventType type, final Long boardId, final Long cardId,
+                                     final Long fromColumnId, final Long toColumnId) {
+        var sequence = cursor + 1;
+        claimed = sequence;
+        VarHandle.storeStoreFence();
+        slots[(int) (sequence & mask)].set(type, idOf(boardId), idOf(cardId), idOf(fromColumnId), idOf(toColumnId),
+                System.currentTimeMillis());
+        cursor = sequence;
+        for (var subscription : subscriptions) {
+            if (subscription.waiting) {
+                LockSupport.unpark(subscription.thread);
+            }
+        }
+    }
+
+    /**
+     * Assina os eventos publicados a partir de agora; {@code handler} roda em uma thread daemon própria
+     */
+    public synchronized Subscription subscribe(final String name, final DomainEventHandler handler) {
+        var subscription = new Subscription(name, handler, cursor + 1);
+        var current = subscriptions;
+        var updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = subscription;
+        subscriptions = updated;
+        subscription.thread.start();
+        return subscription;
+    }
+
+    public long getPublished() {
+        return cursor + 1;
+    }
+
+    @Override
+    public void close() {
+        for (var subscription : subscriptions) {
+            subscription.close();
+        }
+    }
+
+    private synchronized void unsubscribe(final Subscription subscription) {
+        subscriptions = Arrays.stream(subscriptions).filter(s -> s != subscription).toArray(Subscription[]::new);
+    }
+
+    private static long idOf(final Long id) {
+        return isNull(id) ? 0 : id;
+    }
+
+    public final class Subscription implements AutoCloseable {
+
+        @Getter
+        private final String name;
+        private final DomainEventHandler handler;
+        private final Thread thread;
+        // Cópia entregue ao handler: a posição do buffer pode ser reescrita enquanto ele trabalha
+        private final DomainEvent event = new DomainEvent();
+        private volatile boolean running = true;
+        private volatile boolean waiting;
+        // Último evento entregue (ou perdido) por esta assinatura
+        private volatile long sequence;
+
+        private Subscription(final String name, final DomainEventHandler handler, final long next) {
+            this.name = name;
+            this.handler = handler;
+            this.sequence = next - 1;
+            this.thread = new Thread(this::run, "events-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        /**
+         * Eventos publicados e ainda não entregues a esta assinatura
+         */
+        public long getLag() {
+            return cursor - sequence;
+        }
+
+        @Override
+        public void close() {
+            running = false;
+            LockSupport.unpark(thread);
+            unsubscribe(this);
+            if (Thread.currentThread() != thread) {
+                try {
+                    thread.join(TimeUnit.SECONDS.toMillis(1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void run() {
+            var next = sequence + 1;
+            while (running) {
+                var available = cursor;
+                if (available < next) {
+                    idle(next);
+                    continue;
+                }
+                next = drain(next, available);
+            }
+        }
+
+        /**
+         * Entrega o lote {@code [next, available]} e devolve o próximo evento a ler
+         */
+        private long drain(final long next, final long available) {
+            for (var current = next; current <= available; current++) {
+                event.copyFrom(slots[(int) (current & mask)]);
+                VarHandle.acquireFence();
+                var writing = claimed;
+                if (writing - current >= capacity) {
+                    // A posição foi reescrita durante a cópia ou antes dela: retoma do evento mais antigo ainda no buffer
+                    var oldest = writing - capacity + 1;
+                    sequence = oldest - 1;
+                    overrun(oldest - current);
+                    return oldest;
+                }
+                dispatch(current, current == available);
+                sequence = current;
+            }
+            return available + 1;
+        }
+
+        private void dispatch(final long current, final boolean endOfBatch) {
+            try {
+                handler.onEvent(event, current, endOfBatch);
+            } catch (RuntimeException e) {
+                log.warn("Assinatura {} falhou ao tratar o evento {} ({}): {}", name, current, event, e.getMessage());
+            }
+        }
+
+        private void overrun(final long missed) {
+            log.warn("Assinatura {} ficou para trás e perdeu {} eventos", name, missed);
+            try {
+                handler.onOverrun(missed);
+            } catch (RuntimeException e) {
+                log.warn("Assinatura {} falhou ao tratar a perda de eventos: {}", name, e.getMessage());
+            }
+        }
+
+        private void idle(final long next) {
+            waiting = true;
+            if (running && cursor < next) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            waiting = false;
+        }
+
+    }
+
+}
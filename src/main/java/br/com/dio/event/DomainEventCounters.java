@@ -0,0 +1,49 @@
+package br.com.dio.event;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Contadores de eventos por tipo, alimentados por uma assinatura do {@link DomainEventBus}
+ * Só a thread da assinatura escreve; as leituras de {@link #snapshot()} podem vir de qualquer thread
+ */
+public class DomainEventCounters implements DomainEventHandler {
+
+    private static final DomainEventCounters INSTANCE = new DomainEventCounters();
+
+    private final AtomicLongArray counts = new AtomicLongArray(DomainEventType.values().length);
+    private final AtomicLong missed = new AtomicLong();
+
+    public static DomainEventCounters getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void onEvent(final DomainEvent event, final long sequence, final boolean endOfBatch) {
+        var index = event.getType().ordinal();
+        counts.lazySet(index, counts.get(index) + 1);
+    }
+
+    @Override
+    public void onOverrun(final long missed) {
+        this.missed.addAndGet(missed);
+    }
+
+    public Map<DomainEventType, Long> snapshot() {
+        Map<DomainEventType, Long> snapshot = new EnumMap<>(DomainEventType.class);
+        for (var type : DomainEventType.values()) {
+            snapshot.put(type, counts.get(type.ordinal()));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Eventos perdidos porque a assinatura ficou uma volta inteira atrás do publicador
+     */
+    public long getMissed() {
+        return missed.get();
+    }
+
+}
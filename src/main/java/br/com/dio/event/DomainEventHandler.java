@@ -0,0 +1,20 @@
+package br.com.dio.event;
+
+/**
+ * Consumidor de eventos do {@link DomainEventBus}, chamado sempre na thread da própria assinatura
+ * Os eventos chegam em lotes (tudo o que foi publicado desde a última leitura); {@code endOfBatch}
+ * marca o último do lote, ponto para descarregar o que foi acumulado
+ */
+@FunctionalInterface
+public interface DomainEventHandler {
+
+    void onEvent(DomainEvent event, long sequence, boolean endOfBatch);
+
+    /**
+     * O consumidor ficou uma volta inteira atrás do publicador e {@code missed} eventos foram
+     * sobrescritos antes de serem lidos; caches devem se invalidar por inteiro
+     */
+    default void onOverrun(final long missed) {
+    }
+
+}
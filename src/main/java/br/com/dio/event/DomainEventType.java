@@ -0,0 +1,14 @@
+package br.com.dio.event;
+
+public enum DomainEventType {
+
+    BOARD_CREATED,
+    BOARD_DELETED,
+    CARD_CREATED,
+    CARD_MOVED,
+    CARD_CANCELLED,
+    CARD_BLOCKED,
+    CARD_UNBLOCKED,
+    CARD_DUE_DATE_CHANGED
+
+}
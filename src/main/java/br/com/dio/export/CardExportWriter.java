@@ -0,0 +1,16 @@
+package br.com.dio.export;
+
+import br.com.dio.dto.CardExportDTO;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Escreve cards um a um no formato de exportação, sem acumular linhas em memória
+ * {@code close()} finaliza o documento e descarrega o buffer, mas não fecha o destino
+ */
+public interface CardExportWriter extends Closeable {
+
+    void write(CardExportDTO card) throws IOException;
+
+}
@@ -0,0 +1,63 @@
+package br.com.dio.export;
+
+import br.com.dio.dto.CardExportDTO;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CSV (RFC 4180) com cabeçalho; campos com separador, aspas ou quebra de linha vão entre aspas
+ */
+class CsvCardExportWriter implements CardExportWriter {
+
+    private static final String HEADER =
+            "id,title,description,board_id,board_name,column_id,column_name,column_kind,blocked,block_reason,created_at";
+
+    private final BufferedWriter writer;
+
+    CsvCardExportWriter(final OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(HEADER);
+        writer.newLine();
+    }
+
+    @Override
+    public void write(final CardExportDTO card) throws IOException {
+        writer.write(String.valueOf(card.id()));
+        field(card.title());
+        field(card.description());
+        field(card.boardId());
+        field(card.boardName());
+        field(card.columnId());
+        field(card.columnName());
+        field(card.columnKind());
+        field(card.blocked());
+        field(card.blockReason());
+        field(card.createdAt());
+        writer.newLine();
+    }
+
+    private void field(final Object value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        var text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+}
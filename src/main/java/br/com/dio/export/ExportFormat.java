@@ -0,0 +1,33 @@
+package br.com.dio.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Formatos suportados na exportação de cards
+ */
+public enum ExportFormat {
+
+    CSV,
+    JSON;
+
+    public static ExportFormat findByName(final String name) {
+        return Arrays.stream(values())
+                .filter(f -> f.name().equals(name.toUpperCase(Locale.ROOT)))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Formato de exportação desconhecido: " + name));
+    }
+
+    /**
+     * Abre um escritor sobre o destino informado; o destino não é fechado pelo escritor
+     */
+    public CardExportWriter open(final OutputStream out) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvCardExportWriter(out);
+            case JSON -> new JsonCardExportWriter(out);
+        };
+    }
+
+}
@@ -0,0 +1,49 @@
+package br.com.dio.export;
+
+import br.com.dio.dto.CardExportDTO;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Array JSON escrito incrementalmente com o {@link JsonGenerator} do Jackson
+ */
+class JsonCardExportWriter implements CardExportWriter {
+
+    private static final JsonFactory FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final JsonGenerator generator;
+
+    JsonCardExportWriter(final OutputStream out) throws IOException {
+        this.generator = FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        generator.writeStartArray();
+    }
+
+    @Override
+    public void write(final CardExportDTO card) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", card.id());
+        generator.writeStringField("title", card.title());
+        generator.writeStringField("description", card.description());
+        generator.writeNumberField("boardId", card.boardId());
+        generator.writeStringField("boardName", card.boardName());
+        generator.writeNumberField("columnId", card.columnId());
+        generator.writeStringField("columnName", card.columnName());
+        generator.writeStringField("columnKind", card.columnKind().name());
+        generator.writeBooleanField("blocked", card.blocked());
+        generator.writeStringField("blockReason", card.blockReason());
+        generator.writeStringField("createdAt", card.createdAt() == null ? null : card.createdAt().toString());
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.writeEndArray();
+        generator.close();
+    }
+
+}
@@ -0,0 +1,203 @@
+package br.com.dio.feed;
+
+import br.com.dio.config.ApplicationConfig;
+import br.com.dio.dto.EntityChangeDTO;
+import br.com.dio.persistence.config.ShardRouter;
+import br.com.dio.persistence.dao.ChangeFeedDAO;
+import br.com.dio.persistence.entity.ChangedEntityEnum;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getShardRouter;
+
+/**
+ * Feed de mudanças incremental: a cada intervalo, lê de cada shard as linhas de BOARDS, BOARDS_COLUMNS e
+ * CARDS alteradas desde a última marca {@code (updated_at, id)} e as lápides de CHANGE_TOMBSTONES, e entrega
+ * os lotes aos consumidores do processo, para que caches e modelos de leitura acompanhem as escritas (de
+ * qualquer processo) sem recargas completas
+ *
+ * A marca nunca passa de "agora menos {@code safetyLag}" no relógio do banco: uma transação confirmada
+ * depois de outras, mas com {@code updated_at} anterior, ainda é vista se durar menos que essa folga.
+ * A entrega é pelo menos uma vez; há uma marca por shard e por tabela, mantida só em memória
+ */
+@Slf4j
+public class ChangeFeed implements AutoCloseable {
+
+    private static final ChangedEntityEnum[] TABLES = ChangedEntityEnum.values();
+
+    private static ChangeFeed instance;
+
+    private final ShardRouter router;
+    private final long intervalMillis;
+    private final Duration safetyLag;
+    private final int batchSize;
+    private final Map<String, ShardCursor> cursors = new ConcurrentHashMap<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService timer;
+
+    public ChangeFeed(final ShardRouter router, final Duration interval, final Duration safetyLag, final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("O lote do feed precisa ter pelo menos uma linha");
+        }
+        this.router = router;
+        this.intervalMillis = interval.toMillis();
+        this.safetyLag = safetyLag;
+        this.batchSize = batchSize;
+    }
+
+    public static ChangeFeed getInstance() {
+        if (instance == null) {
+            synchronized (ChangeFeed.class) {
+                if (instance == null) {
+                    var config = ApplicationConfig.getInstance();
+                    instance = new ChangeFeed(getShardRouter(), Duration.ofMillis(config.getChangeFeedIntervalMs()),
+                            Duration.ofMillis(config.getChangeFeedSafetyLagMs()), config.getChangeFeedBatchSize());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Encerra a instância compartilhada, se ela chegou a ser criada
+     */
+    public static void shutdown() {
+        if (instance != null) {
+            instance.close();
+        }
+    }
+
+    /**
+     * Posiciona as marcas no momento atual de cada shard e passa a consultar a cada intervalo; quem
+     * precisa do estado anterior carrega um retrato completo depois de assinar
+     */
+    public synchronized void start() throws SQLException {
+        if (timer != null) {
+            throw new IllegalStateException("Feed de mudanças já iniciado");
+        }
+        initialize();
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "change-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(this::poll, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Feed de mudanças iniciado para {} shards (intervalo de {} ms, folga de {} ms)",
+                cursors.size(), intervalMillis, safetyLag.toMillis());
+    }
+
+    public void subscribe(final String name, final ChangeFeedConsumer consumer) {
+        subscribers.add(new Subscriber(name, consumer));
+    }
+
+    @Override
+    public synchronized void close() {
+        if (timer != null) {
+            timer.shutdownNow();
+            timer = null;
+        }
+    }
+
+    void initialize() throws SQLException {
+        for (var shard : router.getShardNames()) {
+            try (var connection = router.leaseShard(shard, true, null)) {
+                cursors.put(shard, new ShardCursor(bound(new ChangeFeedDAO(connection))));
+            }
+        }
+    }
+
+    /**
+     * Uma rodada: entrega, shard a shard, tudo o que mudou até o limite atual; um shard que falha é
+     * tentado de novo na próxima rodada, a partir da mesma marca
+     */
+    void poll() {
+        for (var shard : router.getShardNames()) {
+            try {
+                pollShard(shard);
+            } catch (SQLException | RuntimeException e) {
+                log.warn("Feed de mudanças falhou ao ler o shard {}: {}", shard, e.getMessage());
+            }
+        }
+    }
+
+    private void pollShard(final String shard) throws SQLException {
+        // Sempre no primário do shard: uma réplica atrasada além da folga faria a marca pular linhas
+        try (var connection = router.leaseShard(shard, true, null)) {
+            var dao = new ChangeFeedDAO(connection);
+            var before = bound(dao);
+            var cursor = cursors.computeIfAbsent(shard, name -> new ShardCursor(before));
+            for (var table : TABLES) {
+                List<EntityChangeDTO> page;
+                do {
+                    var position = cursor.rows.get(table);
+                    page = dao.findChanges(table, position.at(), position.id(), before, batchSize);
+                    if (!page.isEmpty()) {
+                        deliver(page);
+                        var last = page.get(page.size() - 1);
+                        cursor.rows.put(table, new Position(last.changedAt(), last.id()));
+                    }
+                } while (page.size() == batchSize);
+            }
+            ChangeFeedDAO.TombstonePage tombstones;
+            do {
+                var position = cursor.tombstones;
+                tombstones = dao.findTombstones(position.at(), position.id(), before, batchSize);
+                if (!tombstones.changes().isEmpty()) {
+                    deliver(tombstones.changes());
+                    var last = tombstones.changes().get(tombstones.changes().size() - 1);
+                    cursor.tombstones = new Position(last.changedAt(), tombstones.lastTombstoneId());
+                }
+            } while (tombstones.changes().size() == batchSize);
+        }
+    }
+
+    private OffsetDateTime bound(final ChangeFeedDAO dao) throws SQLException {
+        return dao.currentTimestamp().minus(safetyLag);
+    }
+
+    private void deliver(final List<EntityChangeDTO> changes) {
+        for (var subscriber : subscribers) {
+            try {
+                subscriber.consumer().onChanges(changes);
+            } catch (RuntimeException e) {
+                log.warn("Consumidor {} do feed falhou ao tratar {} mudanças: {}",
+                        subscriber.name(), changes.size(), e.getMessage());
+            }
+        }
+    }
+
+    private record Subscriber(String name, ChangeFeedConsumer consumer) {
+    }
+
+    private record Position(OffsetDateTime at, long id) {
+    }
+
+    /**
+     * Marcas de um shard: uma por tabela e uma para as lápides
+     */
+    private static final class ShardCursor {
+
+        private final Map<ChangedEntityEnum, Position> rows = new EnumMap<>(ChangedEntityEnum.class);
+        private Position tombstones;
+
+        private ShardCursor(final OffsetDateTime start) {
+            for (var table : TABLES) {
+                rows.put(table, new Position(start, 0));
+            }
+            tombstones = new Position(start, 0);
+        }
+
+    }
+
+}
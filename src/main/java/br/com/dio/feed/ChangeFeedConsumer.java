@@ -0,0 +1,16 @@
+package br.com.dio.feed;
+
+import br.com.dio.dto.EntityChangeDTO;
+
+import java.util.List;
+
+/**
+ * Recebe os lotes do feed de mudanças, na thread do feed; o mesmo registro pode chegar mais de uma vez,
+ * então o tratamento deve ser idempotente
+ */
+@FunctionalInterface
+public interface ChangeFeedConsumer {
+
+    void onChanges(List<EntityChangeDTO> changes);
+
+}
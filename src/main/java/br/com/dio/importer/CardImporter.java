@@ -0,0 +1,270 @@
+package br.com.dio.importer;
+
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.exception.ValidationException;
+import br.com.dio.persistence.dao.BoardColumnStatsDAO;
+import br.com.dio.persistence.dao.CardDAO;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.service.BoardQueryService;
+import br.com.dio.validation.EntityValidator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Importa cards para um board em um pipeline de três estágios que se sobrepõem:
+ * <ol>
+ *     <li>leitura: uma thread lê o arquivo em streaming e agrupa os registros em lotes;</li>
+ *     <li>validação: cada lote é validado em paralelo com {@link EntityValidator#validateCard};</li>
+ *     <li>escrita: a thread chamadora consome os lotes na ordem do arquivo, grava com um INSERT em lote,
+ *     faz commit e atualiza o checkpoint.</li>
+ * </ol>
+ * A fila entre leitura e escrita é limitada, então a leitura nunca se adianta mais do que
+ * {@code queueCapacity} lotes e a memória usada não depende do tamanho do arquivo.
+ *
+ * O campo {@code column_name} (opcional) escolhe a coluna do board pelo nome; sem ele o card
+ * vai para a coluna inicial.
+ */
+@Slf4j
+public class CardImporter {
+
+    private static final int MAX_REJECTION_SAMPLES = 100;
+
+    private final int batchSize;
+    private final int validationThreads;
+    private final int queueCapacity;
+
+    public CardImporter(final int batchSize, final int validationThreads, final int queueCapacity) {
+        if (batchSize <= 0 || validationThreads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Tamanho do lote, threads e capacidade da fila devem ser maiores que zero");
+        }
+        this.batchSize = batchSize;
+        this.validationThreads = validationThreads;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * @param checkpoint quando não nulo, registros já efetivados em uma execução anterior são pulados
+     *                   e o progresso é gravado após cada commit
+     */
+    public ImportReport run(final ImportRecordReader reader, final Long boardId, final Connection connection,
+                            final ImportCheckpoint checkpoint) throws IOException, SQLException, InterruptedException {
+        var board = new BoardQueryService(connection).findById(boardId)
+                .orElseThrow(() -> new EntityNotFoundException("Board com ID %s não foi encontrado".formatted(boardId)));
+        var columns = board.getBoardColumns().stream()
+                .collect(Collectors.toMap(BoardColumnEntity::getName, Function.identity(), (a, b) -> a));
+        var resumeAfter = checkpoint == null ? 0 : checkpoint.read(boardId);
+        if (resumeAfter > 0) {
+            log.info("Retomando importação após o registro {}", resumeAfter);
+        }
+
+        var report = new ImportReport(resumeAfter);
+        var start = System.nanoTime();
+        BlockingQueue<CompletableFuture<ValidatedBatch>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        var validators = newExecutor("import-validator", validationThreads);
+        var readerThread = newExecutor("import-reader", 1);
+        try {
+            readerThread.submit(() -> read(reader, resumeAfter, queue, validators, board, columns));
+            write(queue, connection, boardId, checkpoint, report);
+        } finally {
+            readerThread.shutdownNow();
+            validators.shutdownNow();
+        }
+        if (checkpoint != null) {
+            checkpoint.delete();
+        }
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    private Void read(final ImportRecordReader reader, final long resumeAfter,
+                      final BlockingQueue<CompletableFuture<ValidatedBatch>> queue, final ExecutorService validators,
+                      final BoardEntity board, final Map<String, BoardColumnEntity> columns) throws InterruptedException {
+        try {
+            List<ImportRecord> batch = new ArrayList<>(batchSize);
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                if (record.number() <= resumeAfter) {
+                    continue;
+                }
+                batch.add(record);
+                if (batch.size() == batchSize) {
+                    queue.put(validateAsync(batch, validators, board, columns));
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                queue.put(validateAsync(batch, validators, board, columns));
+            }
+            queue.put(CompletableFuture.completedFuture(ValidatedBatch.END));
+        } catch (IOException | RuntimeException e) {
+            queue.put(CompletableFuture.failedFuture(e));
+        }
+        return null;
+    }
+
+    private CompletableFuture<ValidatedBatch> validateAsync(final List<ImportRecord> records, final ExecutorService validators,
+                                                            final BoardEntity board, final Map<String, BoardColumnEntity> columns) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<CardEntity> cards = new ArrayList<>(records.size());
+            List<Rejection> rejections = new ArrayList<>();
+            for (var record : records) {
+                try {
+                    cards.add(toCard(record, board, columns));
+                } catch (ValidationException e) {
+                    rejections.add(new Rejection(record.number(), e.getMessage()));
+                }
+            }
+            return new ValidatedBatch(records.get(records.size() - 1).number(), records.size(), cards, rejections);
+        }, validators);
+    }
+
+    private static CardEntity toCard(final ImportRecord record, final BoardEntity board,
+                                     final Map<String, BoardColumnEntity> columns) {
+        var card = new CardEntity();
+        card.setTitle(record.field("title"));
+        card.setDescription(record.field("description"));
+        var columnName = record.field("column_name");
+        if (columnName == null) {
+            card.setBoardColumn(board.getInitialColumn());
+        } else {
+            var column = columns.get(columnName);
+            if (column == null) {
+                throw new ValidationException("Coluna '%s' não existe no board".formatted(columnName));
+            }
+            card.setBoardColumn(column);
+        }
+        EntityValidator.validateCard(card);
+        return card;
+    }
+
+    private void write(final BlockingQueue<CompletableFuture<ValidatedBatch>> queue, final Connection connection,
+                       final Long boardId, final ImportCheckpoint checkpoint, final ImportReport report)
+            throws InterruptedException, SQLException, IOException {
+        var dao = new CardDAO(connection);
+        var statsDAO = new BoardColumnStatsDAO(connection);
+        while (true) {
+            ValidatedBatch batch;
+            try {
+                batch = queue.take().get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw e.getCause() instanceof IOException io ? io : new IOException("Falha ao ler o arquivo de importação", e.getCause());
+            }
+            if (batch == ValidatedBatch.END) {
+                return;
+            }
+            try {
+                if (!batch.cards().isEmpty()) {
+                    report.imported += dao.insertBatch(batch.cards());
+                    var perColumn = batch.cards().stream()
+                            .collect(Collectors.groupingBy(card -> card.getBoardColumn().getId(), Collectors.counting()));
+                    for (var entry : perColumn.entrySet()) {
+                        statsDAO.addCards(entry.getKey(), entry.getValue().intValue());
+                    }
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+            report.read += batch.records();
+            report.batches++;
+            batch.rejections().forEach(report::reject);
+            if (checkpoint != null) {
+                checkpoint.write(boardId, batch.lastRecord());
+            }
+        }
+    }
+
+    private static ExecutorService newExecutor(final String prefix, final int threads) {
+        var counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            var thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private record ValidatedBatch(long lastRecord, int records, List<CardEntity> cards, List<Rejection> rejections) {
+        private static final ValidatedBatch END = new ValidatedBatch(-1, 0, List.of(), List.of());
+    }
+
+    /**
+     * Registro recusado na validação
+     */
+    public record Rejection(long record, String reason) {
+    }
+
+    /**
+     * Totais de uma importação
+     */
+    public static class ImportReport {
+
+        private final long skipped;
+        private long read;
+        private long imported;
+        private long rejected;
+        private long batches;
+        private long elapsedNanos;
+        private final List<Rejection> rejectionSamples = new ArrayList<>();
+
+        ImportReport(final long skipped) {
+            this.skipped = skipped;
+        }
+
+        private void reject(final Rejection rejection) {
+            rejected++;
+            if (rejectionSamples.size() < MAX_REJECTION_SAMPLES) {
+                rejectionSamples.add(rejection);
+            }
+        }
+
+        public long getSkipped() { return skipped; }
+        public long getRead() { return read; }
+        public long getImported() { return imported; }
+        public long getRejected() { return rejected; }
+        public long getBatches() { return batches; }
+        public long getElapsedNanos() { return elapsedNanos; }
+        public List<Rejection> getRejectionSamples() { return rejectionSamples; }
+
+        public void printReport(final PrintStream out) {
+            var seconds = elapsedNanos / 1_000_000_000.0;
+            out.println("\n=== RESUMO DA IMPORTAÇÃO ===");
+            if (skipped > 0) {
+                out.printf("Registros já importados (checkpoint): %d%n", skipped);
+            }
+            out.printf("Registros lidos: %d | Importados: %d | Recusados: %d | Lotes: %d%n", read, imported, rejected, batches);
+            out.printf("Tempo total: %.3f s | Vazão: %.1f registros/s%n", seconds, seconds > 0 ? read / seconds : 0);
+            if (!rejectionSamples.isEmpty()) {
+                out.println("\n--- Registros recusados ---");
+                rejectionSamples.forEach(r -> out.printf("• registro %d: %s%n", r.record(), r.reason()));
+                if (rejected > rejectionSamples.size()) {
+                    out.printf("... e mais %d%n", rejected - rejectionSamples.size());
+                }
+            }
+            out.println("============================\n");
+        }
+
+    }
+
+}
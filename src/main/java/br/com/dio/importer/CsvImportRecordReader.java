@@ -0,0 +1,98 @@
+package br.com.dio.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Leitor CSV (RFC 4180) incremental: a primeira linha é o cabeçalho com os nomes dos campos;
+ * campos entre aspas podem conter separadores, aspas duplicadas e quebras de linha
+ */
+class CsvImportRecordReader implements ImportRecordReader {
+
+    private final BufferedReader reader;
+    private final List<String> header;
+    private final StringBuilder field = new StringBuilder();
+    private long number;
+
+    CsvImportRecordReader(final InputStream in) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        var names = readRow();
+        if (names == null) {
+            throw new IOException("Arquivo CSV vazio: cabeçalho não encontrado");
+        }
+        this.header = names.stream().map(String::trim).toList();
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        List<String> row;
+        do {
+            row = readRow();
+            if (row == null) {
+                return null;
+            }
+        } while (row.size() == 1 && row.get(0).isEmpty());
+        if (row.size() > header.size()) {
+            throw new IOException("Registro %d tem %d campos, mas o cabeçalho tem %d"
+                    .formatted(number + 1, row.size(), header.size()));
+        }
+        var fields = new HashMap<String, String>();
+        for (var i = 0; i < row.size(); i++) {
+            fields.put(header.get(i), row.get(i).isEmpty() ? null : row.get(i));
+        }
+        return new ImportRecord(++number, fields);
+    }
+
+    private List<String> readRow() throws IOException {
+        var c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+        List<String> row = new ArrayList<>();
+        var quoted = false;
+        field.setLength(0);
+        while (c >= 0) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    var next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        if (quoted) {
+            throw new IOException("Aspas não fechadas no registro " + (number + 1));
+        }
+        row.add(field.toString());
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+}
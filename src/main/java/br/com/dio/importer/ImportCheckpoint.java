@@ -0,0 +1,67 @@
+package br.com.dio.importer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Arquivo de checkpoint de uma importação: guarda quantos registros do arquivo já foram
+ * efetivados no banco, para que uma execução interrompida possa continuar de onde parou
+ */
+@Slf4j
+@AllArgsConstructor
+public class ImportCheckpoint {
+
+    @Getter
+    private final Path path;
+
+    public static ImportCheckpoint forInput(final Path input) {
+        return new ImportCheckpoint(input.resolveSibling(input.getFileName() + ".checkpoint"));
+    }
+
+    /**
+     * @return quantidade de registros já efetivados, ou zero se não houver checkpoint
+     */
+    public long read(final Long boardId) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        var props = new Properties();
+        try (var reader = Files.newBufferedReader(path)) {
+            props.load(reader);
+        }
+        var savedBoard = props.getProperty("board");
+        if (!String.valueOf(boardId).equals(savedBoard)) {
+            throw new IllegalStateException("O checkpoint %s pertence ao board %s, não ao board %d"
+                    .formatted(path, savedBoard, boardId));
+        }
+        return Long.parseLong(props.getProperty("records", "0"));
+    }
+
+    /**
+     * Grava o checkpoint de forma atômica (arquivo temporário + renomeação)
+     */
+    public void write(final Long boardId, final long records) throws IOException {
+        var props = new Properties();
+        props.setProperty("board", String.valueOf(boardId));
+        props.setProperty("records", String.valueOf(records));
+        var temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (var writer = Files.newBufferedWriter(temp)) {
+            props.store(writer, "Checkpoint de importação de cards");
+        }
+        Files.move(temp, path, REPLACE_EXISTING, ATOMIC_MOVE);
+    }
+
+    public void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+}
@@ -0,0 +1,15 @@
+package br.com.dio.importer;
+
+import java.util.Map;
+
+/**
+ * Registro lido do arquivo de importação
+ * @param number posição do registro no arquivo (a partir de 1, sem contar o cabeçalho)
+ */
+public record ImportRecord(long number, Map<String, String> fields) {
+
+    public String field(final String name) {
+        return fields.get(name);
+    }
+
+}
@@ -0,0 +1,27 @@
+package br.com.dio.importer;
+
+import br.com.dio.export.ExportFormat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Lê registros de importação um a um, sem carregar o arquivo em memória
+ * Aceita os mesmos formatos produzidos pela exportação de cards
+ */
+public interface ImportRecordReader extends Closeable {
+
+    /**
+     * @return o próximo registro, ou nulo ao final do arquivo
+     */
+    ImportRecord next() throws IOException;
+
+    static ImportRecordReader open(final ExportFormat format, final InputStream in) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvImportRecordReader(in);
+            case JSON -> new JsonImportRecordReader(in);
+        };
+    }
+
+}
@@ -0,0 +1,56 @@
+package br.com.dio.importer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+
+/**
+ * Lê um array JSON de objetos com o {@link JsonParser} do Jackson, um objeto por vez
+ * Valores escalares viram texto; objetos e arrays aninhados são ignorados
+ */
+class JsonImportRecordReader implements ImportRecordReader {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+    private long number;
+
+    JsonImportRecordReader(final InputStream in) throws IOException {
+        this.parser = FACTORY.createParser(in);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IOException("O arquivo JSON deve conter um array de objetos");
+        }
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        var token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Esperado um objeto no registro %d, encontrado %s".formatted(number + 1, token));
+        }
+        var fields = new HashMap<String, String>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var name = parser.getCurrentName();
+            var value = parser.nextToken();
+            if (value.isStructStart()) {
+                parser.skipChildren();
+            } else if (value != JsonToken.VALUE_NULL) {
+                fields.put(name, parser.getValueAsString());
+            }
+        }
+        return new ImportRecord(++number, fields);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+}
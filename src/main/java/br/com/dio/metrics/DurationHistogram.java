@@ -0,0 +1,130 @@
+package br.com.dio.metrics;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+/**
+ * Histograma de durações (em segundos) com faixas em progressão geométrica de razão √2,
+ * começando em 1 minuto; a última faixa acumula tudo acima de ~1,4 ano
+ * Ocupa tamanho fixo independente da quantidade de amostras, pode ser somado a outro
+ * histograma e serializado em texto, o que permite manter agregados incrementais
+ * Os percentis são estimados por interpolação dentro da faixa (erro relativo máximo de ~41%,
+ * tipicamente bem menor)
+ */
+public class DurationHistogram {
+
+    static final int BUCKETS = 40;
+    private static final double FIRST_BOUND_SECONDS = 60;
+
+    private final long[] counts = new long[BUCKETS + 1];
+    private long count;
+    private long sumSeconds;
+
+    public void record(final long seconds) {
+        var value = Math.max(0, seconds);
+        counts[bucketOf(value)]++;
+        count++;
+        sumSeconds += value;
+    }
+
+    public void merge(final DurationHistogram other) {
+        for (var i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sumSeconds += other.sumSeconds;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSumSeconds() {
+        return sumSeconds;
+    }
+
+    public double meanSeconds() {
+        return count == 0 ? 0 : (double) sumSeconds / count;
+    }
+
+    /**
+     * @param percentile entre 0 e 100
+     * @return duração estimada em segundos, ou zero se não houver amostras
+     */
+    public double percentileSeconds(final double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        var rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (var i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            if (seen + counts[i] >= rank) {
+                var lower = i == 0 ? 0 : upperBound(i - 1);
+                if (i == BUCKETS) {
+                    return lower;
+                }
+                var fraction = (double) (rank - seen) / counts[i];
+                return lower + (upperBound(i) - lower) * fraction;
+            }
+            seen += counts[i];
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    /**
+     * Contagens por faixa separadas por vírgula, sem as faixas vazias do final
+     */
+    public String encodeBuckets() {
+        var last = counts.length - 1;
+        while (last > 0 && counts[last] == 0) {
+            last--;
+        }
+        var joiner = new StringJoiner(",");
+        for (var i = 0; i <= last; i++) {
+            joiner.add(Long.toString(counts[i]));
+        }
+        return joiner.toString();
+    }
+
+    public static DurationHistogram decode(final long count, final long sumSeconds, final String buckets) {
+        var histogram = new DurationHistogram();
+        histogram.count = count;
+        histogram.sumSeconds = sumSeconds;
+        if (buckets != null && !buckets.isBlank()) {
+            var values = buckets.split(",");
+            if (values.length > histogram.counts.length) {
+                throw new IllegalArgumentException("Histograma com faixas demais: " + values.length);
+            }
+            for (var i = 0; i < values.length; i++) {
+                histogram.counts[i] = Long.parseLong(values[i].trim());
+            }
+        }
+        return histogram;
+    }
+
+    static int bucketOf(final long seconds) {
+        if (seconds <= FIRST_BOUND_SECONDS) {
+            return 0;
+        }
+        var index = (int) Math.ceil(2 * (Math.log(seconds / FIRST_BOUND_SECONDS) / Math.log(2)));
+        // Corrige arredondamentos de ponto flutuante na fronteira entre faixas
+        while (index > 0 && seconds <= upperBound(index - 1)) {
+            index--;
+        }
+        return Math.min(index, BUCKETS);
+    }
+
+    static double upperBound(final int bucket) {
+        return FIRST_BOUND_SECONDS * Math.pow(2, bucket / 2.0);
+    }
+
+    @Override
+    public String toString() {
+        return "DurationHistogram{count=%d, sumSeconds=%d, buckets=%s}"
+                .formatted(count, sumSeconds, Arrays.toString(counts));
+    }
+
+}
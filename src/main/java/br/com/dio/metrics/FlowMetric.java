@@ -0,0 +1,15 @@
+package br.com.dio.metrics;
+
+/**
+ * Métricas de fluxo mantidas de forma incremental a partir de CARD_MOVEMENTS
+ * <ul>
+ *     <li>DWELL: tempo de permanência em uma coluna, por coluna;</li>
+ *     <li>LEAD: da criação do card até a coluna final;</li>
+ *     <li>CYCLE: da saída da coluna inicial até a coluna final.</li>
+ * </ul>
+ */
+public enum FlowMetric {
+
+    DWELL, LEAD, CYCLE
+
+}
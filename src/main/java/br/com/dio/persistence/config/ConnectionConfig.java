@@ -7,6 +7,10 @@ import lombok.extern.slf4j.Slf4j;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import static lombok.AccessLevel.PRIVATE;
 
@@ -20,17 +24,28 @@ public final class ConnectionConfig {
 
     private static final ApplicationConfig config = ApplicationConfig.getInstance();
 
+    private static volatile ConnectionPool pool;
+    private static volatile ReplicaRouter router;
+    private static volatile ShardRouter shardRouter;
+
     public static Connection getConnection() throws SQLException {
+        return getConnection(config.getDatabaseUrl());
+    }
+
+    /**
+     * Conexão direta (fora dos pools) com um banco qualquer, usando as credenciais do principal
+     */
+    public static Connection getConnection(final String url) throws SQLException {
         try {
             var connection = DriverManager.getConnection(
-                config.getDatabaseUrl(),
+                url,
                 config.getDatabaseUser(),
                 config.getDatabasePassword()
             );
             connection.setAutoCommit(false);
             
             if (config.isEnableQueryLogging()) {
-                log.debug("Conexão estabelecida com o banco de dados: {}", config.getDatabaseUrl());
+                log.debug("Conexão estabelecida com o banco de dados: {}", url);
             }
             
             return connection;
@@ -40,4 +55,108 @@ public final class ConnectionConfig {
         }
     }
 
+    /**
+     * Empresta uma conexão do pool compartilhado; {@code close()} a devolve ao pool
+     */
+    public static Connection getPooledConnection() throws SQLException {
+        return getPool().lease();
+    }
+
+    /**
+     * Empresta uma conexão de leitura (réplica, quando configurada) para a sessão informada
+     */
+    public static Connection getReadConnection(final String session) throws SQLException {
+        return getRouter().leaseRead(session);
+    }
+
+    /**
+     * Empresta uma conexão do primário; os commits feitos nela prendem as leituras da sessão ao primário
+     */
+    public static Connection getWriteConnection(final String session) throws SQLException {
+        return getRouter().leaseWrite(session);
+    }
+
+    /**
+     * Empresta uma conexão do shard dono do board (sem réplicas)
+     */
+    public static Connection getBoardConnection(final Long boardId) throws SQLException {
+        return getShardRouter().leaseWrite(boardId, null);
+    }
+
+    public static ConnectionPool getPool() {
+        if (pool == null) {
+            synchronized (ConnectionConfig.class) {
+                if (pool == null) {
+                    pool = new ConnectionPool("primary",
+                            config.getDatabaseUrl(),
+                            config.getDatabaseUser(),
+                            config.getDatabasePassword(),
+                            config.getMaxConnectionPoolSize(),
+                            config.getConnectionLeaseTimeoutMs());
+                    log.info("Pool de conexões criado com até {} conexões", config.getMaxConnectionPoolSize());
+                }
+            }
+        }
+        return pool;
+    }
+
+    public static ReplicaRouter getRouter() {
+        if (router == null) {
+            synchronized (ConnectionConfig.class) {
+                if (router == null) {
+                    List<ConnectionPool> replicas = new ArrayList<>();
+                    var urls = config.getDatabaseReplicaUrls();
+                    for (var i = 0; i < urls.size(); i++) {
+                        replicas.add(new ConnectionPool("replica-" + (i + 1),
+                                urls.get(i),
+                                config.getDatabaseUser(),
+                                config.getDatabasePassword(),
+                                config.getMaxConnectionPoolSize(),
+                                config.getConnectionLeaseTimeoutMs()));
+                    }
+                    var selection = ReplicaSelection.of(config.getReplicaSelection());
+                    router = new ReplicaRouter(getPool(), replicas, selection, config.getReplicaStickinessMs());
+                    if (!replicas.isEmpty()) {
+                        log.info("Leituras distribuídas entre {} réplicas ({})", replicas.size(), selection);
+                    }
+                }
+            }
+        }
+        return router;
+    }
+
+    public static ShardRouter getShardRouter() {
+        if (shardRouter == null) {
+            synchronized (ConnectionConfig.class) {
+                if (shardRouter == null) {
+                    Map<String, ConnectionPool> shards = new LinkedHashMap<>();
+                    config.getDatabaseShardUrls().forEach((name, url) -> shards.put(name, new ConnectionPool(name,
+                            url,
+                            config.getDatabaseUser(),
+                            config.getDatabasePassword(),
+                            config.getMaxConnectionPoolSize(),
+                            config.getConnectionLeaseTimeoutMs())));
+                    shardRouter = new ShardRouter(getRouter(), shards, config.getShardTimeoutMs());
+                    if (!shards.isEmpty()) {
+                        log.info("Boards distribuídos entre o banco principal e os shards {}", shards.keySet());
+                    }
+                }
+            }
+        }
+        return shardRouter;
+    }
+
+    /**
+     * Fecha o pool do primário e os das réplicas e shards
+     */
+    public static void closePools() {
+        if (shardRouter != null) {
+            shardRouter.close();
+        } else if (router != null) {
+            router.close();
+        } else if (pool != null) {
+            pool.close();
+        }
+    }
+
 }
@@ -0,0 +1,207 @@
+package br.com.dio.persistence.config;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool de conexões simples e limitado
+ * As conexões emprestadas são proxies: {@code close()} devolve a conexão física ao pool
+ * (desfazendo qualquer transação pendente) em vez de fechá-la
+ */
+@Slf4j
+public class ConnectionPool implements AutoCloseable {
+
+    private static final long VALIDATION_IDLE_MILLIS = 30_000;
+
+    @Getter
+    private final String name;
+    private final String url;
+    private final String user;
+    private final String password;
+    @Getter
+    private final int maxSize;
+    private final long leaseTimeoutMillis;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<IdleConnection> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private volatile boolean closed;
+
+    public ConnectionPool(final String name, final String url, final String user, final String password,
+                          final int maxSize, final long leaseTimeoutMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("O tamanho do pool deve ser maior que zero");
+        }
+        this.name = name;
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Empresta uma conexão com auto-commit desligado, aguardando até o timeout configurado
+     */
+    public Connection lease() throws SQLException {
+        if (closed) {
+            throw new SQLException("O pool %s está fechado".formatted(name));
+        }
+        try {
+            if (!permits.tryAcquire(leaseTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Timeout de %d ms aguardando conexão do pool %s".formatted(leaseTimeoutMillis, name));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando conexão do pool " + name, e);
+        }
+        try {
+            var physical = takeIdleOrCreate();
+            activeCount.incrementAndGet();
+            return wrap(physical);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        IdleConnection entry;
+        while ((entry = idle.poll()) != null) {
+            closeQuietly(entry.connection());
+        }
+        log.info("Pool de conexões {} fechado", name);
+    }
+
+    private Connection takeIdleOrCreate() throws SQLException {
+        IdleConnection entry;
+        while ((entry = idle.pollFirst()) != null) {
+            var connection = entry.connection();
+            var idleFor = System.currentTimeMillis() - entry.since();
+            if (!connection.isClosed() && (idleFor < VALIDATION_IDLE_MILLIS || connection.isValid(2))) {
+                return connection;
+            }
+            closeQuietly(connection);
+        }
+        var connection = DriverManager.getConnection(url, user, password);
+        connection.setAutoCommit(false);
+        log.debug("Nova conexão física criada no pool {}", name);
+        return connection;
+    }
+
+    private void release(final Connection physical) {
+        activeCount.decrementAndGet();
+        try {
+            if (closed || physical.isClosed()) {
+                closeQuietly(physical);
+                return;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+            } else {
+                physical.setAutoCommit(false);
+            }
+            idle.offerFirst(new IdleConnection(physical, System.currentTimeMillis()));
+        } catch (SQLException e) {
+            log.warn("Descartando conexão do pool {} após falha na devolução: {}", name, e.getMessage());
+            closeQuietly(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Connection wrap(final Connection physical) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new LeasedConnectionHandler(physical));
+    }
+
+    private static void closeQuietly(final Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Falha ao fechar conexão: {}", e.getMessage());
+        }
+    }
+
+    private record IdleConnection(Connection connection, long since) {
+    }
+
+    private final class LeasedConnectionHandler implements InvocationHandler {
+
+        private final Connection physical;
+        private boolean returned;
+
+        private LeasedConnectionHandler(final Connection physical) {
+            this.physical = physical;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!returned) {
+                        returned = true;
+                        release(physical);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return returned || physical.isClosed();
+                }
+                case "unwrap" -> {
+                    if (((Class<?>) args[0]).isInstance(physical)) {
+                        return physical;
+                    }
+                }
+                case "toString" -> {
+                    return "Pooled[%s]%s".formatted(name, physical);
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                default -> {
+                }
+            }
+            if (returned) {
+                throw new SQLException("A conexão já foi devolvida ao pool " + name);
+            }
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+    }
+
+}
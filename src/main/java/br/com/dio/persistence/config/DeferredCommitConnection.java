@@ -0,0 +1,197 @@
+package br.com.dio.persistence.config;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Envolve uma conexão física para que vários comandos compartilhem a mesma transação
+ * Os serviços continuam chamando {@code commit()}/{@code rollback()} como de costume, mas essas
+ * chamadas viram marcações: quem controla a transação é o dono desta instância, que isola cada
+ * unidade de trabalho em um savepoint e decide quando efetivar o grupo
+ *
+ * O que os serviços fazem depois do commit (eventos, índice de prazos) deve passar por
+ * {@link #afterCommit}, que adia a ação até o commit real do grupo e a descarta se a unidade for desfeita
+ */
+@Slf4j
+public class DeferredCommitConnection {
+
+    private final Connection physical;
+    @Getter
+    private final Connection connection;
+    @Getter
+    private int pendingUnits;
+    private boolean rollbackRequested;
+    private boolean inUnit;
+    private final List<Runnable> unitActions = new ArrayList<>();
+    private final List<Runnable> pendingActions = new ArrayList<>();
+
+    public DeferredCommitConnection(final Connection physical) {
+        this.physical = physical;
+        this.connection = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new Handler());
+    }
+
+    /**
+     * Executa {@code action} depois do commit da transação de {@code connection}: na hora, para conexões
+     * comuns (o chamador já fez o commit), ou no commit do grupo, para conexões desta classe
+     */
+    public static void afterCommit(final Connection connection, final Runnable action) {
+        if (Proxy.isProxyClass(connection.getClass())
+                && Proxy.getInvocationHandler(connection) instanceof DeferredCommitConnection.Handler handler) {
+            handler.owner().defer(action);
+            return;
+        }
+        action.run();
+    }
+
+    /**
+     * Executa uma unidade de trabalho isolada em um savepoint; se ela falhar (ou pedir rollback),
+     * apenas as suas alterações são desfeitas e as demais unidades pendentes do grupo são preservadas
+     * Se nem o savepoint puder ser desfeito, o grupo inteiro é desfeito e descartado com ele
+     * ({@link UnitRollbackException})
+     */
+    public <T> T execute(final Work<T> work) throws Exception {
+        Savepoint savepoint = physical.setSavepoint();
+        rollbackRequested = false;
+        inUnit = true;
+        try {
+            var result = work.execute(connection);
+            if (rollbackRequested) {
+                rollbackUnit(savepoint);
+            } else {
+                physical.releaseSavepoint(savepoint);
+                pendingActions.addAll(unitActions);
+                pendingUnits++;
+            }
+            return result;
+        } catch (UnitRollbackException e) {
+            throw e;
+        } catch (Exception e) {
+            try {
+                rollbackUnit(savepoint);
+            } catch (UnitRollbackException rollbackFailure) {
+                rollbackFailure.addSuppressed(e);
+                throw rollbackFailure;
+            }
+            throw e;
+        } finally {
+            inUnit = false;
+            unitActions.clear();
+        }
+    }
+
+    /**
+     * Efetiva todas as unidades pendentes em um único commit e só então executa as ações adiadas
+     */
+    public void commit() throws SQLException {
+        physical.commit();
+        pendingUnits = 0;
+        var actions = List.copyOf(pendingActions);
+        pendingActions.clear();
+        for (var action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                log.warn("Falha em ação posterior ao commit: {}", e.getMessage());
+            }
+        }
+    }
+
+    public void rollback() throws SQLException {
+        physical.rollback();
+        pendingUnits = 0;
+        pendingActions.clear();
+    }
+
+    /**
+     * Sem o savepoint, não há como saber o que restou das unidades anteriores: desfaz a transação inteira
+     * e descarta as unidades e ações pendentes, que não podem mais ser efetivadas
+     */
+    private void rollbackUnit(final Savepoint savepoint) throws UnitRollbackException {
+        try {
+            physical.rollback(savepoint);
+        } catch (SQLException e) {
+            var failure = new UnitRollbackException(pendingUnits, e);
+            pendingUnits = 0;
+            pendingActions.clear();
+            unitActions.clear();
+            try {
+                physical.rollback();
+            } catch (SQLException suppressed) {
+                failure.addSuppressed(suppressed);
+            }
+            throw failure;
+        }
+    }
+
+    private void defer(final Runnable action) {
+        (inUnit ? unitActions : pendingActions).add(action);
+    }
+
+    private Object invoke(final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(physical, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Falha ao desfazer o savepoint de uma unidade; as unidades pendentes do grupo foram desfeitas junto
+     */
+    public static class UnitRollbackException extends SQLException {
+
+        @Getter
+        private final int discardedUnits;
+
+        private UnitRollbackException(final int discardedUnits, final SQLException cause) {
+            super("Falha ao desfazer a unidade; %d unidade(s) pendente(s) do grupo descartada(s)".formatted(discardedUnits),
+                    cause.getSQLState(), cause.getErrorCode(), cause);
+            this.discardedUnits = discardedUnits;
+        }
+
+    }
+
+    @FunctionalInterface
+    public interface Work<T> {
+        T execute(Connection connection) throws Exception;
+    }
+
+    private class Handler implements InvocationHandler {
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "commit", "close" -> null;
+                case "rollback" -> {
+                    if (args == null) {
+                        rollbackRequested = true;
+                        yield null;
+                    }
+                    yield DeferredCommitConnection.this.invoke(method, args);
+                }
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> DeferredCommitConnection.this.invoke(method, args);
+            };
+        }
+
+        DeferredCommitConnection owner() {
+            return DeferredCommitConnection.this;
+        }
+
+    }
+
+}
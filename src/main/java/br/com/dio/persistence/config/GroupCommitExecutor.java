@@ -0,0 +1,234 @@
+package br.com.dio.persistence.config;
+
+import br.com.dio.config.ApplicationConfig;
+import br.com.dio.persistence.config.DeferredCommitConnection.Work;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getShardRouter;
+
+/**
+ * Group commit: escritas independentes que chegam dentro de uma janela curta são executadas em sequência
+ * na mesma conexão e efetivadas com um único commit (um flush do log de redo para o grupo todo)
+ *
+ * Cada escrita roda em um savepoint de um {@link DeferredCommitConnection}, então os serviços continuam
+ * chamando {@code commit()} normalmente; o futuro de cada chamador só termina depois do commit do grupo.
+ * Se uma escrita falhar, o grupo inteiro é desfeito e refeito com um commit por escrita, na ordem de
+ * chegada, para que a falha de uma não desfaça nem atrase as demais. Há uma fila e uma thread por shard
+ */
+@Slf4j
+public class GroupCommitExecutor implements AutoCloseable {
+
+    private static GroupCommitExecutor instance;
+
+    private final ShardRouter router;
+    private final long windowNanos;
+    private final int maxGroupSize;
+    private final Map<String, ShardQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+    private volatile boolean closed;
+
+    public GroupCommitExecutor(final ShardRouter router, final Duration window, final int maxGroupSize) {
+        if (maxGroupSize < 1) {
+            throw new IllegalArgumentException("O grupo precisa comportar pelo menos uma escrita");
+        }
+        this.router = router;
+        this.windowNanos = window.toNanos();
+        this.maxGroupSize = maxGroupSize;
+    }
+
+    public static GroupCommitExecutor getInstance() {
+        if (instance == null) {
+            synchronized (GroupCommitExecutor.class) {
+                if (instance == null) {
+                    var config = ApplicationConfig.getInstance();
+                    instance = new GroupCommitExecutor(getShardRouter(),
+                            Duration.ofMillis(config.getGroupCommitWindowMs()), config.getGroupCommitMaxSize());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Encerra a instância compartilhada, se ela chegou a ser criada
+     */
+    public static void shutdown() {
+        if (instance != null) {
+            instance.close();
+        }
+    }
+
+    /**
+     * Enfileira uma escrita no shard dono do board; {@code session} mantém a leitura da própria escrita
+     * quando há réplicas. O trabalho pode ser executado duas vezes (no grupo e, se o grupo falhar, sozinho):
+     * efeitos fora do banco devem passar por {@link DeferredCommitConnection#afterCommit}
+     */
+    public <T> CompletableFuture<T> submit(final Long boardId, final String session, final Work<T> work) {
+        var request = new Request<>(session, work);
+        if (closed) {
+            request.result.completeExceptionally(new IllegalStateException("Group commit encerrado"));
+            return request.result;
+        }
+        try {
+            queues.computeIfAbsent(router.shardOf(boardId), ShardQueue::new).requests.add(request);
+        } catch (SQLException e) {
+            request.result.completeExceptionally(e);
+        }
+        return request.result;
+    }
+
+    /**
+     * Commits feitos, contando os de grupo e os individuais
+     */
+    public long getCommits() {
+        return commits.get();
+    }
+
+    /**
+     * Grupos desfeitos e refeitos com um commit por escrita
+     */
+    public long getFallbacks() {
+        return fallbacks.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        queues.values().forEach(queue -> queue.thread.interrupt());
+    }
+
+    private void flush(final String shard, final List<Request<?>> group) {
+        try (var physical = router.leaseShard(shard, true, null)) {
+            if (group.size() == 1 || !commitTogether(physical, group)) {
+                commitEach(physical, group);
+            }
+        } catch (SQLException e) {
+            group.forEach(request -> request.result.completeExceptionally(e));
+            return;
+        }
+        for (var request : group) {
+            if (!request.result.isCompletedExceptionally()) {
+                router.recordWrite(shard, request.session);
+            }
+        }
+    }
+
+    private boolean commitTogether(final Connection physical, final List<Request<?>> group) {
+        var session = new DeferredCommitConnection(physical);
+        try {
+            for (var request : group) {
+                request.executeIn(session);
+            }
+            session.commit();
+        } catch (Exception e) {
+            log.debug("Grupo de {} escritas desfeito, refazendo com um commit por escrita: {}", group.size(), e.getMessage());
+            fallbacks.incrementAndGet();
+            rollbackQuietly(physical);
+            return false;
+        }
+        commits.incrementAndGet();
+        group.forEach(Request::complete);
+        return true;
+    }
+
+    private void commitEach(final Connection physical, final List<Request<?>> group) {
+        for (var request : group) {
+            try {
+                request.executeOn(physical);
+                commits.incrementAndGet();
+                request.complete();
+            } catch (Exception e) {
+                rollbackQuietly(physical);
+                request.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static void rollbackQuietly(final Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            log.warn("Falha ao desfazer a transação do group commit: {}", e.getMessage());
+        }
+    }
+
+    private static final class Request<T> {
+
+        private final String session;
+        private final Work<T> work;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private T value;
+
+        private Request(final String session, final Work<T> work) {
+            this.session = session;
+            this.work = work;
+        }
+
+        void executeIn(final DeferredCommitConnection session) throws Exception {
+            value = session.execute(work);
+        }
+
+        void executeOn(final Connection connection) throws Exception {
+            value = work.execute(connection);
+        }
+
+        void complete() {
+            result.complete(value);
+        }
+
+    }
+
+    private final class ShardQueue {
+
+        private final String shard;
+        private final BlockingQueue<Request<?>> requests = new LinkedBlockingQueue<>();
+        private final Thread thread;
+
+        private ShardQueue(final String shard) {
+            this.shard = shard;
+            this.thread = new Thread(this::run, "group-commit-" + shard);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        private void run() {
+            List<Request<?>> group = new ArrayList<>(maxGroupSize);
+            try {
+                while (!closed) {
+                    group.add(requests.take());
+                    var deadline = System.nanoTime() + windowNanos;
+                    while (group.size() < maxGroupSize) {
+                        var next = requests.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        group.add(next);
+                    }
+                    flush(shard, group);
+                    group.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            requests.drainTo(group);
+            group.forEach(request -> request.result.completeExceptionally(
+                    new IllegalStateException("Group commit encerrado")));
+        }
+
+    }
+
+}
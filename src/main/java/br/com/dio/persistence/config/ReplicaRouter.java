@@ -0,0 +1,142 @@
+package br.com.dio.persistence.config;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Distribui as conexões entre o primário e as réplicas de leitura
+ * Escritas sempre usam o primário; leituras vão para uma réplica, exceto quando a sessão efetivou
+ * uma escrita há menos de {@code stickinessMillis} (a réplica pode ainda não ter recebido a alteração)
+ * Se a réplica escolhida não entregar conexão, a leitura cai para o primário
+ */
+@Slf4j
+public class ReplicaRouter implements AutoCloseable {
+
+    // Acima deste número de sessões, as janelas já expiradas são descartadas
+    private static final int SESSION_PRUNE_THRESHOLD = 10_000;
+
+    @Getter
+    private final ConnectionPool primary;
+    @Getter
+    private final List<ConnectionPool> replicas;
+    private final ReplicaSelection selection;
+    private final long stickinessMillis;
+    private final Clock clock;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Map<String, Long> lastWriteMillis = new ConcurrentHashMap<>();
+
+    public ReplicaRouter(final ConnectionPool primary, final List<ConnectionPool> replicas,
+                         final ReplicaSelection selection, final long stickinessMillis) {
+        this(primary, replicas, selection, stickinessMillis, Clock.systemUTC());
+    }
+
+    ReplicaRouter(final ConnectionPool primary, final List<ConnectionPool> replicas,
+                  final ReplicaSelection selection, final long stickinessMillis, final Clock clock) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.stickinessMillis = stickinessMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Conexão do primário; cada {@code commit()} abre a janela de leitura no primário da sessão
+     * @param session identificador da sessão (cliente) que fará a escrita, ou nulo se não houver
+     */
+    public Connection leaseWrite(final String session) throws SQLException {
+        var connection = primary.lease();
+        if (session == null || replicas.isEmpty()) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        default -> {
+                        }
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (method.getName().equals("commit")) {
+                        recordWrite(session);
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * Conexão para leitura: réplica escolhida pelo critério configurado, ou o primário quando não há
+     * réplicas, quando a sessão escreveu recentemente ou quando a réplica falha
+     */
+    public Connection leaseRead(final String session) throws SQLException {
+        if (replicas.isEmpty() || isPinnedToPrimary(session)) {
+            return primary.lease();
+        }
+        var replica = selectReplica();
+        try {
+            return replica.lease();
+        } catch (SQLException e) {
+            log.warn("Réplica {} indisponível, leitura redirecionada ao primário: {}", replica.getName(), e.getMessage());
+            return primary.lease();
+        }
+    }
+
+    public void recordWrite(final String session) {
+        var now = clock.millis();
+        lastWriteMillis.put(session, now);
+        if (lastWriteMillis.size() > SESSION_PRUNE_THRESHOLD) {
+            lastWriteMillis.values().removeIf(written -> now - written >= stickinessMillis);
+        }
+    }
+
+    public boolean isPinnedToPrimary(final String session) {
+        if (session == null) {
+            return false;
+        }
+        var written = lastWriteMillis.get(session);
+        return written != null && clock.millis() - written < stickinessMillis;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(ConnectionPool::close);
+        primary.close();
+    }
+
+    ConnectionPool selectReplica() {
+        var start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        if (selection == ReplicaSelection.ROUND_ROBIN) {
+            return replicas.get(start);
+        }
+        // Percorre a partir do rodízio para que empates não concentrem carga na primeira réplica
+        return IntStream.range(0, replicas.size())
+                .mapToObj(offset -> replicas.get((start + offset) % replicas.size()))
+                .min(Comparator.comparingInt(ConnectionPool::getActiveCount))
+                .orElseThrow();
+    }
+
+}
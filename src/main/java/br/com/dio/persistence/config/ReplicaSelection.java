@@ -0,0 +1,29 @@
+package br.com.dio.persistence.config;
+
+import java.util.Arrays;
+
+/**
+ * Critério de escolha da réplica que atende uma leitura
+ */
+public enum ReplicaSelection {
+
+    /**
+     * Alterna entre as réplicas na ordem configurada
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Escolhe a réplica com menos conexões emprestadas no momento (empates seguem o rodízio)
+     */
+    LEAST_LOADED;
+
+    public static ReplicaSelection of(final String value) {
+        var normalized = value.trim().toUpperCase().replace('-', '_');
+        return Arrays.stream(values())
+                .filter(selection -> selection.name().equals(normalized))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Seleção de réplica desconhecida: %s (use round-robin ou least-loaded)".formatted(value)));
+    }
+
+}
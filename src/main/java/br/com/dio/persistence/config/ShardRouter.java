@@ -0,0 +1,241 @@
+package br.com.dio.persistence.config;
+
+import br.com.dio.persistence.dao.ShardMapDAO;
+import br.com.dio.persistence.entity.BoardEntity;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Distribui os boards entre o banco principal e os shards configurados
+ * Cada board vive inteiro (colunas, cards, bloqueios, histórico) em um único shard, registrado na tabela
+ * SHARD_MAP do banco principal; o mapa é consultado uma vez por board e mantido em memória
+ * Sem shards configurados, tudo é roteado para o banco principal e o mapa não é usado
+ *
+ * Ids de colunas e cards são gerados por cada shard e só são únicos dentro dele; o id do board é
+ * reservado em SHARD_MAP e vale para todos os bancos
+ */
+@Slf4j
+public class ShardRouter implements AutoCloseable {
+
+    public static final String PRIMARY_SHARD = "primary";
+
+    private final ReplicaRouter primary;
+    private final Map<String, ConnectionPool> shards;
+    private final long timeoutMillis;
+    private final Map<Long, String> boardShards = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    public ShardRouter(final ReplicaRouter primary, final Map<String, ConnectionPool> shards, final long timeoutMillis) {
+        this.primary = primary;
+        this.shards = new LinkedHashMap<>(shards);
+        this.timeoutMillis = timeoutMillis;
+        var counter = new AtomicInteger();
+        this.executor = shards.isEmpty() ? null : Executors.newCachedThreadPool(runnable -> {
+            var thread = new Thread(runnable, "shard-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isSharded() {
+        return !shards.isEmpty();
+    }
+
+    public List<String> getShardNames() {
+        List<String> names = new ArrayList<>();
+        names.add(PRIMARY_SHARD);
+        names.addAll(shards.keySet());
+        return names;
+    }
+
+    /**
+     * Shard dono do board; boards fora do mapa (inexistentes) vão para o principal, onde as consultas
+     * simplesmente não os encontram
+     */
+    public String shardOf(final Long boardId) throws SQLException {
+        if (!isSharded() || isNull(boardId)) {
+            return PRIMARY_SHARD;
+        }
+        var cached = boardShards.get(boardId);
+        if (cached != null) {
+            return cached;
+        }
+        try (var connection = primary.getPrimary().lease()) {
+            var shard = new ShardMapDAO(connection).findShard(boardId);
+            shard.ifPresent(name -> boardShards.put(boardId, name));
+            return shard.orElse(PRIMARY_SHARD);
+        }
+    }
+
+    public Connection leaseRead(final Long boardId, final String session) throws SQLException {
+        return leaseShard(shardOf(boardId), false, session);
+    }
+
+    public Connection leaseWrite(final Long boardId, final String session) throws SQLException {
+        return leaseShard(shardOf(boardId), true, session);
+    }
+
+    /**
+     * No shard principal, leituras passam pelas réplicas e escritas pelo primário; os demais shards
+     * atendem leituras e escritas pelo próprio pool
+     */
+    public Connection leaseShard(final String shard, final boolean write, final String session) throws SQLException {
+        if (PRIMARY_SHARD.equals(shard)) {
+            return write ? primary.leaseWrite(session) : primary.leaseRead(session);
+        }
+        var pool = shards.get(shard);
+        if (pool == null) {
+            throw new IllegalStateException("Shard %s não está configurado".formatted(shard));
+        }
+        return pool.lease();
+    }
+
+    /**
+     * Registra a escrita de uma sessão feita em conexão obtida sem sessão (commit em grupo), para que as
+     * leituras seguintes dela continuem no primário
+     */
+    public void recordWrite(final String shard, final String session) {
+        if (PRIMARY_SHARD.equals(shard) && session != null) {
+            primary.recordWrite(session);
+        }
+    }
+
+    /**
+     * Cria um board no shard com menos boards: reserva o id em SHARD_MAP, executa {@code insert} com uma
+     * conexão do shard escolhido e desfaz a reserva se a criação falhar
+     */
+    public <T> T createBoard(final BoardEntity board, final String session, final ShardTask<T> insert)
+            throws SQLException {
+        var shard = assignNewBoard(board);
+        try (var connection = leaseShard(shard, true, session)) {
+            return insert.apply(connection);
+        } catch (SQLException | RuntimeException e) {
+            if (isSharded()) {
+                forgetBoard(board.getId());
+            }
+            throw e;
+        }
+    }
+
+    public void forgetBoard(final Long boardId) throws SQLException {
+        if (!isSharded()) {
+            return;
+        }
+        try (var connection = primary.getPrimary().lease()) {
+            new ShardMapDAO(connection).delete(boardId);
+            connection.commit();
+        }
+        boardShards.remove(boardId);
+    }
+
+    /**
+     * Registra no shard principal os boards que já existiam nele antes de os shards serem configurados
+     */
+    public int registerPrimaryBoards() throws SQLException {
+        if (!isSharded()) {
+            return 0;
+        }
+        try (var connection = primary.getPrimary().lease()) {
+            var registered = new ShardMapDAO(connection).insertUnmapped(PRIMARY_SHARD);
+            connection.commit();
+            if (registered > 0) {
+                log.info("{} boards existentes registrados no shard {}", registered, PRIMARY_SHARD);
+            }
+            return registered;
+        }
+    }
+
+    /**
+     * Executa a tarefa em todos os shards em paralelo, cada uma com sua conexão de leitura, e devolve
+     * os resultados na ordem de {@link #getShardNames()}; a falha de qualquer shard falha o todo
+     */
+    public <T> List<T> scatter(final ShardTask<T> task, final String session) throws SQLException {
+        if (!isSharded()) {
+            try (var connection = leaseShard(PRIMARY_SHARD, false, session)) {
+                return List.of(task.apply(connection));
+            }
+        }
+        var names = getShardNames();
+        List<Callable<T>> calls = names.stream()
+                .<Callable<T>>map(name -> () -> {
+                    try (var connection = leaseShard(name, false, session)) {
+                        return task.apply(connection);
+                    }
+                })
+                .toList();
+        try {
+            var futures = executor.invokeAll(calls, timeoutMillis, TimeUnit.MILLISECONDS);
+            List<T> results = new ArrayList<>(futures.size());
+            for (var i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (CancellationException e) {
+                    throw new SQLTimeoutException("Shard %s não respondeu em %d ms".formatted(names.get(i), timeoutMillis));
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof SQLException sqlException) {
+                        throw sqlException;
+                    }
+                    if (e.getCause() instanceof RuntimeException runtimeException) {
+                        throw runtimeException;
+                    }
+                    throw new SQLException("Falha no shard " + names.get(i), e.getCause());
+                }
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompido aguardando os shards", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        shards.values().forEach(ConnectionPool::close);
+        primary.close();
+    }
+
+    private String assignNewBoard(final BoardEntity board) throws SQLException {
+        if (!isSharded()) {
+            return PRIMARY_SHARD;
+        }
+        try (var connection = primary.getPrimary().lease()) {
+            var dao = new ShardMapDAO(connection);
+            var counts = dao.countByShard();
+            var shard = getShardNames().stream()
+                    .min(Comparator.comparingLong(name -> counts.getOrDefault(name, 0L)))
+                    .orElseThrow();
+            board.setId(dao.insert(shard));
+            connection.commit();
+            boardShards.put(board.getId(), shard);
+            log.debug("Board {} atribuído ao shard {}", board.getId(), shard);
+            return shard;
+        }
+    }
+
+    @FunctionalInterface
+    public interface ShardTask<T> {
+        T apply(Connection connection) throws SQLException;
+    }
+
+}
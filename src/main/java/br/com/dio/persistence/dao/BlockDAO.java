@@ -25,7 +25,7 @@ public class BlockDAO {
     }
 
     public void unblock(final String reason, final Long cardId) throws SQLException{
-        var sql = "UPDATE BLOCKS SET unblocked_at = ?, unblock_reason = ? WHERE card_id = ? AND unblock_reason IS NULL;";
+        var sql = "UPDATE BLOCKS SET unblocked_at = ?, unblock_reason = ? WHERE card_id = ? AND unblocked_at IS NULL;";
         try(var statement = connection.prepareStatement(sql)){
             var i = 1;
             statement.setTimestamp(i ++, toTimestamp(OffsetDateTime.now()));
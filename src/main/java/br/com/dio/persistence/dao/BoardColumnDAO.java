@@ -2,36 +2,60 @@ package br.com.dio.persistence.dao;
 
 import br.com.dio.dto.BoardColumnDTO;
 import br.com.dio.persistence.entity.BoardColumnEntity;
-import br.com.dio.persistence.entity.CardEntity;
-import com.mysql.cj.jdbc.StatementImpl;
 import lombok.RequiredArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
+import static br.com.dio.persistence.dao.GeneratedKeys.readGeneratedId;
 import static br.com.dio.persistence.entity.BoardColumnKindEnum.findByName;
-import static java.util.Objects.isNull;
+import static java.sql.Statement.RETURN_GENERATED_KEYS;
 
 @RequiredArgsConstructor
 public class BoardColumnDAO {
 
+    private static final CompiledRowMapper<BoardColumnEntity> COLUMN = CompiledRowMapper.of(columns -> {
+        var id = columns.of("id");
+        var name = columns.of("name");
+        var order = columns.of("order");
+        var kind = columns.of("kind");
+        return resultSet -> {
+            var entity = new BoardColumnEntity();
+            entity.setId(resultSet.getLong(id));
+            entity.setName(resultSet.getString(name));
+            entity.setOrder(resultSet.getInt(order));
+            entity.setKind(findByName(resultSet.getString(kind)));
+            return entity;
+        };
+    });
+
+    private static final CompiledRowMapper<BoardColumnDTO> COLUMN_DETAILS = CompiledRowMapper.of(columns -> {
+        var id = columns.of("id");
+        var name = columns.of("name");
+        var kind = columns.of("kind");
+        var cardsAmount = columns.of("cards_amount");
+        return resultSet -> new BoardColumnDTO(
+                resultSet.getLong(id),
+                resultSet.getString(name),
+                findByName(resultSet.getString(kind)),
+                resultSet.getInt(cardsAmount)
+        );
+    });
+
     private final Connection connection;
 
     public BoardColumnEntity insert(final BoardColumnEntity entity) throws SQLException {
         var sql = "INSERT INTO BOARDS_COLUMNS (name, `order`, kind, board_id) VALUES (?, ?, ?, ?);";
-        try(var statement = connection.prepareStatement(sql)){
+        try(var statement = connection.prepareStatement(sql, RETURN_GENERATED_KEYS)){
             var i = 1;
             statement.setString(i ++, entity.getName());
             statement.setInt(i ++, entity.getOrder());
             statement.setString(i ++, entity.getKind().name());
             statement.setLong(i, entity.getBoard().getId());
             statement.executeUpdate();
-            if (statement instanceof StatementImpl impl){
-                entity.setId(impl.getLastInsertID());
-            }
+            entity.setId(readGeneratedId(statement));
             return entity;
         }
     }
@@ -43,13 +67,9 @@ public class BoardColumnDAO {
             statement.setLong(1, boardId);
             statement.executeQuery();
             var resultSet = statement.getResultSet();
+            var mapper = COLUMN.bind(resultSet);
             while (resultSet.next()){
-                var entity = new BoardColumnEntity();
-                entity.setId(resultSet.getLong("id"));
-                entity.setName(resultSet.getString("name"));
-                entity.setOrder(resultSet.getInt("order"));
-                entity.setKind(findByName(resultSet.getString("kind")));
-                entities.add(entity);
+                entities.add(mapper.map(resultSet));
             }
             return entities;
         }
@@ -73,54 +93,12 @@ public class BoardColumnDAO {
             statement.setLong(1, boardId);
             statement.executeQuery();
             var resultSet = statement.getResultSet();
+            var mapper = COLUMN_DETAILS.bind(resultSet);
             while (resultSet.next()){
-                var dto = new BoardColumnDTO(
-                        resultSet.getLong("bc.id"),
-                        resultSet.getString("bc.name"),
-                        findByName(resultSet.getString("bc.kind")),
-                        resultSet.getInt("cards_amount")
-                );
-                dtos.add(dto);
+                dtos.add(mapper.map(resultSet));
             }
             return dtos;
         }
     }
 
-    public Optional<BoardColumnEntity> findById(final Long boardId) throws SQLException{
-        var sql =
-        """
-        SELECT bc.name,
-               bc.kind,
-               c.id,
-               c.title,
-               c.description
-          FROM BOARDS_COLUMNS bc
-          LEFT JOIN CARDS c
-            ON c.board_column_id = bc.id
-         WHERE bc.id = ?;
-        """;
-        try(var statement = connection.prepareStatement(sql)){
-            statement.setLong(1, boardId);
-            statement.executeQuery();
-            var resultSet = statement.getResultSet();
-            if (resultSet.next()){
-                var entity = new BoardColumnEntity();
-                entity.setName(resultSet.getString("bc.name"));
-                entity.setKind(findByName(resultSet.getString("bc.kind")));
-                do {
-                    var card = new CardEntity();
-                    if (isNull(resultSet.getString("c.title"))){
-                        break;
-                    }
-                    card.setId(resultSet.getLong("c.id"));
-                    card.setTitle(resultSet.getString("c.title"));
-                    card.setDescription(resultSet.getString("c.description"));
-                    entity.getCards().add(card);
-                }while (resultSet.next());
-                return Optional.of(entity);
-            }
-            return Optional.empty();
-        }
-    }
-
 }
@@ -0,0 +1,282 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.dto.ColumnStatsDTO;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.findByName;
+
+/**
+ * Resumo materializado por coluna (BOARD_COLUMN_STATS)
+ * As escritas de cards e bloqueios aplicam deltas na mesma transação; {@link #rebuild(Long)}
+ * recalcula tudo a partir de CARDS e BLOCKS para reparos
+ * A contagem de atrasados depende da data, então cada linha guarda o dia em que foi apurada
+ * ({@code overdue_as_of}) e é reapurada por {@link #refreshOverdue(Long, LocalDate)} na virada do dia
+ */
+@Slf4j
+@AllArgsConstructor
+public class BoardColumnStatsDAO {
+
+    private static final String AGGREGATE_SELECT = """
+            SELECT bc.id,
+                   bc.board_id,
+                   COUNT(c.id),
+                   COUNT(CASE WHEN EXISTS (SELECT 1 FROM BLOCKS bl
+                                            WHERE bl.card_id = c.id AND bl.unblocked_at IS NULL) THEN 1 END),
+                   COUNT(CASE WHEN c.due_date < ? THEN 1 END),
+                   CAST(? AS DATE),
+                   COALESCE(SUM(c.estimated_hours), 0),
+                   COUNT(c.estimated_hours),
+                   COALESCE(SUM(c.actual_hours), 0),
+                   COUNT(c.actual_hours)
+              FROM BOARDS_COLUMNS bc
+              LEFT JOIN CARDS c ON c.board_column_id = bc.id
+            """;
+
+    private static final String INSERT_AGGREGATE = """
+            INSERT INTO BOARD_COLUMN_STATS (column_id, board_id, total_cards, blocked_cards, overdue_cards, overdue_as_of,
+                                            estimated_hours_sum, estimated_count, actual_hours_sum, actual_count)
+            """ + AGGREGATE_SELECT;
+
+    private final Connection connection;
+
+    /**
+     * Recalcula o resumo a partir das tabelas de origem
+     * @param boardId board desejado, ou nulo para todos
+     * @return quantidade de colunas recalculadas
+     */
+    public int rebuild(final Long boardId) throws SQLException {
+        var delete = "DELETE FROM BOARD_COLUMN_STATS" + (boardId == null ? ";" : " WHERE board_id = ?;");
+        try(var statement = connection.prepareStatement(delete)){
+            if (boardId != null) {
+                statement.setLong(1, boardId);
+            }
+            statement.executeUpdate();
+        }
+        var sql = INSERT_AGGREGATE + (boardId == null ? "" : " WHERE bc.board_id = ?") + " GROUP BY bc.id, bc.board_id;";
+        try(var statement = connection.prepareStatement(sql)){
+            var i = bindToday(statement, LocalDate.now());
+            if (boardId != null) {
+                statement.setLong(i, boardId);
+            }
+            return statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Calcula o resumo apenas das colunas que ainda não têm linha (ex.: após restaurar um snapshot)
+     */
+    public int insertMissing() throws SQLException {
+        var sql = INSERT_AGGREGATE + """
+                 WHERE NOT EXISTS (SELECT 1 FROM BOARD_COLUMN_STATS s WHERE s.column_id = bc.id)
+                 GROUP BY bc.id, bc.board_id;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            bindToday(statement, LocalDate.now());
+            return statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Soma cards novos (sem prazo nem horas) à coluna
+     */
+    public void addCards(final Long columnId, final int amount) throws SQLException {
+        applyDelta(columnId, amount, null, null, null);
+    }
+
+    /**
+     * Soma um card novo (sem horas) à coluna
+     */
+    public void addCard(final Long columnId, final LocalDate dueDate) throws SQLException {
+        applyDelta(columnId, 1, dueDate == null ? null : Date.valueOf(dueDate), null, null);
+    }
+
+    /**
+     * Ajusta a contagem de atrasados da coluna do card antes de o prazo ser alterado para {@code dueDate}
+     */
+    public void changeDueDate(final Long cardId, final LocalDate dueDate) throws SQLException {
+        var sql = """
+                UPDATE BOARD_COLUMN_STATS
+                   SET overdue_cards = overdue_cards
+                                     - CASE WHEN (SELECT c.due_date FROM CARDS c WHERE c.id = ?) < overdue_as_of THEN 1 ELSE 0 END
+                                     + CASE WHEN CAST(? AS DATE) < overdue_as_of THEN 1 ELSE 0 END
+                 WHERE column_id = (SELECT c.board_column_id FROM CARDS c WHERE c.id = ?);
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, cardId);
+            if (dueDate == null) {
+                statement.setNull(2, Types.DATE);
+            } else {
+                statement.setDate(2, Date.valueOf(dueDate));
+            }
+            statement.setLong(3, cardId);
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Transfere a contribuição de um card de uma coluna para outra
+     * Deve ser chamado com o card ainda não bloqueado, como exigem as regras de movimentação
+     */
+    public void moveCard(final Long cardId, final Long fromColumnId, final Long toColumnId) throws SQLException {
+        var sql = "SELECT due_date, estimated_hours, actual_hours FROM CARDS WHERE id = ?;";
+        Date dueDate;
+        BigDecimal estimatedHours;
+        BigDecimal actualHours;
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, cardId);
+            try(var resultSet = statement.executeQuery()){
+                if (!resultSet.next()) {
+                    return;
+                }
+                dueDate = resultSet.getDate(1);
+                estimatedHours = resultSet.getBigDecimal(2);
+                actualHours = resultSet.getBigDecimal(3);
+            }
+        }
+        applyDelta(fromColumnId, -1, dueDate, negate(estimatedHours), negate(actualHours));
+        applyDelta(toColumnId, 1, dueDate, estimatedHours, actualHours);
+    }
+
+    public void addBlocked(final Long columnId, final int delta) throws SQLException {
+        var sql = "UPDATE BOARD_COLUMN_STATS SET blocked_cards = blocked_cards + ? WHERE column_id = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setInt(1, delta);
+            statement.setLong(2, columnId);
+            if (statement.executeUpdate() == 0) {
+                rebuildColumn(columnId);
+            }
+        }
+    }
+
+    /**
+     * Reapura os atrasados das linhas apuradas antes de {@code today}; sem linhas vencidas é só
+     * uma leitura pelo índice de board
+     * @param boardId board desejado, ou nulo para todos
+     */
+    public int refreshOverdue(final Long boardId, final LocalDate today) throws SQLException {
+        var sql = """
+                UPDATE BOARD_COLUMN_STATS
+                   SET overdue_cards = (SELECT COUNT(*) FROM CARDS c
+                                         WHERE c.board_column_id = BOARD_COLUMN_STATS.column_id
+                                           AND c.due_date < ?),
+                       overdue_as_of = ?
+                 WHERE overdue_as_of < ?
+                """ + (boardId == null ? ";" : " AND board_id = ?;");
+        try(var statement = connection.prepareStatement(sql)){
+            var i = bindToday(statement, today);
+            statement.setDate(i ++, Date.valueOf(today));
+            if (boardId != null) {
+                statement.setLong(i, boardId);
+            }
+            return statement.executeUpdate();
+        }
+    }
+
+    public List<ColumnStatsDTO> findByBoardId(final Long boardId) throws SQLException {
+        var sql = """
+                SELECT bc.id,
+                       bc.name,
+                       bc.kind,
+                       s.total_cards,
+                       s.blocked_cards,
+                       s.overdue_cards,
+                       s.estimated_hours_sum,
+                       s.estimated_count,
+                       s.actual_hours_sum,
+                       s.actual_count
+                  FROM BOARD_COLUMN_STATS s
+                 INNER JOIN BOARDS_COLUMNS bc
+                    ON bc.id = s.column_id
+                 WHERE s.board_id = ?
+                 ORDER BY bc.`order`;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, boardId);
+            try(var resultSet = statement.executeQuery()){
+                List<ColumnStatsDTO> stats = new ArrayList<>();
+                while (resultSet.next()){
+                    stats.add(new ColumnStatsDTO(
+                            resultSet.getLong(1),
+                            resultSet.getString(2),
+                            findByName(resultSet.getString(3)),
+                            resultSet.getLong(4),
+                            resultSet.getLong(5),
+                            resultSet.getLong(6),
+                            resultSet.getBigDecimal(7),
+                            resultSet.getLong(8),
+                            resultSet.getBigDecimal(9),
+                            resultSet.getLong(10)
+                    ));
+                }
+                return stats;
+            }
+        }
+    }
+
+    private void applyDelta(final Long columnId, final int cards, final Date dueDate,
+                            final BigDecimal estimatedHours, final BigDecimal actualHours) throws SQLException {
+        var sql = """
+                UPDATE BOARD_COLUMN_STATS
+                   SET total_cards = total_cards + ?,
+                       overdue_cards = overdue_cards + CASE WHEN CAST(? AS DATE) < overdue_as_of THEN ? ELSE 0 END,
+                       estimated_hours_sum = estimated_hours_sum + ?,
+                       estimated_count = estimated_count + ?,
+                       actual_hours_sum = actual_hours_sum + ?,
+                       actual_count = actual_count + ?
+                 WHERE column_id = ?;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setInt(i ++, cards);
+            if (dueDate == null) {
+                statement.setNull(i ++, Types.DATE);
+            } else {
+                statement.setDate(i ++, dueDate);
+            }
+            statement.setInt(i ++, Integer.signum(cards));
+            statement.setBigDecimal(i ++, estimatedHours == null ? BigDecimal.ZERO : estimatedHours);
+            statement.setInt(i ++, estimatedHours == null ? 0 : Integer.signum(cards));
+            statement.setBigDecimal(i ++, actualHours == null ? BigDecimal.ZERO : actualHours);
+            statement.setInt(i ++, actualHours == null ? 0 : Integer.signum(cards));
+            statement.setLong(i, columnId);
+            if (statement.executeUpdate() == 0) {
+                rebuildColumn(columnId);
+            }
+        }
+    }
+
+    /**
+     * Coluna sem linha de resumo (criada fora da aplicação, por exemplo): calcula a linha do zero,
+     * já enxergando a escrita corrente da transação
+     */
+    private void rebuildColumn(final Long columnId) throws SQLException {
+        log.warn("Resumo da coluna {} não encontrado, recalculando a partir de CARDS", columnId);
+        var sql = INSERT_AGGREGATE + " WHERE bc.id = ? GROUP BY bc.id, bc.board_id;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(bindToday(statement, LocalDate.now()), columnId);
+            statement.executeUpdate();
+        }
+    }
+
+    private static int bindToday(final PreparedStatement statement, final LocalDate today) throws SQLException {
+        statement.setDate(1, Date.valueOf(today));
+        statement.setDate(2, Date.valueOf(today));
+        return 3;
+    }
+
+    private static BigDecimal negate(final BigDecimal value) {
+        return value == null ? null : value.negate();
+    }
+
+}
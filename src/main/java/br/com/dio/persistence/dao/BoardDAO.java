@@ -1,7 +1,6 @@
 package br.com.dio.persistence.dao;
 
 import br.com.dio.persistence.entity.BoardEntity;
-import com.mysql.cj.jdbc.StatementImpl;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -11,50 +10,91 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import static br.com.dio.persistence.dao.GeneratedKeys.readGeneratedId;
+import static java.sql.Statement.RETURN_GENERATED_KEYS;
+import static java.util.Objects.nonNull;
+
 @Slf4j
 @AllArgsConstructor
 public class BoardDAO {
 
+    private static final CompiledRowMapper<BoardEntity> BOARD = CompiledRowMapper.of(columns -> {
+        var id = columns.of("id");
+        var name = columns.of("name");
+        return resultSet -> {
+            var entity = new BoardEntity();
+            entity.setId(resultSet.getLong(id));
+            entity.setName(resultSet.getString(name));
+            return entity;
+        };
+    });
+
     private Connection connection;
 
+    /**
+     * Usa o id já definido na entidade (reservado no mapa de shards) ou, sem ele, o gerado pelo banco
+     */
     public BoardEntity insert(final BoardEntity entity) throws SQLException {
+        if (nonNull(entity.getId())) {
+            var sql = "INSERT INTO BOARDS (id, name) values (?, ?);";
+            try(var statement = connection.prepareStatement(sql)){
+                statement.setLong(1, entity.getId());
+                statement.setString(2, entity.getName());
+                statement.executeUpdate();
+            }
+            return entity;
+        }
         var sql = "INSERT INTO BOARDS (name) values (?);";
-        try(var statement = connection.prepareStatement(sql)){
+        try(var statement = connection.prepareStatement(sql, RETURN_GENERATED_KEYS)){
             statement.setString(1, entity.getName());
             statement.executeUpdate();
-            if (statement instanceof StatementImpl impl){
-                entity.setId(impl.getLastInsertID());
-            }
+            entity.setId(readGeneratedId(statement));
         }
         return entity;
     }
 
-    public void delete(final Long id) throws SQLException {
-        var sql = "DELETE FROM BOARDS WHERE id = ?;";
+    /**
+     * Marca o board como excluído; colunas, cards e histórico são apagados depois, em partes, pelo
+     * {@link br.com.dio.scheduler.BoardPurger}. Devolve falso se o board não existe ou já foi excluído
+     */
+    public boolean softDelete(final Long id) throws SQLException {
+        var sql = "UPDATE BOARDS SET deleted_at = CURRENT_TIMESTAMP WHERE id = ? AND deleted_at IS NULL;";
         try(var statement = connection.prepareStatement(sql)){
             statement.setLong(1, id);
-            statement.executeUpdate();
+            return statement.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Boards excluídos que ainda aguardam o expurgo, dos mais antigos para os mais novos
+     */
+    public List<Long> findDeletedIds() throws SQLException {
+        var sql = "SELECT id FROM BOARDS WHERE deleted_at IS NOT NULL ORDER BY deleted_at, id;";
+        List<Long> ids = new ArrayList<>();
+        try(var statement = connection.prepareStatement(sql);
+            var resultSet = statement.executeQuery()){
+            while (resultSet.next()){
+                ids.add(resultSet.getLong(1));
+            }
         }
+        return ids;
     }
 
     public Optional<BoardEntity> findById(final Long id) throws SQLException {
-        var sql = "SELECT id, name FROM BOARDS WHERE id = ?;";
+        var sql = "SELECT id, name FROM BOARDS WHERE id = ? AND deleted_at IS NULL;";
         try(var statement = connection.prepareStatement(sql)){
             statement.setLong(1, id);
             statement.executeQuery();
             var resultSet = statement.getResultSet();
             if (resultSet.next()){
-                var entity = new BoardEntity();
-                entity.setId(resultSet.getLong("id"));
-                entity.setName(resultSet.getString("name"));
-                return Optional.of(entity);
+                return Optional.of(BOARD.bind(resultSet).map(resultSet));
             }
             return Optional.empty();
         }
     }
 
     public boolean exists(final Long id) throws SQLException {
-        var sql = "SELECT 1 FROM BOARDS WHERE id = ?;";
+        var sql = "SELECT 1 FROM BOARDS WHERE id = ? AND deleted_at IS NULL;";
         try(var statement = connection.prepareStatement(sql)){
             statement.setLong(1, id);
             statement.executeQuery();
@@ -63,18 +103,16 @@ public class BoardDAO {
     }
     
     public List<BoardEntity> findAll() throws SQLException {
-        var sql = "SELECT id, name FROM BOARDS ORDER BY name;";
+        var sql = "SELECT id, name FROM BOARDS WHERE deleted_at IS NULL ORDER BY name;";
         List<BoardEntity> boards = new ArrayList<>();
         
         try(var statement = connection.prepareStatement(sql)){
             statement.executeQuery();
             var resultSet = statement.getResultSet();
+            var mapper = BOARD.bind(resultSet);
             
             while (resultSet.next()){
-                var entity = new BoardEntity();
-                entity.setId(resultSet.getLong("id"));
-                entity.setName(resultSet.getString("name"));
-                boards.add(entity);
+                boards.add(mapper.map(resultSet));
             }
         }
         
@@ -0,0 +1,95 @@
+package br.com.dio.persistence.dao;
+
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Expurgo em partes de um board já marcado como excluído: cada parte apaga bloqueios, movimentações e
+ * cards de até N cards, em uma transação curta, e o board (com colunas e resumos, em cascata) só é
+ * apagado quando não restam cards. Toda movimentação é de um card do próprio board, então apagar o
+ * histórico pelos cards libera também as chaves de CARD_MOVEMENTS para as colunas
+ */
+@AllArgsConstructor
+public class BoardPurgeDAO {
+
+    private final Connection connection;
+
+    public long countCards(final Long boardId) throws SQLException {
+        var sql =
+                """
+                SELECT COUNT(c.id)
+                  FROM CARDS c
+                 INNER JOIN BOARDS_COLUMNS bc ON bc.id = c.board_column_id
+                 WHERE bc.board_id = ?;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, boardId);
+            try(var resultSet = statement.executeQuery()){
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Ids de até {@code limit} cards do board, em qualquer ordem
+     */
+    public List<Long> findCardIds(final Long boardId, final int limit) throws SQLException {
+        var sql =
+                """
+                SELECT c.id
+                  FROM CARDS c
+                 INNER JOIN BOARDS_COLUMNS bc ON bc.id = c.board_column_id
+                 WHERE bc.board_id = ?
+                 LIMIT ?;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, boardId);
+            statement.setInt(2, limit);
+            try(var resultSet = statement.executeQuery()){
+                List<Long> ids = new ArrayList<>();
+                while (resultSet.next()){
+                    ids.add(resultSet.getLong(1));
+                }
+                return ids;
+            }
+        }
+    }
+
+    /**
+     * Apaga os cards e, antes deles, seus bloqueios e movimentações; devolve quantos cards saíram
+     */
+    public int deleteCards(final List<Long> cardIds) throws SQLException {
+        if (cardIds.isEmpty()) {
+            return 0;
+        }
+        var in = "?" + ",?".repeat(cardIds.size() - 1);
+        deleteIn("DELETE FROM BLOCKS WHERE card_id IN (" + in + ");", cardIds);
+        deleteIn("DELETE FROM CARD_MOVEMENTS WHERE card_id IN (" + in + ");", cardIds);
+        return deleteIn("DELETE FROM CARDS WHERE id IN (" + in + ");", cardIds);
+    }
+
+    /**
+     * Apaga o board excluído, já sem cards; colunas, resumos e histogramas saem em cascata
+     */
+    public boolean deleteBoard(final Long boardId) throws SQLException {
+        var sql = "DELETE FROM BOARDS WHERE id = ? AND deleted_at IS NOT NULL;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, boardId);
+            return statement.executeUpdate() > 0;
+        }
+    }
+
+    private int deleteIn(final String sql, final List<Long> ids) throws SQLException {
+        try(var statement = connection.prepareStatement(sql)){
+            for (var i = 0; i < ids.size(); i++) {
+                statement.setLong(i + 1, ids.get(i));
+            }
+            return statement.executeUpdate();
+        }
+    }
+
+}
@@ -1,46 +1,258 @@
 package br.com.dio.persistence.dao;
 
 import br.com.dio.dto.CardDetailsDTO;
+import br.com.dio.dto.CardExportDTO;
+import br.com.dio.dto.CardFacetRowDTO;
+import br.com.dio.dto.CardReadRowDTO;
+import br.com.dio.dto.CardTitleDTO;
+import br.com.dio.dto.ColumnAgingDTO;
+import br.com.dio.dto.DueCardDTO;
+import br.com.dio.dto.OldCardDTO;
 import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
 import br.com.dio.persistence.entity.CardEntity;
 import br.com.dio.search.CardSearchCriteria;
-import com.mysql.cj.jdbc.StatementImpl;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
 import java.sql.Connection;
+import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toOffsetDateTime;
+import static br.com.dio.persistence.dao.GeneratedKeys.readGeneratedId;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.findByName;
+import static java.sql.Statement.RETURN_GENERATED_KEYS;
 import static java.util.Objects.nonNull;
 
 @Slf4j
 @AllArgsConstructor
 public class CardDAO {
 
+    private static final CompiledRowMapper<CardDetailsDTO> CARD_DETAILS = CompiledRowMapper.of(columns -> {
+        var id = columns.of("id");
+        var title = columns.of("title");
+        var description = columns.of("description");
+        var blockedAt = columns.of("blocked_at");
+        var blockReason = columns.of("block_reason");
+        var blocksAmount = columns.of("blocks_amount");
+        var columnId = columns.of("board_column_id");
+        var columnName = columns.of("name");
+        var boardId = columns.of("board_id");
+        var dueDate = columns.of("due_date");
+        return resultSet -> {
+            var reason = resultSet.getString(blockReason);
+            return new CardDetailsDTO(
+                    resultSet.getLong(id),
+                    resultSet.getString(title),
+                    resultSet.getString(description),
+                    nonNull(reason),
+                    toOffsetDateTime(resultSet.getTimestamp(blockedAt)),
+                    reason,
+                    resultSet.getInt(blocksAmount),
+                    resultSet.getLong(columnId),
+                    resultSet.getString(columnName),
+                    resultSet.getLong(boardId),
+                    toLocalDate(resultSet.getDate(dueDate))
+            );
+        };
+    });
+
+    private static final CompiledRowMapper<CardEntity> SEARCH_CARD = CompiledRowMapper.of(columns -> {
+        var id = columns.of("id");
+        var title = columns.of("title");
+        var description = columns.of("description");
+        var columnId = columns.of("board_column_id");
+        var boardId = columns.of("board_id");
+        var columnName = columns.of("column_name");
+        return resultSet -> {
+            var card = new CardEntity();
+            card.setId(resultSet.getLong(id));
+            card.setTitle(resultSet.getString(title));
+            card.setDescription(resultSet.getString(description));
+
+            // Mapeia a coluna do board; o board identifica o card quando a busca junta vários shards
+            var column = new BoardColumnEntity();
+            column.setId(resultSet.getLong(columnId));
+            column.setName(resultSet.getString(columnName));
+            column.getBoard().setId(resultSet.getLong(boardId));
+            // Note: column.setKind precisa ser implementado baseado no campo kind
+
+            card.setBoardColumn(column);
+            return card;
+        };
+    });
+
+    private static final CompiledRowMapper<CardExportDTO> EXPORT_CARD = CompiledRowMapper.of(columns -> {
+        var id = columns.of("id");
+        var title = columns.of("title");
+        var description = columns.of("description");
+        var boardId = columns.of("board_id");
+        var boardName = columns.of("board_name");
+        var columnId = columns.of("board_column_id");
+        var columnName = columns.of("column_name");
+        var columnKind = columns.of("column_kind");
+        var blockReason = columns.of("block_reason");
+        var createdAt = columns.of("created_at");
+        return resultSet -> {
+            var reason = resultSet.getString(blockReason);
+            return new CardExportDTO(
+                    resultSet.getLong(id),
+                    resultSet.getString(title),
+                    resultSet.getString(description),
+                    resultSet.getLong(boardId),
+                    resultSet.getString(boardName),
+                    resultSet.getLong(columnId),
+                    resultSet.getString(columnName),
+                    findByName(resultSet.getString(columnKind)),
+                    nonNull(reason),
+                    reason,
+                    toOffsetDateTime(resultSet.getTimestamp(createdAt))
+            );
+        };
+    });
+
+    private static final CompiledRowMapper<ColumnAgingDTO> COLUMN_AGING = CompiledRowMapper.of(columns -> {
+        var boardId = columns.of("board_id");
+        var boardName = columns.of("board_name");
+        var columnId = columns.of("column_id");
+        var columnName = columns.of("column_name");
+        var columnKind = columns.of("column_kind");
+        var upTo7 = columns.of("up_to_7");
+        var upTo30 = columns.of("up_to_30");
+        var upTo90 = columns.of("up_to_90");
+        var over90 = columns.of("over_90");
+        return resultSet -> new ColumnAgingDTO(
+                resultSet.getLong(boardId),
+                resultSet.getString(boardName),
+                resultSet.getLong(columnId),
+                resultSet.getString(columnName),
+                findByName(resultSet.getString(columnKind)),
+                resultSet.getLong(upTo7),
+                resultSet.getLong(upTo30),
+                resultSet.getLong(upTo90),
+                resultSet.getLong(over90)
+        );
+    });
+
+    private static final CompiledRowMapper<OldCardRow> OLD_CARD = CompiledRowMapper.of(columns -> {
+        var id = columns.of("id");
+        var title = columns.of("title");
+        var createdAt = columns.of("created_at");
+        var boardId = columns.of("board_id");
+        var boardName = columns.of("board_name");
+        var columnName = columns.of("column_name");
+        var columnKind = columns.of("column_kind");
+        return resultSet -> new OldCardRow(
+                resultSet.getLong(id),
+                resultSet.getString(title),
+                resultSet.getLong(boardId),
+                resultSet.getString(boardName),
+                resultSet.getString(columnName),
+                findByName(resultSet.getString(columnKind)),
+                resultSet.getTimestamp(createdAt)
+        );
+    });
+
+    private static final CompiledRowMapper<DueCardDTO> DUE_CARD = CompiledRowMapper.of(columns -> {
+        var id = columns.of("id");
+        var title = columns.of("title");
+        var boardId = columns.of("board_id");
+        var dueDate = columns.of("due_date");
+        return resultSet -> new DueCardDTO(
+                resultSet.getLong(id),
+                resultSet.getString(title),
+                resultSet.getLong(boardId),
+                resultSet.getDate(dueDate).toLocalDate()
+        );
+    });
+
+    private static final CompiledRowMapper<CardFacetRowDTO> FACET_ROW = CompiledRowMapper.of(columns -> {
+        var id = columns.of("id");
+        var boardId = columns.of("board_id");
+        var columnId = columns.of("board_column_id");
+        var priority = columns.of("priority");
+        var blockId = columns.of("block_id");
+        return resultSet -> new CardFacetRowDTO(
+                resultSet.getLong(id),
+                resultSet.getLong(boardId),
+                resultSet.getLong(columnId),
+                resultSet.getString(priority),
+                nonNull(resultSet.getObject(blockId))
+        );
+    });
+
+    private static final CompiledRowMapper<CardReadRowDTO> READ_ROW = CompiledRowMapper.of(columns -> {
+        var id = columns.of("id");
+        var boardId = columns.of("board_id");
+        var columnId = columns.of("board_column_id");
+        var title = columns.of("title");
+        return resultSet -> new CardReadRowDTO(
+                resultSet.getLong(id),
+                resultSet.getLong(boardId),
+                resultSet.getLong(columnId),
+                resultSet.getString(title)
+        );
+    });
+
+    private static final CompiledRowMapper<CardTitleDTO> CARD_TITLE = CompiledRowMapper.of(columns -> {
+        var id = columns.of("id");
+        var title = columns.of("title");
+        return resultSet -> new CardTitleDTO(resultSet.getLong(id), resultSet.getString(title));
+    });
+
     private Connection connection;
 
     public CardEntity insert(final CardEntity entity) throws SQLException {
-        var sql = "INSERT INTO CARDS (title, description, board_column_id) values (?, ?, ?);";
-        try(var statement = connection.prepareStatement(sql)){
+        var sql = "INSERT INTO CARDS (title, description, board_column_id, due_date) values (?, ?, ?, ?);";
+        try(var statement = connection.prepareStatement(sql, RETURN_GENERATED_KEYS)){
             var i = 1;
             statement.setString(i ++, entity.getTitle());
             statement.setString(i ++, entity.getDescription());
-            statement.setLong(i, entity.getBoardColumn().getId());
+            statement.setLong(i ++, entity.getBoardColumn().getId());
+            setDueDate(statement, i, entity.getDueDate());
             statement.executeUpdate();
-            if (statement instanceof StatementImpl impl){
-                entity.setId(impl.getLastInsertID());
-            }
+            entity.setId(readGeneratedId(statement));
         }
         return entity;
     }
 
+    /**
+     * Insere vários cards em um único lote JDBC (sem recuperar os ids gerados)
+     * @return quantidade de linhas inseridas
+     */
+    public int insertBatch(final List<CardEntity> entities) throws SQLException {
+        var sql = "INSERT INTO CARDS (title, description, board_column_id, due_date) values (?, ?, ?, ?);";
+        try(var statement = connection.prepareStatement(sql)){
+            for (var entity : entities) {
+                var i = 1;
+                statement.setString(i ++, entity.getTitle());
+                statement.setString(i ++, entity.getDescription());
+                statement.setLong(i ++, entity.getBoardColumn().getId());
+                setDueDate(statement, i, entity.getDueDate());
+                statement.addBatch();
+            }
+            var inserted = 0;
+            for (var count : statement.executeBatch()) {
+                // SUCCESS_NO_INFO (-2) quando o driver reescreve o lote em um único INSERT
+                inserted += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+            return inserted;
+        }
+    }
+
     public void moveToColumn(final Long columnId, final Long cardId) throws SQLException{
         var sql = "UPDATE CARDS SET board_column_id = ? WHERE id = ?;";
         try(var statement = connection.prepareStatement(sql)){
@@ -51,6 +263,26 @@ public class CardDAO {
         }
     }
 
+    public void updateDueDate(final Long cardId, final LocalDate dueDate) throws SQLException {
+        var sql = "UPDATE CARDS SET due_date = ? WHERE id = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            setDueDate(statement, 1, dueDate);
+            statement.setLong(2, cardId);
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Marca o card como alterado para o feed de mudanças, quando a escrita foi em outra tabela (bloqueios)
+     */
+    public void touch(final Long cardId) throws SQLException {
+        var sql = "UPDATE CARDS SET updated_at = CURRENT_TIMESTAMP WHERE id = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, cardId);
+            statement.executeUpdate();
+        }
+    }
+
     public Optional<CardDetailsDTO> findById(final Long id) throws SQLException {
         var sql =
                 """
@@ -61,6 +293,8 @@ public class CardDAO {
                        b.block_reason,
                        c.board_column_id,
                        bc.name,
+                       bc.board_id,
+                       c.due_date,
                        (SELECT COUNT(sub_b.id)
                                FROM BLOCKS sub_b
                               WHERE sub_b.card_id = c.id) blocks_amount
@@ -77,18 +311,7 @@ public class CardDAO {
             statement.executeQuery();
             var resultSet = statement.getResultSet();
             if (resultSet.next()){
-                var dto = new CardDetailsDTO(
-                        resultSet.getLong("c.id"),
-                        resultSet.getString("c.title"),
-                        resultSet.getString("c.description"),
-                        nonNull(resultSet.getString("b.block_reason")),
-                        toOffsetDateTime(resultSet.getTimestamp("b.blocked_at")),
-                        resultSet.getString("b.block_reason"),
-                        resultSet.getInt("blocks_amount"),
-                        resultSet.getLong("c.board_column_id"),
-                        resultSet.getString("bc.name")
-                );
-                return Optional.of(dto);
+                return Optional.of(CARD_DETAILS.bind(resultSet).map(resultSet));
             }
         }
         return Optional.empty();
@@ -98,33 +321,18 @@ public class CardDAO {
      * Busca cards com base nos critérios fornecidos
      */
     public List<CardEntity> findByCriteria(CardSearchCriteria criteria) throws SQLException {
-        StringBuilder sql = new StringBuilder();
-        sql.append("SELECT c.id, c.title, c.description, c.board_column_id, ");
-        sql.append("bc.name as column_name, bc.kind as column_kind, bc.order_position, ");
-        sql.append("b.blocked_at, b.block_reason ");
-        sql.append("FROM CARDS c ");
-        sql.append("INNER JOIN BOARDS_COLUMNS bc ON bc.id = c.board_column_id ");
-        sql.append("LEFT JOIN BLOCKS b ON c.id = b.card_id AND b.unblocked_at IS NULL ");
-        
-        List<Object> parameters = new ArrayList<>();
-        appendWhereClause(sql, criteria, parameters);
+        var plan = CardSearchPlan.of(criteria);
+        log.debug("Executando query de busca: {}", plan.getSelectSql());
         
-        sql.append(" ORDER BY c.id DESC ");
-        sql.append(" LIMIT ? OFFSET ?");
-        parameters.add(criteria.getLimit());
-        parameters.add(criteria.getOffset());
-        
-        log.debug("Executando query de busca: {}", sql.toString());
-        
-        try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
-            setParameters(statement, parameters);
+        try (PreparedStatement statement = connection.prepareStatement(plan.getSelectSql())) {
+            plan.bindSelect(statement, criteria);
             
             try (ResultSet resultSet = statement.executeQuery()) {
                 List<CardEntity> cards = new ArrayList<>();
+                var mapper = SEARCH_CARD.bind(resultSet);
                 
                 while (resultSet.next()) {
-                    CardEntity card = mapResultSetToCard(resultSet);
-                    cards.add(card);
+                    cards.add(mapper.map(resultSet));
                 }
                 
                 return cards;
@@ -133,126 +341,331 @@ public class CardDAO {
     }
     
     /**
-     * Conta o total de cards que atendem aos critérios
+     * Percorre os cards de um board (ou de todos, se {@code boardId} for nulo) em ordem de id,
+     * entregando cada linha ao handler assim que ela chega do banco
+     * No MySQL o ResultSet é lido em modo streaming (fetch size {@code Integer.MIN_VALUE}), então a
+     * memória usada não cresce com o número de cards; enquanto a leitura não termina a conexão
+     * não pode executar outros comandos
+     * @return quantidade de cards entregues
      */
-    public long countByCriteria(CardSearchCriteria criteria) throws SQLException {
-        StringBuilder sql = new StringBuilder();
-        sql.append("SELECT COUNT(DISTINCT c.id) ");
+    public long streamForExport(final Long boardId, final ExportRowHandler handler) throws SQLException, IOException {
+        var sql = new StringBuilder();
+        sql.append("SELECT c.id, c.title, c.description, c.created_at, c.board_column_id, ");
+        sql.append("bc.name as column_name, bc.kind as column_kind, bc.board_id, bo.name as board_name, ");
+        sql.append("b.block_reason ");
         sql.append("FROM CARDS c ");
         sql.append("INNER JOIN BOARDS_COLUMNS bc ON bc.id = c.board_column_id ");
+        sql.append("INNER JOIN BOARDS bo ON bo.id = bc.board_id AND bo.deleted_at IS NULL ");
         sql.append("LEFT JOIN BLOCKS b ON c.id = b.card_id AND b.unblocked_at IS NULL ");
-        
-        List<Object> parameters = new ArrayList<>();
-        appendWhereClause(sql, criteria, parameters);
-        
-        try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
-            setParameters(statement, parameters);
-            
-            try (ResultSet resultSet = statement.executeQuery()) {
-                return resultSet.next() ? resultSet.getLong(1) : 0;
+        if (nonNull(boardId)) {
+            sql.append("WHERE bc.board_id = ? ");
+        }
+        sql.append("ORDER BY c.id");
+
+        try (var statement = StreamingStatements.prepare(connection, sql.toString())) {
+            if (nonNull(boardId)) {
+                statement.setLong(1, boardId);
+            }
+            try (var resultSet = statement.executeQuery()) {
+                long count = 0;
+                var mapper = EXPORT_CARD.bind(resultSet);
+                while (resultSet.next()) {
+                    handler.handle(mapper.map(resultSet));
+                    count++;
+                }
+                return count;
             }
         }
     }
-    
-    private void appendWhereClause(StringBuilder sql, CardSearchCriteria criteria, List<Object> parameters) {
-        List<String> conditions = new ArrayList<>();
-        
-        // Filtro por texto no título
-        if (criteria.getTitleContains() != null && !criteria.getTitleContains().trim().isEmpty()) {
-            conditions.add("c.title LIKE ?");
-            parameters.add("%" + criteria.getTitleContains().trim() + "%");
+
+    /**
+     * Conta os cards em aberto (fora das colunas final e de cancelamento) de cada coluna,
+     * agrupados por idade: até 7, de 8 a 30, de 31 a 90 e mais de 90 dias
+     * Uma única consulta agregada percorre todos os cards, sem trazê-los para a aplicação
+     */
+    public List<ColumnAgingDTO> countOpenByAge(final LocalDateTime now) throws SQLException {
+        var sql =
+                """
+                SELECT bc.board_id,
+                       bo.name AS board_name,
+                       bc.id AS column_id,
+                       bc.name AS column_name,
+                       bc.kind AS column_kind,
+                       SUM(CASE WHEN c.created_at >= ? THEN 1 ELSE 0 END) AS up_to_7,
+                       SUM(CASE WHEN c.created_at < ? AND c.created_at >= ? THEN 1 ELSE 0 END) AS up_to_30,
+                       SUM(CASE WHEN c.created_at < ? AND c.created_at >= ? THEN 1 ELSE 0 END) AS up_to_90,
+                       SUM(CASE WHEN c.created_at < ? THEN 1 ELSE 0 END) AS over_90
+                  FROM CARDS c
+                 INNER JOIN BOARDS_COLUMNS bc ON bc.id = c.board_column_id
+                 INNER JOIN BOARDS bo ON bo.id = bc.board_id AND bo.deleted_at IS NULL
+                 WHERE bc.kind NOT IN ('FINAL', 'CANCEL')
+                 GROUP BY bc.board_id, bo.name, bc.id, bc.name, bc.kind, bc.`order`
+                 ORDER BY bc.board_id, bc.`order`;
+                """;
+        var days7 = Timestamp.valueOf(now.minusDays(7));
+        var days30 = Timestamp.valueOf(now.minusDays(30));
+        var days90 = Timestamp.valueOf(now.minusDays(90));
+        try (var statement = connection.prepareStatement(sql)) {
+            var i = 1;
+            statement.setTimestamp(i ++, days7);
+            statement.setTimestamp(i ++, days7);
+            statement.setTimestamp(i ++, days30);
+            statement.setTimestamp(i ++, days30);
+            statement.setTimestamp(i ++, days90);
+            statement.setTimestamp(i, days90);
+            try (var resultSet = statement.executeQuery()) {
+                List<ColumnAgingDTO> columns = new ArrayList<>();
+                var mapper = COLUMN_AGING.bind(resultSet);
+                while (resultSet.next()) {
+                    columns.add(mapper.map(resultSet));
+                }
+                return columns;
+            }
         }
-        
-        // Filtro por texto na descrição
-        if (criteria.getDescriptionContains() != null && !criteria.getDescriptionContains().trim().isEmpty()) {
-            conditions.add("c.description LIKE ?");
-            parameters.add("%" + criteria.getDescriptionContains().trim() + "%");
+    }
+
+    /**
+     * Até {@code limit} cards da coluna com id maior que {@code afterId}, só com id e título
+     * A paginação por chave percorre idx_cards_column_id a partir do último id lido, sem OFFSET
+     */
+    public List<CardTitleDTO> findTitlesByColumn(final Long columnId, final long afterId, final int limit)
+            throws SQLException {
+        var sql =
+                """
+                SELECT c.id,
+                       c.title
+                  FROM CARDS c
+                 WHERE c.board_column_id = ?
+                   AND c.id > ?
+                 ORDER BY c.id
+                 LIMIT ?;
+                """;
+        try (var statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, columnId);
+            statement.setLong(2, afterId);
+            statement.setInt(3, limit);
+            try (var resultSet = statement.executeQuery()) {
+                List<CardTitleDTO> cards = new ArrayList<>();
+                var mapper = CARD_TITLE.bind(resultSet);
+                while (resultSet.next()) {
+                    cards.add(mapper.map(resultSet));
+                }
+                return cards;
+            }
         }
-        
-        // Filtro por colunas específicas
-        if (criteria.hasBoardFilter()) {
-            String placeholders = criteria.getBoardIds().stream()
-                .map(id -> "?")
-                .reduce((a, b) -> a + "," + b)
-                .orElse("");
-            conditions.add("bc.board_id IN (" + placeholders + ")");
-            criteria.getBoardIds().forEach(parameters::add);
+    }
+
+    /**
+     * Busca os {@code limit} cards em aberto mais antigos criados até {@code createdBefore}
+     * A ordenação por created_at permite ao banco percorrer idx_cards_created_at e parar no limite
+     */
+    public List<OldCardDTO> findOldestOpen(final LocalDateTime createdBefore, final int limit,
+                                           final LocalDateTime now) throws SQLException {
+        var sql =
+                """
+                SELECT c.id,
+                       c.title,
+                       c.created_at,
+                       bc.board_id,
+                       bo.name AS board_name,
+                       bc.name AS column_name,
+                       bc.kind AS column_kind
+                  FROM CARDS c
+                 INNER JOIN BOARDS_COLUMNS bc ON bc.id = c.board_column_id
+                 INNER JOIN BOARDS bo ON bo.id = bc.board_id AND bo.deleted_at IS NULL
+                 WHERE c.created_at <= ?
+                   AND bc.kind NOT IN ('FINAL', 'CANCEL')
+                 ORDER BY c.created_at, c.id
+                 LIMIT ?;
+                """;
+        try (var statement = connection.prepareStatement(sql)) {
+            statement.setTimestamp(1, Timestamp.valueOf(createdBefore));
+            statement.setInt(2, limit);
+            try (var resultSet = statement.executeQuery()) {
+                List<OldCardDTO> cards = new ArrayList<>();
+                var mapper = OLD_CARD.bind(resultSet);
+                while (resultSet.next()) {
+                    cards.add(mapper.map(resultSet).toDTO(now));
+                }
+                return cards;
+            }
         }
-        
-        // Filtro por colunas específicas
-        if (criteria.hasColumnFilter()) {
-            String placeholders = criteria.getBoardColumnIds().stream()
-                .map(id -> "?")
-                .reduce((a, b) -> a + "," + b)
-                .orElse("");
-            conditions.add("c.board_column_id IN (" + placeholders + ")");
-            criteria.getBoardColumnIds().forEach(parameters::add);
+    }
+    
+    /**
+     * Todos os cards em aberto (fora das colunas final e de cancelamento) que têm prazo,
+     * para carregar o índice de prazos em memória
+     */
+    public List<DueCardDTO> findOpenWithDueDate() throws SQLException {
+        var sql =
+                """
+                SELECT c.id,
+                       c.title,
+                       bc.board_id,
+                       c.due_date
+                  FROM CARDS c
+                 INNER JOIN BOARDS_COLUMNS bc ON bc.id = c.board_column_id
+                 INNER JOIN BOARDS bo ON bo.id = bc.board_id AND bo.deleted_at IS NULL
+                 WHERE c.due_date IS NOT NULL
+                   AND bc.kind NOT IN ('FINAL', 'CANCEL');
+                """;
+        try (var statement = StreamingStatements.prepare(connection, sql);
+             var resultSet = statement.executeQuery()) {
+            List<DueCardDTO> cards = new ArrayList<>();
+            var mapper = DUE_CARD.bind(resultSet);
+            while (resultSet.next()) {
+                cards.add(mapper.map(resultSet));
+            }
+            return cards;
         }
-        
-        // Filtro por status de bloqueio
-        if (criteria.getIsBlocked() != null) {
-            if (criteria.getIsBlocked()) {
-                conditions.add("b.id IS NOT NULL");
-            } else {
-                conditions.add("b.id IS NULL");
+    }
+
+    /**
+     * Board, coluna, prioridade e bloqueio de todos os cards, para a carga do índice de facetas
+     */
+    public List<CardFacetRowDTO> findFacetRows() throws SQLException {
+        var sql =
+                """
+                SELECT c.id,
+                       bc.board_id,
+                       c.board_column_id,
+                       c.priority,
+                       b.id block_id
+                  FROM CARDS c
+                 INNER JOIN BOARDS_COLUMNS bc ON bc.id = c.board_column_id
+                 INNER JOIN BOARDS bo ON bo.id = bc.board_id AND bo.deleted_at IS NULL
+                  LEFT JOIN BLOCKS b ON b.card_id = c.id AND b.unblocked_at IS NULL;
+                """;
+        try (var statement = StreamingStatements.prepare(connection, sql);
+             var resultSet = statement.executeQuery()) {
+            List<CardFacetRowDTO> rows = new ArrayList<>();
+            var mapper = FACET_ROW.bind(resultSet);
+            while (resultSet.next()) {
+                rows.add(mapper.map(resultSet));
             }
+            return rows;
         }
-        
-        // Filtro por motivo de bloqueio
-        if (criteria.getBlockReasonContains() != null && !criteria.getBlockReasonContains().trim().isEmpty()) {
-            conditions.add("b.block_reason LIKE ?");
-            parameters.add("%" + criteria.getBlockReasonContains().trim() + "%");
+    }
+
+    /**
+     * Percorre todos os cards com os campos do modelo de leitura, entregando cada linha ao handler
+     * assim que ela chega do banco, como em {@link #streamForExport}
+     * @return quantidade de cards entregues
+     */
+    public long streamReadRows(final ReadRowHandler handler) throws SQLException {
+        var sql =
+                """
+                SELECT c.id,
+                       bc.board_id,
+                       c.board_column_id,
+                       c.title
+                  FROM CARDS c
+                 INNER JOIN BOARDS_COLUMNS bc ON bc.id = c.board_column_id;
+                """;
+        try (var statement = StreamingStatements.prepare(connection, sql);
+             var resultSet = statement.executeQuery()) {
+            long count = 0;
+            var mapper = READ_ROW.bind(resultSet);
+            while (resultSet.next()) {
+                handler.handle(mapper.map(resultSet));
+                count++;
+            }
+            return count;
         }
-        
-        // Filtro por data de criação
-        if (criteria.getCreatedAfter() != null) {
-            conditions.add("c.created_at >= ?");
-            parameters.add(Timestamp.valueOf(criteria.getCreatedAfter()));
+    }
+
+    public Optional<CardReadRowDTO> findReadRow(final Long cardId) throws SQLException {
+        var sql =
+                """
+                SELECT c.id,
+                       bc.board_id,
+                       c.board_column_id,
+                       c.title
+                  FROM CARDS c
+                 INNER JOIN BOARDS_COLUMNS bc ON bc.id = c.board_column_id
+                 WHERE c.id = ?;
+                """;
+        try (var statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, cardId);
+            try (var resultSet = statement.executeQuery()) {
+                return resultSet.next() ? Optional.of(READ_ROW.bind(resultSet).map(resultSet)) : Optional.empty();
+            }
         }
-        
-        if (criteria.getCreatedBefore() != null) {
-            conditions.add("c.created_at <= ?");
-            parameters.add(Timestamp.valueOf(criteria.getCreatedBefore()));
+    }
+
+    /**
+     * O card com prazo, se ainda estiver em aberto
+     */
+    public Optional<DueCardDTO> findOpenDueCard(final Long cardId) throws SQLException {
+        var sql =
+                """
+                SELECT c.id,
+                       c.title,
+                       bc.board_id,
+                       c.due_date
+                  FROM CARDS c
+                 INNER JOIN BOARDS_COLUMNS bc ON bc.id = c.board_column_id
+                 WHERE c.id = ?
+                   AND c.due_date IS NOT NULL
+                   AND bc.kind NOT IN ('FINAL', 'CANCEL');
+                """;
+        try (var statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, cardId);
+            try (var resultSet = statement.executeQuery()) {
+                return resultSet.next() ? Optional.of(DUE_CARD.bind(resultSet).map(resultSet)) : Optional.empty();
+            }
         }
+    }
+
+    /**
+     * Conta o total de cards que atendem aos critérios
+     */
+    public long countByCriteria(CardSearchCriteria criteria) throws SQLException {
+        var plan = CardSearchPlan.of(criteria);
         
-        if (!conditions.isEmpty()) {
-            sql.append(" WHERE ");
-            sql.append(String.join(" AND ", conditions));
+        try (PreparedStatement statement = connection.prepareStatement(plan.getCountSql())) {
+            plan.bindCount(statement, criteria);
+            
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            }
         }
     }
-    
-    private void setParameters(PreparedStatement statement, List<Object> parameters) throws SQLException {
-        for (int i = 0; i < parameters.size(); i++) {
-            Object param = parameters.get(i);
-            if (param instanceof String) {
-                statement.setString(i + 1, (String) param);
-            } else if (param instanceof Long) {
-                statement.setLong(i + 1, (Long) param);
-            } else if (param instanceof Integer) {
-                statement.setInt(i + 1, (Integer) param);
-            } else if (param instanceof Timestamp) {
-                statement.setTimestamp(i + 1, (Timestamp) param);
-            } else if (param instanceof Boolean) {
-                statement.setBoolean(i + 1, (Boolean) param);
-            }
+
+    private static void setDueDate(final PreparedStatement statement, final int index, final LocalDate dueDate)
+            throws SQLException {
+        if (dueDate == null) {
+            statement.setNull(index, Types.DATE);
+        } else {
+            statement.setDate(index, Date.valueOf(dueDate));
         }
     }
-    
-    private CardEntity mapResultSetToCard(ResultSet rs) throws SQLException {
-        CardEntity card = new CardEntity();
-        card.setId(rs.getLong("id"));
-        card.setTitle(rs.getString("title"));
-        card.setDescription(rs.getString("description"));
-        
-        // Mapeia a coluna do board
-        BoardColumnEntity column = new BoardColumnEntity();
-        column.setId(rs.getLong("board_column_id"));
-        column.setName(rs.getString("column_name"));
-        // Note: column.setKind precisa ser implementado baseado no campo kind
-        
-        card.setBoardColumn(column);
-        
-        return card;
+
+    private static LocalDate toLocalDate(final Date date) {
+        return date == null ? null : date.toLocalDate();
+    }
+
+    /**
+     * Linha de cards antigos; a idade depende do instante de referência da consulta
+     */
+    private record OldCardRow(Long id, String title, Long boardId, String boardName, String columnName,
+                              BoardColumnKindEnum columnKind, Timestamp createdAt) {
+
+        OldCardDTO toDTO(final LocalDateTime now) {
+            return new OldCardDTO(id, title, boardId, boardName, columnName, columnKind,
+                    toOffsetDateTime(createdAt), Duration.between(createdAt.toLocalDateTime(), now).toDays());
+        }
+
+    }
+
+    @FunctionalInterface
+    public interface ExportRowHandler {
+        void handle(CardExportDTO card) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface ReadRowHandler {
+        void handle(CardReadRowDTO card);
     }
 
 }
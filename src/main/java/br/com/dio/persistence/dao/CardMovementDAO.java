@@ -0,0 +1,127 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.dto.CardMovementDTO;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toOffsetDateTime;
+import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toTimestamp;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.findByName;
+import static java.util.Objects.isNull;
+
+@AllArgsConstructor
+public class CardMovementDAO {
+
+    private static final CompiledRowMapper<CardMovementDTO> MOVEMENT = CompiledRowMapper.of(columns -> {
+        var id = columns.of("id");
+        var cardId = columns.of("card_id");
+        var fromColumnId = columns.of("from_column_id");
+        var toColumnId = columns.of("to_column_id");
+        var movedAt = columns.of("moved_at");
+        var boardId = columns.of("board_id");
+        var toKind = columns.of("to_kind");
+        var cardCreatedAt = columns.of("card_created_at");
+        var previousMovedAt = columns.of("previous_moved_at");
+        var firstMovedAt = columns.of("first_moved_at");
+        return resultSet -> {
+            var createdAt = toOffsetDateTime(resultSet.getTimestamp(cardCreatedAt));
+            var previous = toOffsetDateTime(resultSet.getTimestamp(previousMovedAt));
+            var fromColumn = resultSet.getLong(fromColumnId);
+            var hasFromColumn = !resultSet.wasNull();
+            return new CardMovementDTO(
+                    resultSet.getLong(id),
+                    resultSet.getLong(cardId),
+                    resultSet.getLong(boardId),
+                    hasFromColumn ? fromColumn : null,
+                    resultSet.getLong(toColumnId),
+                    findByName(resultSet.getString(toKind)),
+                    toOffsetDateTime(resultSet.getTimestamp(movedAt)),
+                    isNull(previous) ? createdAt : previous,
+                    createdAt,
+                    toOffsetDateTime(resultSet.getTimestamp(firstMovedAt))
+            );
+        };
+    });
+
+    private final Connection connection;
+
+    public void insert(final Long cardId, final Long fromColumnId, final Long toColumnId) throws SQLException {
+        var sql = "INSERT INTO CARD_MOVEMENTS (card_id, from_column_id, to_column_id, moved_at) VALUES (?, ?, ?, ?);";
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setLong(i ++, cardId);
+            if (isNull(fromColumnId)) {
+                statement.setNull(i ++, Types.BIGINT);
+            } else {
+                statement.setLong(i ++, fromColumnId);
+            }
+            statement.setLong(i ++, toColumnId);
+            statement.setTimestamp(i, toTimestamp(OffsetDateTime.now()));
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Indica se há movimentações posteriores a {@code afterId}, lendo só a chave primária
+     */
+    public boolean existsAfter(final long afterId) throws SQLException {
+        var sql = "SELECT 1 FROM CARD_MOVEMENTS WHERE id > ? LIMIT 1;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, afterId);
+            try(var resultSet = statement.executeQuery()){
+                return resultSet.next();
+            }
+        }
+    }
+
+    /**
+     * Busca, em ordem de id, as movimentações posteriores a {@code afterId}
+     * Os instantes de entrada na coluna de origem e de primeira movimentação vêm de subconsultas
+     * por card (índice idx_card_movements_card_id), sem percorrer o histórico inteiro
+     */
+    public List<CardMovementDTO> findAfter(final long afterId, final int limit) throws SQLException {
+        var sql =
+                """
+                SELECT cm.id,
+                       cm.card_id,
+                       cm.from_column_id,
+                       cm.to_column_id,
+                       cm.moved_at,
+                       bc.board_id,
+                       bc.kind AS to_kind,
+                       c.created_at AS card_created_at,
+                       (SELECT MAX(p.moved_at)
+                          FROM CARD_MOVEMENTS p
+                         WHERE p.card_id = cm.card_id
+                           AND p.id < cm.id) AS previous_moved_at,
+                       (SELECT MIN(f.moved_at)
+                          FROM CARD_MOVEMENTS f
+                         WHERE f.card_id = cm.card_id) AS first_moved_at
+                  FROM CARD_MOVEMENTS cm
+                 INNER JOIN CARDS c ON c.id = cm.card_id
+                 INNER JOIN BOARDS_COLUMNS bc ON bc.id = cm.to_column_id
+                 WHERE cm.id > ?
+                 ORDER BY cm.id
+                 LIMIT ?;
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, afterId);
+            statement.setInt(2, limit);
+            try(var resultSet = statement.executeQuery()){
+                List<CardMovementDTO> movements = new ArrayList<>();
+                var mapper = MOVEMENT.bind(resultSet);
+                while (resultSet.next()){
+                    movements.add(mapper.map(resultSet));
+                }
+                return movements;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,172 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.search.CardSearchCriteria;
+import lombok.Getter;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * SQL de busca de cards já montado para um formato de critérios, com os binders tipados dos parâmetros
+ * O formato diz quais filtros estão presentes e em que faixa cai o tamanho das listas IN (potências
+ * de dois); buscas repetidas com o mesmo formato reaproveitam o plano sem montar SQL. As posições que
+ * sobram na faixa repetem o último id da lista, o que não muda o resultado do IN
+ */
+final class CardSearchPlan {
+
+    private static final String SELECT = "SELECT c.id, c.title, c.description, c.board_column_id, bc.board_id, "
+            + "bc.name as column_name, bc.kind as column_kind, bc.`order` as column_order, "
+            + "b.blocked_at, b.block_reason ";
+    private static final String COUNT = "SELECT COUNT(DISTINCT c.id) ";
+    private static final String FROM = "FROM CARDS c "
+            + "INNER JOIN BOARDS_COLUMNS bc ON bc.id = c.board_column_id "
+            + "INNER JOIN BOARDS bo ON bo.id = bc.board_id AND bo.deleted_at IS NULL "
+            + "LEFT JOIN BLOCKS b ON c.id = b.card_id AND b.unblocked_at IS NULL";
+
+    private static final Map<Shape, CardSearchPlan> PLANS = new ConcurrentHashMap<>();
+
+    @Getter
+    private final String selectSql;
+    @Getter
+    private final String countSql;
+    private final Binder[] whereBinders;
+
+    private CardSearchPlan(final Shape shape) {
+        List<String> conditions = new ArrayList<>();
+        List<Binder> binders = new ArrayList<>();
+        if (shape.title()) {
+            conditions.add("c.title LIKE ?");
+            binders.add(like(CardSearchCriteria::getTitleContains));
+        }
+        if (shape.description()) {
+            conditions.add("c.description LIKE ?");
+            binders.add(like(CardSearchCriteria::getDescriptionContains));
+        }
+        // Filtro por boards: expresso sobre c.board_column_id para que idx_cards_column_id conduza a busca
+        if (shape.boardIds() > 0) {
+            conditions.add("c.board_column_id IN (SELECT id FROM BOARDS_COLUMNS WHERE board_id IN ("
+                    + placeholders(shape.boardIds()) + "))");
+            binders.add(ids(CardSearchCriteria::getBoardIds, shape.boardIds()));
+        }
+        if (shape.columnIds() > 0) {
+            conditions.add("c.board_column_id IN (" + placeholders(shape.columnIds()) + ")");
+            binders.add(ids(CardSearchCriteria::getBoardColumnIds, shape.columnIds()));
+        }
+        if (shape.blocked() != null) {
+            conditions.add(shape.blocked() ? "b.id IS NOT NULL" : "b.id IS NULL");
+        }
+        if (shape.blockReason()) {
+            conditions.add("b.block_reason LIKE ?");
+            binders.add(like(CardSearchCriteria::getBlockReasonContains));
+        }
+        if (shape.createdAfter()) {
+            conditions.add("c.created_at >= ?");
+            binders.add((statement, index, criteria) -> {
+                statement.setTimestamp(index, Timestamp.valueOf(criteria.getCreatedAfter()));
+                return index + 1;
+            });
+        }
+        if (shape.createdBefore()) {
+            conditions.add("c.created_at <= ?");
+            binders.add((statement, index, criteria) -> {
+                statement.setTimestamp(index, Timestamp.valueOf(criteria.getCreatedBefore()));
+                return index + 1;
+            });
+        }
+        var where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        this.selectSql = SELECT + FROM + where + " ORDER BY c.id DESC LIMIT ? OFFSET ?";
+        this.countSql = COUNT + FROM + where;
+        this.whereBinders = binders.toArray(Binder[]::new);
+    }
+
+    static CardSearchPlan of(final CardSearchCriteria criteria) {
+        return PLANS.computeIfAbsent(Shape.of(criteria), CardSearchPlan::new);
+    }
+
+    void bindSelect(final PreparedStatement statement, final CardSearchCriteria criteria) throws SQLException {
+        var index = bindWhere(statement, criteria);
+        statement.setInt(index, criteria.getLimit());
+        statement.setInt(index + 1, criteria.getOffset());
+    }
+
+    void bindCount(final PreparedStatement statement, final CardSearchCriteria criteria) throws SQLException {
+        bindWhere(statement, criteria);
+    }
+
+    private int bindWhere(final PreparedStatement statement, final CardSearchCriteria criteria) throws SQLException {
+        var index = 1;
+        for (var binder : whereBinders) {
+            index = binder.bind(statement, index, criteria);
+        }
+        return index;
+    }
+
+    private static Binder like(final Function<CardSearchCriteria, String> text) {
+        return (statement, index, criteria) -> {
+            statement.setString(index, "%" + text.apply(criteria).trim() + "%");
+            return index + 1;
+        };
+    }
+
+    private static Binder ids(final Function<CardSearchCriteria, List<Long>> list, final int bucket) {
+        return (statement, index, criteria) -> {
+            var ids = list.apply(criteria);
+            for (var i = 0; i < bucket; i++) {
+                statement.setLong(index + i, ids.get(Math.min(i, ids.size() - 1)));
+            }
+            return index + bucket;
+        };
+    }
+
+    private static String placeholders(final int count) {
+        return "?" + ",?".repeat(count - 1);
+    }
+
+    /**
+     * Vincula os parâmetros de um filtro a partir da posição {@code index} e devolve a próxima posição livre
+     */
+    @FunctionalInterface
+    private interface Binder {
+        int bind(PreparedStatement statement, int index, CardSearchCriteria criteria) throws SQLException;
+    }
+
+    /**
+     * @param boardIds faixa do tamanho da lista de boards (0 sem filtro)
+     * @param columnIds faixa do tamanho da lista de colunas (0 sem filtro)
+     * @param blocked filtro de bloqueio, ou nulo sem filtro
+     */
+    record Shape(boolean title, boolean description, int boardIds, int columnIds, Boolean blocked,
+                 boolean blockReason, boolean createdAfter, boolean createdBefore) {
+
+        static Shape of(final CardSearchCriteria criteria) {
+            return new Shape(
+                    hasText(criteria.getTitleContains()),
+                    hasText(criteria.getDescriptionContains()),
+                    criteria.hasBoardFilter() ? bucket(criteria.getBoardIds().size()) : 0,
+                    criteria.hasColumnFilter() ? bucket(criteria.getBoardColumnIds().size()) : 0,
+                    criteria.getIsBlocked(),
+                    hasText(criteria.getBlockReasonContains()),
+                    criteria.getCreatedAfter() != null,
+                    criteria.getCreatedBefore() != null);
+        }
+
+        /**
+         * Menor potência de dois que comporta {@code size}
+         */
+        static int bucket(final int size) {
+            return size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        }
+
+        private static boolean hasText(final String value) {
+            return value != null && !value.trim().isEmpty();
+        }
+
+    }
+
+}
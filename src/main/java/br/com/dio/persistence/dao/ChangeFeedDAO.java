@@ -0,0 +1,164 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.dto.EntityChangeDTO;
+import br.com.dio.persistence.entity.ChangedEntityEnum;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toOffsetDateTime;
+
+/**
+ * Consultas do feed de mudanças: linhas alteradas depois de uma marca {@code (updated_at, id)}, em ordem
+ * dessa chave e cobertas pelos índices {@code idx_*_updated_at}, e as lápides das linhas apagadas
+ * O limite superior {@code before} deixa de fora as linhas alteradas há pouco, cujas transações podem
+ * ainda não estar visíveis
+ */
+@AllArgsConstructor
+public class ChangeFeedDAO {
+
+    private static final CompiledRowMapper<EntityChangeDTO> CHANGE = CompiledRowMapper.of(columns -> {
+        var entity = columns.of("entity");
+        var id = columns.of("id");
+        var boardId = columns.of("board_id");
+        var changedAt = columns.of("changed_at");
+        var deleted = columns.of("deleted");
+        return resultSet -> new EntityChangeDTO(
+                ChangedEntityEnum.valueOf(resultSet.getString(entity)),
+                resultSet.getLong(id),
+                resultSet.getLong(boardId),
+                toOffsetDateTime(resultSet.getTimestamp(changedAt)),
+                resultSet.getBoolean(deleted)
+        );
+    });
+
+    private static final String BOARD_CHANGES =
+            """
+            SELECT 'BOARD' entity, b.id, b.id board_id, b.updated_at changed_at, FALSE deleted
+              FROM BOARDS b
+             WHERE b.updated_at < ?
+               AND (b.updated_at > ? OR (b.updated_at = ? AND b.id > ?))
+             ORDER BY b.updated_at, b.id
+             LIMIT ?;
+            """;
+
+    private static final String COLUMN_CHANGES =
+            """
+            SELECT 'COLUMN' entity, bc.id, bc.board_id, bc.updated_at changed_at, FALSE deleted
+              FROM BOARDS_COLUMNS bc
+             WHERE bc.updated_at < ?
+               AND (bc.updated_at > ? OR (bc.updated_at = ? AND bc.id > ?))
+             ORDER BY bc.updated_at, bc.id
+             LIMIT ?;
+            """;
+
+    private static final String CARD_CHANGES =
+            """
+            SELECT 'CARD' entity, c.id, bc.board_id, c.updated_at changed_at, FALSE deleted
+              FROM CARDS c
+             INNER JOIN BOARDS_COLUMNS bc ON bc.id = c.board_column_id
+             WHERE c.updated_at < ?
+               AND (c.updated_at > ? OR (c.updated_at = ? AND c.id > ?))
+             ORDER BY c.updated_at, c.id
+             LIMIT ?;
+            """;
+
+    private static final String TOMBSTONES =
+            """
+            SELECT t.entity, t.entity_id id, t.board_id, t.deleted_at changed_at, TRUE deleted, t.id tombstone_id
+              FROM CHANGE_TOMBSTONES t
+             WHERE t.deleted_at < ?
+               AND (t.deleted_at > ? OR (t.deleted_at = ? AND t.id > ?))
+             ORDER BY t.deleted_at, t.id
+             LIMIT ?;
+            """;
+
+    private Connection connection;
+
+    /**
+     * Hora atual do banco, referência para o limite das consultas
+     */
+    public OffsetDateTime currentTimestamp() throws SQLException {
+        try (var statement = connection.prepareStatement("SELECT CURRENT_TIMESTAMP;");
+             var resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return toOffsetDateTime(resultSet.getTimestamp(1));
+        }
+    }
+
+    /**
+     * Linhas da tabela alteradas depois de {@code (afterAt, afterId)} e antes de {@code before}
+     */
+    public List<EntityChangeDTO> findChanges(final ChangedEntityEnum entity, final OffsetDateTime afterAt,
+                                             final long afterId, final OffsetDateTime before, final int limit)
+            throws SQLException {
+        var sql = switch (entity) {
+            case BOARD -> BOARD_CHANGES;
+            case COLUMN -> COLUMN_CHANGES;
+            case CARD -> CARD_CHANGES;
+        };
+        try (var statement = prepare(sql, afterAt, afterId, before, limit);
+             var resultSet = statement.executeQuery()) {
+            List<EntityChangeDTO> changes = new ArrayList<>();
+            var mapper = CHANGE.bind(resultSet);
+            while (resultSet.next()) {
+                changes.add(mapper.map(resultSet));
+            }
+            return changes;
+        }
+    }
+
+    /**
+     * Lápides gravadas depois de {@code (afterAt, afterTombstoneId)} e antes de {@code before}; a marca usa
+     * o id da lápide, e não o da linha apagada
+     */
+    public TombstonePage findTombstones(final OffsetDateTime afterAt, final long afterTombstoneId,
+                                        final OffsetDateTime before, final int limit) throws SQLException {
+        try (var statement = prepare(TOMBSTONES, afterAt, afterTombstoneId, before, limit);
+             var resultSet = statement.executeQuery()) {
+            List<EntityChangeDTO> changes = new ArrayList<>();
+            var mapper = CHANGE.bind(resultSet);
+            var lastTombstoneId = afterTombstoneId;
+            while (resultSet.next()) {
+                changes.add(mapper.map(resultSet));
+                lastTombstoneId = resultSet.getLong("tombstone_id");
+            }
+            return new TombstonePage(changes, lastTombstoneId);
+        }
+    }
+
+    public void insertTombstone(final ChangedEntityEnum entity, final long entityId, final long boardId)
+            throws SQLException {
+        var sql = "INSERT INTO CHANGE_TOMBSTONES (entity, entity_id, board_id) VALUES (?, ?, ?);";
+        try (var statement = connection.prepareStatement(sql)) {
+            statement.setString(1, entity.name());
+            statement.setLong(2, entityId);
+            statement.setLong(3, boardId);
+            statement.executeUpdate();
+        }
+    }
+
+    private PreparedStatement prepare(final String sql, final OffsetDateTime afterAt, final long afterId,
+                                      final OffsetDateTime before, final int limit) throws SQLException {
+        var statement = connection.prepareStatement(sql);
+        // Timestamp.from é o inverso exato do Timestamp.toInstant usado na leitura
+        var after = Timestamp.from(afterAt.toInstant());
+        var i = 1;
+        statement.setTimestamp(i++, Timestamp.from(before.toInstant()));
+        statement.setTimestamp(i++, after);
+        statement.setTimestamp(i++, after);
+        statement.setLong(i++, afterId);
+        statement.setInt(i, limit);
+        return statement;
+    }
+
+    public record TombstonePage(List<EntityChangeDTO> changes, long lastTombstoneId) {
+    }
+
+}
@@ -0,0 +1,90 @@
+package br.com.dio.persistence.dao;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Mapeador de linhas que resolve os índices das colunas pelo rótulo uma única vez e depois lê cada
+ * linha por posição, sem a busca de rótulo por campo que {@code getString("title")} faz a cada linha
+ * Cada instância atende um formato de SELECT (mesmas colunas, na mesma ordem), fica em um campo
+ * estático do DAO e é compilada na primeira consulta; só é recompilada se o número de colunas do
+ * resultado mudar
+ */
+final class CompiledRowMapper<T> {
+
+    private final Compiler<T> compiler;
+    private volatile Compiled<T> compiled;
+
+    private CompiledRowMapper(final Compiler<T> compiler) {
+        this.compiler = compiler;
+    }
+
+    static <T> CompiledRowMapper<T> of(final Compiler<T> compiler) {
+        return new CompiledRowMapper<>(compiler);
+    }
+
+    /**
+     * Mapeador posicional para o ResultSet, obtido uma vez por consulta e usado em todas as linhas dela
+     */
+    RowMapper<T> bind(final ResultSet resultSet) throws SQLException {
+        var metaData = resultSet.getMetaData();
+        var current = compiled;
+        if (current == null || current.columnCount() != metaData.getColumnCount()) {
+            current = compile(metaData);
+        }
+        return current.mapper();
+    }
+
+    private Compiled<T> compile(final ResultSetMetaData metaData) throws SQLException {
+        var columns = Columns.of(metaData);
+        var current = new Compiled<>(metaData.getColumnCount(), compiler.compile(columns));
+        compiled = current;
+        return current;
+    }
+
+    private record Compiled<T>(int columnCount, RowMapper<T> mapper) {
+    }
+
+    /**
+     * Recebe os índices resolvidos e devolve o mapeador que os usa
+     */
+    @FunctionalInterface
+    interface Compiler<T> {
+        RowMapper<T> compile(Columns columns) throws SQLException;
+    }
+
+    /**
+     * Índices das colunas do resultado pelo rótulo, sem diferenciar maiúsculas (o H2 em
+     * DATABASE_TO_LOWER devolve os rótulos em minúsculas); em rótulos repetidos vale a primeira coluna
+     */
+    static final class Columns {
+
+        private final Map<String, Integer> indexes;
+
+        private Columns(final Map<String, Integer> indexes) {
+            this.indexes = indexes;
+        }
+
+        static Columns of(final ResultSetMetaData metaData) throws SQLException {
+            Map<String, Integer> indexes = new HashMap<>();
+            for (var i = 1; i <= metaData.getColumnCount(); i++) {
+                indexes.putIfAbsent(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+            }
+            return new Columns(indexes);
+        }
+
+        int of(final String label) throws SQLException {
+            var index = indexes.get(label.toLowerCase(Locale.ROOT));
+            if (index == null) {
+                throw new SQLException("Coluna %s não está no resultado %s".formatted(label, indexes.keySet()));
+            }
+            return index;
+        }
+
+    }
+
+}
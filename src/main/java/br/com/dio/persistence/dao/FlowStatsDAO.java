@@ -0,0 +1,139 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.metrics.DurationHistogram;
+import br.com.dio.metrics.FlowMetric;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agregados de fluxo (FLOW_STATS) e a marca d'água das movimentações já processadas
+ */
+@AllArgsConstructor
+public class FlowStatsDAO {
+
+    static final String HIGH_WATER_MARK_KEY = "analytics.movements.hwm";
+
+    private static final int KEYS_PER_QUERY = 500;
+
+    private static final String SELECT_STATS =
+            "SELECT board_id, column_id, metric, sample_count, sum_seconds, histogram FROM FLOW_STATS";
+
+    private final Connection connection;
+
+    /**
+     * Lê a marca d'água bloqueando a linha até o fim da transação, para que duas atualizações
+     * concorrentes (em processos diferentes) não incorporem as mesmas movimentações
+     */
+    public long lockHighWaterMark() throws SQLException {
+        return readHighWaterMark("SELECT setting_value FROM APPLICATION_SETTINGS WHERE setting_key = ? FOR UPDATE;");
+    }
+
+    /**
+     * Lê a marca d'água sem bloquear, só para saber se vale a pena disputar a trava
+     */
+    public long findHighWaterMark() throws SQLException {
+        return readHighWaterMark("SELECT setting_value FROM APPLICATION_SETTINGS WHERE setting_key = ?;");
+    }
+
+    private long readHighWaterMark(final String sql) throws SQLException {
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setString(1, HIGH_WATER_MARK_KEY);
+            try(var resultSet = statement.executeQuery()){
+                if (!resultSet.next()) {
+                    throw new IllegalStateException("Configuração %s não encontrada".formatted(HIGH_WATER_MARK_KEY));
+                }
+                return Long.parseLong(resultSet.getString(1));
+            }
+        }
+    }
+
+    public void updateHighWaterMark(final long movementId) throws SQLException {
+        var sql = "UPDATE APPLICATION_SETTINGS SET setting_value = ? WHERE setting_key = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setString(1, Long.toString(movementId));
+            statement.setString(2, HIGH_WATER_MARK_KEY);
+            statement.executeUpdate();
+        }
+    }
+
+    public Map<FlowKey, DurationHistogram> find(final long boardId) throws SQLException {
+        var sql = SELECT_STATS + " WHERE board_id = ? ORDER BY column_id, metric;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, boardId);
+            Map<FlowKey, DurationHistogram> stats = new LinkedHashMap<>();
+            read(statement, stats);
+            return stats;
+        }
+    }
+
+    /**
+     * Agregados existentes das chaves informadas, buscados pela chave primária em consultas de até
+     * {@value #KEYS_PER_QUERY} chaves; chaves sem agregado ficam de fora
+     */
+    public Map<FlowKey, DurationHistogram> findByKeys(final Collection<FlowKey> keys) throws SQLException {
+        Map<FlowKey, DurationHistogram> stats = new HashMap<>();
+        var pending = List.copyOf(keys);
+        for (var from = 0; from < pending.size(); from += KEYS_PER_QUERY) {
+            var chunk = pending.subList(from, Math.min(from + KEYS_PER_QUERY, pending.size()));
+            var sql = SELECT_STATS + " WHERE (board_id, column_id, metric) IN ("
+                    + "(?, ?, ?)" + ", (?, ?, ?)".repeat(chunk.size() - 1) + ");";
+            try(var statement = connection.prepareStatement(sql)){
+                var i = 1;
+                for (var key : chunk) {
+                    statement.setLong(i ++, key.boardId());
+                    statement.setLong(i ++, key.columnId());
+                    statement.setString(i ++, key.metric().name());
+                }
+                read(statement, stats);
+            }
+        }
+        return stats;
+    }
+
+    public void upsert(final FlowKey key, final DurationHistogram histogram) throws SQLException {
+        var sql = """
+                INSERT INTO FLOW_STATS (board_id, column_id, metric, sample_count, sum_seconds, histogram)
+                VALUES (?, ?, ?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE sample_count = VALUES(sample_count),
+                                        sum_seconds = VALUES(sum_seconds),
+                                        histogram = VALUES(histogram);
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            var i = 1;
+            statement.setLong(i ++, key.boardId());
+            statement.setLong(i ++, key.columnId());
+            statement.setString(i ++, key.metric().name());
+            statement.setLong(i ++, histogram.getCount());
+            statement.setLong(i ++, histogram.getSumSeconds());
+            statement.setString(i, histogram.encodeBuckets());
+            statement.executeUpdate();
+        }
+    }
+
+    private static void read(final PreparedStatement statement, final Map<FlowKey, DurationHistogram> stats)
+            throws SQLException {
+        try(var resultSet = statement.executeQuery()){
+            while (resultSet.next()){
+                var key = new FlowKey(resultSet.getLong(1), resultSet.getLong(2),
+                        FlowMetric.valueOf(resultSet.getString(3)));
+                stats.put(key, DurationHistogram.decode(resultSet.getLong(4), resultSet.getLong(5),
+                        resultSet.getString(6)));
+            }
+        }
+    }
+
+    /**
+     * Identifica um agregado: métricas do board inteiro usam {@code columnId} zero
+     */
+    public record FlowKey(long boardId, long columnId, FlowMetric metric) {
+    }
+
+}
@@ -0,0 +1,23 @@
+package br.com.dio.persistence.dao;
+
+import lombok.NoArgsConstructor;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Leitura das chaves geradas pelo banco em inserts
+ * Usa a API JDBC padrão para funcionar com qualquer driver, não apenas o do MySQL
+ */
+@NoArgsConstructor(access = PRIVATE)
+final class GeneratedKeys {
+
+    static Long readGeneratedId(final Statement statement) throws SQLException {
+        try(var keys = statement.getGeneratedKeys()){
+            return keys.next() ? keys.getLong(1) : null;
+        }
+    }
+
+}
@@ -0,0 +1,14 @@
+package br.com.dio.persistence.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Converte a linha corrente do ResultSet em um objeto
+ */
+@FunctionalInterface
+interface RowMapper<T> {
+
+    T map(ResultSet resultSet) throws SQLException;
+
+}
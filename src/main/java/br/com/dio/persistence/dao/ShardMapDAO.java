@@ -0,0 +1,81 @@
+package br.com.dio.persistence.dao;
+
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static br.com.dio.persistence.dao.GeneratedKeys.readGeneratedId;
+import static java.sql.Statement.RETURN_GENERATED_KEYS;
+
+/**
+ * Mapa persistido board -> shard, mantido no banco principal
+ * Com shards configurados, a chave gerada por SHARD_MAP é o id do board em todos os bancos
+ */
+@AllArgsConstructor
+public class ShardMapDAO {
+
+    private final Connection connection;
+
+    public Optional<String> findShard(final Long boardId) throws SQLException {
+        var sql = "SELECT shard FROM SHARD_MAP WHERE board_id = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, boardId);
+            try(var resultSet = statement.executeQuery()){
+                return resultSet.next() ? Optional.of(resultSet.getString(1)) : Optional.empty();
+            }
+        }
+    }
+
+    /**
+     * Reserva um novo id de board no shard informado
+     */
+    public Long insert(final String shard) throws SQLException {
+        var sql = "INSERT INTO SHARD_MAP (shard) VALUES (?);";
+        try(var statement = connection.prepareStatement(sql, RETURN_GENERATED_KEYS)){
+            statement.setString(1, shard);
+            statement.executeUpdate();
+            return readGeneratedId(statement);
+        }
+    }
+
+    public void delete(final Long boardId) throws SQLException {
+        var sql = "DELETE FROM SHARD_MAP WHERE board_id = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setLong(1, boardId);
+            statement.executeUpdate();
+        }
+    }
+
+    public Map<String, Long> countByShard() throws SQLException {
+        var sql = "SELECT shard, COUNT(*) FROM SHARD_MAP GROUP BY shard;";
+        try(var statement = connection.prepareStatement(sql);
+            var resultSet = statement.executeQuery()){
+            Map<String, Long> counts = new HashMap<>();
+            while (resultSet.next()){
+                counts.put(resultSet.getString(1), resultSet.getLong(2));
+            }
+            return counts;
+        }
+    }
+
+    /**
+     * Registra no shard informado os boards deste banco que ainda não estão no mapa
+     * (criados antes de os shards serem configurados)
+     */
+    public int insertUnmapped(final String shard) throws SQLException {
+        var sql = """
+                INSERT INTO SHARD_MAP (board_id, shard)
+                SELECT b.id, ? FROM BOARDS b
+                 WHERE NOT EXISTS (SELECT 1 FROM SHARD_MAP m WHERE m.board_id = b.id);
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setString(1, shard);
+            return statement.executeUpdate();
+        }
+    }
+
+}
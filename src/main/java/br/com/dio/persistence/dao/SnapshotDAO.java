@@ -0,0 +1,211 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.backup.SnapshotReader;
+import br.com.dio.backup.SnapshotWriter;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.sql.Statement.RETURN_GENERATED_KEYS;
+import static java.util.Objects.nonNull;
+
+/**
+ * Leitura e carga de snapshots binários de boards
+ * A leitura percorre cada tabela em streaming; a carga usa INSERTs em lote e recria os
+ * relacionamentos com os novos ids gerados pelo banco
+ */
+@Slf4j
+@AllArgsConstructor
+public class SnapshotDAO {
+
+    private final Connection connection;
+
+    /**
+     * Grava no snapshot os boards (todos, ou apenas {@code boardId}) com suas colunas, cards e bloqueios
+     * Boards excluídos ficam de fora, mesmo que o expurgo ainda não os tenha apagado
+     */
+    public void dump(final Long boardId, final SnapshotWriter writer) throws SQLException, IOException {
+        var boardFilter = " WHERE b.deleted_at IS NULL" + (nonNull(boardId) ? " AND b.id = ?" : "");
+        try (var statement = stream("SELECT b.id, b.name FROM BOARDS b" + boardFilter + " ORDER BY b.id", boardId);
+             var rs = statement.executeQuery()) {
+            while (rs.next()) {
+                writer.writeBoard(rs.getLong(1), rs.getString(2));
+            }
+        }
+        try (var statement = stream("SELECT bc.id, bc.board_id, bc.name, bc.`order`, bc.kind FROM BOARDS_COLUMNS bc"
+                + " INNER JOIN BOARDS b ON b.id = bc.board_id" + boardFilter + " ORDER BY bc.id", boardId);
+             var rs = statement.executeQuery()) {
+            while (rs.next()) {
+                writer.writeColumn(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getInt(4), rs.getString(5));
+            }
+        }
+        try (var statement = stream("SELECT c.id, c.board_column_id, c.title, c.description, c.created_at, "
+                + "c.priority, c.due_date, c.estimated_hours, c.actual_hours FROM CARDS c"
+                + " INNER JOIN BOARDS_COLUMNS bc ON bc.id = c.board_column_id INNER JOIN BOARDS b ON b.id = bc.board_id"
+                + boardFilter + " ORDER BY c.id", boardId);
+             var rs = statement.executeQuery()) {
+            while (rs.next()) {
+                writer.writeCard(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4), rs.getTimestamp(5),
+                        rs.getString(6), rs.getDate(7), rs.getBigDecimal(8), rs.getBigDecimal(9));
+            }
+        }
+        try (var statement = stream("SELECT bl.id, bl.card_id, bl.blocked_at, bl.block_reason, bl.unblocked_at, "
+                + "bl.unblock_reason FROM BLOCKS bl INNER JOIN CARDS c ON c.id = bl.card_id"
+                + " INNER JOIN BOARDS_COLUMNS bc ON bc.id = c.board_column_id INNER JOIN BOARDS b ON b.id = bc.board_id"
+                + boardFilter + " ORDER BY bl.id", boardId);
+             var rs = statement.executeQuery()) {
+            while (rs.next()) {
+                writer.writeBlock(rs.getLong(1), rs.getLong(2), rs.getTimestamp(3), rs.getString(4),
+                        rs.getTimestamp(5), rs.getString(6));
+            }
+        }
+    }
+
+    /**
+     * Carrega um snapshot como novos boards, em lotes de {@code batchSize} linhas por tabela
+     * Não faz commit: a transação pertence a quem chamou
+     */
+    public void load(final SnapshotReader reader, final int batchSize) throws SQLException, IOException {
+        Map<Long, Long> boardIds = new HashMap<>();
+        Map<Long, Long> columnIds = new HashMap<>();
+        Map<Long, Long> cardIds = new HashMap<>();
+        try (var boards = new Batch("INSERT INTO BOARDS (name) values (?);", boardIds, batchSize);
+             var columns = new Batch("INSERT INTO BOARDS_COLUMNS (name, `order`, kind, board_id) VALUES (?, ?, ?, ?);",
+                     columnIds, batchSize);
+             var cards = new Batch("INSERT INTO CARDS (title, description, board_column_id, created_at, priority, "
+                     + "due_date, estimated_hours, actual_hours) VALUES (?, ?, ?, ?, ?, ?, ?, ?);", cardIds, batchSize);
+             var blocks = new Batch("INSERT INTO BLOCKS (blocked_at, block_reason, unblocked_at, unblock_reason, card_id) "
+                     + "VALUES (?, ?, ?, ?, ?);", null, batchSize)) {
+            while (reader.next()) {
+                switch (reader.type()) {
+                    case BOARD -> {
+                        var id = reader.readLong();
+                        boards.statement.setString(1, reader.readString());
+                        boards.add(id);
+                    }
+                    case COLUMN -> {
+                        boards.flush();
+                        var id = reader.readLong();
+                        var boardId = remap(boardIds, reader.readLong(), "board");
+                        var s = columns.statement;
+                        s.setString(1, reader.readString());
+                        s.setInt(2, reader.readInt());
+                        s.setString(3, reader.readString());
+                        s.setLong(4, boardId);
+                        columns.add(id);
+                    }
+                    case CARD -> {
+                        columns.flush();
+                        var id = reader.readLong();
+                        var columnId = remap(columnIds, reader.readLong(), "coluna");
+                        var s = cards.statement;
+                        s.setString(1, reader.readString());
+                        s.setString(2, reader.readString());
+                        s.setLong(3, columnId);
+                        s.setTimestamp(4, reader.readTimestamp());
+                        s.setString(5, reader.readString());
+                        s.setDate(6, reader.readDate());
+                        s.setBigDecimal(7, reader.readDecimal());
+                        s.setBigDecimal(8, reader.readDecimal());
+                        cards.add(id);
+                    }
+                    case BLOCK -> {
+                        cards.flush();
+                        reader.readLong();
+                        var cardId = remap(cardIds, reader.readLong(), "card");
+                        var s = blocks.statement;
+                        s.setTimestamp(1, reader.readTimestamp());
+                        s.setString(2, reader.readString());
+                        s.setTimestamp(3, reader.readTimestamp());
+                        s.setString(4, reader.readString());
+                        s.setLong(5, cardId);
+                        blocks.add(null);
+                    }
+                    case UNKNOWN -> log.debug("Registro de tipo desconhecido ignorado no snapshot");
+                }
+            }
+            boards.flush();
+            columns.flush();
+            cards.flush();
+            blocks.flush();
+        }
+    }
+
+    private PreparedStatement stream(final String sql, final Long boardId) throws SQLException {
+        var statement = StreamingStatements.prepare(connection, sql);
+        if (nonNull(boardId)) {
+            statement.setLong(1, boardId);
+        }
+        return statement;
+    }
+
+    private static long remap(final Map<Long, Long> ids, final long oldId, final String entity) {
+        var newId = ids.get(oldId);
+        if (newId == null) {
+            throw new IllegalStateException("Snapshot inconsistente: %s %d não encontrado".formatted(entity, oldId));
+        }
+        return newId;
+    }
+
+    /**
+     * INSERT em lote que, quando {@code ids} não é nulo, associa os ids antigos aos gerados pelo banco
+     */
+    private final class Batch implements AutoCloseable {
+
+        private final PreparedStatement statement;
+        private final Map<Long, Long> ids;
+        private final int size;
+        private final List<Long> oldIds = new ArrayList<>();
+        private int pending;
+
+        private Batch(final String sql, final Map<Long, Long> ids, final int size) throws SQLException {
+            this.statement = ids == null
+                    ? connection.prepareStatement(sql)
+                    : connection.prepareStatement(sql, RETURN_GENERATED_KEYS);
+            this.ids = ids;
+            this.size = size;
+        }
+
+        private void add(final Long oldId) throws SQLException {
+            statement.addBatch();
+            oldIds.add(oldId);
+            if (++pending >= size) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (pending == 0) {
+                return;
+            }
+            statement.executeBatch();
+            if (ids != null) {
+                try (var keys = statement.getGeneratedKeys()) {
+                    for (var oldId : oldIds) {
+                        if (!keys.next()) {
+                            throw new SQLException("O driver não retornou todas as chaves geradas do lote");
+                        }
+                        ids.put(oldId, keys.getLong(1));
+                    }
+                }
+            }
+            oldIds.clear();
+            pending = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            statement.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,30 @@
+package br.com.dio.persistence.dao;
+
+import lombok.NoArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static java.sql.ResultSet.CONCUR_READ_ONLY;
+import static java.sql.ResultSet.TYPE_FORWARD_ONLY;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Statements para leituras longas que não devem materializar o resultado em memória
+ * No MySQL o fetch size {@code Integer.MIN_VALUE} ativa o streaming linha a linha do Connector/J;
+ * nos demais drivers usa um fetch size comum
+ */
+@NoArgsConstructor(access = PRIVATE)
+final class StreamingStatements {
+
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+
+    static PreparedStatement prepare(final Connection connection, final String sql) throws SQLException {
+        var statement = connection.prepareStatement(sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY);
+        var mySql = connection.getMetaData().getDatabaseProductName().equals("MySQL");
+        statement.setFetchSize(mySql ? Integer.MIN_VALUE : DEFAULT_FETCH_SIZE);
+        return statement;
+    }
+
+}
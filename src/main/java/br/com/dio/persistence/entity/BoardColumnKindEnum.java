@@ -1,15 +1,27 @@
 package br.com.dio.persistence.entity;
 
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public enum BoardColumnKindEnum {
 
     INITIAL, FINAL, CANCEL, PENDING;
 
+    /**
+     * Montado uma vez: a conversão é feita para cada linha lida das colunas
+     */
+    private static final Map<String, BoardColumnKindEnum> BY_NAME = Stream.of(values())
+            .collect(Collectors.toUnmodifiableMap(Enum::name, Function.identity()));
+
     public static BoardColumnKindEnum findByName(final String name){
-        return Stream.of(BoardColumnKindEnum.values())
-                .filter(b -> b.name().equals(name))
-                .findFirst().orElseThrow();
+        var kind = name == null ? null : BY_NAME.get(name);
+        if (kind == null) {
+            throw new NoSuchElementException("Tipo de coluna desconhecido: " + name);
+        }
+        return kind;
     }
 
 }
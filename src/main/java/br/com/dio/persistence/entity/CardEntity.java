@@ -2,12 +2,15 @@ package br.com.dio.persistence.entity;
 
 import lombok.Data;
 
+import java.time.LocalDate;
+
 @Data
 public class CardEntity {
 
     private Long id;
     private String title;
     private String description;
+    private LocalDate dueDate;
     private BoardColumnEntity boardColumn = new BoardColumnEntity();
 
 }
@@ -0,0 +1,10 @@
+package br.com.dio.persistence.entity;
+
+/**
+ * Tabelas acompanhadas pelo feed de mudanças; o nome é gravado nas lápides de CHANGE_TOMBSTONES
+ */
+public enum ChangedEntityEnum {
+
+    BOARD, COLUMN, CARD
+
+}
@@ -0,0 +1,82 @@
+package br.com.dio.persistence.migration;
+
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Impressão digital (SHA-256) dos changelogs empacotados com a aplicação
+ * Considera o caminho e o conteúdo de cada arquivo sob {@code db/changelog}, em ordem estável,
+ * tanto rodando a partir de diretórios (IDE/Gradle) quanto de dentro do jar
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class ChangelogFingerprint {
+
+    public static final String CHANGELOG_ROOT = "db/changelog";
+
+    public static String compute() {
+        try {
+            var url = ChangelogFingerprint.class.getClassLoader().getResource(CHANGELOG_ROOT);
+            if (url == null) {
+                throw new IllegalStateException("Diretório de changelogs não encontrado no classpath: " + CHANGELOG_ROOT);
+            }
+            var digest = MessageDigest.getInstance("SHA-256");
+            for (var entry : readResources(url).entrySet()) {
+                digest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(entry.getValue());
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler os changelogs", e);
+        } catch (NoSuchAlgorithmException | URISyntaxException e) {
+            throw new IllegalStateException("Erro ao calcular a impressão digital dos changelogs", e);
+        }
+    }
+
+    private static Map<String, byte[]> readResources(final URL root) throws IOException, URISyntaxException {
+        Map<String, byte[]> resources = new TreeMap<>();
+        if (root.getProtocol().equals("jar")) {
+            var connection = (JarURLConnection) root.openConnection();
+            connection.setUseCaches(false);
+            try (var jar = connection.getJarFile()) {
+                var prefix = CHANGELOG_ROOT + "/";
+                var entries = jar.entries();
+                while (entries.hasMoreElements()) {
+                    var entry = entries.nextElement();
+                    if (!entry.isDirectory() && entry.getName().startsWith(prefix)) {
+                        try (InputStream is = jar.getInputStream(entry)) {
+                            resources.put(entry.getName(), is.readAllBytes());
+                        }
+                    }
+                }
+            }
+            return resources;
+        }
+        var base = Path.of(root.toURI());
+        try (var paths = Files.walk(base)) {
+            for (var path : (Iterable<Path>) paths.filter(Files::isRegularFile)::iterator) {
+                var relative = base.relativize(path).toString().replace('\\', '/');
+                resources.put(CHANGELOG_ROOT + "/" + relative, Files.readAllBytes(path));
+            }
+        }
+        return resources;
+    }
+
+}
@@ -5,6 +5,7 @@ import liquibase.database.jvm.JdbcConnection;
 import liquibase.exception.LiquibaseException;
 import liquibase.resource.ClassLoaderResourceAccessor;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -12,38 +13,117 @@ import java.io.PrintStream;
 import java.sql.Connection;
 import java.sql.SQLException;
 
-import static br.com.dio.persistence.config.ConnectionConfig.getConnection;
-
+/**
+ * Aplica os changelogs do Liquibase usando a conexão recebida
+ * Quando a impressão digital dos changelogs empacotados é igual à registrada no banco
+ * (uma única consulta em APPLICATION_SETTINGS), o Liquibase nem é inicializado
+ */
+@Slf4j
 @AllArgsConstructor
 public class MigrationStrategy {
 
+    static final String FINGERPRINT_KEY = "schema.changelog.fingerprint";
+
     private final Connection connection;
 
     public void executeMigration(){
+        executeMigration(true);
+    }
+
+    /**
+     * @param allowFastPath quando falso, sempre executa o Liquibase (útil para reparos)
+     * @return true se o Liquibase foi executado com sucesso, false se o schema já estava atualizado
+     * ou se a migração falhou
+     */
+    public boolean executeMigration(final boolean allowFastPath){
+        var start = System.nanoTime();
+        var fingerprint = ChangelogFingerprint.compute();
+        log.debug("Impressão digital dos changelogs calculada em {} ms: {}", elapsedMillis(start), fingerprint);
+        if (allowFastPath && fingerprint.equals(readStoredFingerprint())) {
+            log.info("Schema já está atualizado (changelogs inalterados), Liquibase ignorado");
+            return false;
+        }
+        if (!runLiquibase()) {
+            log.error("Liquibase falhou após {} ms, impressão digital do schema não registrada", elapsedMillis(start));
+            return false;
+        }
+        storeFingerprint(fingerprint);
+        log.info("Liquibase executado em {} ms", elapsedMillis(start));
+        return true;
+    }
+
+    private boolean runLiquibase(){
         var originalOut = System.out;
         var originalErr = System.err;
         try(var fos = new FileOutputStream("liquibase.log")){
             System.setOut(new PrintStream(fos));
             System.setErr(new PrintStream(fos));
-            try(
-                    var connection = getConnection();
-                    var jdbcConnection = new JdbcConnection(connection);
-            ){
-                var liquibase = new Liquibase(
-                        "/db/changelog/db.changelog-master.yml",
-                        new ClassLoaderResourceAccessor(),
-                        jdbcConnection);
-                liquibase.update();
-            } catch (SQLException | LiquibaseException e) {
-                e.printStackTrace();
-                System.setErr(originalErr);
-            }
+            // A JdbcConnection não é fechada aqui: a conexão pertence a quem chamou
+            var jdbcConnection = new JdbcConnection(connection);
+            var liquibase = new Liquibase(
+                    "/db/changelog/db.changelog-master.yml",
+                    new ClassLoaderResourceAccessor(),
+                    jdbcConnection);
+            liquibase.update();
+            connection.setAutoCommit(false);
+            return true;
+        } catch (LiquibaseException | SQLException e) {
+            e.printStackTrace();
+            System.setErr(originalErr);
+            log.error("Erro ao executar as migrações do Liquibase", e);
         } catch (IOException ex){
             ex.printStackTrace();
         } finally {
             System.setOut(originalOut);
             System.setErr(originalErr);
         }
+        return false;
+    }
+
+    private String readStoredFingerprint(){
+        var sql = "SELECT setting_value FROM APPLICATION_SETTINGS WHERE setting_key = ?;";
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setString(1, FINGERPRINT_KEY);
+            try(var resultSet = statement.executeQuery()){
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        } catch (SQLException e) {
+            // Banco novo: a tabela ainda não existe, então o caminho lento é obrigatório
+            log.debug("Impressão digital do schema indisponível: {}", e.getMessage());
+            rollbackQuietly();
+            return null;
+        }
+    }
+
+    private void storeFingerprint(final String fingerprint){
+        var sql = """
+                INSERT INTO APPLICATION_SETTINGS (setting_key, setting_value, description)
+                VALUES (?, ?, 'Impressão digital dos changelogs aplicados')
+                ON DUPLICATE KEY UPDATE setting_value = VALUES(setting_value);
+                """;
+        try(var statement = connection.prepareStatement(sql)){
+            statement.setString(1, FINGERPRINT_KEY);
+            statement.setString(2, fingerprint);
+            statement.executeUpdate();
+            connection.commit();
+        } catch (SQLException e) {
+            log.warn("Não foi possível registrar a impressão digital do schema: {}", e.getMessage());
+            rollbackQuietly();
+        }
+    }
+
+    private void rollbackQuietly(){
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            log.debug("Falha ao desfazer transação de migração: {}", e.getMessage());
+        }
+    }
+
+    private static long elapsedMillis(final long startNanos){
+        return (System.nanoTime() - startNanos) / 1_000_000;
     }
 
 }
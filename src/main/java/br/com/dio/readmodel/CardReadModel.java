@@ -0,0 +1,248 @@
+package br.com.dio.readmodel;
+
+import br.com.dio.dto.BoardDetailsDTO;
+import br.com.dio.dto.ColumnCardsPageDTO;
+import br.com.dio.dto.EntityChangeDTO;
+import br.com.dio.event.DomainEvent;
+import br.com.dio.event.DomainEventBus;
+import br.com.dio.event.DomainEventHandler;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Modelo de leitura (CQRS) das telas de board e coluna: boards, colunas e os campos quentes dos cards
+ * mantidos em memória, com os cards em colunas fora do heap ({@link CardStore}), para que a visão do
+ * board, a contagem por coluna e a lista de cards de uma coluna saiam sem ida ao banco e sem pressão
+ * sobre o coletor de lixo, mesmo com dezenas de milhões de cards
+ *
+ * O modelo é carregado do banco e depois acompanha as escritas pelos eventos de domínio, consultando o
+ * banco apenas para os boards e cards criados; se a assinatura perder eventos, ou a cada intervalo de
+ * ressincronização, é reconstruído por inteiro. Só deve atender leituras quando {@link #isCurrent()}:
+ * com eventos ainda pendentes, uma escrita recém-confirmada poderia não aparecer. Escritas de outros
+ * processos chegam pelo feed de mudanças, quando ligado ({@link #onChanges(List)})
+ */
+@Slf4j
+public class CardReadModel implements DomainEventHandler {
+
+    private static final CardReadModel INSTANCE = new CardReadModel();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private CardStore store;
+    private volatile boolean loaded;
+    private CardReadModelSource source;
+    private ScheduledExecutorService timer;
+    private DomainEventBus.Subscription subscription;
+
+    CardReadModel() {
+    }
+
+    public static CardReadModel getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Assina os eventos, carrega o modelo de {@code source} e passa a reconstruí-lo a cada
+     * {@code resyncInterval} (zero desliga a reconstrução periódica)
+     */
+    public synchronized void start(final CardReadModelSource source, final Duration resyncInterval) throws Exception {
+        if (timer != null) {
+            throw new IllegalStateException("Modelo de leitura já iniciado");
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "read-model-resync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Assina antes de carregar para não perder escritas feitas durante a carga
+        subscription = DomainEventBus.getInstance().subscribe("read-model", this);
+        load(source);
+        if (!resyncInterval.isZero()) {
+            var millis = resyncInterval.toMillis();
+            timer.scheduleWithFixedDelay(this::resync, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public synchronized void stop() {
+        if (subscription != null) {
+            subscription.close();
+            subscription = null;
+        }
+        if (timer != null) {
+            timer.shutdownNow();
+            timer = null;
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Carregado e sem eventos pendentes: as escritas confirmadas por este processo já estão no modelo
+     */
+    public boolean isCurrent() {
+        var current = subscription;
+        return loaded && current != null && current.getLag() == 0;
+    }
+
+    /**
+     * Reconstrói o modelo a partir de {@code source}, que passa a atender também os eventos de criação;
+     * as leituras continuam no modelo anterior até a troca
+     */
+    void load(final CardReadModelSource source) throws Exception {
+        this.source = source;
+        var start = System.nanoTime();
+        var rebuilt = new CardStore();
+        for (var board : source.loadBoards()) {
+            rebuilt.putBoard(board);
+        }
+        source.streamCards(card -> {
+            synchronized (rebuilt) {
+                rebuilt.addCard(card);
+            }
+        });
+        lock.writeLock().lock();
+        try {
+            store = rebuilt;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Modelo de leitura carregado com {} cards de {} boards ({} MB fora do heap, {} ms)",
+                rebuilt.cardCount(), rebuilt.boardCount(), rebuilt.reservedBytes() / (1024 * 1024),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @Override
+    public void onEvent(final DomainEvent event, final long sequence, final boolean endOfBatch) {
+        if (!loaded || event.getBoardId() == 0) {
+            return;
+        }
+        try {
+            apply(event);
+        } catch (Exception e) {
+            log.warn("Modelo de leitura não aplicou o evento {}: {}", event, e.getMessage());
+            scheduleResync();
+        }
+    }
+
+    @Override
+    public void onOverrun(final long missed) {
+        scheduleResync();
+    }
+
+    /**
+     * Consumidor do feed de mudanças: aplica as linhas alteradas ou apagadas por qualquer processo,
+     * relendo do banco o estado atual de cada card; reaplicar uma mudança já vista não altera o modelo
+     */
+    public void onChanges(final List<EntityChangeDTO> changes) {
+        if (!loaded) {
+            // A carga inicial (em start, sob este monitor) pode estar em andamento: espera por ela em vez
+            // de descartar mudanças que o retrato carregado talvez não tenha visto
+            synchronized (this) {
+                if (!loaded) {
+                    return;
+                }
+            }
+        }
+        try {
+            for (var change : changes) {
+                apply(change);
+            }
+        } catch (Exception e) {
+            log.warn("Modelo de leitura não aplicou {} mudanças do feed: {}", changes.size(), e.getMessage());
+            scheduleResync();
+        }
+    }
+
+    public Optional<BoardDetailsDTO> boardDetails(final long boardId) {
+        return read(store -> store.boardDetails(boardId));
+    }
+
+    public Optional<ColumnCardsPageDTO> columnPage(final long boardId, final long columnId, final long afterId,
+                                                   final int limit) {
+        return read(store -> store.columnPage(boardId, columnId, afterId, limit));
+    }
+
+    private void apply(final DomainEvent event) throws Exception {
+        var boardId = event.getBoardId();
+        switch (event.getType()) {
+            case BOARD_CREATED -> source.loadBoard(boardId).ifPresent(board -> write(store -> store.putBoard(board)));
+            case BOARD_DELETED -> write(store -> store.removeBoard(boardId));
+            case CARD_CREATED -> source.loadCard(boardId, event.getCardId())
+                    .ifPresent(card -> write(store -> store.addCard(card)));
+            case CARD_MOVED, CARD_CANCELLED -> write(store -> store.moveCard(boardId, event.getCardId(),
+                    event.getToColumnId()));
+            case CARD_BLOCKED, CARD_UNBLOCKED, CARD_DUE_DATE_CHANGED -> {
+            }
+        }
+    }
+
+    private void apply(final EntityChangeDTO change) throws Exception {
+        var boardId = change.boardId();
+        if (change.deleted()) {
+            switch (change.entity()) {
+                case BOARD -> write(store -> store.removeBoard(boardId));
+                case CARD -> write(store -> store.removeCard(boardId, change.id()));
+                case COLUMN -> {
+                    // Colunas só são apagadas junto com o board, que tem lápide própria
+                }
+            }
+            return;
+        }
+        switch (change.entity()) {
+            case BOARD, COLUMN -> {
+                if (!read(store -> Optional.of(store.containsBoard(boardId))).orElse(true)) {
+                    source.loadBoard(boardId).ifPresent(board -> write(store -> store.putBoard(board)));
+                }
+            }
+            case CARD -> {
+                var card = source.loadCard(boardId, change.id());
+                write(store -> card.ifPresentOrElse(store::upsertCard, () -> store.removeCard(boardId, change.id())));
+            }
+        }
+    }
+
+    private <T> Optional<T> read(final Function<CardStore, Optional<T>> query) {
+        lock.readLock().lock();
+        try {
+            return store == null ? Optional.empty() : query.apply(store);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(final Consumer<CardStore> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(store);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void scheduleResync() {
+        var scheduler = timer;
+        if (scheduler != null) {
+            scheduler.execute(this::resync);
+        }
+    }
+
+    private void resync() {
+        try {
+            load(source);
+        } catch (Exception e) {
+            log.warn("Falha ao reconstruir o modelo de leitura: {}", e.getMessage());
+        }
+    }
+
+}
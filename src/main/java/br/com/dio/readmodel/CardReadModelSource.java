@@ -0,0 +1,30 @@
+package br.com.dio.readmodel;
+
+import br.com.dio.dto.CardReadRowDTO;
+import br.com.dio.persistence.dao.CardDAO;
+import br.com.dio.persistence.entity.BoardEntity;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Origem dos dados do modelo de leitura: a carga completa e as consultas pontuais feitas ao tratar
+ * eventos de criação, que só trazem ids
+ */
+public interface CardReadModelSource {
+
+    /**
+     * Todos os boards, com suas colunas
+     */
+    List<BoardEntity> loadBoards() throws Exception;
+
+    /**
+     * Entrega todos os cards ao handler, que pode ser chamado por várias threads ao mesmo tempo
+     */
+    void streamCards(CardDAO.ReadRowHandler handler) throws Exception;
+
+    Optional<BoardEntity> loadBoard(long boardId) throws Exception;
+
+    Optional<CardReadRowDTO> loadCard(long boardId, long cardId) throws Exception;
+
+}
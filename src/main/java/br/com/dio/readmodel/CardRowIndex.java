@@ -0,0 +1,133 @@
+package br.com.dio.readmodel;
+
+/**
+ * Tabela hash fora do heap de (board, card) para a linha do card no modelo, com endereçamento aberto e
+ * sondagem linear; cresce ao passar de metade da capacidade, e a remoção recua as chaves seguintes
+ * em vez de deixar marcas
+ *
+ * O board faz parte da chave porque ids de cards só são únicos dentro de um shard
+ */
+final class CardRowIndex {
+
+    private static final int MIN_CAPACITY = 1 << 12;
+    private static final int EMPTY = 0;
+
+    private OffHeapColumn boardIds;
+    private OffHeapColumn cardIds;
+    // Linha + 1, para que zero marque a posição vazia
+    private OffHeapColumn rows;
+    private int mask;
+    private int size;
+
+    CardRowIndex() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Linha do card, ou -1 se ele não estiver no índice
+     */
+    int get(final long boardId, final long cardId) {
+        for (var slot = slotOf(boardId, cardId); ; slot = (slot + 1) & mask) {
+            var row = rows.getInt(slot);
+            if (row == EMPTY) {
+                return -1;
+            }
+            if (cardIds.getLong(slot) == cardId && boardIds.getLong(slot) == boardId) {
+                return row - 1;
+            }
+        }
+    }
+
+    void put(final long boardId, final long cardId, final int row) {
+        if ((size + 1) * 2L > mask + 1L) {
+            grow();
+        }
+        if (insert(boardId, cardId, row + 1)) {
+            size++;
+        }
+    }
+
+    void remove(final long boardId, final long cardId) {
+        var slot = slotOf(boardId, cardId);
+        while (true) {
+            if (rows.getInt(slot) == EMPTY) {
+                return;
+            }
+            if (cardIds.getLong(slot) == cardId && boardIds.getLong(slot) == boardId) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        // Recua as chaves seguintes do mesmo agrupamento que ficariam inalcançáveis com a posição vazia
+        var free = slot;
+        for (var next = (free + 1) & mask; rows.getInt(next) != EMPTY; next = (next + 1) & mask) {
+            var home = slotOf(boardIds.getLong(next), cardIds.getLong(next));
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                boardIds.putLong(free, boardIds.getLong(next));
+                cardIds.putLong(free, cardIds.getLong(next));
+                rows.putInt(free, rows.getInt(next));
+                free = next;
+            }
+        }
+        rows.putInt(free, EMPTY);
+        size--;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long reservedBytes() {
+        return boardIds.reservedBytes() + cardIds.reservedBytes() + rows.reservedBytes();
+    }
+
+    private boolean insert(final long boardId, final long cardId, final int storedRow) {
+        for (var slot = slotOf(boardId, cardId); ; slot = (slot + 1) & mask) {
+            var row = rows.getInt(slot);
+            if (row == EMPTY) {
+                boardIds.putLong(slot, boardId);
+                cardIds.putLong(slot, cardId);
+                rows.putInt(slot, storedRow);
+                return true;
+            }
+            if (cardIds.getLong(slot) == cardId && boardIds.getLong(slot) == boardId) {
+                rows.putInt(slot, storedRow);
+                return false;
+            }
+        }
+    }
+
+    private void grow() {
+        var oldBoards = boardIds;
+        var oldCards = cardIds;
+        var oldRows = rows;
+        var oldCapacity = mask + 1;
+        allocate(oldCapacity * 2);
+        for (var slot = 0; slot < oldCapacity; slot++) {
+            var row = oldRows.getInt(slot);
+            if (row != EMPTY) {
+                insert(oldBoards.getLong(slot), oldCards.getLong(slot), row);
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        boardIds = new OffHeapColumn(Long.BYTES);
+        cardIds = new OffHeapColumn(Long.BYTES);
+        rows = new OffHeapColumn(Integer.BYTES);
+        boardIds.ensureCapacity(capacity);
+        cardIds.ensureCapacity(capacity);
+        rows.ensureCapacity(capacity);
+        mask = capacity - 1;
+    }
+
+    private int slotOf(final long boardId, final long cardId) {
+        // Finalizador do MurmurHash3 sobre a combinação das duas chaves
+        var hash = cardId * 0x9E3779B97F4A7C15L + boardId;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        return (int) hash & mask;
+    }
+
+}
@@ -0,0 +1,287 @@
+package br.com.dio.readmodel;
+
+import br.com.dio.dto.BoardColumnDTO;
+import br.com.dio.dto.BoardDetailsDTO;
+import br.com.dio.dto.CardReadRowDTO;
+import br.com.dio.dto.CardTitleDTO;
+import br.com.dio.dto.ColumnCardsPageDTO;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import br.com.dio.persistence.entity.BoardEntity;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Armazenamento colunar dos cards do modelo de leitura: cada campo quente (id, board, coluna e posição
+ * do título) fica em uma {@link OffHeapColumn} própria, indexada pela linha do card, e os cards de
+ * uma coluna do board formam uma lista duplamente ligada pelas colunas {@code previous} e {@code next}
+ * No heap ficam só os boards e suas colunas, com a cabeça da lista e a contagem de cada coluna
+ *
+ * Linhas liberadas são reaproveitadas por uma lista de livres encadeada pela própria coluna {@code next}
+ * Não é thread-safe: {@link CardReadModel} controla o acesso
+ */
+final class CardStore {
+
+    private static final int NONE = -1;
+
+    private final OffHeapColumn cardIds = new OffHeapColumn(Long.BYTES);
+    private final OffHeapColumn boardIds = new OffHeapColumn(Long.BYTES);
+    private final OffHeapColumn columnIds = new OffHeapColumn(Long.BYTES);
+    private final OffHeapColumn textPositions = new OffHeapColumn(Long.BYTES);
+    private final OffHeapColumn titleLengths = new OffHeapColumn(Integer.BYTES);
+    private final OffHeapColumn previous = new OffHeapColumn(Integer.BYTES);
+    private final OffHeapColumn next = new OffHeapColumn(Integer.BYTES);
+    private final OffHeapTextArena texts = new OffHeapTextArena();
+    private final CardRowIndex index = new CardRowIndex();
+    private final Map<Long, BoardView> boards = new HashMap<>();
+    private int rowCount;
+    private int freeHead = NONE;
+
+    void putBoard(final BoardEntity board) {
+        removeBoard(board.getId());
+        Map<Long, ColumnView> columns = new LinkedHashMap<>();
+        board.getBoardColumns().stream()
+                .sorted(Comparator.comparingInt(BoardColumnEntity::getOrder))
+                .forEach(column -> columns.put(column.getId(),
+                        new ColumnView(column.getId(), column.getName(), column.getKind())));
+        boards.put(board.getId(), new BoardView(board.getId(), board.getName(), columns));
+    }
+
+    void removeBoard(final long boardId) {
+        var board = boards.remove(boardId);
+        if (board == null) {
+            return;
+        }
+        for (var column : board.columns.values()) {
+            var row = column.head;
+            while (row != NONE) {
+                var following = next.getInt(row);
+                index.remove(boardId, cardIds.getLong(row));
+                release(row);
+                row = following;
+            }
+        }
+    }
+
+    /**
+     * Inclui o card; ignora cards já presentes e cards de boards ou colunas desconhecidos
+     */
+    boolean addCard(final CardReadRowDTO card) {
+        var column = columnOf(card.boardId(), card.columnId());
+        if (column == null || index.get(card.boardId(), card.cardId()) != NONE) {
+            return false;
+        }
+        var row = allocate();
+        cardIds.putLong(row, card.cardId());
+        boardIds.putLong(row, card.boardId());
+        writeTitle(row, card.title());
+        link(row, column);
+        index.put(card.boardId(), card.cardId(), row);
+        return true;
+    }
+
+    /**
+     * Inclui o card ou alinha o já presente com a versão informada (coluna e título); o título só é
+     * regravado quando muda, já que a área de textos não reaproveita o espaço antigo
+     */
+    boolean upsertCard(final CardReadRowDTO card) {
+        var row = index.get(card.boardId(), card.cardId());
+        if (row == NONE) {
+            return addCard(card);
+        }
+        if (columnIds.getLong(row) != card.columnId() && !moveCard(card.boardId(), card.cardId(), card.columnId())) {
+            return false;
+        }
+        if (!title(row).equals(card.title())) {
+            writeTitle(row, card.title());
+        }
+        return true;
+    }
+
+    boolean removeCard(final long boardId, final long cardId) {
+        var row = index.get(boardId, cardId);
+        if (row == NONE) {
+            return false;
+        }
+        unlink(row, columnOf(boardId, columnIds.getLong(row)));
+        index.remove(boardId, cardId);
+        release(row);
+        return true;
+    }
+
+    /**
+     * Move o card para a coluna informada; devolve falso se o card ou a coluna não estiverem no modelo
+     */
+    boolean moveCard(final long boardId, final long cardId, final long toColumnId) {
+        var row = index.get(boardId, cardId);
+        var target = columnOf(boardId, toColumnId);
+        if (row == NONE || target == null) {
+            return false;
+        }
+        unlink(row, columnOf(boardId, columnIds.getLong(row)));
+        link(row, target);
+        return true;
+    }
+
+    boolean containsBoard(final long boardId) {
+        return boards.containsKey(boardId);
+    }
+
+    Optional<BoardDetailsDTO> boardDetails(final long boardId) {
+        var board = boards.get(boardId);
+        if (board == null) {
+            return Optional.empty();
+        }
+        var columns = board.columns.values().stream()
+                .map(column -> new BoardColumnDTO(column.id, column.name, column.kind, column.count))
+                .toList();
+        return Optional.of(new BoardDetailsDTO(board.id, board.name, columns));
+    }
+
+    /**
+     * Página de até {@code limit} cards da coluna com id maior que {@code afterId}, em ordem de id, como a
+     * consulta por chave do banco; só os menores ids passam por um heap limitado, sem ordenar a coluna toda
+     */
+    Optional<ColumnCardsPageDTO> columnPage(final long boardId, final long columnId, final long afterId,
+                                            final int limit) {
+        var column = columnOf(boardId, columnId);
+        if (column == null) {
+            return Optional.empty();
+        }
+        // Um card a mais indica se há próxima página
+        var capacity = limit + 1;
+        var largestFirst = new PriorityQueue<Integer>(capacity,
+                Comparator.<Integer>comparingLong(cardIds::getLong).reversed());
+        for (var row = column.head; row != NONE; row = next.getInt(row)) {
+            var cardId = cardIds.getLong(row);
+            if (cardId <= afterId) {
+                continue;
+            }
+            if (largestFirst.size() < capacity) {
+                largestFirst.add(row);
+            } else if (cardId < cardIds.getLong(largestFirst.peek())) {
+                largestFirst.poll();
+                largestFirst.add(row);
+            }
+        }
+        var hasMore = largestFirst.size() > limit;
+        if (hasMore) {
+            largestFirst.poll();
+        }
+        var cards = largestFirst.stream()
+                .sorted(Comparator.comparingLong(cardIds::getLong))
+                .map(row -> new CardTitleDTO(cardIds.getLong(row), title(row)))
+                .toList();
+        return Optional.of(new ColumnCardsPageDTO(column.id, column.name, column.kind, cards,
+                hasMore ? cards.get(cards.size() - 1).id() : null));
+    }
+
+    int cardCount() {
+        return index.size();
+    }
+
+    int boardCount() {
+        return boards.size();
+    }
+
+    long reservedBytes() {
+        return cardIds.reservedBytes() + boardIds.reservedBytes() + columnIds.reservedBytes()
+                + textPositions.reservedBytes() + titleLengths.reservedBytes() + previous.reservedBytes()
+                + next.reservedBytes()
+                + texts.reservedBytes() + index.reservedBytes();
+    }
+
+    private String title(final int row) {
+        return texts.read(textPositions.getLong(row), titleLengths.getInt(row));
+    }
+
+    private void writeTitle(final int row, final String title) {
+        var bytes = title.getBytes(UTF_8);
+        textPositions.putLong(row, texts.append(bytes));
+        titleLengths.putInt(row, bytes.length);
+    }
+
+    private ColumnView columnOf(final long boardId, final long columnId) {
+        var board = boards.get(boardId);
+        return board == null ? null : board.columns.get(columnId);
+    }
+
+    private int allocate() {
+        if (freeHead != NONE) {
+            var row = freeHead;
+            freeHead = next.getInt(row);
+            return row;
+        }
+        if (rowCount == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Modelo de leitura sem linhas livres");
+        }
+        var row = rowCount++;
+        for (var column : new OffHeapColumn[]{cardIds, boardIds, columnIds, textPositions,
+                titleLengths, previous, next}) {
+            column.ensureCapacity(rowCount);
+        }
+        return row;
+    }
+
+    private void release(final int row) {
+        next.putInt(row, freeHead);
+        freeHead = row;
+    }
+
+    private void link(final int row, final ColumnView column) {
+        columnIds.putLong(row, column.id);
+        previous.putInt(row, column.tail);
+        next.putInt(row, NONE);
+        if (column.tail == NONE) {
+            column.head = row;
+        } else {
+            next.putInt(column.tail, row);
+        }
+        column.tail = row;
+        column.count++;
+    }
+
+    private void unlink(final int row, final ColumnView column) {
+        var before = previous.getInt(row);
+        var after = next.getInt(row);
+        if (before == NONE) {
+            column.head = after;
+        } else {
+            next.putInt(before, after);
+        }
+        if (after == NONE) {
+            column.tail = before;
+        } else {
+            previous.putInt(after, before);
+        }
+        column.count--;
+    }
+
+    private record BoardView(long id, String name, Map<Long, ColumnView> columns) {
+    }
+
+    private static final class ColumnView {
+
+        private final long id;
+        private final String name;
+        private final BoardColumnKindEnum kind;
+        private int head = NONE;
+        private int tail = NONE;
+        private int count;
+
+        private ColumnView(final long id, final String name, final BoardColumnKindEnum kind) {
+            this.id = id;
+            this.name = name;
+            this.kind = kind;
+        }
+
+    }
+
+}
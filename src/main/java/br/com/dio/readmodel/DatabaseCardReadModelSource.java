@@ -0,0 +1,51 @@
+package br.com.dio.readmodel;
+
+import br.com.dio.dto.CardReadRowDTO;
+import br.com.dio.persistence.dao.CardDAO;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.service.BoardQueryService;
+import br.com.dio.service.CardQueryService;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getBoardConnection;
+import static br.com.dio.persistence.config.ConnectionConfig.getShardRouter;
+
+/**
+ * Lê o modelo de leitura dos bancos da aplicação: a carga percorre todos os shards em paralelo e as
+ * consultas pontuais vão ao primário do shard dono do board, que já enxerga o commit que gerou o evento
+ */
+public class DatabaseCardReadModelSource implements CardReadModelSource {
+
+    @Override
+    public List<BoardEntity> loadBoards() throws SQLException {
+        return getShardRouter()
+                .scatter(connection -> new BoardQueryService(connection).findAll(), null)
+                .stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    @Override
+    public void streamCards(final CardDAO.ReadRowHandler handler) throws SQLException {
+        getShardRouter().scatter(connection -> new CardQueryService(connection).streamReadRows(handler), null);
+    }
+
+    @Override
+    public Optional<BoardEntity> loadBoard(final long boardId) throws SQLException {
+        try (var connection = getBoardConnection(boardId)) {
+            return new BoardQueryService(connection).findById(boardId);
+        }
+    }
+
+    @Override
+    public Optional<CardReadRowDTO> loadCard(final long boardId, final long cardId) throws SQLException {
+        try (var connection = getBoardConnection(boardId)) {
+            return new CardQueryService(connection).findReadRow(cardId)
+                    .filter(card -> card.boardId() == boardId);
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package br.com.dio.readmodel;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Coluna de valores de tamanho fixo guardada fora do heap, em segmentos diretos de 65536 linhas
+ * alocados sob demanda: o heap guarda apenas o array de referências dos segmentos, e o coletor de lixo
+ * não percorre os valores
+ *
+ * Só usa leituras e escritas absolutas, então várias threads podem ler ao mesmo tempo; quem escreve
+ * controla o acesso
+ */
+final class OffHeapColumn {
+
+    private static final int SEGMENT_BITS = 16;
+    private static final int SEGMENT_ROWS = 1 << SEGMENT_BITS;
+    private static final int ROW_MASK = SEGMENT_ROWS - 1;
+
+    private final int width;
+    private ByteBuffer[] segments = new ByteBuffer[0];
+
+    OffHeapColumn(final int width) {
+        this.width = width;
+    }
+
+    /**
+     * Garante espaço para as linhas {@code [0, rows)}
+     */
+    void ensureCapacity(final long rows) {
+        var needed = (int) ((rows + ROW_MASK) >>> SEGMENT_BITS);
+        if (needed <= segments.length) {
+            return;
+        }
+        var grown = Arrays.copyOf(segments, needed);
+        for (var i = segments.length; i < needed; i++) {
+            grown[i] = ByteBuffer.allocateDirect(SEGMENT_ROWS * width).order(ByteOrder.nativeOrder());
+        }
+        segments = grown;
+    }
+
+    long getLong(final int row) {
+        return segment(row).getLong(offset(row));
+    }
+
+    void putLong(final int row, final long value) {
+        segment(row).putLong(offset(row), value);
+    }
+
+    int getInt(final int row) {
+        return segment(row).getInt(offset(row));
+    }
+
+    void putInt(final int row, final int value) {
+        segment(row).putInt(offset(row), value);
+    }
+
+    /**
+     * Bytes reservados fora do heap
+     */
+    long reservedBytes() {
+        return (long) segments.length * SEGMENT_ROWS * width;
+    }
+
+    private ByteBuffer segment(final int row) {
+        return segments[row >>> SEGMENT_BITS];
+    }
+
+    private int offset(final int row) {
+        return (row & ROW_MASK) * width;
+    }
+
+}
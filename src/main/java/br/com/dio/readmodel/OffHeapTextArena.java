@@ -0,0 +1,52 @@
+package br.com.dio.readmodel;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Área de textos fora do heap: os textos são gravados em UTF-8, um após o outro, em segmentos diretos de
+ * 1 MB, e cada um é identificado pela posição e pelo tamanho em bytes, guardados em colunas do modelo
+ *
+ * Só cresce: o espaço de textos removidos volta apenas quando o modelo é reconstruído
+ */
+final class OffHeapTextArena {
+
+    private static final int SEGMENT_BITS = 20;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    private static final int OFFSET_MASK = SEGMENT_SIZE - 1;
+
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private int used = SEGMENT_SIZE;
+
+    /**
+     * Grava os bytes e devolve a posição do texto
+     */
+    long append(final byte[] bytes) {
+        if (bytes.length > SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Texto maior que um segmento: " + bytes.length + " bytes");
+        }
+        if (used + bytes.length > SEGMENT_SIZE) {
+            segments.add(ByteBuffer.allocateDirect(SEGMENT_SIZE));
+            used = 0;
+        }
+        var segment = segments.size() - 1;
+        segments.get(segment).put(used, bytes);
+        var position = ((long) segment << SEGMENT_BITS) | used;
+        used += bytes.length;
+        return position;
+    }
+
+    String read(final long position, final int length) {
+        var bytes = new byte[length];
+        segments.get((int) (position >>> SEGMENT_BITS)).get((int) (position & OFFSET_MASK), bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    long reservedBytes() {
+        return (long) segments.size() * SEGMENT_SIZE;
+    }
+
+}
@@ -0,0 +1,181 @@
+package br.com.dio.scheduler;
+
+import br.com.dio.config.ApplicationConfig;
+import br.com.dio.dto.BoardPurgeStatusDTO;
+import br.com.dio.persistence.config.ShardRouter;
+import br.com.dio.persistence.dao.BoardDAO;
+import br.com.dio.persistence.dao.BoardPurgeDAO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getShardRouter;
+
+/**
+ * Expurgo em segundo plano dos boards excluídos: a exclusão só marca o board ({@code deleted_at}), e este
+ * job apaga seus cards em partes de {@code chunkSize}, cada uma em uma transação curta seguida de uma pausa,
+ * para não segurar travas nem inflar o log de undo com um único DELETE em cascata; por último apaga o board
+ *
+ * Procura boards pendentes em todos os shards a cada intervalo e logo depois de cada exclusão deste
+ * processo ({@link #wake()}); um board interrompido (falha ou reinício) continua de onde parou
+ */
+@Slf4j
+public class BoardPurger implements AutoCloseable {
+
+    private static final int PROGRESS_EVERY_CHUNKS = 20;
+
+    private static BoardPurger instance;
+
+    private final ShardRouter router;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final long intervalMillis;
+    private volatile BoardPurgeStatusDTO status = new BoardPurgeStatusDTO(null, 0, 0, 0, 0);
+    private ScheduledExecutorService worker;
+
+    public BoardPurger(final ShardRouter router, final int chunkSize, final Duration pause, final Duration interval) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("A parte do expurgo precisa ter pelo menos um card");
+        }
+        this.router = router;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pause.toMillis();
+        this.intervalMillis = interval.toMillis();
+    }
+
+    public static BoardPurger getInstance() {
+        if (instance == null) {
+            synchronized (BoardPurger.class) {
+                if (instance == null) {
+                    var config = ApplicationConfig.getInstance();
+                    instance = new BoardPurger(getShardRouter(), config.getPurgeChunkSize(),
+                            Duration.ofMillis(config.getPurgePauseMs()),
+                            Duration.ofSeconds(config.getPurgeIntervalSeconds()));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Encerra a instância compartilhada, se ela chegou a ser criada
+     */
+    public static void shutdown() {
+        if (instance != null) {
+            instance.close();
+        }
+    }
+
+    /**
+     * Passa a expurgar em uma thread daemon, começando pelos boards já pendentes
+     */
+    public synchronized void start() {
+        if (worker != null) {
+            throw new IllegalStateException("Expurgo de boards já iniciado");
+        }
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "board-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.scheduleWithFixedDelay(this::purgePending, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Antecipa a procura por boards pendentes; sem o job iniciado (modos de linha de comando), o board
+     * fica marcado até o próximo processo que o inicie
+     */
+    public synchronized void wake() {
+        if (worker != null) {
+            worker.execute(this::purgePending);
+        }
+    }
+
+    public BoardPurgeStatusDTO getStatus() {
+        return status;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (worker != null) {
+            worker.shutdownNow();
+            worker = null;
+        }
+    }
+
+    void purgePending() {
+        for (var shard : router.getShardNames()) {
+            List<Long> boardIds;
+            try (var connection = router.leaseShard(shard, true, null)) {
+                boardIds = new BoardDAO(connection).findDeletedIds();
+            } catch (SQLException e) {
+                log.warn("Expurgo não conseguiu listar os boards excluídos do shard {}: {}", shard, e.getMessage());
+                continue;
+            }
+            for (var boardId : boardIds) {
+                try {
+                    purge(shard, boardId);
+                } catch (SQLException e) {
+                    log.warn("Expurgo do board {} interrompido, será retomado: {}", boardId, e.getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    status = new BoardPurgeStatusDTO(null, 0, 0, status.purgedBoards(), status.purgedCards());
+                }
+            }
+        }
+    }
+
+    private void purge(final String shard, final Long boardId) throws SQLException, InterruptedException {
+        var start = System.nanoTime();
+        long total;
+        try (var connection = router.leaseShard(shard, true, null)) {
+            total = new BoardPurgeDAO(connection).countCards(boardId);
+        }
+        log.info("Expurgo do board {} iniciado: {} cards em partes de {}", boardId, total, chunkSize);
+        long purged = 0;
+        var chunks = 0;
+        var removed = false;
+        status = new BoardPurgeStatusDTO(boardId, total, 0, status.purgedBoards(), status.purgedCards());
+        while (true) {
+            int deleted;
+            // Uma conexão por parte: a pausa entre as partes não prende conexão do pool
+            try (var connection = router.leaseShard(shard, true, null)) {
+                var dao = new BoardPurgeDAO(connection);
+                var cardIds = dao.findCardIds(boardId, chunkSize);
+                if (cardIds.isEmpty()) {
+                    removed = dao.deleteBoard(boardId);
+                    connection.commit();
+                    break;
+                }
+                deleted = dao.deleteCards(cardIds);
+                connection.commit();
+            }
+            purged += deleted;
+            status = new BoardPurgeStatusDTO(boardId, total, purged, status.purgedBoards(),
+                    status.purgedCards() + deleted);
+            if (++chunks % PROGRESS_EVERY_CHUNKS == 0) {
+                log.info("Expurgo do board {}: {} de {} cards", boardId, purged, total);
+            }
+            if (pauseMillis > 0) {
+                Thread.sleep(pauseMillis);
+            }
+        }
+        if (!removed) {
+            // O board deixou de estar excluído (ou já saiu) durante o expurgo: segue mapeado e fora da contagem
+            log.warn("Expurgo do board {} terminou sem apagá-lo: {} cards removidos", boardId, purged);
+            return;
+        }
+        router.forgetBoard(boardId);
+        status = new BoardPurgeStatusDTO(boardId, total, purged, status.purgedBoards() + 1, status.purgedCards());
+        log.info("Expurgo do board {} concluído: {} cards em {} ms", boardId, purged,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+}
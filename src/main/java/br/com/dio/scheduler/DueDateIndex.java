@@ -0,0 +1,344 @@
+package br.com.dio.scheduler;
+
+import br.com.dio.dto.DueCardDTO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice em memória dos cards em aberto com prazo, ordenado pelo instante em que vencem
+ * Um card com prazo no dia D fica atrasado a partir de D+1 00:00 (mesma regra de {@code due_date < CURDATE()})
+ *
+ * As consultas "atrasados agora" e "vencem nas próximas N horas" percorrem apenas a faixa pedida
+ * da árvore (O(log n + k)); um temporizador acorda no próximo vencimento e avisa os
+ * {@link OverdueListener}s, sem consultar o banco
+ * O índice vale para o processo atual: escritas feitas por outros processos só aparecem na
+ * próxima ressincronização periódica
+ * Os cards são identificados por (board, card) porque ids de cards só são únicos dentro de um shard
+ */
+@Slf4j
+public class DueDateIndex {
+
+    private static final DueDateIndex INSTANCE = new DueDateIndex(Clock.systemDefaultZone());
+
+    private final Clock clock;
+    private final NavigableMap<LocalDateTime, Map<CardKey, DueCardDTO>> byDeadline = new TreeMap<>();
+    private final Map<CardKey, DueCardDTO> byCard = new HashMap<>();
+    private final List<OverdueListener> listeners = new CopyOnWriteArrayList<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Vencimentos até este instante já foram avisados aos listeners
+    private LocalDateTime notifiedUpTo;
+    // Alterações feitas durante uma carga, reaplicadas sobre o que foi lido; nulo fora das cargas
+    private List<Runnable> pendingChanges;
+    private ScheduledExecutorService timer;
+    private ScheduledFuture<?> nextWakeUp;
+
+    DueDateIndex(final Clock clock) {
+        this.clock = clock;
+        this.notifiedUpTo = LocalDateTime.now(clock);
+    }
+
+    public static DueDateIndex getInstance() {
+        return INSTANCE;
+    }
+
+    public static LocalDateTime deadlineOf(final LocalDate dueDate) {
+        return dueDate.plusDays(1).atStartOfDay();
+    }
+
+    /**
+     * Carrega o índice e passa a ressincronizá-lo com {@code loader} a cada {@code resyncInterval}
+     * (zero desliga a ressincronização); o temporizador de vencimentos roda em uma thread daemon
+     */
+    public synchronized void start(final Callable<? extends Collection<DueCardDTO>> loader, final Duration resyncInterval)
+            throws Exception {
+        if (timer != null) {
+            throw new IllegalStateException("Índice de prazos já iniciado");
+        }
+        load(loader);
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "due-date-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!resyncInterval.isZero()) {
+            var millis = resyncInterval.toMillis();
+            timer.scheduleWithFixedDelay(() -> resync(loader), millis, millis, TimeUnit.MILLISECONDS);
+        }
+        scheduleNextWakeUp();
+    }
+
+    public synchronized void stop() {
+        if (timer != null) {
+            timer.shutdownNow();
+            timer = null;
+            nextWakeUp = null;
+        }
+    }
+
+    public void addListener(final OverdueListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Substitui todo o conteúdo; cards já vencidos na carga não geram eventos
+     */
+    public void replaceAll(final Collection<DueCardDTO> cards) {
+        lock.writeLock().lock();
+        try {
+            byDeadline.clear();
+            byCard.clear();
+            cards.forEach(this::insert);
+            if (pendingChanges != null) {
+                pendingChanges.forEach(Runnable::run);
+                pendingChanges.clear();
+            }
+            notifiedUpTo = LocalDateTime.now(clock);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Índice de prazos carregado com {} cards", cards.size());
+        scheduleNextWakeUp();
+    }
+
+    /**
+     * Inclui ou atualiza o card; um prazo que já passou é avisado na hora
+     */
+    public void put(final DueCardDTO card) {
+        boolean alreadyOverdue;
+        boolean earliest;
+        lock.writeLock().lock();
+        try {
+            var key = CardKey.of(card);
+            remove(key, false);
+            var deadline = insert(card);
+            buffer(() -> {
+                remove(key, false);
+                insert(card);
+            });
+            alreadyOverdue = !deadline.isAfter(notifiedUpTo);
+            earliest = !alreadyOverdue && byDeadline.higherKey(notifiedUpTo).equals(deadline);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (alreadyOverdue) {
+            notifyListeners(List.of(card));
+        } else if (earliest) {
+            scheduleNextWakeUp();
+        }
+    }
+
+    public void remove(final Long boardId, final Long cardId) {
+        var key = new CardKey(boardId, cardId);
+        lock.writeLock().lock();
+        try {
+            remove(key, true);
+            buffer(() -> remove(key, false));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeBoard(final Long boardId) {
+        lock.writeLock().lock();
+        try {
+            removeCardsOf(boardId);
+            buffer(() -> removeCardsOf(boardId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Cards atrasados agora, do mais atrasado para o mais recente
+     */
+    public List<DueCardDTO> findOverdue() {
+        return collect(byDeadline.headMap(LocalDateTime.now(clock), true));
+    }
+
+    /**
+     * Cards que vencem depois de agora e até {@code window} à frente, do mais próximo ao mais distante
+     */
+    public List<DueCardDTO> findDueWithin(final Duration window) {
+        var now = LocalDateTime.now(clock);
+        return collect(byDeadline.subMap(now, false, now.plus(window), true));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byCard.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Avisa os cards que venceram desde o último aviso e reagenda o temporizador
+     * @return quantidade de cards avisados
+     */
+    int fireDue() {
+        List<DueCardDTO> fired;
+        lock.writeLock().lock();
+        try {
+            var now = LocalDateTime.now(clock);
+            fired = new ArrayList<>();
+            byDeadline.subMap(notifiedUpTo, false, now, true).values().forEach(cards -> fired.addAll(cards.values()));
+            notifiedUpTo = now;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        notifyListeners(fired);
+        scheduleNextWakeUp();
+        return fired.size();
+    }
+
+    private List<DueCardDTO> collect(final NavigableMap<LocalDateTime, Map<CardKey, DueCardDTO>> range) {
+        lock.readLock().lock();
+        try {
+            List<DueCardDTO> cards = new ArrayList<>();
+            range.values().forEach(bucket -> cards.addAll(bucket.values()));
+            return cards;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeCardsOf(final Long boardId) {
+        byCard.keySet().stream()
+                .filter(key -> key.boardId().equals(boardId))
+                .toList()
+                .forEach(key -> remove(key, false));
+    }
+
+    /**
+     * Guarda a alteração, já feita no conteúdo atual, para reaplicá-la sobre a carga em andamento;
+     * chamado com a trava de escrita
+     */
+    private void buffer(final Runnable change) {
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    private LocalDateTime insert(final DueCardDTO card) {
+        var deadline = deadlineOf(card.dueDate());
+        var key = CardKey.of(card);
+        byDeadline.computeIfAbsent(deadline, d -> new LinkedHashMap<>()).put(key, card);
+        byCard.put(key, card);
+        return deadline;
+    }
+
+    private void remove(final CardKey key, final boolean logMissing) {
+        var previous = byCard.remove(key);
+        if (previous == null) {
+            if (logMissing) {
+                log.trace("Card {} do board {} não estava no índice de prazos", key.cardId(), key.boardId());
+            }
+            return;
+        }
+        var deadline = deadlineOf(previous.dueDate());
+        var bucket = byDeadline.get(deadline);
+        bucket.remove(key);
+        if (bucket.isEmpty()) {
+            byDeadline.remove(deadline);
+        }
+    }
+
+    private void notifyListeners(final List<DueCardDTO> cards) {
+        for (var card : cards) {
+            for (var listener : listeners) {
+                try {
+                    listener.onOverdue(card);
+                } catch (RuntimeException e) {
+                    log.error("Falha ao avisar vencimento do card {}", card.cardId(), e);
+                }
+            }
+        }
+    }
+
+    private synchronized void scheduleNextWakeUp() {
+        if (timer == null) {
+            return;
+        }
+        LocalDateTime next;
+        lock.readLock().lock();
+        try {
+            next = byDeadline.higherKey(notifiedUpTo);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (nextWakeUp != null) {
+            nextWakeUp.cancel(false);
+            nextWakeUp = null;
+        }
+        if (next == null) {
+            return;
+        }
+        var delay = Math.max(0, Duration.between(LocalDateTime.now(clock), next).toMillis());
+        nextWakeUp = timer.schedule(this::fireDue, delay, TimeUnit.MILLISECONDS);
+        log.debug("Próximo vencimento em {} ({} ms)", next, delay);
+    }
+
+    private void resync(final Callable<? extends Collection<DueCardDTO>> loader) {
+        try {
+            load(loader);
+        } catch (Exception e) {
+            log.error("Falha ao ressincronizar o índice de prazos", e);
+        }
+    }
+
+    /**
+     * Recarrega com {@code loader}; as alterações feitas enquanto ele lê o banco são reaplicadas sobre o
+     * resultado, que pode não contê-las, antes de ele substituir o conteúdo
+     */
+    void load(final Callable<? extends Collection<DueCardDTO>> loader) throws Exception {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            var cards = loader.call();
+            // Avisa o que venceu até agora antes de trocar o conteúdo, para não perder eventos
+            fireDue();
+            replaceAll(cards);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private record CardKey(Long boardId, Long cardId) {
+
+        static CardKey of(final DueCardDTO card) {
+            return new CardKey(card.boardId(), card.cardId());
+        }
+
+    }
+
+}
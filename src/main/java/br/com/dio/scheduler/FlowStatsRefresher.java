@@ -0,0 +1,98 @@
+package br.com.dio.scheduler;
+
+import br.com.dio.config.ApplicationConfig;
+import br.com.dio.persistence.config.ShardRouter;
+import br.com.dio.service.FlowAnalyticsService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getShardRouter;
+
+/**
+ * Mantém os agregados de fluxo (FLOW_STATS) em dia fora do caminho de leitura: a cada intervalo, incorpora
+ * em cada shard as movimentações novas; o relatório de fluxo só lê os agregados, que ficam no máximo um
+ * intervalo atrás das movimentações, e nunca espera pela trava da marca d'água
+ */
+@Slf4j
+public class FlowStatsRefresher implements AutoCloseable {
+
+    private static FlowStatsRefresher instance;
+
+    private final ShardRouter router;
+    private final long intervalMillis;
+    private final Duration safetyLag;
+    private ScheduledExecutorService worker;
+
+    public FlowStatsRefresher(final ShardRouter router, final Duration interval, final Duration safetyLag) {
+        if (interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("O intervalo de atualização do fluxo precisa ser positivo");
+        }
+        this.router = router;
+        this.intervalMillis = interval.toMillis();
+        this.safetyLag = safetyLag;
+    }
+
+    public static FlowStatsRefresher getInstance() {
+        if (instance == null) {
+            synchronized (FlowStatsRefresher.class) {
+                if (instance == null) {
+                    var config = ApplicationConfig.getInstance();
+                    instance = new FlowStatsRefresher(getShardRouter(), Duration.ofSeconds(config.getAnalyticsRefreshSeconds()),
+                            Duration.ofMillis(config.getAnalyticsSafetyLagMs()));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Encerra a instância compartilhada, se ela chegou a ser criada
+     */
+    public static void shutdown() {
+        if (instance != null) {
+            instance.close();
+        }
+    }
+
+    /**
+     * Passa a atualizar em uma thread daemon, começando pelo que já estiver pendente
+     */
+    public synchronized void start() {
+        if (worker != null) {
+            throw new IllegalStateException("Atualização das métricas de fluxo já iniciada");
+        }
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "flow-stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.scheduleWithFixedDelay(this::refreshAll, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (worker != null) {
+            worker.shutdownNow();
+            worker = null;
+        }
+    }
+
+    /**
+     * Uma rodada em todos os shards; um shard que falha é tentado de novo na próxima rodada
+     */
+    void refreshAll() {
+        for (var shard : router.getShardNames()) {
+            try (var connection = router.leaseShard(shard, true, null)) {
+                new FlowAnalyticsService(connection, safetyLag).refresh();
+            } catch (SQLException | RuntimeException e) {
+                log.warn("Atualização das métricas de fluxo falhou no shard {}: {}", shard, e.getMessage());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,14 @@
+package br.com.dio.scheduler;
+
+import br.com.dio.dto.DueCardDTO;
+
+/**
+ * Recebe os cards no momento em que passam do prazo
+ * Chamado na thread do temporizador do {@link DueDateIndex}: implementações devem ser rápidas
+ */
+@FunctionalInterface
+public interface OverdueListener {
+
+    void onOverdue(DueCardDTO card);
+
+}
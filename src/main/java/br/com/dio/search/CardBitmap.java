@@ -0,0 +1,382 @@
+package br.com.dio.search;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto comprimido de ids de cards, no formato dos bitmaps "roaring": os ids são divididos em blocos
+ * de 65536 pelos bits altos, e cada bloco guarda os 16 bits baixos em uma lista ordenada (até 4096 ids)
+ * ou em um mapa de bits de 8 KB (blocos densos). Ids próximos, como os de um mesmo board, ocupam poucos
+ * bytes, e interseção, união e contagem trabalham bloco a bloco, palavra a palavra nos blocos densos
+ *
+ * Não é thread-safe: quem compartilha a instância controla o acesso
+ */
+public final class CardBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+
+    private int[] keys = new int[0];
+    private Object[] containers = new Object[0];
+    private int size;
+
+    public static CardBitmap of(final long... ids) {
+        var bitmap = new CardBitmap();
+        for (var id : ids) {
+            bitmap.add(id);
+        }
+        return bitmap;
+    }
+
+    public void add(final long id) {
+        var key = keyOf(id);
+        var low = (char) id;
+        var index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, key, new char[]{low});
+            return;
+        }
+        if (containers[index] instanceof long[] words) {
+            words[low >>> 6] |= 1L << low;
+            return;
+        }
+        var values = (char[]) containers[index];
+        var position = Arrays.binarySearch(values, low);
+        if (position >= 0) {
+            return;
+        }
+        position = -position - 1;
+        if (values.length == ARRAY_MAX) {
+            var words = toWords(values);
+            words[low >>> 6] |= 1L << low;
+            containers[index] = words;
+            return;
+        }
+        var grown = new char[values.length + 1];
+        System.arraycopy(values, 0, grown, 0, position);
+        grown[position] = low;
+        System.arraycopy(values, position, grown, position + 1, values.length - position);
+        containers[index] = grown;
+    }
+
+    public void remove(final long id) {
+        var index = Arrays.binarySearch(keys, 0, size, keyOf(id));
+        if (index < 0) {
+            return;
+        }
+        var low = (char) id;
+        Object container;
+        if (containers[index] instanceof long[] words) {
+            words[low >>> 6] &= ~(1L << low);
+            container = normalize(words);
+        } else {
+            var values = (char[]) containers[index];
+            var position = Arrays.binarySearch(values, low);
+            if (position < 0) {
+                return;
+            }
+            var shrunk = new char[values.length - 1];
+            System.arraycopy(values, 0, shrunk, 0, position);
+            System.arraycopy(values, position + 1, shrunk, position, values.length - position - 1);
+            container = shrunk;
+        }
+        if (cardinalityOf(container) == 0) {
+            removeContainer(index);
+        } else {
+            containers[index] = container;
+        }
+    }
+
+    public boolean contains(final long id) {
+        var index = Arrays.binarySearch(keys, 0, size, keyOf(id));
+        return index >= 0 && containsLow(containers[index], (char) id);
+    }
+
+    public long cardinality() {
+        long total = 0;
+        for (var i = 0; i < size; i++) {
+            total += cardinalityOf(containers[i]);
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public CardBitmap copy() {
+        var copy = new CardBitmap();
+        copy.keys = Arrays.copyOf(keys, size);
+        copy.containers = new Object[size];
+        for (var i = 0; i < size; i++) {
+            copy.containers[i] = clone(containers[i]);
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    public CardBitmap and(final CardBitmap other) {
+        var result = new CardBitmap();
+        var i = 0;
+        var j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                var container = and(containers[i], other.containers[j]);
+                if (cardinalityOf(container) > 0) {
+                    result.appendContainer(keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public CardBitmap or(final CardBitmap other) {
+        var result = new CardBitmap();
+        var i = 0;
+        var j = 0;
+        while (i < size || j < other.size) {
+            if (j >= other.size || (i < size && keys[i] < other.keys[j])) {
+                result.appendContainer(keys[i], clone(containers[i]));
+                i++;
+            } else if (i >= size || keys[i] > other.keys[j]) {
+                result.appendContainer(other.keys[j], clone(other.containers[j]));
+                j++;
+            } else {
+                result.appendContainer(keys[i], or(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public CardBitmap andNot(final CardBitmap other) {
+        var result = new CardBitmap();
+        var j = 0;
+        for (var i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            var container = j < other.size && other.keys[j] == keys[i]
+                    ? andNot(containers[i], other.containers[j])
+                    : clone(containers[i]);
+            if (cardinalityOf(container) > 0) {
+                result.appendContainer(keys[i], container);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Tamanho da interseção, sem montar o bitmap resultante
+     */
+    public long andCardinality(final CardBitmap other) {
+        long total = 0;
+        var i = 0;
+        var j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                total += andCardinality(containers[i], other.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * União de vários bitmaps; sem nenhum, devolve um bitmap vazio
+     */
+    public static CardBitmap union(final Iterable<CardBitmap> bitmaps) {
+        var result = new CardBitmap();
+        for (var bitmap : bitmaps) {
+            result = result.or(bitmap);
+        }
+        return result;
+    }
+
+    private static int keyOf(final long id) {
+        if (id < 0 || id >>> 16 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Id de card fora da faixa do bitmap: " + id);
+        }
+        return (int) (id >>> 16);
+    }
+
+    private void insertContainer(final int index, final int key, final Object container) {
+        if (size == keys.length) {
+            var capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void appendContainer(final int key, final Object container) {
+        insertContainer(size, key, container);
+    }
+
+    private void removeContainer(final int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        size--;
+        containers[size] = null;
+    }
+
+    private static boolean containsLow(final Object container, final char low) {
+        if (container instanceof long[] words) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) container, low) >= 0;
+    }
+
+    private static int cardinalityOf(final Object container) {
+        if (container instanceof long[] words) {
+            var total = 0;
+            for (var word : words) {
+                total += Long.bitCount(word);
+            }
+            return total;
+        }
+        return ((char[]) container).length;
+    }
+
+    private static Object clone(final Object container) {
+        return container instanceof long[] words ? words.clone() : ((char[]) container).clone();
+    }
+
+    private static Object and(final Object left, final Object right) {
+        if (left instanceof long[] a && right instanceof long[] b) {
+            var words = new long[WORDS];
+            for (var i = 0; i < WORDS; i++) {
+                words[i] = a[i] & b[i];
+            }
+            return normalize(words);
+        }
+        // Ao menos um lado é lista: percorre a menor e consulta a outra
+        var values = (char[]) (left instanceof char[] ? left : right);
+        var other = values == left ? right : left;
+        var result = new char[values.length];
+        var count = 0;
+        for (var value : values) {
+            if (containsLow(other, value)) {
+                result[count++] = value;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static Object or(final Object left, final Object right) {
+        if (left instanceof char[] a && right instanceof char[] b && a.length + b.length <= ARRAY_MAX) {
+            var result = new char[a.length + b.length];
+            int i = 0, j = 0, count = 0;
+            while (i < a.length || j < b.length) {
+                if (j >= b.length || (i < a.length && a[i] < b[j])) {
+                    result[count++] = a[i++];
+                } else if (i >= a.length || a[i] > b[j]) {
+                    result[count++] = b[j++];
+                } else {
+                    result[count++] = a[i++];
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+        var words = left instanceof long[] a ? a.clone() : toWords((char[]) left);
+        if (right instanceof long[] b) {
+            for (var i = 0; i < WORDS; i++) {
+                words[i] |= b[i];
+            }
+        } else {
+            for (var value : (char[]) right) {
+                words[value >>> 6] |= 1L << value;
+            }
+        }
+        return normalize(words);
+    }
+
+    private static Object andNot(final Object left, final Object right) {
+        if (left instanceof char[] values) {
+            var result = new char[values.length];
+            var count = 0;
+            for (var value : values) {
+                if (!containsLow(right, value)) {
+                    result[count++] = value;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+        var words = ((long[]) left).clone();
+        if (right instanceof long[] b) {
+            for (var i = 0; i < WORDS; i++) {
+                words[i] &= ~b[i];
+            }
+        } else {
+            for (var value : (char[]) right) {
+                words[value >>> 6] &= ~(1L << value);
+            }
+        }
+        return normalize(words);
+    }
+
+    private static long andCardinality(final Object left, final Object right) {
+        if (left instanceof long[] a && right instanceof long[] b) {
+            long total = 0;
+            for (var i = 0; i < WORDS; i++) {
+                total += Long.bitCount(a[i] & b[i]);
+            }
+            return total;
+        }
+        var values = (char[]) (left instanceof char[] ? left : right);
+        var other = values == left ? right : left;
+        long total = 0;
+        for (var value : values) {
+            if (containsLow(other, value)) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    private static long[] toWords(final char[] values) {
+        var words = new long[WORDS];
+        for (var value : values) {
+            words[value >>> 6] |= 1L << value;
+        }
+        return words;
+    }
+
+    /**
+     * Blocos densos que ficaram com até 4096 ids voltam a ser lista
+     */
+    private static Object normalize(final long[] words) {
+        var cardinality = cardinalityOf(words);
+        if (cardinality > ARRAY_MAX) {
+            return words;
+        }
+        var values = new char[cardinality];
+        var count = 0;
+        for (var i = 0; i < WORDS; i++) {
+            var word = words[i];
+            while (word != 0) {
+                values[count++] = (char) (i * 64 + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return values;
+    }
+
+}
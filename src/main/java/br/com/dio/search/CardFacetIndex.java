@@ -0,0 +1,297 @@
+package br.com.dio.search;
+
+import br.com.dio.dto.CardFacetRowDTO;
+import br.com.dio.dto.CardFacetsDTO;
+import br.com.dio.dto.ColumnFacetDTO;
+import br.com.dio.event.DomainEvent;
+import br.com.dio.event.DomainEventBus;
+import br.com.dio.event.DomainEventHandler;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de facetas em memória: para cada board, bitmaps comprimidos ({@link CardBitmap}) dos ids dos
+ * cards por coluna, prioridade e bloqueio, com os quais as contagens de uma busca ("quantos bloqueados
+ * por coluna no board X") saem de interseções de bitmaps em vez de {@code COUNT(DISTINCT)} com joins
+ *
+ * Os bitmaps ficam separados por board porque ids de cards e colunas só são únicos dentro de um shard.
+ * O índice é carregado do banco e depois acompanha as escritas pelos eventos de domínio; se a assinatura
+ * perder eventos, ou a cada intervalo de ressincronização, é recarregado por inteiro. Cards criados pelos
+ * serviços entram com a prioridade padrão da coluna ({@value #DEFAULT_PRIORITY}), a única que eles gravam
+ */
+@Slf4j
+public class CardFacetIndex implements DomainEventHandler {
+
+    static final String DEFAULT_PRIORITY = "MEDIUM";
+
+    private static final CardFacetIndex INSTANCE = new CardFacetIndex();
+
+    private final Map<Long, BoardFacets> boards = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+    // Eventos recebidos durante uma carga, reaplicados sobre o que foi lido; nulo fora das cargas
+    private List<DomainEvent> pendingEvents;
+    private Callable<? extends Collection<CardFacetRowDTO>> loader;
+    private ScheduledExecutorService timer;
+
+    CardFacetIndex() {
+    }
+
+    public static CardFacetIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Assina os eventos, carrega o índice com {@code loader} e passa a recarregá-lo a cada
+     * {@code resyncInterval} (zero desliga a recarga periódica)
+     */
+    public synchronized void start(final Callable<? extends Collection<CardFacetRowDTO>> loader,
+                                   final Duration resyncInterval) throws Exception {
+        if (timer != null) {
+            throw new IllegalStateException("Índice de facetas já iniciado");
+        }
+        this.loader = loader;
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "facet-resync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Guarda os eventos desde antes da assinatura: a carga pode ter lido o banco antes deles
+        bufferEvents();
+        DomainEventBus.getInstance().subscribe("facets", this);
+        load(loader);
+        if (!resyncInterval.isZero()) {
+            var millis = resyncInterval.toMillis();
+            timer.scheduleWithFixedDelay(this::resync, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public synchronized void stop() {
+        if (timer != null) {
+            timer.shutdownNow();
+            timer = null;
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Recarrega com {@code loader}; os eventos recebidos enquanto ele lê o banco são reaplicados sobre o
+     * resultado, que pode não contê-los, antes de ele substituir o índice
+     */
+    void load(final Callable<? extends Collection<CardFacetRowDTO>> loader) throws Exception {
+        bufferEvents();
+        try {
+            replaceAll(loader.call());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingEvents = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public void replaceAll(final Collection<CardFacetRowDTO> rows) {
+        Map<Long, BoardFacets> rebuilt = new HashMap<>();
+        for (var row : rows) {
+            var board = rebuilt.computeIfAbsent(row.boardId(), id -> new BoardFacets());
+            board.add(row.cardId(), row.columnId(), row.priority() == null ? DEFAULT_PRIORITY : row.priority());
+            if (row.blocked()) {
+                board.blocked.add(row.cardId());
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            if (pendingEvents != null) {
+                pendingEvents.forEach(event -> apply(event, rebuilt));
+                pendingEvents.clear();
+            }
+            boards.clear();
+            boards.putAll(rebuilt);
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Índice de facetas carregado com {} cards de {} boards", rows.size(), rebuilt.size());
+    }
+
+    @Override
+    public void onEvent(final DomainEvent event, final long sequence, final boolean endOfBatch) {
+        if (event.getBoardId() == 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            apply(event, boards);
+            if (pendingEvents != null) {
+                pendingEvents.add(event.copy());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onOverrun(final long missed) {
+        var scheduler = timer;
+        if (scheduler != null) {
+            scheduler.execute(this::resync);
+        }
+    }
+
+    /**
+     * Contagens por faceta dos cards que atendem aos filtros de board, coluna e bloqueio do critério
+     * Vazio enquanto o índice não foi carregado ou quando o critério tem filtros de texto ou data,
+     * que o índice não conhece
+     */
+    public Optional<CardFacetsDTO> facets(final CardSearchCriteria criteria) {
+        if (!loaded || criteria.hasTextFilter() || criteria.hasDateFilter() || hasBlockReasonFilter(criteria)) {
+            return Optional.empty();
+        }
+        long total = 0;
+        long blocked = 0;
+        List<ColumnFacetDTO> columns = new ArrayList<>();
+        Map<String, Long> priorities = new TreeMap<>();
+        lock.readLock().lock();
+        try {
+            for (var boardId : boardIdsIn(criteria)) {
+                var board = boards.get(boardId);
+                var scope = board.scope(criteria);
+                total += scope.cardinality();
+                blocked += scope.andCardinality(board.blocked);
+                // Por board: ids de colunas se repetem entre shards e não podem ser somados
+                board.columns.forEach((columnId, cards) -> {
+                    var inColumn = cards.and(scope);
+                    if (!inColumn.isEmpty()) {
+                        columns.add(new ColumnFacetDTO(boardId, columnId, inColumn.cardinality(),
+                                inColumn.andCardinality(board.blocked)));
+                    }
+                });
+                board.priorities.forEach((priority, cards) -> {
+                    var count = cards.andCardinality(scope);
+                    if (count > 0) {
+                        priorities.merge(priority, count, Long::sum);
+                    }
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        columns.sort(Comparator.comparingLong(ColumnFacetDTO::boardId).thenComparingLong(ColumnFacetDTO::columnId));
+        return Optional.of(new CardFacetsDTO(total, blocked, columns, priorities));
+    }
+
+    /**
+     * Aplica o evento em {@code target}; reaplicar um evento que a carga já contém não muda nada
+     */
+    private static void apply(final DomainEvent event, final Map<Long, BoardFacets> target) {
+        switch (event.getType()) {
+            case BOARD_CREATED -> target.putIfAbsent(event.getBoardId(), new BoardFacets());
+            case BOARD_DELETED -> target.remove(event.getBoardId());
+            case CARD_CREATED -> board(event, target).add(event.getCardId(), event.getToColumnId(), DEFAULT_PRIORITY);
+            case CARD_MOVED, CARD_CANCELLED -> board(event, target).move(event.getCardId(), event.getFromColumnId(),
+                    event.getToColumnId());
+            case CARD_BLOCKED -> board(event, target).blocked.add(event.getCardId());
+            case CARD_UNBLOCKED -> board(event, target).blocked.remove(event.getCardId());
+            case CARD_DUE_DATE_CHANGED -> {
+            }
+        }
+    }
+
+    private static BoardFacets board(final DomainEvent event, final Map<Long, BoardFacets> target) {
+        return target.computeIfAbsent(event.getBoardId(), id -> new BoardFacets());
+    }
+
+    private void bufferEvents() {
+        lock.writeLock().lock();
+        try {
+            if (pendingEvents == null) {
+                pendingEvents = new ArrayList<>();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Long> boardIdsIn(final CardSearchCriteria criteria) {
+        if (!criteria.hasBoardFilter()) {
+            return new ArrayList<>(boards.keySet());
+        }
+        return criteria.getBoardIds().stream()
+                .distinct()
+                .filter(boards::containsKey)
+                .toList();
+    }
+
+    private static boolean hasBlockReasonFilter(final CardSearchCriteria criteria) {
+        return criteria.getBlockReasonContains() != null && !criteria.getBlockReasonContains().isBlank();
+    }
+
+    private void resync() {
+        try {
+            load(loader);
+        } catch (Exception e) {
+            log.warn("Falha ao recarregar o índice de facetas: {}", e.getMessage());
+        }
+    }
+
+    private static final class BoardFacets {
+
+        private final CardBitmap cards = new CardBitmap();
+        private final CardBitmap blocked = new CardBitmap();
+        private final Map<Long, CardBitmap> columns = new HashMap<>();
+        private final Map<String, CardBitmap> priorities = new HashMap<>();
+
+        void add(final long cardId, final long columnId, final String priority) {
+            cards.add(cardId);
+            columns.computeIfAbsent(columnId, id -> new CardBitmap()).add(cardId);
+            priorities.computeIfAbsent(priority, name -> new CardBitmap()).add(cardId);
+        }
+
+        void move(final long cardId, final long fromColumnId, final long toColumnId) {
+            var from = columns.get(fromColumnId);
+            if (from != null) {
+                from.remove(cardId);
+            }
+            columns.computeIfAbsent(toColumnId, id -> new CardBitmap()).add(cardId);
+        }
+
+        /**
+         * Cards do board que atendem aos filtros de coluna e bloqueio
+         */
+        CardBitmap scope(final CardSearchCriteria criteria) {
+            var scope = cards;
+            if (criteria.hasColumnFilter()) {
+                var selected = criteria.getBoardColumnIds().stream()
+                        .map(columns::get)
+                        .filter(bitmap -> bitmap != null)
+                        .toList();
+                scope = scope.and(CardBitmap.union(selected));
+            }
+            if (criteria.getIsBlocked() != null) {
+                scope = criteria.getIsBlocked() ? scope.and(blocked) : scope.andNot(blocked);
+            }
+            return scope;
+        }
+
+    }
+
+}
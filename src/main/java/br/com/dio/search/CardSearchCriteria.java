@@ -10,7 +10,7 @@ import java.util.List;
  * Critérios de busca para cards
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class CardSearchCriteria {
     
     private String titleContains;
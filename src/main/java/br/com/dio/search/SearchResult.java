@@ -1,5 +1,6 @@
 package br.com.dio.search;
 
+import br.com.dio.dto.CardFacetsDTO;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -18,12 +19,14 @@ public class SearchResult<T> {
     private int currentPage;
     private boolean hasNext;
     private boolean hasPrevious;
+    // Contagens por faceta, quando o índice de facetas consegue responder pelos filtros da busca
+    private CardFacetsDTO facets;
     
     public static <T> SearchResult<T> of(List<T> items, long totalCount, int pageSize, int currentPage) {
         boolean hasNext = (long) (currentPage + 1) * pageSize < totalCount;
         boolean hasPrevious = currentPage > 0;
         
-        return new SearchResult<>(items, totalCount, pageSize, currentPage, hasNext, hasPrevious);
+        return new SearchResult<>(items, totalCount, pageSize, currentPage, hasNext, hasPrevious, null);
     }
     
     public int getTotalPages() {
@@ -0,0 +1,26 @@
+package br.com.dio.server;
+
+import lombok.Getter;
+
+/**
+ * Erro de protocolo HTTP (rota inexistente, método não suportado, parâmetro inválido)
+ */
+@Getter
+public class ApiException extends RuntimeException {
+
+    private final int status;
+
+    public ApiException(final int status, final String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public static ApiException notFound() {
+        return new ApiException(404, "Rota não encontrada");
+    }
+
+    public static ApiException methodNotAllowed(final String method) {
+        return new ApiException(405, "Método %s não suportado nesta rota".formatted(method));
+    }
+
+}
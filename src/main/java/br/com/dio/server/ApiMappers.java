@@ -0,0 +1,52 @@
+package br.com.dio.server;
+
+import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.dto.BoardColumnSummaryDTO;
+import br.com.dio.dto.BoardSummaryDTO;
+import br.com.dio.dto.CardSummaryDTO;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Conversões entre entidades e os DTOs expostos pela API
+ * As entidades não são serializadas diretamente por conterem referências cíclicas (board ↔ colunas)
+ */
+@NoArgsConstructor(access = PRIVATE)
+final class ApiMappers {
+
+    static ObjectMapper newObjectMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    static BoardSummaryDTO toSummary(final BoardEntity board) {
+        var columns = board.getBoardColumns().stream()
+                .map(c -> new BoardColumnSummaryDTO(c.getId(), c.getName(), c.getOrder(), c.getKind()))
+                .toList();
+        return new BoardSummaryDTO(board.getId(), board.getName(), columns);
+    }
+
+    static List<BoardColumnInfoDTO> toColumnsInfo(final BoardEntity board) {
+        return board.getBoardColumns().stream()
+                .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind()))
+                .toList();
+    }
+
+    static CardSummaryDTO toSummary(final CardEntity card) {
+        var column = card.getBoardColumn();
+        return new CardSummaryDTO(card.getId(), card.getTitle(), card.getDescription(),
+                column == null || column.getBoard() == null ? null : column.getBoard().getId(),
+                column == null ? null : column.getId(),
+                column == null ? null : column.getName());
+    }
+
+}
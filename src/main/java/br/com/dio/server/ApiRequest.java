@@ -0,0 +1,102 @@
+package br.com.dio.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Visão simplificada de uma requisição HTTP: método, segmentos do caminho, query string e corpo JSON
+ */
+public record ApiRequest(String method,
+                         List<String> segments,
+                         Map<String, String> query,
+                         HttpExchange exchange,
+                         ObjectMapper mapper) {
+
+    public static ApiRequest of(final HttpExchange exchange, final ObjectMapper mapper) {
+        var path = exchange.getRequestURI().getPath();
+        var segments = Arrays.stream(path.split("/"))
+                .filter(s -> !s.isEmpty())
+                .toList();
+        return new ApiRequest(exchange.getRequestMethod().toUpperCase(), segments,
+                parseQuery(exchange.getRequestURI().getRawQuery()), exchange, mapper);
+    }
+
+    public boolean is(final String method, final int segmentCount) {
+        return this.method.equals(method) && segments.size() == segmentCount;
+    }
+
+    public String segment(final int index) {
+        return segments.get(index);
+    }
+
+    public Long longSegment(final int index) {
+        return parseLong(segments.get(index), "caminho");
+    }
+
+    /**
+     * Identifica o cliente para o roteamento de leituras: cabeçalho X-Session-Id ou, na falta dele,
+     * o endereço de origem
+     */
+    public String session() {
+        var header = exchange.getRequestHeaders().getFirst("X-Session-Id");
+        if (header != null && !header.isBlank()) {
+            return header;
+        }
+        return exchange.getRemoteAddress().getAddress().getHostAddress();
+    }
+
+    public String param(final String name) {
+        return query.get(name);
+    }
+
+    public Long longParam(final String name) {
+        var value = query.get(name);
+        return value == null ? null : parseLong(value, name);
+    }
+
+    public int intParam(final String name, final int defaultValue) {
+        var value = query.get(name);
+        return value == null ? defaultValue : parseLong(value, name).intValue();
+    }
+
+    public <T> T body(final Class<T> type) throws IOException {
+        try (var is = exchange.getRequestBody()) {
+            var bytes = is.readAllBytes();
+            if (bytes.length == 0) {
+                throw new ApiException(400, "Corpo da requisição é obrigatório");
+            }
+            return mapper.readValue(bytes, type);
+        }
+    }
+
+    private static Long parseLong(final String value, final String name) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "Valor numérico inválido para %s: %s".formatted(name, value));
+        }
+    }
+
+    private static Map<String, String> parseQuery(final String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (var pair : rawQuery.split("&")) {
+            var index = pair.indexOf('=');
+            var key = index < 0 ? pair : pair.substring(0, index);
+            var value = index < 0 ? "" : pair.substring(index + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+}
@@ -0,0 +1,52 @@
+package br.com.dio.server;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Modo servidor sem interface: expõe boards, cards, busca e relatórios em JSON
+ * sobre o servidor HTTP da JDK, atendendo cada requisição com uma conexão do pool
+ */
+@Slf4j
+public class BoardHttpServer {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public BoardHttpServer(final int port, final int fallbackThreads) throws IOException {
+        var mapper = ApiMappers.newObjectMapper();
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = ServerExecutors.newPerRequestExecutor(fallbackThreads);
+        server.createContext("/boards", new BoardsHandler(mapper));
+        server.createContext("/search", new SearchHandler(mapper));
+        var reportsHandler = new ReportsHandler(mapper);
+        server.createContext("/reports", reportsHandler);
+        server.createContext("/metrics", reportsHandler);
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+        log.info("Servidor HTTP ouvindo na porta {}", server.getAddress().getPort());
+    }
+
+    public void stop() {
+        log.info("Encerrando servidor HTTP");
+        server.stop(2);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,339 @@
+package br.com.dio.server;
+
+import br.com.dio.config.ApplicationConfig;
+import br.com.dio.dto.BoardDetailsDTO;
+import br.com.dio.dto.CardDetailsDTO;
+import br.com.dio.dto.CardSummaryDTO;
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.persistence.config.DeferredCommitConnection.Work;
+import br.com.dio.persistence.config.GroupCommitExecutor;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.readmodel.CardReadModel;
+import br.com.dio.search.CardSearchCriteria;
+import br.com.dio.service.AsyncBoardService;
+import br.com.dio.service.BoardColumnQueryService;
+import br.com.dio.service.BoardQueryService;
+import br.com.dio.service.BoardService;
+import br.com.dio.service.CardQueryService;
+import br.com.dio.service.CardService;
+import br.com.dio.service.ReportService;
+import br.com.dio.validation.EntityValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getShardRouter;
+import static br.com.dio.server.ApiMappers.toColumnsInfo;
+import static br.com.dio.server.ApiMappers.toSummary;
+import static br.com.dio.server.JsonHandler.ApiResponse.created;
+import static br.com.dio.server.JsonHandler.ApiResponse.noContent;
+
+/**
+ * Rotas de boards, colunas e cards:
+ * <pre>
+ * GET    /boards
+ * POST   /boards
+ * GET    /boards/{id}
+ * GET    /boards/{id}/overview
+ * DELETE /boards/{id}
+ * GET    /boards/{id}/columns/{columnId}?after=&limit=
+ * POST   /boards/{id}/cards
+ * GET    /boards/{id}/cards/{cardId}
+ * POST   /boards/{id}/cards/{cardId}/(move|cancel|block|unblock)
+ * POST   /boards/{id}/cards/{cardId}/due     {"dueDate": "aaaa-mm-dd" | null}
+ * </pre>
+ */
+class BoardsHandler extends JsonHandler {
+
+    private static final int OVERVIEW_BLOCKED_LIMIT = 20;
+    private static final int MAX_COLUMN_PAGE = 200;
+
+    BoardsHandler(final ObjectMapper mapper) {
+        super(mapper);
+    }
+
+    @Override
+    protected Object route(final ApiRequest request) throws Exception {
+        var size = request.segments().size();
+        if (size == 1) {
+            return switch (request.method()) {
+                case "GET" -> findAllBoards(request).stream().map(ApiMappers::toSummary).toList();
+                case "POST" -> created(toSummary(createBoard(request, request.body(CreateBoardRequest.class))));
+                default -> throw ApiException.methodNotAllowed(request.method());
+            };
+        }
+        var boardId = request.longSegment(1);
+        if (request.is("GET", 3) && request.segment(2).equals("overview")) {
+            return boardOverview(request, boardId);
+        }
+        if (request.method().equals("POST") && size >= 3 && request.segment(2).equals("cards")) {
+            return routeCardWrite(request, boardId);
+        }
+        if (request.method().equals("GET")) {
+            var view = readModelView(request, boardId);
+            if (view.isPresent()) {
+                return view.get();
+            }
+        }
+        try (var connection = connectionFor(request, boardId)) {
+            if (size == 2) {
+                return switch (request.method()) {
+                    case "GET" -> new BoardQueryService(connection).showBoardDetails(boardId)
+                            .orElseThrow(() -> boardNotFound(boardId));
+                    case "DELETE" -> {
+                        if (!new BoardService(connection).delete(boardId)) {
+                            throw boardNotFound(boardId);
+                        }
+                        yield noContent();
+                    }
+                    default -> throw ApiException.methodNotAllowed(request.method());
+                };
+            }
+            return switch (request.segment(2)) {
+                case "columns" -> routeColumn(request, connection, boardId);
+                case "cards" -> routeCard(request, connection, boardId);
+                default -> throw ApiException.notFound();
+            };
+        }
+    }
+
+    private Object routeColumn(final ApiRequest request, final Connection connection, final Long boardId) throws SQLException {
+        if (!request.is("GET", 4)) {
+            throw ApiException.notFound();
+        }
+        var columnId = request.longSegment(3);
+        var column = findBoard(connection, boardId).getBoardColumns().stream()
+                .filter(c -> c.getId().equals(columnId))
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "A coluna %s não pertence ao board %s".formatted(columnId, boardId)));
+        return new BoardColumnQueryService(connection).findCardsPage(column, after(request), columnPageLimit(request));
+    }
+
+    /**
+     * Id do último card da página anterior; 0 (ou ausente) para a primeira
+     */
+    private static long after(final ApiRequest request) {
+        var after = request.longParam("after");
+        return after == null ? 0 : Math.max(0, after);
+    }
+
+    private static int columnPageLimit(final ApiRequest request) {
+        var limit = request.intParam("limit", 50);
+        if (limit <= 0 || limit > MAX_COLUMN_PAGE) {
+            throw new ApiException(400, "limit deve estar entre 1 e " + MAX_COLUMN_PAGE);
+        }
+        return limit;
+    }
+
+    /**
+     * Visão do board e lista de cards da coluna servidas pelo modelo de leitura, quando ele está ligado
+     * e em dia com as escritas deste processo; vazio faz a rota consultar o banco
+     */
+    private static Optional<?> readModelView(final ApiRequest request, final Long boardId) {
+        var readModel = CardReadModel.getInstance();
+        if (!readModel.isCurrent()) {
+            return Optional.empty();
+        }
+        if (request.segments().size() == 2) {
+            return readModel.boardDetails(boardId);
+        }
+        if (request.is("GET", 4) && request.segment(2).equals("columns")) {
+            return readModel.columnPage(boardId, request.longSegment(3), after(request), columnPageLimit(request));
+        }
+        return Optional.empty();
+    }
+
+    private Object routeCard(final ApiRequest request, final Connection connection, final Long boardId) throws SQLException {
+        if (!request.is("GET", 4)) {
+            throw ApiException.notFound();
+        }
+        return findCard(connection, boardId, request.longSegment(3));
+    }
+
+    /**
+     * O card, desde que seja do board da URL: ids de cards se repetem entre os boards de outros shards
+     */
+    private static CardDetailsDTO findCard(final Connection connection, final Long boardId, final Long cardId)
+            throws SQLException {
+        return new CardQueryService(connection).findById(cardId)
+                .filter(card -> card.boardId().equals(boardId))
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "O card de id %s não foi encontrado no board %s".formatted(cardId, boardId)));
+    }
+
+    /**
+     * Escritas de cards: o corpo é lido e validado antes, e a escrita roda na conexão de escrita do board
+     * ou, com group commit ligado, junto com as escritas que chegarem na mesma janela
+     */
+    private static Object routeCardWrite(final ApiRequest request, final Long boardId) throws Exception {
+        var write = cardWrite(request, boardId);
+        if (ApplicationConfig.getInstance().isGroupCommitEnabled()) {
+            return await(GroupCommitExecutor.getInstance().submit(boardId, request.session(), write));
+        }
+        try (var connection = getShardRouter().leaseWrite(boardId, request.session())) {
+            return write.execute(connection);
+        }
+    }
+
+    private static Work<Object> cardWrite(final ApiRequest request, final Long boardId) throws IOException {
+        if (request.is("POST", 3)) {
+            var body = request.body(CardRequest.class);
+            var card = new CardEntity();
+            card.setTitle(body.title());
+            card.setDescription(body.description());
+            card.setDueDate(body.dueDate());
+            EntityValidator.validateCard(card);
+            return connection -> {
+                card.setBoardColumn(findBoard(connection, boardId).getInitialColumn());
+                new CardService(connection).create(card);
+                return created(toSummary(card));
+            };
+        }
+        if (!request.is("POST", 5)) {
+            throw ApiException.notFound();
+        }
+        var cardId = request.longSegment(3);
+        return switch (request.segment(4)) {
+            case "move" -> cardAction(boardId, cardId, (service, board) -> service.moveToNextColumn(cardId, toColumnsInfo(board)));
+            case "cancel" -> cardAction(boardId, cardId,
+                    (service, board) -> service.cancel(cardId, board.getCancelColumn().getId(), toColumnsInfo(board)));
+            case "block" -> {
+                var reason = request.body(ReasonRequest.class).reason();
+                EntityValidator.validateBlockReason(reason);
+                yield cardAction(boardId, cardId, (service, board) -> service.block(cardId, reason, toColumnsInfo(board)));
+            }
+            case "unblock" -> {
+                var reason = request.body(ReasonRequest.class).reason();
+                yield cardAction(boardId, cardId, (service, board) -> service.unblock(cardId, reason));
+            }
+            case "due" -> {
+                var dueDate = request.body(DueDateRequest.class).dueDate();
+                yield cardAction(boardId, cardId, (service, board) -> service.updateDueDate(cardId, dueDate));
+            }
+            default -> throw ApiException.notFound();
+        };
+    }
+
+    private static Work<Object> cardAction(final Long boardId, final Long cardId, final CardAction action) {
+        return connection -> {
+            var board = findBoard(connection, boardId);
+            findCard(connection, boardId, cardId);
+            action.apply(new CardService(connection), board);
+            return noContent();
+        };
+    }
+
+    /**
+     * Detalhes, produtividade e cards bloqueados do board, lidos em paralelo pela fachada assíncrona
+     */
+    private static BoardOverviewResponse boardOverview(final ApiRequest request, final Long boardId) throws Exception {
+        var service = AsyncBoardService.getInstance();
+        var details = service.boardDetails(boardId, request.session());
+        var productivity = service.productivityReport(boardId, request.session());
+        var blocked = service.searchCards(CardSearchCriteria.builder()
+                .boardIds(List.of(boardId))
+                .isBlocked(true)
+                .limit(OVERVIEW_BLOCKED_LIMIT)
+                .build(), request.session());
+        var board = await(details).orElseThrow(() -> boardNotFound(boardId));
+        return new BoardOverviewResponse(board, await(productivity),
+                await(blocked).getItems().stream().map(ApiMappers::toSummary).toList());
+    }
+
+    /**
+     * Espera o resultado e devolve a exceção original da tarefa, para que vire o status HTTP correspondente
+     */
+    private static <T> T await(final CompletableFuture<T> future) throws Exception {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new ApiException(504, "Tempo limite da consulta excedido");
+            }
+            if (e.getCause() instanceof RejectedExecutionException) {
+                throw new ApiException(503, "Servidor ocupado, tente novamente");
+            }
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Boards de todos os shards, consultados em paralelo e ordenados pelo nome
+     */
+    private static List<BoardEntity> findAllBoards(final ApiRequest request) throws SQLException {
+        return getShardRouter().scatter(connection -> new BoardQueryService(connection).findAll(), request.session())
+                .stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(BoardEntity::getName).thenComparing(BoardEntity::getId))
+                .toList();
+    }
+
+    private BoardEntity createBoard(final ApiRequest request, final CreateBoardRequest body) throws SQLException {
+        var board = new BoardEntity();
+        board.setName(body.name());
+        List<BoardColumnEntity> columns = new ArrayList<>();
+        var requested = body.columns() == null ? List.<ColumnRequest>of() : body.columns();
+        for (var i = 0; i < requested.size(); i++) {
+            var column = new BoardColumnEntity();
+            column.setName(requested.get(i).name());
+            column.setKind(requested.get(i).kind());
+            column.setOrder(i);
+            columns.add(column);
+        }
+        board.setBoardColumns(columns);
+        EntityValidator.validateBoard(board);
+        return getShardRouter().createBoard(board, request.session(),
+                connection -> new BoardService(connection).insert(board));
+    }
+
+    private static BoardEntity findBoard(final Connection connection, final Long boardId) throws SQLException {
+        return new BoardQueryService(connection).findById(boardId).orElseThrow(() -> boardNotFound(boardId));
+    }
+
+    private static EntityNotFoundException boardNotFound(final Long boardId) {
+        return new EntityNotFoundException("Board com ID %s não foi encontrado".formatted(boardId));
+    }
+
+    @FunctionalInterface
+    private interface CardAction {
+        void apply(CardService service, BoardEntity board) throws SQLException;
+    }
+
+    record BoardOverviewResponse(BoardDetailsDTO board, ReportService.BoardProductivityReport productivity,
+                                 List<CardSummaryDTO> blockedCards) {
+    }
+
+    record CreateBoardRequest(String name, List<ColumnRequest> columns) {
+    }
+
+    record ColumnRequest(String name, BoardColumnKindEnum kind) {
+    }
+
+    record CardRequest(String title, String description, LocalDate dueDate) {
+    }
+
+    record DueDateRequest(LocalDate dueDate) {
+    }
+
+    record ReasonRequest(String reason) {
+    }
+
+}
@@ -0,0 +1,124 @@
+package br.com.dio.server;
+
+import br.com.dio.exception.CardBlockedException;
+import br.com.dio.exception.CardFinishedException;
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.exception.ValidationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getShardRouter;
+
+/**
+ * Base dos handlers HTTP: roteia a requisição, serializa a resposta em JSON
+ * e traduz as exceções do domínio para códigos de status
+ */
+@Slf4j
+@RequiredArgsConstructor
+public abstract class JsonHandler implements HttpHandler {
+
+    protected final ObjectMapper mapper;
+
+    /**
+     * Processa a requisição e retorna o corpo da resposta (serializado com status 200)
+     * ou um {@link ApiResponse} para controlar o status
+     */
+    protected abstract Object route(ApiRequest request) throws Exception;
+
+    /**
+     * Conexão do shard dono do board; GET lê de uma réplica e os demais métodos usam o primário, que
+     * após o commit mantém as leituras da mesma sessão até a réplica alcançar a escrita
+     */
+    protected static Connection connectionFor(final ApiRequest request, final Long boardId) throws SQLException {
+        return request.method().equals("GET")
+                ? getShardRouter().leaseRead(boardId, request.session())
+                : getShardRouter().leaseWrite(boardId, request.session());
+    }
+
+    @Override
+    public void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            ApiResponse response;
+            byte[] body;
+            try {
+                var result = route(ApiRequest.of(exchange, mapper));
+                response = result instanceof ApiResponse r ? r : ApiResponse.ok(result);
+                body = serialize(response);
+            } catch (Exception e) {
+                response = toErrorResponse(exchange, e);
+                body = serialize(response);
+            }
+            write(exchange, response.status(), body);
+        }
+    }
+
+    private ApiResponse toErrorResponse(final HttpExchange exchange, final Exception e) {
+        var status = statusOf(e);
+        if (status >= 500) {
+            log.error("Erro ao processar {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+        } else {
+            log.debug("Requisição {} {} recusada ({}): {}", exchange.getRequestMethod(),
+                    exchange.getRequestURI(), status, e.getMessage());
+        }
+        var message = status >= 500 ? "Erro interno no servidor" : e.getMessage();
+        return new ApiResponse(status, Map.of("status", status, "error", String.valueOf(message)));
+    }
+
+    private static int statusOf(final Exception e) {
+        if (e instanceof ApiException api) {
+            return api.getStatus();
+        }
+        if (e instanceof EntityNotFoundException) {
+            return 404;
+        }
+        if (e instanceof ValidationException || e instanceof JsonProcessingException
+                || e instanceof IllegalArgumentException) {
+            return 400;
+        }
+        if (e instanceof CardBlockedException || e instanceof CardFinishedException
+                || e instanceof IllegalStateException) {
+            return 409;
+        }
+        return 500;
+    }
+
+    private byte[] serialize(final ApiResponse response) throws JsonProcessingException {
+        return response.body() == null ? null : mapper.writeValueAsBytes(response.body());
+    }
+
+    private static void write(final HttpExchange exchange, final int status, final byte[] body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    public record ApiResponse(int status, Object body) {
+
+        public static ApiResponse ok(final Object body) {
+            return new ApiResponse(200, body);
+        }
+
+        public static ApiResponse created(final Object body) {
+            return new ApiResponse(201, body);
+        }
+
+        public static ApiResponse noContent() {
+            return new ApiResponse(204, null);
+        }
+
+    }
+
+}
@@ -0,0 +1,88 @@
+package br.com.dio.server;
+
+import br.com.dio.event.DomainEventCounters;
+import br.com.dio.event.DomainEventType;
+import br.com.dio.metrics.MetricsCollector;
+import br.com.dio.scheduler.BoardPurger;
+import br.com.dio.scheduler.DueDateIndex;
+import br.com.dio.service.ReportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getBoardConnection;
+
+/**
+ * Relatórios e métricas:
+ * <pre>
+ * GET /reports/boards/productivity
+ * GET /reports/boards/{id}/productivity
+ * GET /reports/boards/{id}/flow
+ * GET /reports/old-cards?days=30&top=20
+ * GET /reports/overdue
+ * GET /reports/due-soon?hours=24
+ * GET /metrics
+ * GET /metrics/events
+ * GET /metrics/purge
+ * </pre>
+ */
+class ReportsHandler extends JsonHandler {
+
+    ReportsHandler(final ObjectMapper mapper) {
+        super(mapper);
+    }
+
+    @Override
+    protected Object route(final ApiRequest request) throws Exception {
+        if (!request.method().equals("GET")) {
+            throw ApiException.methodNotAllowed(request.method());
+        }
+        if (request.segment(0).equals("metrics") && request.segments().size() == 1) {
+            return MetricsCollector.getInstance().generateReport();
+        }
+        if (request.segment(0).equals("metrics") && request.is("GET", 2) && request.segment(1).equals("events")) {
+            var counters = DomainEventCounters.getInstance();
+            return new EventCountersResponse(counters.snapshot(), counters.getMissed());
+        }
+        if (request.segment(0).equals("metrics") && request.is("GET", 2) && request.segment(1).equals("purge")) {
+            return BoardPurger.getInstance().getStatus();
+        }
+        // Produtividade atualiza os resumos derivados antes de ler, por isso usa o primário
+        if (request.is("GET", 3) && request.segment(1).equals("boards") && request.segment(2).equals("productivity")) {
+            return ReportService.generateAllBoardsProductivity();
+        }
+        if (request.is("GET", 4) && request.segment(1).equals("boards") && request.segment(3).equals("flow")) {
+            var boardId = request.longSegment(2);
+            try (var connection = connectionFor(request, boardId)) {
+                return new ReportService(connection).generateFlowReport(boardId);
+            }
+        }
+        if (request.is("GET", 4) && request.segment(1).equals("boards") && request.segment(3).equals("productivity")) {
+            var boardId = request.longSegment(2);
+            try (var connection = getBoardConnection(boardId)) {
+                return new ReportService(connection).generateBoardProductivityReport(boardId);
+            }
+        }
+        // Respondidos pelo índice de prazos em memória, sem conexão com o banco
+        if (request.is("GET", 2) && request.segment(1).equals("overdue")) {
+            return DueDateIndex.getInstance().findOverdue();
+        }
+        if (request.is("GET", 2) && request.segment(1).equals("due-soon")) {
+            var hours = request.intParam("hours", 24);
+            if (hours < 1) {
+                throw new IllegalArgumentException("hours deve ser maior que zero");
+            }
+            return DueDateIndex.getInstance().findDueWithin(Duration.ofHours(hours));
+        }
+        if (request.is("GET", 2) && request.segment(1).equals("old-cards")) {
+            return ReportService.generateOldCardsReport(request.intParam("days", 30), request.intParam("top", 20),
+                    request.session());
+        }
+        throw ApiException.notFound();
+    }
+
+    record EventCountersResponse(Map<DomainEventType, Long> counts, long missed) {
+    }
+
+}
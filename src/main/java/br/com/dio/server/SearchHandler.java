@@ -0,0 +1,59 @@
+package br.com.dio.server;
+
+import br.com.dio.search.CardSearchCriteria;
+import br.com.dio.search.SearchResult;
+import br.com.dio.service.ShardedCardSearchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.List;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getShardRouter;
+
+/**
+ * Busca de cards: {@code GET /search?q=&boardId=&columnId=&blocked=&limit=&offset=}
+ * Sem {@code q}, a resposta traz também as contagens por coluna, bloqueio e prioridade ({@code facets})
+ */
+class SearchHandler extends JsonHandler {
+
+    private static final int MAX_LIMIT = 200;
+
+    SearchHandler(final ObjectMapper mapper) {
+        super(mapper);
+    }
+
+    @Override
+    protected Object route(final ApiRequest request) throws Exception {
+        if (!request.is("GET", 1)) {
+            throw ApiException.notFound();
+        }
+        var limit = request.intParam("limit", 50);
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new ApiException(400, "limit deve estar entre 1 e " + MAX_LIMIT);
+        }
+        var builder = CardSearchCriteria.builder()
+                .titleContains(request.param("q"))
+                .limit(limit)
+                .offset(Math.max(0, request.intParam("offset", 0)));
+        var boardId = request.longParam("boardId");
+        if (boardId != null) {
+            builder.boardIds(List.of(boardId));
+        }
+        var columnId = request.longParam("columnId");
+        // Ids de coluna só são únicos dentro de um shard
+        if (columnId != null && boardId == null && getShardRouter().isSharded()) {
+            throw new ApiException(400, "columnId exige boardId quando há shards configurados");
+        }
+        if (columnId != null) {
+            builder.boardColumnIds(List.of(columnId));
+        }
+        if (request.param("blocked") != null) {
+            builder.isBlocked(Boolean.parseBoolean(request.param("blocked")));
+        }
+        var result = new ShardedCardSearchService(getShardRouter(), request.session()).searchCards(builder.build());
+        var items = result.getItems().stream().map(ApiMappers::toSummary).toList();
+        var page = SearchResult.of(items, result.getTotalCount(), result.getPageSize(), result.getCurrentPage());
+        page.setFacets(result.getFacets());
+        return page;
+    }
+
+}
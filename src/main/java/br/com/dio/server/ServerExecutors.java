@@ -0,0 +1,44 @@
+package br.com.dio.server;
+
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Fábrica dos executores usados para atender requisições
+ * Em JVMs 21+ usa uma virtual thread por requisição; no Java 17 (alvo do build)
+ * cai para um pool fixo de threads de plataforma
+ */
+@Slf4j
+@NoArgsConstructor(access = PRIVATE)
+public final class ServerExecutors {
+
+    public static ExecutorService newPerRequestExecutor(final int fallbackThreads) {
+        try {
+            var factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            var executor = (ExecutorService) factory.invoke(null);
+            log.info("Atendendo requisições com uma virtual thread por requisição");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            log.info("Virtual threads indisponíveis nesta JVM ({}), usando pool de {} threads",
+                    Runtime.version(), fallbackThreads);
+            return Executors.newFixedThreadPool(fallbackThreads, namedFactory("http-worker"));
+        }
+    }
+
+    private static ThreadFactory namedFactory(final String prefix) {
+        var counter = new AtomicInteger();
+        return runnable -> {
+            var thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
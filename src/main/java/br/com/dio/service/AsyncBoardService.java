@@ -0,0 +1,177 @@
+package br.com.dio.service;
+
+import br.com.dio.config.ApplicationConfig;
+import br.com.dio.dto.BoardDetailsDTO;
+import br.com.dio.persistence.config.ShardRouter;
+import br.com.dio.persistence.config.ShardRouter.ShardTask;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.search.CardSearchCriteria;
+import br.com.dio.search.SearchResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getShardRouter;
+
+/**
+ * Fachada assíncrona dos serviços: cada chamada roda em um executor limitado, com uma conexão
+ * emprestada do shard dono do board só enquanto a tarefa executa, e devolve um {@link CompletableFuture}
+ * para que leituras independentes (detalhes do board, busca, relatórios) se sobreponham e sejam compostas
+ *
+ * Toda chamada tem tempo limite (o padrão de {@code async.timeout.ms} ou o informado); ao expirar ou ao
+ * ser cancelado, o futuro termina com {@link TimeoutException} ou {@link CancellationException}, a tarefa
+ * que ainda está na fila sai dela e a que está rodando é interrompida. Com a fila cheia a chamada falha
+ * na hora com {@link RejectedExecutionException}
+ */
+@Slf4j
+public class AsyncBoardService implements AutoCloseable {
+
+    private static AsyncBoardService instance;
+
+    private final ShardRouter router;
+    private final Duration defaultTimeout;
+    private final ThreadPoolExecutor executor;
+
+    public AsyncBoardService(final ShardRouter router, final int threads, final int queueCapacity,
+                             final Duration defaultTimeout) {
+        this.router = router;
+        this.defaultTimeout = defaultTimeout;
+        var counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    var thread = new Thread(runnable, "async-service-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public static AsyncBoardService getInstance() {
+        if (instance == null) {
+            synchronized (AsyncBoardService.class) {
+                if (instance == null) {
+                    var config = ApplicationConfig.getInstance();
+                    instance = new AsyncBoardService(getShardRouter(), config.getAsyncThreads(),
+                            config.getAsyncQueueCapacity(), Duration.ofMillis(config.getAsyncTimeoutMs()));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Encerra a instância compartilhada, se ela chegou a ser criada
+     */
+    public static void shutdown() {
+        if (instance != null) {
+            instance.close();
+        }
+    }
+
+    public CompletableFuture<Optional<BoardDetailsDTO>> boardDetails(final Long boardId, final String session) {
+        return read(boardId, session, connection -> new BoardQueryService(connection).showBoardDetails(boardId));
+    }
+
+    /**
+     * Busca de cards; com shards, a própria busca decide entre um shard e a consulta a todos eles
+     */
+    public CompletableFuture<SearchResult<CardEntity>> searchCards(final CardSearchCriteria criteria,
+                                                                   final String session) {
+        return submit(() -> new ShardedCardSearchService(router, session).searchCards(criteria), defaultTimeout);
+    }
+
+    /**
+     * No primário: o relatório reapura os atrasados do resumo por coluna (UPDATE e commit) antes de ler
+     */
+    public CompletableFuture<ReportService.BoardProductivityReport> productivityReport(final Long boardId,
+                                                                                       final String session) {
+        return write(boardId, session,
+                connection -> new ReportService(connection).generateBoardProductivityReport(boardId));
+    }
+
+    public CompletableFuture<ReportService.BoardFlowReport> flowReport(final Long boardId, final String session) {
+        return read(boardId, session, connection -> new ReportService(connection).generateFlowReport(boardId));
+    }
+
+    public CompletableFuture<CardEntity> createCard(final Long boardId, final CardEntity card, final String session) {
+        return write(boardId, session, connection -> new CardService(connection).create(card));
+    }
+
+    public <T> CompletableFuture<T> read(final Long boardId, final String session, final ShardTask<T> task) {
+        return read(boardId, session, defaultTimeout, task);
+    }
+
+    /**
+     * Executa {@code task} com uma conexão de leitura do shard dono do board
+     */
+    public <T> CompletableFuture<T> read(final Long boardId, final String session, final Duration timeout,
+                                         final ShardTask<T> task) {
+        return submit(() -> {
+            try (var connection = router.leaseRead(boardId, session)) {
+                return task.apply(connection);
+            }
+        }, timeout);
+    }
+
+    public <T> CompletableFuture<T> write(final Long boardId, final String session, final ShardTask<T> task) {
+        return write(boardId, session, defaultTimeout, task);
+    }
+
+    /**
+     * Executa {@code task} com uma conexão do primário do shard dono do board; o commit é da tarefa,
+     * como nos serviços síncronos
+     */
+    public <T> CompletableFuture<T> write(final Long boardId, final String session, final Duration timeout,
+                                          final ShardTask<T> task) {
+        return submit(() -> {
+            try (var connection = router.leaseWrite(boardId, session)) {
+                return task.apply(connection);
+            }
+        }, timeout);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> submit(final Callable<T> call, final Duration timeout) {
+        var result = new CompletableFuture<T>();
+        var task = new FutureTask<Void>(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                result.complete(call.call());
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        }, null);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Chamada assíncrona recusada: {} tarefas aguardando", executor.getQueue().size());
+            result.completeExceptionally(e);
+            return result;
+        }
+        // Cancelamento e tempo limite liberam a vaga na fila ou interrompem a espera por conexão
+        result.whenComplete((value, error) -> {
+            if (error instanceof CancellationException || error instanceof TimeoutException) {
+                task.cancel(true);
+                executor.remove(task);
+            }
+        });
+        return result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+}
@@ -1,21 +1,31 @@
 package br.com.dio.service;
 
-import br.com.dio.persistence.dao.BoardColumnDAO;
+import br.com.dio.dto.ColumnCardsPageDTO;
+import br.com.dio.persistence.dao.CardDAO;
 import br.com.dio.persistence.entity.BoardColumnEntity;
 import lombok.AllArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.Optional;
+import java.util.List;
 
 @AllArgsConstructor
 public class BoardColumnQueryService {
 
     private final Connection connection;
 
-    public Optional<BoardColumnEntity> findById(final Long id) throws SQLException {
-        var dao = new BoardColumnDAO(connection);
-        return dao.findById(id);
+    /**
+     * Página de até {@code limit} cards da coluna depois do card {@code afterId} (0 para a primeira);
+     * o cabeçalho vem da coluna já carregada com o board, e os cards trazem só id e título
+     */
+    public ColumnCardsPageDTO findCardsPage(final BoardColumnEntity column, final long afterId, final int limit)
+            throws SQLException {
+        // Um card a mais indica se há próxima página
+        var cards = new CardDAO(connection).findTitlesByColumn(column.getId(), afterId, limit + 1);
+        var hasMore = cards.size() > limit;
+        var page = hasMore ? cards.subList(0, limit) : cards;
+        return new ColumnCardsPageDTO(column.getId(), column.getName(), column.getKind(), List.copyOf(page),
+                hasMore ? page.get(limit - 1).id() : null);
     }
 
 }
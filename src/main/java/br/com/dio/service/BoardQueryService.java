@@ -25,6 +25,7 @@ public class BoardQueryService {
         if (optional.isPresent()){
             var entity = optional.get();
             entity.setBoardColumns(boardColumnDAO.findByBoardId(entity.getId()));
+            entity.getBoardColumns().forEach(column -> column.setBoard(entity));
             return Optional.of(entity);
         }
         return Optional.empty();
@@ -52,6 +53,7 @@ public class BoardQueryService {
         // Carrega as colunas para cada board
         for (BoardEntity board : boards) {
             board.setBoardColumns(boardColumnDAO.findByBoardId(board.getId()));
+            board.getBoardColumns().forEach(column -> column.setBoard(board));
         }
         
         log.debug("Encontrados {} boards", boards.size());
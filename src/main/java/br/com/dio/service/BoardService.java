@@ -1,19 +1,39 @@
 package br.com.dio.service;
 
+import br.com.dio.config.ApplicationConfig;
+import br.com.dio.event.DomainEventBus;
+import br.com.dio.persistence.config.ShardRouter;
 import br.com.dio.persistence.dao.BoardColumnDAO;
+import br.com.dio.persistence.dao.BoardColumnStatsDAO;
 import br.com.dio.persistence.dao.BoardDAO;
+import br.com.dio.persistence.dao.ChangeFeedDAO;
 import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.scheduler.BoardPurger;
+import br.com.dio.scheduler.DueDateIndex;
 import lombok.AllArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 
+import static br.com.dio.event.DomainEventType.BOARD_CREATED;
+import static br.com.dio.event.DomainEventType.BOARD_DELETED;
+import static br.com.dio.persistence.config.DeferredCommitConnection.afterCommit;
+import static br.com.dio.persistence.entity.ChangedEntityEnum.BOARD;
+import static java.util.Objects.isNull;
+
 @AllArgsConstructor
 public class BoardService {
 
     private final Connection connection;
 
+    /**
+     * Com shards configurados, o board precisa chegar com o id reservado por
+     * {@link ShardRouter#createBoard}, para não colidir com boards de outros shards
+     */
     public BoardEntity insert(final BoardEntity entity) throws SQLException {
+        if (ApplicationConfig.getInstance().isShardingEnabled() && isNull(entity.getId())) {
+            throw new IllegalStateException("Com shards configurados, boards devem ser criados pelo roteador de shards");
+        }
         var dao = new BoardDAO(connection);
         var boardColumnDAO = new BoardColumnDAO(connection);
         try{
@@ -25,7 +45,9 @@ public class BoardService {
             for (var column :  columns){
                 boardColumnDAO.insert(column);
             }
+            new BoardColumnStatsDAO(connection).rebuild(entity.getId());
             connection.commit();
+            afterCommit(connection, () -> DomainEventBus.getInstance().publish(BOARD_CREATED, entity.getId(), null, null, null));
         } catch (SQLException e) {
             connection.rollback();
             throw e;
@@ -33,14 +55,24 @@ public class BoardService {
         return entity;
     }
 
+    /**
+     * Marca o board como excluído e agenda o expurgo; ele some das consultas na hora, e colunas, cards e
+     * histórico são apagados em partes pelo {@link BoardPurger}
+     */
     public boolean delete(final Long id) throws SQLException {
         var dao = new BoardDAO(connection);
         try{
-            if (!dao.exists(id)) {
+            if (!dao.softDelete(id)) {
                 return false;
             }
-            dao.delete(id);
+            // Colunas e cards saem com o board: a lápide do board basta para o feed de mudanças
+            new ChangeFeedDAO(connection).insertTombstone(BOARD, id, id);
             connection.commit();
+            afterCommit(connection, () -> {
+                DomainEventBus.getInstance().publish(BOARD_DELETED, id, null, null, null);
+                DueDateIndex.getInstance().removeBoard(id);
+                BoardPurger.getInstance().wake();
+            });
             return true;
         } catch (SQLException e) {
             connection.rollback();
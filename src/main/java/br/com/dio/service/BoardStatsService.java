@@ -0,0 +1,60 @@
+package br.com.dio.service;
+
+import br.com.dio.dto.ColumnStatsDTO;
+import br.com.dio.persistence.dao.BoardColumnStatsDAO;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Leitura e reparo do resumo materializado por coluna (BOARD_COLUMN_STATS)
+ */
+@Slf4j
+@AllArgsConstructor
+public class BoardStatsService {
+
+    private final Connection connection;
+
+    /**
+     * Resumo das colunas do board, na ordem das colunas
+     * Na primeira leitura do dia a contagem de atrasados é reapurada antes
+     */
+    public List<ColumnStatsDTO> findByBoardId(final Long boardId) throws SQLException {
+        var dao = new BoardColumnStatsDAO(connection);
+        try {
+            var refreshed = dao.refreshOverdue(boardId, LocalDate.now());
+            if (refreshed > 0) {
+                log.debug("Atrasados reapurados em {} coluna(s) do board {}", refreshed, boardId);
+            }
+            var stats = dao.findByBoardId(boardId);
+            connection.commit();
+            return stats;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        }
+    }
+
+    /**
+     * Recalcula o resumo a partir de CARDS e BLOCKS
+     * @param boardId board desejado, ou nulo para todos
+     * @return quantidade de colunas recalculadas
+     */
+    public int rebuild(final Long boardId) throws SQLException {
+        var start = System.nanoTime();
+        try {
+            var columns = new BoardColumnStatsDAO(connection).rebuild(boardId);
+            connection.commit();
+            log.info("Resumo de {} coluna(s) recalculado em {} ms", columns, (System.nanoTime() - start) / 1_000_000);
+            return columns;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+package br.com.dio.service;
+
+import br.com.dio.export.ExportFormat;
+import br.com.dio.persistence.dao.CardDAO;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Exporta cards para auditoria, lendo e escrevendo uma linha por vez
+ */
+@Slf4j
+@AllArgsConstructor
+public class CardExportService {
+
+    private final Connection connection;
+
+    /**
+     * @param boardId board a exportar, ou nulo para exportar todos os cards
+     * @return quantidade de cards exportados
+     */
+    public long export(final Long boardId, final ExportFormat format, final OutputStream out)
+            throws SQLException, IOException {
+        var start = System.nanoTime();
+        long count;
+        try (var writer = format.open(out)) {
+            count = new CardDAO(connection).streamForExport(boardId, writer::write);
+        }
+        log.info("Exportados {} cards em {} ({} ms)", count, format, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+
+}
@@ -1,11 +1,15 @@
 package br.com.dio.service;
 
 import br.com.dio.dto.CardDetailsDTO;
+import br.com.dio.dto.CardFacetRowDTO;
+import br.com.dio.dto.CardReadRowDTO;
+import br.com.dio.dto.DueCardDTO;
 import br.com.dio.persistence.dao.CardDAO;
 import lombok.AllArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
 
 @AllArgsConstructor
@@ -18,4 +22,20 @@ public class CardQueryService {
         return dao.findById(id);
     }
 
+    public List<DueCardDTO> findOpenWithDueDate() throws SQLException {
+        return new CardDAO(connection).findOpenWithDueDate();
+    }
+
+    public List<CardFacetRowDTO> findFacetRows() throws SQLException {
+        return new CardDAO(connection).findFacetRows();
+    }
+
+    public long streamReadRows(final CardDAO.ReadRowHandler handler) throws SQLException {
+        return new CardDAO(connection).streamReadRows(handler);
+    }
+
+    public Optional<CardReadRowDTO> findReadRow(final Long cardId) throws SQLException {
+        return new CardDAO(connection).findReadRow(cardId);
+    }
+
 }
@@ -3,6 +3,7 @@ package br.com.dio.service;
 import br.com.dio.metrics.MetricsCollector;
 import br.com.dio.persistence.dao.CardDAO;
 import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.search.CardFacetIndex;
 import br.com.dio.search.CardSearchCriteria;
 import br.com.dio.search.SearchResult;
 import lombok.RequiredArgsConstructor;
@@ -42,6 +43,7 @@ public class CardSearchService {
                 int currentPage = criteria.getOffset() / pageSize;
                 
                 SearchResult<CardEntity> result = SearchResult.of(cards, totalCount, pageSize, currentPage);
+                CardFacetIndex.getInstance().facets(criteria).ifPresent(result::setFacets);
                 
                 log.info("Busca concluída. Encontrados {} cards de {} total", 
                     cards.size(), totalCount);
@@ -1,22 +1,36 @@
 package br.com.dio.service;
 
 import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.event.DomainEventBus;
 import br.com.dio.exception.CardBlockedException;
 import br.com.dio.exception.CardFinishedException;
 import br.com.dio.exception.EntityNotFoundException;
 import br.com.dio.persistence.dao.BlockDAO;
+import br.com.dio.persistence.dao.BoardColumnStatsDAO;
 import br.com.dio.persistence.dao.CardDAO;
+import br.com.dio.persistence.dao.CardMovementDAO;
 import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.scheduler.DueDateIndex;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.List;
 
+import static br.com.dio.event.DomainEventType.CARD_BLOCKED;
+import static br.com.dio.event.DomainEventType.CARD_CANCELLED;
+import static br.com.dio.event.DomainEventType.CARD_CREATED;
+import static br.com.dio.event.DomainEventType.CARD_DUE_DATE_CHANGED;
+import static br.com.dio.event.DomainEventType.CARD_MOVED;
+import static br.com.dio.event.DomainEventType.CARD_UNBLOCKED;
+import static br.com.dio.persistence.config.DeferredCommitConnection.afterCommit;
 import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
 import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
 
 
+@Slf4j
 @AllArgsConstructor
 public class CardService {
 
@@ -26,7 +40,15 @@ public class CardService {
         try {
             var dao = new CardDAO(connection);
             dao.insert(entity);
+            new BoardColumnStatsDAO(connection).addCard(entity.getBoardColumn().getId(), entity.getDueDate());
             connection.commit();
+            afterCommit(connection, () -> {
+                DomainEventBus.getInstance().publish(CARD_CREATED, entity.getBoardColumn().getBoard().getId(),
+                        entity.getId(), null, entity.getBoardColumn().getId());
+                if (entity.getDueDate() != null) {
+                    reindexDueDate(dao, entity.getBoardColumn().getBoard().getId(), entity.getId());
+                }
+            });
             return entity;
         } catch (SQLException ex){
             connection.rollback();
@@ -56,7 +78,15 @@ public class CardService {
                     .filter(bc -> bc.order() == currentColumn.order() + 1)
                     .findFirst().orElseThrow(() -> new IllegalStateException("O card está cancelado"));
             dao.moveToColumn(nextColumn.id(), cardId);
+            new CardMovementDAO(connection).insert(cardId, dto.columnId(), nextColumn.id());
+            new BoardColumnStatsDAO(connection).moveCard(cardId, dto.columnId(), nextColumn.id());
             connection.commit();
+            afterCommit(connection, () -> {
+                DomainEventBus.getInstance().publish(CARD_MOVED, dto.boardId(), cardId, dto.columnId(), nextColumn.id());
+                if (nextColumn.kind().equals(FINAL) || nextColumn.kind().equals(CANCEL)) {
+                    DueDateIndex.getInstance().remove(dto.boardId(), cardId);
+                }
+            });
         }catch (SQLException ex){
             connection.rollback();
             throw ex;
@@ -86,7 +116,35 @@ public class CardService {
                     .filter(bc -> bc.order() == currentColumn.order() + 1)
                     .findFirst().orElseThrow(() -> new IllegalStateException("O card está cancelado"));
             dao.moveToColumn(cancelColumnId, cardId);
+            new CardMovementDAO(connection).insert(cardId, dto.columnId(), cancelColumnId);
+            new BoardColumnStatsDAO(connection).moveCard(cardId, dto.columnId(), cancelColumnId);
             connection.commit();
+            afterCommit(connection, () -> {
+                DomainEventBus.getInstance().publish(CARD_CANCELLED, dto.boardId(), cardId, dto.columnId(), cancelColumnId);
+                DueDateIndex.getInstance().remove(dto.boardId(), cardId);
+            });
+        }catch (SQLException ex){
+            connection.rollback();
+            throw ex;
+        }
+    }
+
+    /**
+     * Define ou remove (nulo) o prazo do card
+     */
+    public void updateDueDate(final Long cardId, final LocalDate dueDate) throws SQLException {
+        try{
+            var dao = new CardDAO(connection);
+            var dto = dao.findById(cardId).orElseThrow(
+                    () -> new EntityNotFoundException("O card de id %s não foi encontrado".formatted(cardId))
+            );
+            new BoardColumnStatsDAO(connection).changeDueDate(cardId, dueDate);
+            dao.updateDueDate(cardId, dueDate);
+            connection.commit();
+            afterCommit(connection, () -> {
+                DomainEventBus.getInstance().publish(CARD_DUE_DATE_CHANGED, dto.boardId(), cardId, null, dto.columnId());
+                reindexDueDate(dao, dto.boardId(), cardId);
+            });
         }catch (SQLException ex){
             connection.rollback();
             throw ex;
@@ -115,7 +173,11 @@ public class CardService {
             }
             var blockDAO = new BlockDAO(connection);
             blockDAO.block(reason, id);
+            dao.touch(id);
+            new BoardColumnStatsDAO(connection).addBlocked(currentColumn.id(), 1);
             connection.commit();
+            afterCommit(connection, () ->
+                    DomainEventBus.getInstance().publish(CARD_BLOCKED, dto.boardId(), id, null, currentColumn.id()));
         }catch (SQLException ex) {
             connection.rollback();
             throw ex;
@@ -135,11 +197,29 @@ public class CardService {
             }
             var blockDAO = new BlockDAO(connection);
             blockDAO.unblock(reason, id);
+            dao.touch(id);
+            new BoardColumnStatsDAO(connection).addBlocked(dto.columnId(), -1);
             connection.commit();
+            afterCommit(connection, () ->
+                    DomainEventBus.getInstance().publish(CARD_UNBLOCKED, dto.boardId(), id, null, dto.columnId()));
         }catch (SQLException ex) {
             connection.rollback();
             throw ex;
         }
     }
 
+    /**
+     * O índice de prazos só é atualizado depois do commit (do grupo, se houver), para não expor escritas desfeitas;
+     * se a leitura falhar, a escrita continua válida e a próxima ressincronização corrige o índice
+     */
+    private static void reindexDueDate(final CardDAO dao, final Long boardId, final Long cardId) {
+        try {
+            dao.findOpenDueCard(cardId).ifPresentOrElse(
+                    DueDateIndex.getInstance()::put,
+                    () -> DueDateIndex.getInstance().remove(boardId, cardId));
+        } catch (SQLException e) {
+            log.warn("Não foi possível atualizar o índice de prazos do card {}: {}", cardId, e.getMessage());
+        }
+    }
+
 }
@@ -0,0 +1,125 @@
+package br.com.dio.service;
+
+import br.com.dio.dto.CardMovementDTO;
+import br.com.dio.metrics.DurationHistogram;
+import br.com.dio.metrics.FlowMetric;
+import br.com.dio.persistence.dao.CardMovementDAO;
+import br.com.dio.persistence.dao.ChangeFeedDAO;
+import br.com.dio.persistence.dao.FlowStatsDAO;
+import br.com.dio.persistence.dao.FlowStatsDAO.FlowKey;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+import static java.util.Objects.nonNull;
+
+/**
+ * Mantém os agregados de fluxo (FLOW_STATS) em dia com CARD_MOVEMENTS
+ * Cada atualização lê apenas as movimentações com id acima da marca d'água, soma as novas
+ * amostras aos histogramas das chaves afetadas e avança a marca na mesma transação
+ * O id é reservado no INSERT, não no commit: a marca para na primeira movimentação que não seja anterior
+ * a "agora menos {@code safetyLag}" no relógio do banco, para que um id menor confirmado depois ainda entre
+ * Roda em segundo plano ({@link br.com.dio.scheduler.FlowStatsRefresher}), fora do caminho dos relatórios
+ */
+@Slf4j
+@AllArgsConstructor
+public class FlowAnalyticsService {
+
+    private static final int BATCH_SIZE = 5000;
+
+    private final Connection connection;
+    private final Duration safetyLag;
+
+    /**
+     * @return quantidade de movimentações incorporadas
+     */
+    public long refresh() throws SQLException {
+        var movementDAO = new CardMovementDAO(connection);
+        var statsDAO = new FlowStatsDAO(connection);
+        long processed = 0;
+        try {
+            // Sem movimentações novas, não disputa com os demais a trava da marca d'água
+            if (!movementDAO.existsAfter(statsDAO.findHighWaterMark())) {
+                connection.commit();
+                return 0;
+            }
+            var before = new ChangeFeedDAO(connection).currentTimestamp().minus(safetyLag);
+            while (true) {
+                var highWaterMark = statsDAO.lockHighWaterMark();
+                var found = movementDAO.findAfter(highWaterMark, BATCH_SIZE);
+                var movements = settledBefore(found, before);
+                if (movements.isEmpty()) {
+                    connection.commit();
+                    break;
+                }
+                Map<FlowKey, DurationHistogram> samples = new HashMap<>();
+                movements.forEach(movement -> collect(movement, samples));
+                if (!samples.isEmpty()) {
+                    var current = statsDAO.findByKeys(samples.keySet());
+                    for (var entry : samples.entrySet()) {
+                        var histogram = current.getOrDefault(entry.getKey(), new DurationHistogram());
+                        histogram.merge(entry.getValue());
+                        statsDAO.upsert(entry.getKey(), histogram);
+                    }
+                }
+                statsDAO.updateHighWaterMark(movements.get(movements.size() - 1).id());
+                connection.commit();
+                processed += movements.size();
+                if (movements.size() < BATCH_SIZE) {
+                    break;
+                }
+            }
+        } catch (SQLException | RuntimeException ex) {
+            connection.rollback();
+            throw ex;
+        }
+        if (processed > 0) {
+            log.info("Métricas de fluxo atualizadas com {} movimentações", processed);
+        }
+        return processed;
+    }
+
+    /**
+     * Prefixo das movimentações (em ordem de id) anteriores a {@code before}; as seguintes ficam para a
+     * próxima atualização, mesmo que sejam antigas
+     */
+    private static List<CardMovementDTO> settledBefore(final List<CardMovementDTO> movements, final OffsetDateTime before) {
+        for (var i = 0; i < movements.size(); i++) {
+            if (!movements.get(i).movedAt().isBefore(before)) {
+                return movements.subList(0, i);
+            }
+        }
+        return movements;
+    }
+
+    private static void collect(final CardMovementDTO movement, final Map<FlowKey, DurationHistogram> samples) {
+        if (nonNull(movement.fromColumnId())) {
+            record(samples, new FlowKey(movement.boardId(), movement.fromColumnId(), FlowMetric.DWELL),
+                    movement.enteredFromColumnAt(), movement.movedAt());
+        }
+        if (movement.toColumnKind() == FINAL) {
+            record(samples, new FlowKey(movement.boardId(), 0, FlowMetric.LEAD),
+                    movement.cardCreatedAt(), movement.movedAt());
+            record(samples, new FlowKey(movement.boardId(), 0, FlowMetric.CYCLE),
+                    movement.firstMovedAt(), movement.movedAt());
+        }
+    }
+
+    private static void record(final Map<FlowKey, DurationHistogram> samples, final FlowKey key,
+                               final OffsetDateTime from, final OffsetDateTime to) {
+        if (from == null || to == null) {
+            return;
+        }
+        samples.computeIfAbsent(key, k -> new DurationHistogram())
+                .record(Duration.between(from, to).toSeconds());
+    }
+
+}
@@ -1,18 +1,40 @@
 package br.com.dio.service;
 
-import br.com.dio.dto.BoardDetailsDTO;
+import br.com.dio.config.ApplicationConfig;
+import br.com.dio.dto.ColumnAgingDTO;
+import br.com.dio.dto.ColumnStatsDTO;
+import br.com.dio.dto.FlowTimeDTO;
+import br.com.dio.dto.OldCardDTO;
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.metrics.DurationHistogram;
+import br.com.dio.metrics.FlowMetric;
 import br.com.dio.persistence.dao.BoardDAO;
 import br.com.dio.persistence.dao.CardDAO;
-import br.com.dio.search.CardSearchCriteria;
+import br.com.dio.persistence.dao.FlowStatsDAO;
+import br.com.dio.persistence.dao.FlowStatsDAO.FlowKey;
+import br.com.dio.scheduler.FlowStatsRefresher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getBoardConnection;
+import static br.com.dio.persistence.config.ConnectionConfig.getPool;
+import static br.com.dio.persistence.config.ConnectionConfig.getShardRouter;
 
 /**
  * Serviço para geração de relatórios
@@ -21,93 +43,216 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ReportService {
     
+    private static final int DEFAULT_OLD_CARDS_TOP_K = 20;
+    private static final int MAX_OLD_CARDS_TOP_K = 1000;
+    
     private final Connection connection;
     
     /**
      * Gera relatório de produtividade de um board
+     * Lê apenas o resumo materializado das colunas (BOARD_COLUMN_STATS), sem reagrupar CARDS e BLOCKS
      */
     public BoardProductivityReport generateBoardProductivityReport(Long boardId) throws SQLException {
         log.info("Gerando relatório de produtividade para board {}", boardId);
         
-        BoardDAO boardDAO = new BoardDAO(connection);
-        CardDAO cardDAO = new CardDAO(connection);
-        
-        // Busca detalhes do board
-        BoardDetailsDTO boardDetails = boardDAO.findById(boardId)
-            .map(board -> {
-                try {
-                    BoardQueryService queryService = new BoardQueryService(connection);
-                    return queryService.showBoardDetails(boardId).orElse(null);
-                } catch (SQLException e) {
-                    throw new RuntimeException("Erro ao buscar detalhes do board", e);
-                }
-            })
-            .orElseThrow(() -> new RuntimeException("Board não encontrado: " + boardId));
-        
-        // Calcula métricas por coluna
-        Map<String, Long> cardsByColumn = boardDetails.columns().stream()
-            .collect(Collectors.toMap(
-                col -> col.name(),
-                col -> {
-                    try {
-                        CardSearchCriteria criteria = CardSearchCriteria.builder()
-                            .boardColumnIds(List.of(col.id()))
-                            .build();
-                        return cardDAO.countByCriteria(criteria);
-                    } catch (SQLException e) {
-                        log.error("Erro ao contar cards da coluna {}", col.id(), e);
-                        return 0L;
-                    }
-                }
-            ));
+        var board = new BoardDAO(connection).findById(boardId)
+            .orElseThrow(() -> new EntityNotFoundException("Board com ID %s não foi encontrado".formatted(boardId)));
+        var columns = new BoardStatsService(connection).findByBoardId(boardId);
         
-        // Calcula cards bloqueados
-        CardSearchCriteria blockedCriteria = CardSearchCriteria.builder()
-            .boardIds(List.of(boardId))
-            .isBlocked(true)
-            .build();
-        long blockedCards = cardDAO.countByCriteria(blockedCriteria);
-        
-        // Calcula total de cards
-        CardSearchCriteria totalCriteria = CardSearchCriteria.builder()
-            .boardIds(List.of(boardId))
-            .build();
-        long totalCards = cardDAO.countByCriteria(totalCriteria);
+        Map<String, Long> cardsByColumn = new LinkedHashMap<>();
+        long totalCards = 0;
+        long blockedCards = 0;
+        long overdueCards = 0;
+        for (var column : columns) {
+            cardsByColumn.put(column.columnName(), column.totalCards());
+            totalCards += column.totalCards();
+            blockedCards += column.blockedCards();
+            overdueCards += column.overdueCards();
+        }
         
         return new BoardProductivityReport(
             boardId,
-            boardDetails.name(),
+            board.getName(),
             totalCards,
             blockedCards,
+            overdueCards,
             cardsByColumn,
+            columns,
+            LocalDateTime.now()
+        );
+    }
+    
+    /**
+     * Gera o relatório de produtividade de todos os boards em paralelo
+     * Cada board é processado por uma tarefa própria, com uma conexão emprestada do pool, por isso o
+     * chamador não precisa de conexão; boards que falharem ou não terminarem dentro do tempo limite
+     * aparecem como falhas no consolidado
+     */
+    public static PortfolioProductivityReport generateAllBoardsProductivity() throws SQLException, InterruptedException {
+        var config = ApplicationConfig.getInstance();
+        return generateAllBoardsProductivity(config.getReportParallelism(), config.getReportTimeoutMs());
+    }
+
+    public static PortfolioProductivityReport generateAllBoardsProductivity(final int parallelism,
+                                                                            final long timeoutMillis)
+            throws SQLException, InterruptedException {
+        var start = System.nanoTime();
+        // Com shards, a lista vem de todos eles e cada board é lido no próprio shard
+        var boards = getShardRouter().scatter(leased -> new BoardDAO(leased).findAll(), null).stream()
+            .flatMap(List::stream)
+            .toList();
+        // Mais tarefas do que conexões no pool só gera espera pelo empréstimo; uma conexão fica livre para
+        // as demais requisições, que de outro modo esperariam o relatório inteiro
+        var threads = Math.max(1, Math.min(Math.min(parallelism, getPool().getMaxSize() - 1), boards.size()));
+        log.info("Gerando relatório consolidado de {} boards com paralelismo {}", boards.size(), threads);
+
+        List<Callable<BoardProductivityReport>> tasks = boards.stream()
+            .<Callable<BoardProductivityReport>>map(board -> () -> {
+                try (var leased = getBoardConnection(board.getId())) {
+                    return new ReportService(leased).generateBoardProductivityReport(board.getId());
+                }
+            })
+            .toList();
+
+        var counter = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(threads, runnable -> {
+            var thread = new Thread(runnable, "report-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<BoardProductivityReport> reports = new ArrayList<>();
+        Map<Long, String> failures = new LinkedHashMap<>();
+        try {
+            var futures = executor.invokeAll(tasks, timeoutMillis, TimeUnit.MILLISECONDS);
+            for (var i = 0; i < futures.size(); i++) {
+                var boardId = boards.get(i).getId();
+                try {
+                    reports.add(futures.get(i).get());
+                } catch (CancellationException e) {
+                    failures.put(boardId, "tempo limite de %d ms excedido".formatted(timeoutMillis));
+                } catch (ExecutionException e) {
+                    log.error("Erro ao gerar relatório do board {}", boardId, e.getCause());
+                    failures.put(boardId, e.getCause().getMessage());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new PortfolioProductivityReport(
+            reports,
+            failures,
+            threads,
+            (System.nanoTime() - start) / 1_000_000,
             LocalDateTime.now()
         );
     }
     
     /**
-     * Gera relatório de cards mais antigos
+     * Gera o relatório de fluxo de um board: lead time, cycle time e permanência por coluna
+     * Só lê os agregados, mantidos em segundo plano pelo {@link FlowStatsRefresher}
      */
-    public OldCardsReport generateOldCardsReport(int daysThreshold) throws SQLException {
-        log.info("Gerando relatório de cards antigos (threshold: {} dias)", daysThreshold);
+    public BoardFlowReport generateFlowReport(Long boardId) throws SQLException {
+        log.info("Gerando relatório de fluxo para board {}", boardId);
         
-        LocalDateTime thresholdDate = LocalDateTime.now().minusDays(daysThreshold);
+        var board = new BoardQueryService(connection).findById(boardId)
+            .orElseThrow(() -> new EntityNotFoundException("Board com ID %s não foi encontrado".formatted(boardId)));
+        var stats = new FlowStatsDAO(connection).find(boardId);
         
-        CardDAO cardDAO = new CardDAO(connection);
-        CardSearchCriteria criteria = CardSearchCriteria.builder()
-            .createdBefore(thresholdDate)
-            .limit(100) // Limita para evitar sobrecarga
-            .build();
+        var empty = new DurationHistogram();
+        var columns = board.getBoardColumns().stream()
+            .map(col -> toFlowTime(col.getName(),
+                stats.getOrDefault(new FlowKey(boardId, col.getId(), FlowMetric.DWELL), empty)))
+            .toList();
         
-        var oldCards = cardDAO.findByCriteria(criteria);
+        return new BoardFlowReport(
+            boardId,
+            board.getName(),
+            toFlowTime("Lead time", stats.getOrDefault(new FlowKey(boardId, 0, FlowMetric.LEAD), empty)),
+            toFlowTime("Cycle time", stats.getOrDefault(new FlowKey(boardId, 0, FlowMetric.CYCLE), empty)),
+            columns,
+            LocalDateTime.now()
+        );
+    }
+    
+    private static FlowTimeDTO toFlowTime(String name, DurationHistogram histogram) {
+        return new FlowTimeDTO(
+            name,
+            histogram.getCount(),
+            histogram.meanSeconds() / 3600,
+            histogram.percentileSeconds(50) / 3600,
+            histogram.percentileSeconds(85) / 3600,
+            histogram.percentileSeconds(95) / 3600
+        );
+    }
+    
+    /**
+     * Gera o relatório de envelhecimento dos cards em aberto de todos os shards
+     * Todos os cards fora das colunas final e de cancelamento entram na contagem por faixa de idade
+     * (agregada no banco), e apenas os {@code topK} mais antigos acima de {@code daysThreshold} dias
+     * são trazidos em detalhe
+     */
+    public static OldCardsReport generateOldCardsReport(int daysThreshold, String session) throws SQLException {
+        return generateOldCardsReport(daysThreshold, DEFAULT_OLD_CARDS_TOP_K, session);
+    }
+    
+    public static OldCardsReport generateOldCardsReport(int daysThreshold, int topK, String session)
+            throws SQLException {
+        if (topK < 1 || topK > MAX_OLD_CARDS_TOP_K) {
+            throw new IllegalArgumentException("A quantidade de cards deve estar entre 1 e " + MAX_OLD_CARDS_TOP_K);
+        }
+        log.info("Gerando relatório de cards antigos (threshold: {} dias, top {})", daysThreshold, topK);
+        
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime thresholdDate = now.minusDays(daysThreshold);
+        
+        // Cada shard agrupa as faixas e escolhe os seus topK; o consolidado soma as faixas e intercala os cards
+        var slices = getShardRouter().scatter(leased -> {
+            var cardDAO = new CardDAO(leased);
+            return new AgingSlice(cardDAO.countOpenByAge(now), cardDAO.findOldestOpen(thresholdDate, topK, now));
+        }, session);
         
         return new OldCardsReport(
             daysThreshold,
             thresholdDate,
-            oldCards,
-            LocalDateTime.now()
+            mergeAging(slices.stream().map(AgingSlice::columns).toList()),
+            mergeOldest(slices.stream().map(AgingSlice::oldest).toList(), topK),
+            now
         );
     }
     
+    /**
+     * Soma as faixas de cada coluna vindas dos shards, em ordem de board e mantendo a ordem das colunas
+     * Os ids de colunas e cards são sequências de cada banco, por isso a coluna é identificada junto com o board
+     */
+    static List<ColumnAgingDTO> mergeAging(final List<List<ColumnAgingDTO>> shardColumns) {
+        Map<List<Long>, ColumnAgingDTO> merged = new LinkedHashMap<>();
+        shardColumns.stream().flatMap(List::stream).forEach(column -> merged.merge(
+            List.of(column.boardId(), column.columnId()), column,
+            (a, b) -> new ColumnAgingDTO(a.boardId(), a.boardName(), a.columnId(), a.columnName(), a.columnKind(),
+                a.upTo7Days() + b.upTo7Days(), a.upTo30Days() + b.upTo30Days(),
+                a.upTo90Days() + b.upTo90Days(), a.over90Days() + b.over90Days())));
+        return merged.values().stream()
+            .sorted(Comparator.comparing(ColumnAgingDTO::boardId))
+            .toList();
+    }
+    
+    /**
+     * Intercala os mais antigos de cada shard por data de criação (e id) e mantém só os {@code topK} primeiros
+     */
+    static List<OldCardDTO> mergeOldest(final List<List<OldCardDTO>> shardCards, final int topK) {
+        return shardCards.stream()
+            .flatMap(List::stream)
+            .sorted(Comparator.comparing(OldCardDTO::createdAt)
+                .thenComparing(OldCardDTO::boardId)
+                .thenComparing(OldCardDTO::id))
+            .limit(topK)
+            .toList();
+    }
+    
+    private record AgingSlice(List<ColumnAgingDTO> columns, List<OldCardDTO> oldest) {
+    }
+    
     /**
      * Relatório de produtividade de um board
      */
@@ -116,17 +261,21 @@ public class ReportService {
         private final String boardName;
         private final long totalCards;
         private final long blockedCards;
+        private final long overdueCards;
         private final Map<String, Long> cardsByColumn;
+        private final List<ColumnStatsDTO> columns;
         private final LocalDateTime generatedAt;
         
         public BoardProductivityReport(Long boardId, String boardName, long totalCards, 
-                                     long blockedCards, Map<String, Long> cardsByColumn, 
-                                     LocalDateTime generatedAt) {
+                                     long blockedCards, long overdueCards, Map<String, Long> cardsByColumn, 
+                                     List<ColumnStatsDTO> columns, LocalDateTime generatedAt) {
             this.boardId = boardId;
             this.boardName = boardName;
             this.totalCards = totalCards;
             this.blockedCards = blockedCards;
+            this.overdueCards = overdueCards;
             this.cardsByColumn = cardsByColumn;
+            this.columns = columns;
             this.generatedAt = generatedAt;
         }
         
@@ -136,6 +285,7 @@ public class ReportService {
             System.out.println("Gerado em: " + generatedAt);
             System.out.println("Total de cards: " + totalCards);
             System.out.println("Cards bloqueados: " + blockedCards);
+            System.out.println("Cards atrasados: " + overdueCards);
             
             if (totalCards > 0) {
                 double blockedPercentage = (double) blockedCards / totalCards * 100;
@@ -143,13 +293,21 @@ public class ReportService {
             }
             
             System.out.println("\n--- Distribuição por Coluna ---");
-            cardsByColumn.forEach((column, count) -> {
+            columns.forEach(column -> {
+                var count = column.totalCards();
                 if (totalCards > 0) {
                     double percentage = (double) count / totalCards * 100;
-                    System.out.printf("%s: %d cards (%.1f%%)%n", column, count, percentage);
+                    System.out.printf("%s: %d cards (%.1f%%)", column.columnName(), count, percentage);
                 } else {
-                    System.out.printf("%s: %d cards%n", column, count);
+                    System.out.printf("%s: %d cards", column.columnName(), count);
                 }
+                if (column.avgEstimatedHours() != null) {
+                    System.out.printf(" | média estimada: %sh", column.avgEstimatedHours());
+                }
+                if (column.avgActualHours() != null) {
+                    System.out.printf(" | média real: %sh", column.avgActualHours());
+                }
+                System.out.println();
             });
             
             System.out.println("=================================\n");
@@ -160,23 +318,125 @@ public class ReportService {
         public String getBoardName() { return boardName; }
         public long getTotalCards() { return totalCards; }
         public long getBlockedCards() { return blockedCards; }
+        public long getOverdueCards() { return overdueCards; }
         public Map<String, Long> getCardsByColumn() { return cardsByColumn; }
+        public List<ColumnStatsDTO> getColumns() { return columns; }
+        public LocalDateTime getGeneratedAt() { return generatedAt; }
+    }
+    
+    /**
+     * Relatório consolidado de produtividade de todos os boards
+     */
+    public static class PortfolioProductivityReport {
+        private final List<BoardProductivityReport> boards;
+        private final Map<Long, String> failures;
+        private final int parallelism;
+        private final long elapsedMillis;
+        private final LocalDateTime generatedAt;
+        
+        public PortfolioProductivityReport(List<BoardProductivityReport> boards, Map<Long, String> failures,
+                                           int parallelism, long elapsedMillis, LocalDateTime generatedAt) {
+            this.boards = boards;
+            this.failures = failures;
+            this.parallelism = parallelism;
+            this.elapsedMillis = elapsedMillis;
+            this.generatedAt = generatedAt;
+        }
+        
+        public void printReport() {
+            System.out.println("\n=== RELATÓRIO CONSOLIDADO DE PRODUTIVIDADE ===");
+            System.out.println("Gerado em: " + generatedAt);
+            System.out.printf("Boards processados: %d | Falhas: %d | Paralelismo: %d | Tempo: %d ms%n",
+                boards.size(), failures.size(), parallelism, elapsedMillis);
+            System.out.println("Total de cards: " + getTotalCards());
+            System.out.println("Cards bloqueados: " + getBlockedCards());
+            
+            if (!boards.isEmpty()) {
+                System.out.println("\n--- Por Board ---");
+                boards.forEach(board -> System.out.printf("• %s (ID: %d): %d cards, %d bloqueados%n",
+                    board.getBoardName(), board.getBoardId(), board.getTotalCards(), board.getBlockedCards()));
+            }
+            
+            if (!failures.isEmpty()) {
+                System.out.println("\n--- Boards com falha ---");
+                failures.forEach((boardId, reason) -> System.out.printf("• ID %d: %s%n", boardId, reason));
+            }
+            
+            System.out.println("==============================================\n");
+        }
+        
+        // Getters
+        public List<BoardProductivityReport> getBoards() { return boards; }
+        public Map<Long, String> getFailures() { return failures; }
+        public int getParallelism() { return parallelism; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public LocalDateTime getGeneratedAt() { return generatedAt; }
+        public long getTotalCards() { return boards.stream().mapToLong(BoardProductivityReport::getTotalCards).sum(); }
+        public long getBlockedCards() { return boards.stream().mapToLong(BoardProductivityReport::getBlockedCards).sum(); }
+    }
+    
+    /**
+     * Relatório de fluxo (lead time, cycle time e permanência por coluna) de um board
+     */
+    public static class BoardFlowReport {
+        private final Long boardId;
+        private final String boardName;
+        private final FlowTimeDTO leadTime;
+        private final FlowTimeDTO cycleTime;
+        private final List<FlowTimeDTO> columns;
+        private final LocalDateTime generatedAt;
+        
+        public BoardFlowReport(Long boardId, String boardName, FlowTimeDTO leadTime, FlowTimeDTO cycleTime,
+                               List<FlowTimeDTO> columns, LocalDateTime generatedAt) {
+            this.boardId = boardId;
+            this.boardName = boardName;
+            this.leadTime = leadTime;
+            this.cycleTime = cycleTime;
+            this.columns = columns;
+            this.generatedAt = generatedAt;
+        }
+        
+        public void printReport() {
+            System.out.println("\n=== RELATÓRIO DE FLUXO ===");
+            System.out.println("Board: " + boardName + " (ID: " + boardId + ")");
+            System.out.println("Gerado em: " + generatedAt);
+            System.out.printf("%-24s %8s %9s %9s %9s %9s%n", "Tempo (horas)", "Amostras", "Média", "p50", "p85", "p95");
+            printLine(leadTime);
+            printLine(cycleTime);
+            System.out.println("\n--- Permanência por Coluna ---");
+            columns.forEach(this::printLine);
+            System.out.println("==========================\n");
+        }
+        
+        private void printLine(FlowTimeDTO time) {
+            System.out.printf("%-24s %8d %9.1f %9.1f %9.1f %9.1f%n", time.name(), time.samples(),
+                time.meanHours(), time.p50Hours(), time.p85Hours(), time.p95Hours());
+        }
+        
+        // Getters
+        public Long getBoardId() { return boardId; }
+        public String getBoardName() { return boardName; }
+        public FlowTimeDTO getLeadTime() { return leadTime; }
+        public FlowTimeDTO getCycleTime() { return cycleTime; }
+        public List<FlowTimeDTO> getColumns() { return columns; }
         public LocalDateTime getGeneratedAt() { return generatedAt; }
     }
     
     /**
-     * Relatório de cards antigos
+     * Relatório de envelhecimento dos cards em aberto
      */
     public static class OldCardsReport {
         private final int daysThreshold;
         private final LocalDateTime thresholdDate;
-        private final List<?> oldCards;
+        private final List<ColumnAgingDTO> columns;
+        private final List<OldCardDTO> oldCards;
         private final LocalDateTime generatedAt;
         
-        public OldCardsReport(int daysThreshold, LocalDateTime thresholdDate, 
-                            List<?> oldCards, LocalDateTime generatedAt) {
+        public OldCardsReport(int daysThreshold, LocalDateTime thresholdDate, List<ColumnAgingDTO> columns,
+                            List<OldCardDTO> oldCards, LocalDateTime generatedAt) {
             this.daysThreshold = daysThreshold;
             this.thresholdDate = thresholdDate;
+            this.columns = columns;
             this.oldCards = oldCards;
             this.generatedAt = generatedAt;
         }
@@ -186,22 +446,42 @@ public class ReportService {
             System.out.println("Threshold: " + daysThreshold + " dias");
             System.out.println("Data limite: " + thresholdDate);
             System.out.println("Gerado em: " + generatedAt);
-            System.out.println("Cards encontrados: " + oldCards.size());
+            System.out.println("Cards em aberto: " + getOpenCards());
+            
+            if (!columns.isEmpty()) {
+                System.out.println("\n--- Idade dos cards em aberto (dias) ---");
+                System.out.printf("%-30s %-8s %7s %7s %7s %7s%n", "Board / Coluna", "Tipo", "0-7", "8-30", "31-90", "90+");
+                columns.forEach(col -> System.out.printf("%-30s %-8s %7d %7d %7d %7d%n",
+                    abbreviate(col.boardName() + " / " + col.columnName(), 30), col.columnKind(),
+                    col.upTo7Days(), col.upTo30Days(), col.upTo90Days(), col.over90Days()));
+                System.out.printf("%-30s %-8s %7d %7d %7d %7d%n", "TOTAL", "",
+                    sum(ColumnAgingDTO::upTo7Days), sum(ColumnAgingDTO::upTo30Days),
+                    sum(ColumnAgingDTO::upTo90Days), sum(ColumnAgingDTO::over90Days));
+            }
             
             if (!oldCards.isEmpty()) {
-                System.out.println("\n--- Cards que precisam de atenção ---");
-                oldCards.forEach(card -> {
-                    System.out.println("• " + card.toString());
-                });
+                System.out.println("\n--- Cards mais antigos que precisam de atenção ---");
+                oldCards.forEach(card -> System.out.printf("• #%d %s | %s / %s | %d dias%n",
+                    card.id(), card.title(), card.boardName(), card.columnName(), card.ageDays()));
             }
             
             System.out.println("===================================\n");
         }
         
+        private long sum(ToLongFunction<ColumnAgingDTO> bucket) {
+            return columns.stream().mapToLong(bucket).sum();
+        }
+        
+        private static String abbreviate(String text, int max) {
+            return text.length() <= max ? text : text.substring(0, max - 1) + "…";
+        }
+        
         // Getters
         public int getDaysThreshold() { return daysThreshold; }
         public LocalDateTime getThresholdDate() { return thresholdDate; }
-        public List<?> getOldCards() { return oldCards; }
+        public List<ColumnAgingDTO> getColumns() { return columns; }
+        public List<OldCardDTO> getOldCards() { return oldCards; }
         public LocalDateTime getGeneratedAt() { return generatedAt; }
+        public long getOpenCards() { return columns.stream().mapToLong(ColumnAgingDTO::total).sum(); }
     }
 }
@@ -0,0 +1,100 @@
+package br.com.dio.service;
+
+import br.com.dio.persistence.config.ShardRouter;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.search.CardFacetIndex;
+import br.com.dio.search.CardSearchCriteria;
+import br.com.dio.search.SearchResult;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Busca de cards sobre os shards
+ * Quando todos os boards filtrados vivem no mesmo shard, a busca vai direto para ele; nos demais casos
+ * cada shard devolve as primeiras {@code offset + limit} linhas (na ordem da busca, id decrescente),
+ * as listas são intercaladas e a página é recortada do resultado combinado
+ */
+@Slf4j
+@AllArgsConstructor
+public class ShardedCardSearchService {
+
+    private final ShardRouter router;
+    private final String session;
+
+    public SearchResult<CardEntity> searchCards(final CardSearchCriteria criteria) throws SQLException {
+        var shard = singleShardOf(criteria);
+        if (shard != null) {
+            try (var connection = router.leaseShard(shard, false, session)) {
+                return new CardSearchService(connection).searchCards(criteria);
+            }
+        }
+        var window = criteria.toBuilder()
+                .offset(0)
+                .limit(criteria.getOffset() + criteria.getLimit())
+                .build();
+        var partials = router.scatter(connection -> new CardSearchService(connection).searchCards(window), session);
+        var totalCount = partials.stream().mapToLong(SearchResult::getTotalCount).sum();
+        var items = mergeByIdDescending(partials.stream().map(SearchResult::getItems).toList(),
+                criteria.getOffset(), criteria.getLimit());
+        log.debug("Busca em {} shards: {} cards de {} no total", partials.size(), items.size(), totalCount);
+        var result = SearchResult.of(items, totalCount, criteria.getLimit(), criteria.getOffset() / criteria.getLimit());
+        // O índice de facetas é do processo e cobre todos os shards: as facetas saem uma vez, com o critério original
+        CardFacetIndex.getInstance().facets(criteria).ifPresent(result::setFacets);
+        return result;
+    }
+
+    /**
+     * Intercala listas já ordenadas por id decrescente, descartando as {@code skip} primeiras linhas
+     * do resultado combinado e devolvendo até {@code limit}
+     */
+    static List<CardEntity> mergeByIdDescending(final List<List<CardEntity>> sortedLists, final int skip,
+                                                final int limit) {
+        record Cursor(List<CardEntity> list, int position) {
+            CardEntity current() {
+                return list.get(position);
+            }
+        }
+        var heap = new PriorityQueue<Cursor>(Comparator.comparing((Cursor cursor) -> cursor.current().getId())
+                .reversed());
+        sortedLists.stream()
+                .filter(list -> !list.isEmpty())
+                .forEach(list -> heap.add(new Cursor(list, 0)));
+        List<CardEntity> merged = new ArrayList<>(limit);
+        var skipped = 0;
+        while (!heap.isEmpty() && merged.size() < limit) {
+            var cursor = heap.poll();
+            if (skipped < skip) {
+                skipped++;
+            } else {
+                merged.add(cursor.current());
+            }
+            if (cursor.position() + 1 < cursor.list().size()) {
+                heap.add(new Cursor(cursor.list(), cursor.position() + 1));
+            }
+        }
+        return merged;
+    }
+
+    private String singleShardOf(final CardSearchCriteria criteria) throws SQLException {
+        if (!router.isSharded()) {
+            return ShardRouter.PRIMARY_SHARD;
+        }
+        if (!criteria.hasBoardFilter()) {
+            return null;
+        }
+        Set<String> shards = new HashSet<>();
+        for (var boardId : criteria.getBoardIds()) {
+            shards.add(router.shardOf(boardId));
+        }
+        return shards.size() == 1 ? shards.iterator().next() : null;
+    }
+
+}
@@ -0,0 +1,108 @@
+package br.com.dio.service;
+
+import br.com.dio.backup.SnapshotReader;
+import br.com.dio.backup.SnapshotWriter;
+import br.com.dio.persistence.dao.BoardColumnStatsDAO;
+import br.com.dio.persistence.dao.SnapshotDAO;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Backup e restauração de boards em snapshots binários compactos
+ */
+@Slf4j
+@AllArgsConstructor
+public class SnapshotService {
+
+    private static final int RESTORE_BATCH_SIZE = 1000;
+
+    private final Connection connection;
+
+    /**
+     * @param boardId board a salvar, ou nulo para salvar todos
+     */
+    public SnapshotStats backup(final Long boardId, final Path file) throws SQLException, IOException {
+        var start = System.nanoTime();
+        var writer = new SnapshotWriter(file);
+        try (writer) {
+            new SnapshotDAO(connection).dump(boardId, writer);
+        }
+        var stats = new SnapshotStats("Backup", writer.getBoards(), writer.getColumns(), writer.getCards(),
+                writer.getBlocks(), Files.size(file), System.nanoTime() - start);
+        log.info("Snapshot {} gravado: {} boards, {} cards, {} bytes", file, stats.boards, stats.cards, stats.bytes);
+        return stats;
+    }
+
+    /**
+     * Restaura o snapshot como novos boards, em uma única transação
+     */
+    public SnapshotStats restore(final Path file) throws SQLException, IOException {
+        var start = System.nanoTime();
+        try (var reader = new SnapshotReader(file)) {
+            try {
+                new SnapshotDAO(connection).load(reader, RESTORE_BATCH_SIZE);
+                new BoardColumnStatsDAO(connection).insertMissing();
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+            var stats = new SnapshotStats("Restauração", reader.getBoards(), reader.getColumns(), reader.getCards(),
+                    reader.getBlocks(), reader.size(), System.nanoTime() - start);
+            log.info("Snapshot {} restaurado: {} boards, {} cards", file, stats.boards, stats.cards);
+            return stats;
+        }
+    }
+
+    /**
+     * Quantidades e tempo de um backup ou restauração
+     */
+    public static class SnapshotStats {
+        private final String operation;
+        private final long boards;
+        private final long columns;
+        private final long cards;
+        private final long blocks;
+        private final long bytes;
+        private final long elapsedNanos;
+
+        public SnapshotStats(String operation, long boards, long columns, long cards, long blocks,
+                             long bytes, long elapsedNanos) {
+            this.operation = operation;
+            this.boards = boards;
+            this.columns = columns;
+            this.cards = cards;
+            this.blocks = blocks;
+            this.bytes = bytes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public void printReport() {
+            var seconds = elapsedNanos / 1_000_000_000.0;
+            var rows = boards + columns + cards + blocks;
+            System.out.println("\n=== " + operation.toUpperCase() + " DE SNAPSHOT ===");
+            System.out.printf("Boards: %d | Colunas: %d | Cards: %d | Bloqueios: %d%n", boards, columns, cards, blocks);
+            System.out.printf("Tamanho: %.2f MB (%.1f bytes/linha)%n", bytes / (1024.0 * 1024.0),
+                rows > 0 ? (double) bytes / rows : 0);
+            System.out.printf("Tempo: %.3f s | %.1f linhas/s | %.2f MB/s%n", seconds,
+                seconds > 0 ? rows / seconds : 0, seconds > 0 ? bytes / (1024.0 * 1024.0) / seconds : 0);
+            System.out.println("=================================\n");
+        }
+
+        // Getters
+        public String getOperation() { return operation; }
+        public long getBoards() { return boards; }
+        public long getColumns() { return columns; }
+        public long getCards() { return cards; }
+        public long getBlocks() { return blocks; }
+        public long getBytes() { return bytes; }
+        public long getElapsedNanos() { return elapsedNanos; }
+    }
+
+}
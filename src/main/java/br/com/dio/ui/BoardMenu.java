@@ -1,9 +1,11 @@
 package br.com.dio.ui;
 
 import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.dto.ColumnCardsPageDTO;
 import br.com.dio.persistence.entity.BoardColumnEntity;
 import br.com.dio.persistence.entity.BoardEntity;
 import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.readmodel.CardReadModel;
 import br.com.dio.service.BoardColumnQueryService;
 import br.com.dio.service.BoardQueryService;
 import br.com.dio.service.CardQueryService;
@@ -11,13 +13,16 @@ import br.com.dio.service.CardService;
 import lombok.AllArgsConstructor;
 
 import java.sql.SQLException;
+import java.util.Optional;
 import java.util.Scanner;
 
-import static br.com.dio.persistence.config.ConnectionConfig.getConnection;
+import static br.com.dio.persistence.config.ConnectionConfig.getBoardConnection;
 
 @AllArgsConstructor
 public class BoardMenu {
 
+    private static final int COLUMN_PAGE_SIZE = 20;
+
     private final Scanner scanner = new Scanner(System.in).useDelimiter("\n");
 
     private final BoardEntity entity;
@@ -65,7 +70,7 @@ public class BoardMenu {
         System.out.println("Informe a descrição do card");
         card.setDescription(scanner.next());
         card.setBoardColumn(entity.getInitialColumn());
-        try(var connection = getConnection()){
+        try(var connection = getBoardConnection(entity.getId())){
             new CardService(connection).create(card);
         }
     }
@@ -76,7 +81,7 @@ public class BoardMenu {
         var boardColumnsInfo = entity.getBoardColumns().stream()
                 .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind()))
                 .toList();
-        try(var connection = getConnection()){
+        try(var connection = getBoardConnection(entity.getId())){
             new CardService(connection).moveToNextColumn(cardId, boardColumnsInfo);
         } catch (RuntimeException ex){
             System.out.println(ex.getMessage());
@@ -91,7 +96,7 @@ public class BoardMenu {
         var boardColumnsInfo = entity.getBoardColumns().stream()
                 .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind()))
                 .toList();
-        try(var connection = getConnection()){
+        try(var connection = getBoardConnection(entity.getId())){
             new CardService(connection).block(cardId, reason, boardColumnsInfo);
         } catch (RuntimeException ex){
             System.out.println(ex.getMessage());
@@ -103,7 +108,7 @@ public class BoardMenu {
         var cardId = scanner.nextLong();
         System.out.println("Informe o motivo do desbloqueio do card");
         var reason = scanner.next();
-        try(var connection = getConnection()){
+        try(var connection = getBoardConnection(entity.getId())){
             new CardService(connection).unblock(cardId, reason);
         } catch (RuntimeException ex){
             System.out.println(ex.getMessage());
@@ -117,7 +122,7 @@ public class BoardMenu {
         var boardColumnsInfo = entity.getBoardColumns().stream()
                 .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind()))
                 .toList();
-        try(var connection = getConnection()){
+        try(var connection = getBoardConnection(entity.getId())){
             new CardService(connection).cancel(cardId, cancelColumn.getId(), boardColumnsInfo);
         } catch (RuntimeException ex){
             System.out.println(ex.getMessage());
@@ -125,15 +130,18 @@ public class BoardMenu {
     }
 
     private void showBoard() throws SQLException {
-        try(var connection = getConnection()){
-            var optional = new BoardQueryService(connection).showBoardDetails(entity.getId());
-            optional.ifPresent(b -> {
-                System.out.printf("Board [%s,%s]\n", b.id(), b.name());
-                b.columns().forEach(c ->
-                        System.out.printf("Coluna [%s] tipo: [%s] tem %s cards\n", c.name(), c.kind(), c.cardsAmount())
-                );
-            });
+        var optional = currentReadModel().flatMap(model -> model.boardDetails(entity.getId()));
+        if (optional.isEmpty()) {
+            try(var connection = getBoardConnection(entity.getId())){
+                optional = new BoardQueryService(connection).showBoardDetails(entity.getId());
+            }
         }
+        optional.ifPresent(b -> {
+            System.out.printf("Board [%s,%s]\n", b.id(), b.name());
+            b.columns().forEach(c ->
+                    System.out.printf("Coluna [%s] tipo: [%s] tem %s cards\n", c.name(), c.kind(), c.cardsAmount())
+            );
+        });
     }
 
     private void showColumn() throws SQLException {
@@ -144,20 +152,46 @@ public class BoardMenu {
             entity.getBoardColumns().forEach(c -> System.out.printf("%s - %s [%s]\n", c.getId(), c.getName(), c.getKind()));
             selectedColumnId = scanner.nextLong();
         }
-        try(var connection = getConnection()){
-            var column = new BoardColumnQueryService(connection).findById(selectedColumnId);
-            column.ifPresent(co -> {
-                System.out.printf("Coluna %s tipo %s\n", co.getName(), co.getKind());
-                co.getCards().forEach(ca -> System.out.printf("Card %s - %s\nDescrição: %s",
-                        ca.getId(), ca.getTitle(), ca.getDescription()));
-            });
+        var columnId = selectedColumnId;
+        var column = entity.getBoardColumns().stream().filter(c -> c.getId().equals(columnId)).findFirst().orElseThrow();
+        System.out.printf("Coluna %s tipo %s\n", column.getName(), column.getKind());
+        // Só id e título, uma página por vez; a descrição aparece em "Ver card"
+        Long after = 0L;
+        while (after != null) {
+            var page = findColumnPage(column, after);
+            page.cards().forEach(ca -> System.out.printf("Card %s - %s\n", ca.id(), ca.title()));
+            after = page.nextAfter();
+            if (after != null) {
+                System.out.println("Informe 1 para a próxima página ou 0 para voltar");
+                if (scanner.nextInt() != 1) {
+                    after = null;
+                }
+            }
+        }
+    }
+
+    private ColumnCardsPageDTO findColumnPage(final BoardColumnEntity column, final long after) throws SQLException {
+        var page = currentReadModel()
+                .flatMap(model -> model.columnPage(entity.getId(), column.getId(), after, COLUMN_PAGE_SIZE));
+        if (page.isPresent()) {
+            return page.get();
+        }
+        try(var connection = getBoardConnection(entity.getId())){
+            return new BoardColumnQueryService(connection).findCardsPage(column, after, COLUMN_PAGE_SIZE);
         }
     }
 
+    /**
+     * Modelo de leitura, quando ligado e em dia com as escritas deste processo
+     */
+    private static Optional<CardReadModel> currentReadModel() {
+        return Optional.of(CardReadModel.getInstance()).filter(CardReadModel::isCurrent);
+    }
+
     private void showCard() throws SQLException {
         System.out.println("Informe o id do card que deseja visualizar");
         var selectedCardId = scanner.nextLong();
-        try(var connection  = getConnection()){
+        try(var connection  = getBoardConnection(entity.getId())){
             new CardQueryService(connection).findById(selectedCardId)
                     .ifPresentOrElse(
                             c -> {
@@ -168,6 +202,9 @@ public class BoardMenu {
                                         "Não está bloqueado");
                                 System.out.printf("Já foi bloqueado %s vezes\n", c.blocksAmount());
                                 System.out.printf("Está no momento na coluna %s - %s\n", c.columnId(), c.columnName());
+                                if (c.dueDate() != null) {
+                                    System.out.printf("Prazo: %s\n", c.dueDate());
+                                }
                             },
                             () -> System.out.printf("Não existe um card com o id %s\n", selectedCardId));
         }
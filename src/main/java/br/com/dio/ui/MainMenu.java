@@ -1,5 +1,6 @@
 package br.com.dio.ui;
 
+import br.com.dio.event.DomainEventCounters;
 import br.com.dio.exception.ValidationException;
 import br.com.dio.metrics.MetricsCollector;
 import br.com.dio.persistence.entity.BoardColumnEntity;
@@ -13,10 +14,12 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Scanner;
 
-import static br.com.dio.persistence.config.ConnectionConfig.getConnection;
+import static br.com.dio.persistence.config.ConnectionConfig.getBoardConnection;
+import static br.com.dio.persistence.config.ConnectionConfig.getShardRouter;
 import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
 import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
 import static br.com.dio.persistence.entity.BoardColumnKindEnum.INITIAL;
@@ -118,12 +121,10 @@ public class MainMenu {
                 // Valida o board antes de salvar
                 EntityValidator.validateBoard(entity);
                 
-                try(var connection = getConnection()){
-                    var service = new BoardService(connection);
-                    var savedBoard = service.insert(entity);
-                    System.out.println("✅ Board '" + savedBoard.getName() + "' criado com sucesso! ID: " + savedBoard.getId());
-                    log.info("Board criado: {} (ID: {})", savedBoard.getName(), savedBoard.getId());
-                }
+                var savedBoard = getShardRouter().createBoard(entity, null,
+                        connection -> new BoardService(connection).insert(entity));
+                System.out.println("✅ Board '" + savedBoard.getName() + "' criado com sucesso! ID: " + savedBoard.getId());
+                log.info("Board criado: {} (ID: {})", savedBoard.getName(), savedBoard.getId());
                 
             } catch (SQLException e) {
                 log.error("Erro ao criar board", e);
@@ -139,7 +140,7 @@ public class MainMenu {
         
         Long boardId = readLongInput("Digite o ID do board: ");
         
-        try(var connection = getConnection()){
+        try(var connection = getBoardConnection(boardId)){
             var queryService = new BoardQueryService(connection);
             var optional = queryService.findById(boardId);
             optional.ifPresentOrElse(
@@ -168,7 +169,7 @@ public class MainMenu {
             return;
         }
         
-        try(var connection = getConnection()){
+        try(var connection = getBoardConnection(boardId)){
             var service = new BoardService(connection);
             if (service.delete(boardId)){
                 System.out.println("✅ Board " + boardId + " foi excluído com sucesso");
@@ -184,19 +185,20 @@ public class MainMenu {
         System.out.println("\n📊 LISTANDO TODOS OS BOARDS");
         System.out.println("-".repeat(30));
         
-        try(var connection = getConnection()){
-            var queryService = new BoardQueryService(connection);
-            var boards = queryService.findAll();
-            
-            if (boards.isEmpty()) {
-                System.out.println("📭 Nenhum board encontrado");
-            } else {
-                System.out.println("Boards disponíveis:");
-                boards.forEach(board -> {
-                    System.out.printf("• ID: %d | Nome: %s | Colunas: %d%n", 
-                        board.getId(), board.getName(), board.getBoardColumns().size());
-                });
-            }
+        var boards = getShardRouter().scatter(connection -> new BoardQueryService(connection).findAll(), null)
+                .stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(BoardEntity::getName).thenComparing(BoardEntity::getId))
+                .toList();
+        
+        if (boards.isEmpty()) {
+            System.out.println("📭 Nenhum board encontrado");
+        } else {
+            System.out.println("Boards disponíveis:");
+            boards.forEach(board -> {
+                System.out.printf("• ID: %d | Nome: %s | Colunas: %d%n", 
+                    board.getId(), board.getName(), board.getBoardColumns().size());
+            });
         }
     }
     
@@ -205,14 +207,18 @@ public class MainMenu {
         System.out.println("-".repeat(30));
         System.out.println("1 - Relatório de produtividade de board");
         System.out.println("2 - Relatório de cards antigos");
-        System.out.println("3 - Voltar ao menu principal");
+        System.out.println("3 - Relatório consolidado de todos os boards");
+        System.out.println("4 - Relatório de fluxo (lead/cycle time) de board");
+        System.out.println("5 - Voltar ao menu principal");
         
         int option = readIntegerInput("Escolha uma opção: ");
         
         switch (option) {
             case 1 -> generateProductivityReport();
             case 2 -> generateOldCardsReport();
-            case 3 -> { /* Volta ao menu principal */ }
+            case 3 -> generatePortfolioReport();
+            case 4 -> generateFlowReport();
+            case 5 -> { /* Volta ao menu principal */ }
             default -> System.out.println("❌ Opcao invalida");
         }
     }
@@ -220,7 +226,7 @@ public class MainMenu {
     private void generateProductivityReport() throws SQLException {
         Long boardId = readLongInput("Digite o ID do board: ");
         
-        try(var connection = getConnection()){
+        try(var connection = getBoardConnection(boardId)){
             var reportService = new ReportService(connection);
             var report = reportService.generateBoardProductivityReport(boardId);
             report.printReport();
@@ -230,12 +236,34 @@ public class MainMenu {
         }
     }
     
+    private void generatePortfolioReport() {
+        try {
+            var report = ReportService.generateAllBoardsProductivity();
+            report.printReport();
+        } catch (Exception e) {
+            System.out.println("❌ Erro ao gerar relatorio: " + e.getMessage());
+            log.error("Erro ao gerar relatório consolidado", e);
+        }
+    }
+    
+    private void generateFlowReport() {
+        Long boardId = readLongInput("Digite o ID do board: ");
+        
+        try(var connection = getBoardConnection(boardId)){
+            var reportService = new ReportService(connection);
+            var report = reportService.generateFlowReport(boardId);
+            report.printReport();
+        } catch (Exception e) {
+            System.out.println("❌ Erro ao gerar relatorio: " + e.getMessage());
+            log.error("Erro ao gerar relatório de fluxo", e);
+        }
+    }
+    
     private void generateOldCardsReport() throws SQLException {
         int days = readIntegerInput("Cards mais antigos que quantos dias? ");
         
-        try(var connection = getConnection()){
-            var reportService = new ReportService(connection);
-            var report = reportService.generateOldCardsReport(days);
+        try {
+            var report = ReportService.generateOldCardsReport(days, null);
             report.printReport();
         } catch (Exception e) {
             System.out.println("❌ Erro ao gerar relatorio: " + e.getMessage());
@@ -249,6 +277,10 @@ public class MainMenu {
         
         var report = metricsCollector.generateReport();
         report.printReport();
+
+        var events = DomainEventCounters.getInstance();
+        System.out.println("\n📣 Eventos de domínio (perdidos pela assinatura: " + events.getMissed() + ")");
+        events.snapshot().forEach((type, count) -> System.out.printf("  %s: %d%n", type, count));
     }
     
     // Métodos utilitários para entrada de dados com validação
@@ -31,7 +31,7 @@ CREATE INDEX IF NOT EXISTS idx_boards_name ON BOARDS(name);
 CREATE INDEX IF NOT EXISTS idx_boards_created_at ON BOARDS(created_at);
 
 CREATE INDEX IF NOT EXISTS idx_boards_columns_board_id ON BOARDS_COLUMNS(board_id);
-CREATE INDEX IF NOT EXISTS idx_boards_columns_order ON BOARDS_COLUMNS(order_position);
+-- A ordem das colunas já é coberta pela chave única id_order_uk (board_id, `order`)
 
 CREATE INDEX IF NOT EXISTS idx_blocks_card_id ON BLOCKS(card_id);
 CREATE INDEX IF NOT EXISTS idx_blocks_blocked_at ON BLOCKS(blocked_at);
@@ -105,7 +105,7 @@ LEFT JOIN BOARDS_COLUMNS bc ON b.id = bc.board_id
 LEFT JOIN CARDS c ON bc.id = c.board_column_id
 LEFT JOIN BLOCKS bl ON c.id = bl.card_id AND bl.unblocked_at IS NULL
 GROUP BY b.id, b.name, bc.id, bc.name, bc.kind
-ORDER BY b.name, bc.order_position;
+ORDER BY b.name, bc.`order`;
 
 -- Cria view para cards em atraso
 CREATE OR REPLACE VIEW OVERDUE_CARDS_VIEW AS
@@ -0,0 +1,20 @@
+--liquibase formatted sql
+--changeset performance:202610191300
+--comment: flow analytics aggregates (dwell, lead and cycle time)
+
+CREATE TABLE FLOW_STATS(
+    board_id BIGINT NOT NULL,
+    column_id BIGINT NOT NULL DEFAULT 0,
+    metric VARCHAR(10) NOT NULL,
+    sample_count BIGINT NOT NULL,
+    sum_seconds BIGINT NOT NULL,
+    histogram VARCHAR(1000) NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (board_id, column_id, metric),
+    CONSTRAINT boards__flow_stats_fk FOREIGN KEY (board_id) REFERENCES BOARDS(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+INSERT INTO APPLICATION_SETTINGS (setting_key, setting_value, description)
+VALUES ('analytics.movements.hwm', '0', 'Último id de CARD_MOVEMENTS já incorporado em FLOW_STATS');
+
+--rollback DELETE FROM APPLICATION_SETTINGS WHERE setting_key = 'analytics.movements.hwm'; DROP TABLE FLOW_STATS;
@@ -0,0 +1,57 @@
+--liquibase formatted sql
+--changeset performance:202610191400
+--comment: materialized per-column board summary replacing BOARD_PRODUCTIVITY_VIEW aggregation
+
+CREATE TABLE BOARD_COLUMN_STATS(
+    column_id BIGINT PRIMARY KEY,
+    board_id BIGINT NOT NULL,
+    total_cards INT NOT NULL DEFAULT 0,
+    blocked_cards INT NOT NULL DEFAULT 0,
+    overdue_cards INT NOT NULL DEFAULT 0,
+    overdue_as_of DATE NOT NULL,
+    estimated_hours_sum DECIMAL(14,2) NOT NULL DEFAULT 0,
+    estimated_count INT NOT NULL DEFAULT 0,
+    actual_hours_sum DECIMAL(14,2) NOT NULL DEFAULT 0,
+    actual_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT boards_columns__board_column_stats_fk FOREIGN KEY (column_id) REFERENCES BOARDS_COLUMNS(id) ON DELETE CASCADE,
+    CONSTRAINT boards__board_column_stats_fk FOREIGN KEY (board_id) REFERENCES BOARDS(id) ON DELETE CASCADE,
+    INDEX idx_board_column_stats_board_id (board_id)
+) ENGINE=InnoDB;
+
+INSERT INTO BOARD_COLUMN_STATS (column_id, board_id, total_cards, blocked_cards, overdue_cards, overdue_as_of,
+                                estimated_hours_sum, estimated_count, actual_hours_sum, actual_count)
+SELECT bc.id,
+       bc.board_id,
+       COUNT(c.id),
+       COUNT(bl.card_id),
+       COUNT(CASE WHEN c.due_date < CURDATE() THEN 1 END),
+       CURDATE(),
+       COALESCE(SUM(c.estimated_hours), 0),
+       COUNT(c.estimated_hours),
+       COALESCE(SUM(c.actual_hours), 0),
+       COUNT(c.actual_hours)
+  FROM BOARDS_COLUMNS bc
+  LEFT JOIN CARDS c ON c.board_column_id = bc.id
+  LEFT JOIN (SELECT DISTINCT card_id FROM BLOCKS WHERE unblocked_at IS NULL) bl ON bl.card_id = c.id
+ GROUP BY bc.id, bc.board_id;
+
+CREATE OR REPLACE VIEW BOARD_PRODUCTIVITY_VIEW AS
+SELECT
+    b.id as board_id,
+    b.name as board_name,
+    bc.id as column_id,
+    bc.name as column_name,
+    bc.kind as column_kind,
+    s.total_cards,
+    s.blocked_cards,
+    CASE WHEN s.estimated_count > 0 THEN s.estimated_hours_sum / s.estimated_count END as avg_estimated_hours,
+    CASE WHEN s.actual_count > 0 THEN s.actual_hours_sum / s.actual_count END as avg_actual_hours,
+    s.overdue_cards,
+    s.overdue_as_of
+FROM BOARD_COLUMN_STATS s
+JOIN BOARDS_COLUMNS bc ON bc.id = s.column_id
+JOIN BOARDS b ON b.id = s.board_id
+ORDER BY b.name, bc.`order`;
+
+--rollback DROP VIEW BOARD_PRODUCTIVITY_VIEW; DROP TABLE BOARD_COLUMN_STATS;
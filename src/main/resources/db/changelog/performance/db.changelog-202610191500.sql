@@ -0,0 +1,26 @@
+--liquibase formatted sql
+--changeset performance:202610191500
+--comment: composite indexes for the hot DAO predicates (open block per card, cards of a column by id)
+
+CREATE INDEX idx_blocks_card_unblocked ON BLOCKS(card_id, unblocked_at);
+CREATE INDEX idx_cards_column_id ON CARDS(board_column_id, id);
+
+--rollback DROP INDEX idx_cards_column_id ON CARDS; DROP INDEX idx_blocks_card_unblocked ON BLOCKS;
+
+--changeset performance:202610191501
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:1 SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND LOWER(table_name) = 'blocks' AND index_name = 'idx_blocks_card_id'
+--comment: idx_blocks_card_id is a prefix of idx_blocks_card_unblocked
+
+DROP INDEX idx_blocks_card_id ON BLOCKS;
+
+--rollback CREATE INDEX idx_blocks_card_id ON BLOCKS(card_id);
+
+--changeset performance:202610191502
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:1 SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND LOWER(table_name) = 'cards' AND index_name = 'idx_cards_board_column'
+--comment: idx_cards_board_column is a prefix of idx_cards_column_id
+
+DROP INDEX idx_cards_board_column ON CARDS;
+
+--rollback CREATE INDEX idx_cards_board_column ON CARDS(board_column_id);
@@ -0,0 +1,15 @@
+--liquibase formatted sql
+--changeset performance:202610191600
+--comment: persisted board -> shard map; also allocates globally unique board ids when sharding is enabled
+
+CREATE TABLE SHARD_MAP (
+    board_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    shard VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_shard_map_shard (shard)
+) ENGINE=InnoDB;
+
+INSERT INTO SHARD_MAP (board_id, shard)
+SELECT id, 'primary' FROM BOARDS;
+
+--rollback DROP TABLE SHARD_MAP;
@@ -0,0 +1,18 @@
+--liquibase formatted sql
+--changeset performance:202610191700
+--comment: change feed keyset indexes on (updated_at, id) and tombstones for deleted rows
+
+CREATE INDEX idx_boards_updated_at ON BOARDS(updated_at, id);
+CREATE INDEX idx_boards_columns_updated_at ON BOARDS_COLUMNS(updated_at, id);
+CREATE INDEX idx_cards_updated_at ON CARDS(updated_at, id);
+
+CREATE TABLE CHANGE_TOMBSTONES(
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity ENUM('BOARD', 'COLUMN', 'CARD') NOT NULL,
+    entity_id BIGINT NOT NULL,
+    board_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_change_tombstones_deleted_at (deleted_at, id)
+) ENGINE=InnoDB;
+
+--rollback DROP TABLE CHANGE_TOMBSTONES; DROP INDEX idx_cards_updated_at ON CARDS; DROP INDEX idx_boards_columns_updated_at ON BOARDS_COLUMNS; DROP INDEX idx_boards_updated_at ON BOARDS;
@@ -0,0 +1,8 @@
+--liquibase formatted sql
+--changeset performance:202610191800
+--comment: soft delete of boards, purged in chunks by the background job
+
+ALTER TABLE BOARDS ADD COLUMN deleted_at TIMESTAMP NULL;
+CREATE INDEX idx_boards_deleted_at ON BOARDS(deleted_at);
+
+--rollback DROP INDEX idx_boards_deleted_at ON BOARDS; ALTER TABLE BOARDS DROP COLUMN deleted_at;
@@ -0,0 +1,26 @@
+--liquibase formatted sql
+--changeset performance:202610191900
+--comment: movements follow the board columns on delete, so deleting a board whose cards moved does not fail
+
+-- As chaves criadas sem nome pela migração original têm nome gerado pelo MySQL: procura pelo nome da coluna
+SET @fk = (SELECT CONSTRAINT_NAME FROM information_schema.KEY_COLUMN_USAGE
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'CARD_MOVEMENTS'
+              AND COLUMN_NAME = 'from_column_id' AND REFERENCED_TABLE_NAME IS NOT NULL);
+SET @sql = CONCAT('ALTER TABLE CARD_MOVEMENTS DROP FOREIGN KEY ', @fk);
+PREPARE drop_fk FROM @sql;
+EXECUTE drop_fk;
+DEALLOCATE PREPARE drop_fk;
+
+SET @fk = (SELECT CONSTRAINT_NAME FROM information_schema.KEY_COLUMN_USAGE
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'CARD_MOVEMENTS'
+              AND COLUMN_NAME = 'to_column_id' AND REFERENCED_TABLE_NAME IS NOT NULL);
+SET @sql = CONCAT('ALTER TABLE CARD_MOVEMENTS DROP FOREIGN KEY ', @fk);
+PREPARE drop_fk FROM @sql;
+EXECUTE drop_fk;
+DEALLOCATE PREPARE drop_fk;
+
+ALTER TABLE CARD_MOVEMENTS
+    ADD CONSTRAINT boards_columns__card_movements_from_fk FOREIGN KEY (from_column_id) REFERENCES BOARDS_COLUMNS(id) ON DELETE CASCADE,
+    ADD CONSTRAINT boards_columns__card_movements_to_fk FOREIGN KEY (to_column_id) REFERENCES BOARDS_COLUMNS(id) ON DELETE CASCADE;
+
+--rollback ALTER TABLE CARD_MOVEMENTS DROP FOREIGN KEY boards_columns__card_movements_from_fk, DROP FOREIGN KEY boards_columns__card_movements_to_fk; ALTER TABLE CARD_MOVEMENTS ADD CONSTRAINT boards_columns__card_movements_from_fk FOREIGN KEY (from_column_id) REFERENCES BOARDS_COLUMNS(id), ADD CONSTRAINT boards_columns__card_movements_to_fk FOREIGN KEY (to_column_id) REFERENCES BOARDS_COLUMNS(id);
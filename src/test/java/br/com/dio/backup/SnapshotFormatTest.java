@@ -0,0 +1,129 @@
+package br.com.dio.backup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static br.com.dio.backup.SnapshotReader.RecordType.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes unitários para a gravação e leitura de snapshots binários
+ */
+class SnapshotFormatTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldReadBackEveryRecordType() throws IOException {
+        // Given
+        var file = dir.resolve("snapshot.bin");
+        var createdAt = Timestamp.valueOf("2024-03-01 10:15:30");
+        try (var writer = new SnapshotWriter(file)) {
+            writer.writeBoard(1, "Board ção");
+            writer.writeColumn(2, 1, "A fazer", 0, "INITIAL");
+            writer.writeCard(3, 2, "Título", null, createdAt, "HIGH",
+                    Date.valueOf(LocalDate.of(2024, 4, 1)), new BigDecimal("2.50"), null);
+            writer.writeBlock(4, 3, createdAt, "Motivo", null, null);
+        }
+
+        // When & Then
+        try (var reader = new SnapshotReader(file)) {
+            assertThat(reader.next()).isTrue();
+            assertThat(reader.type()).isEqualTo(BOARD);
+            assertThat(reader.readLong()).isEqualTo(1);
+            assertThat(reader.readString()).isEqualTo("Board ção");
+
+            assertThat(reader.next()).isTrue();
+            assertThat(reader.type()).isEqualTo(COLUMN);
+            assertThat(reader.readLong()).isEqualTo(2);
+            assertThat(reader.readLong()).isEqualTo(1);
+            assertThat(reader.readString()).isEqualTo("A fazer");
+            assertThat(reader.readInt()).isZero();
+            assertThat(reader.readString()).isEqualTo("INITIAL");
+
+            assertThat(reader.next()).isTrue();
+            assertThat(reader.type()).isEqualTo(CARD);
+            assertThat(reader.readLong()).isEqualTo(3);
+            assertThat(reader.readLong()).isEqualTo(2);
+            assertThat(reader.readString()).isEqualTo("Título");
+            assertThat(reader.readString()).isNull();
+            assertThat(reader.readTimestamp()).isEqualTo(createdAt);
+            assertThat(reader.readString()).isEqualTo("HIGH");
+            assertThat(reader.readDate()).isEqualTo(Date.valueOf(LocalDate.of(2024, 4, 1)));
+            assertThat(reader.readDecimal()).isEqualByComparingTo("2.50");
+            assertThat(reader.readDecimal()).isNull();
+
+            // Campos não lidos do registro são pulados
+            assertThat(reader.next()).isTrue();
+            assertThat(reader.type()).isEqualTo(BLOCK);
+            assertThat(reader.next()).isFalse();
+            assertThat(reader.getCards()).isEqualTo(1);
+            assertThat(reader.getBlocks()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldHandleRecordsLargerThanTheChannelBuffer() throws IOException {
+        // Given
+        var file = dir.resolve("large.bin");
+        var huge = "x".repeat(3 * 1024 * 1024);
+        try (var writer = new SnapshotWriter(file)) {
+            writer.writeBoard(1, "antes");
+            writer.writeBoard(2, huge);
+            writer.writeBoard(3, "depois");
+        }
+
+        // When & Then
+        try (var reader = new SnapshotReader(file)) {
+            reader.next();
+            reader.next();
+            reader.readLong();
+            assertThat(reader.readString()).hasSize(huge.length());
+            reader.next();
+            reader.readLong();
+            assertThat(reader.readString()).isEqualTo("depois");
+            assertThat(reader.next()).isFalse();
+        }
+    }
+
+    @Test
+    void shouldRejectTruncatedSnapshots() throws IOException {
+        // Given
+        var file = dir.resolve("truncated.bin");
+        try (var writer = new SnapshotWriter(file)) {
+            writer.writeBoard(1, "Board");
+        }
+        var bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - SnapshotFormat.RECORD_HEADER_SIZE));
+
+        // When & Then
+        try (var reader = new SnapshotReader(file)) {
+            assertThat(reader.next()).isTrue();
+            assertThatThrownBy(reader::next).isInstanceOf(IOException.class);
+        }
+    }
+
+    @Test
+    void shouldRejectFilesThatAreNotSnapshots() throws IOException {
+        // Given
+        var file = dir.resolve("other.bin");
+        Files.write(file, ByteBuffer.allocate(32).putInt(0xCAFEBABE).array());
+
+        // When & Then
+        assertThatThrownBy(() -> new SnapshotReader(file))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("não é um snapshot");
+    }
+
+}
@@ -0,0 +1,123 @@
+package br.com.dio.batch;
+
+import br.com.dio.loadtest.EmbeddedDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes da execução de scripts de lote sobre o schema do harness de carga em um banco H2 em memória
+ */
+class BatchRunnerTest {
+
+    private EmbeddedDatabase database;
+    private Connection connection;
+    private ByteArrayOutputStream output;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        database = new EmbeddedDatabase("jdbc:h2:mem:batch-runner-%d;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+                .formatted(System.identityHashCode(this)));
+        database.createSchema();
+        connection = database.getConnection();
+        output = new ByteArrayOutputStream();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void shouldCommitEveryNCommandsAndAtTheEnd() throws Exception {
+        var summary = run(2, false, """
+                create-board "Board 1" Entrada Pronto Cancelado
+                create-card $board "Card um" "Primeiro card"
+                create-card $board "Card dois" "Segundo card"
+                """);
+
+        assertThat(summary.getSucceeded()).isEqualTo(3);
+        assertThat(summary.getCommits()).isEqualTo(2);
+        assertThat(committed("SELECT title FROM CARDS ORDER BY id")).containsExactly("Card um", "Card dois");
+    }
+
+    @Test
+    void shouldUndoOnlyTheFailedCommandAndKeepGoing() throws Exception {
+        var summary = run(10, false, """
+                create-board "Board 1" Entrada Pronto Cancelado
+                comando-inexistente 1
+                move-card $board 999
+                create-card $board "Card um" "Primeiro card"
+                """);
+
+        assertThat(summary.getSucceeded()).isEqualTo(2);
+        assertThat(summary.getFailed()).isEqualTo(2);
+        assertThat(summary.getCommits()).isEqualTo(1);
+        assertThat(output()).contains("Comando desconhecido: comando-inexistente");
+        assertThat(committed("SELECT name FROM BOARDS")).containsExactly("Board 1");
+        assertThat(committed("SELECT title FROM CARDS")).containsExactly("Card um");
+    }
+
+    @Test
+    void shouldCommitWhatRanBeforeStoppingOnError() throws Exception {
+        var summary = run(10, true, """
+                create-board "Board 1" Entrada Pronto Cancelado
+                move-card $board 999
+                create-board "Board 2" Entrada Pronto Cancelado
+                """);
+
+        assertThat(summary.getSucceeded()).isEqualTo(1);
+        assertThat(summary.getFailed()).isEqualTo(1);
+        assertThat(output()).contains("interrompida na linha 2");
+        assertThat(committed("SELECT name FROM BOARDS")).containsExactly("Board 1");
+    }
+
+    @Test
+    void shouldStopAtMalformedLineAndReportSummary() throws Exception {
+        var summary = run(10, false, """
+                create-board "Board 1" Entrada Pronto Cancelado
+                create-card $board "Sem fechar aspas
+                create-board "Board 2" Entrada Pronto Cancelado
+                """);
+
+        assertThat(summary.getSucceeded()).isEqualTo(1);
+        assertThat(summary.getFailed()).isEqualTo(1);
+        assertThat(output()).contains("Aspas não fechadas na linha 2").contains("RESUMO DO LOTE");
+        assertThat(committed("SELECT name FROM BOARDS")).containsExactly("Board 1");
+    }
+
+    private BatchRunner.BatchSummary run(final int commitEvery, final boolean stopOnError, final String script) throws Exception {
+        var out = new PrintStream(output, true, StandardCharsets.UTF_8);
+        return new BatchRunner(commitEvery, stopOnError, out).run(new StringReader(script), connection);
+    }
+
+    private String output() {
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Lê por outra conexão, que só enxerga o que foi efetivado
+     */
+    private List<String> committed(final String sql) throws SQLException {
+        try (var other = database.getConnection(); var statement = other.createStatement();
+             var resultSet = statement.executeQuery(sql)) {
+            List<String> values = new ArrayList<>();
+            while (resultSet.next()) {
+                values.add(resultSet.getString(1));
+            }
+            return values;
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+package br.com.dio.batch;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes unitários da leitura de scripts de lote
+ */
+class BatchScriptParserTest {
+
+    @Test
+    void shouldSplitArgumentsKeepingQuotedSpacesAndEscapes() {
+        var tokens = BatchScriptParser.tokenize("create-card 1 \"Título com espaço\" \"diz \\\"oi\\\"\"  \"\"", 1);
+
+        assertThat(tokens).containsExactly("create-card", "1", "Título com espaço", "diz \"oi\"", "");
+    }
+
+    @Test
+    void shouldIgnoreCommentsOutsideQuotes() {
+        assertThat(BatchScriptParser.tokenize("   # só comentário", 1)).isEmpty();
+        assertThat(BatchScriptParser.tokenize("move-card 1 2 # avança", 1)).containsExactly("move-card", "1", "2");
+        assertThat(BatchScriptParser.tokenize("block-card 1 2 \"motivo #3\"", 1)).containsExactly("block-card", "1", "2", "motivo #3");
+    }
+
+    @Test
+    void shouldRejectUnclosedQuotesWithLineNumber() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> BatchScriptParser.tokenize("create-card 1 \"sem fim", 7))
+                .withMessageContaining("linha 7");
+    }
+
+    @Test
+    void shouldDeliverCommandsWithLineNumbersAndLowerCaseNames() throws IOException {
+        List<BatchCommand> commands = new ArrayList<>();
+
+        BatchScriptParser.parse(new StringReader("""
+                # cabeçalho
+
+                CREATE-BOARD Projeto A B C
+                comando-inexistente x
+                commit
+                """), commands::add);
+
+        assertThat(commands)
+                .extracting(BatchCommand::line, BatchCommand::name, BatchCommand::args)
+                .containsExactly(
+                        tuple(3, "create-board", List.of("Projeto", "A", "B", "C")),
+                        tuple(4, "comando-inexistente", List.of("x")),
+                        tuple(5, "commit", List.of()));
+    }
+
+}
@@ -0,0 +1,179 @@
+package br.com.dio.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static br.com.dio.event.DomainEventType.BOARD_CREATED;
+import static br.com.dio.event.DomainEventType.CARD_CREATED;
+import static br.com.dio.event.DomainEventType.CARD_MOVED;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes do barramento de eventos em buffer circular
+ */
+class DomainEventBusTest {
+
+    private DomainEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        bus = new DomainEventBus(5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.close();
+    }
+
+    @Test
+    void shouldRoundCapacityUpToPowerOfTwo() {
+        assertThat(bus.getCapacity()).isEqualTo(8);
+        assertThatThrownBy(() -> new DomainEventBus(1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldDeliverEveryEventInOrderToEachSubscription() throws InterruptedException {
+        var first = new Recorder(6);
+        var second = new Recorder(6);
+        bus.subscribe("first", first);
+        bus.subscribe("second", second);
+
+        bus.publish(BOARD_CREATED, 1L, null, null, null);
+        for (var card = 1L; card <= 5; card++) {
+            bus.publish(CARD_MOVED, 1L, card, 10L, 11L);
+        }
+
+        assertThat(first.await()).isTrue();
+        assertThat(second.await()).isTrue();
+        assertThat(first.sequences).containsExactly(0L, 1L, 2L, 3L, 4L, 5L);
+        assertThat(second.sequences).isEqualTo(first.sequences);
+        assertThat(first.descriptions).startsWith("BOARD_CREATED(board=1, card=0, 0 -> 0)")
+                .endsWith("CARD_MOVED(board=1, card=5, 10 -> 11)");
+    }
+
+    @Test
+    void shouldOnlyDeliverEventsPublishedAfterSubscribing() throws InterruptedException {
+        bus.publish(CARD_CREATED, 1L, 1L, null, 10L);
+        var recorder = new Recorder(1);
+        bus.subscribe("late", recorder);
+
+        bus.publish(CARD_CREATED, 1L, 2L, null, 10L);
+
+        assertThat(recorder.await()).isTrue();
+        assertThat(recorder.sequences).containsExactly(1L);
+    }
+
+    @Test
+    void shouldReportOverrunWhenSubscriptionFallsAFullLapBehind() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        var holding = new CountDownLatch(1);
+        var missed = new AtomicLong();
+        var delivered = new CountDownLatch(1);
+        List<Long> sequences = Collections.synchronizedList(new ArrayList<>());
+        bus.subscribe("slow", new DomainEventHandler() {
+            @Override
+            public void onEvent(final DomainEvent event, final long sequence, final boolean endOfBatch) {
+                sequences.add(sequence);
+                if (sequence == 0) {
+                    holding.countDown();
+                    await(release);
+                }
+                if (sequence == 19) {
+                    delivered.countDown();
+                }
+            }
+
+            @Override
+            public void onOverrun(final long count) {
+                missed.addAndGet(count);
+            }
+        });
+
+        bus.publish(CARD_CREATED, 1L, 1L, null, 10L);
+        assertThat(holding.await(2, TimeUnit.SECONDS)).isTrue();
+        for (var card = 2L; card <= 20; card++) {
+            bus.publish(CARD_CREATED, 1L, card, null, 10L);
+        }
+        release.countDown();
+
+        assertThat(delivered.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(missed.get()).isEqualTo(11);
+        assertThat(sequences).startsWith(0L, 12L).endsWith(19L).hasSize(9);
+    }
+
+    @Test
+    void shouldKeepDeliveringAfterHandlerFailure() throws InterruptedException {
+        var recorder = new Recorder(2);
+        bus.subscribe("failing", (event, sequence, endOfBatch) -> {
+            if (event.getCardId() == 1) {
+                throw new IllegalStateException("falha simulada");
+            }
+            recorder.onEvent(event, sequence, endOfBatch);
+        });
+
+        for (var card = 1L; card <= 3; card++) {
+            bus.publish(CARD_CREATED, 1L, card, null, 10L);
+        }
+
+        assertThat(recorder.await()).isTrue();
+        assertThat(recorder.sequences).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void shouldCountEventsByType() throws InterruptedException {
+        var counters = new DomainEventCounters();
+        var subscription = bus.subscribe("counters", counters);
+
+        bus.publish(CARD_CREATED, 1L, 1L, null, 10L);
+        bus.publish(CARD_CREATED, 1L, 2L, null, 10L);
+        bus.publish(CARD_MOVED, 1L, 1L, 10L, 11L);
+        while (subscription.getLag() > 0) {
+            Thread.sleep(5);
+        }
+
+        assertThat(counters.snapshot())
+                .containsEntry(CARD_CREATED, 2L)
+                .containsEntry(CARD_MOVED, 1L)
+                .containsEntry(BOARD_CREATED, 0L);
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Recorder implements DomainEventHandler {
+
+        private final List<Long> sequences = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> descriptions = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch done;
+
+        Recorder(final int expected) {
+            this.done = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onEvent(final DomainEvent event, final long sequence, final boolean endOfBatch) {
+            sequences.add(sequence);
+            descriptions.add(event.toString());
+            done.countDown();
+        }
+
+        boolean await() throws InterruptedException {
+            return done.await(2, TimeUnit.SECONDS);
+        }
+
+    }
+
+}
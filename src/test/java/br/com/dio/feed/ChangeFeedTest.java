@@ -0,0 +1,110 @@
+package br.com.dio.feed;
+
+import br.com.dio.dto.EntityChangeDTO;
+import br.com.dio.persistence.config.ConnectionPool;
+import br.com.dio.persistence.config.ReplicaRouter;
+import br.com.dio.persistence.config.ReplicaSelection;
+import br.com.dio.persistence.config.ShardRouter;
+import br.com.dio.persistence.dao.ChangeFeedDAO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static br.com.dio.persistence.entity.ChangedEntityEnum.BOARD;
+import static br.com.dio.persistence.entity.ChangedEntityEnum.CARD;
+import static br.com.dio.persistence.entity.ChangedEntityEnum.COLUMN;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes do feed de mudanças sobre um banco H2 em memória, sem folga de segurança
+ */
+class ChangeFeedTest {
+
+    private ConnectionPool pool;
+    private ChangeFeed feed;
+    private List<List<EntityChangeDTO>> batches;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var url = "jdbc:h2:mem:change-feed-%d;DB_CLOSE_DELAY=-1".formatted(System.identityHashCode(this));
+        pool = new ConnectionPool("primary", url, "sa", "", 2, 1_000);
+        execute("""
+                CREATE TABLE BOARDS (id BIGINT PRIMARY KEY, name VARCHAR(50),
+                    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP);
+                CREATE TABLE BOARDS_COLUMNS (id BIGINT PRIMARY KEY, board_id BIGINT,
+                    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP);
+                CREATE TABLE CARDS (id BIGINT PRIMARY KEY, board_column_id BIGINT,
+                    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP);
+                CREATE TABLE CHANGE_TOMBSTONES (id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    entity ENUM('BOARD', 'COLUMN', 'CARD') NOT NULL, entity_id BIGINT NOT NULL,
+                    board_id BIGINT NOT NULL, deleted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP);
+                INSERT INTO BOARDS (id, name) VALUES (1, 'Antigo');
+                INSERT INTO BOARDS_COLUMNS (id, board_id) VALUES (10, 1), (11, 1);
+                """);
+        var router = new ShardRouter(new ReplicaRouter(pool, List.of(), ReplicaSelection.ROUND_ROBIN, 0), Map.of(), 1_000);
+        feed = new ChangeFeed(router, Duration.ofSeconds(1), Duration.ZERO, 2);
+        batches = new ArrayList<>();
+        feed.subscribe("test", batches::add);
+        feed.initialize();
+        Thread.sleep(10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.close();
+        pool.close();
+    }
+
+    @Test
+    void shouldDeliverOnlyRowsChangedAfterStartInKeysetPages() throws Exception {
+        execute("""
+                INSERT INTO BOARDS (id, name) VALUES (2, 'Novo');
+                INSERT INTO BOARDS_COLUMNS (id, board_id) VALUES (20, 2), (21, 2);
+                INSERT INTO CARDS (id, board_column_id) VALUES (3, 20), (1, 20), (2, 21);
+                """);
+        Thread.sleep(10);
+
+        feed.poll();
+
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(2));
+        assertThat(batches.stream().flatMap(List::stream))
+                .extracting(EntityChangeDTO::entity, EntityChangeDTO::id, EntityChangeDTO::boardId)
+                .containsExactly(tuple(BOARD, 2L, 2L), tuple(COLUMN, 20L, 2L), tuple(COLUMN, 21L, 2L),
+                        tuple(CARD, 1L, 2L), tuple(CARD, 2L, 2L), tuple(CARD, 3L, 2L));
+    }
+
+    @Test
+    void shouldResumeFromHighWaterMarkAndDeliverTombstones() throws Exception {
+        execute("INSERT INTO CARDS (id, board_column_id) VALUES (1, 10), (2, 10);");
+        Thread.sleep(10);
+        feed.poll();
+        batches.clear();
+
+        execute("UPDATE CARDS SET board_column_id = 11 WHERE id = 2;");
+        try (var connection = pool.lease()) {
+            new ChangeFeedDAO(connection).insertTombstone(BOARD, 1, 1);
+            connection.commit();
+        }
+        Thread.sleep(10);
+        feed.poll();
+        feed.poll();
+
+        assertThat(batches.stream().flatMap(List::stream))
+                .extracting(EntityChangeDTO::entity, EntityChangeDTO::id, EntityChangeDTO::deleted)
+                .containsExactly(tuple(CARD, 2L, false), tuple(BOARD, 1L, true));
+    }
+
+    private void execute(final String sql) throws SQLException {
+        try (var connection = pool.lease(); var statement = connection.createStatement()) {
+            statement.execute(sql);
+            connection.commit();
+        }
+    }
+
+}
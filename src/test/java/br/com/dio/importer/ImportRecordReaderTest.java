@@ -0,0 +1,99 @@
+package br.com.dio.importer;
+
+import br.com.dio.dto.CardExportDTO;
+import br.com.dio.export.ExportFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.PENDING;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes unitários para a leitura de arquivos de importação
+ */
+class ImportRecordReaderTest {
+
+    private static final CardExportDTO CARD = new CardExportDTO(
+            7L, "Título, com vírgula", "Linha 1\nLinha \"2\"", 1L, "Board", 3L, "Em andamento", PENDING,
+            true, "Aguardando", OffsetDateTime.of(2024, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC));
+
+    @Test
+    void shouldReadBackCsvProducedByExport() throws IOException {
+        // When
+        var records = roundTrip(ExportFormat.CSV);
+
+        // Then
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).number()).isEqualTo(1);
+        assertThat(records.get(0).field("title")).isEqualTo("Título, com vírgula");
+        assertThat(records.get(0).field("description")).isEqualTo("Linha 1\nLinha \"2\"");
+        assertThat(records.get(0).field("column_name")).isEqualTo("Em andamento");
+        assertThat(records.get(1).number()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReadBackJsonProducedByExport() throws IOException {
+        // When
+        var records = roundTrip(ExportFormat.JSON);
+
+        // Then
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).field("title")).isEqualTo("Título, com vírgula");
+        assertThat(records.get(0).field("description")).isEqualTo("Linha 1\nLinha \"2\"");
+        assertThat(records.get(0).field("blocked")).isEqualTo("true");
+    }
+
+    @Test
+    void shouldTreatEmptyCsvFieldsAsMissing() throws IOException {
+        // Given
+        var csv = "title,description,column_name\r\nCard,Descrição,\r\n\r\n";
+
+        // When
+        var records = readAll(ExportFormat.CSV, csv.getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        assertThat(records).hasSize(1);
+        assertThat(records.get(0).field("description")).isEqualTo("Descrição");
+        assertThat(records.get(0).field("column_name")).isNull();
+    }
+
+    @Test
+    void shouldRejectUnterminatedQuotes() {
+        // Given
+        var csv = "title,description\n\"Card,sem fim\n";
+
+        // When & Then
+        assertThatThrownBy(() -> readAll(ExportFormat.CSV, csv.getBytes(StandardCharsets.UTF_8)))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("Aspas");
+    }
+
+    private static List<ImportRecord> roundTrip(final ExportFormat format) throws IOException {
+        var out = new ByteArrayOutputStream();
+        try (var writer = format.open(out)) {
+            writer.write(CARD);
+            writer.write(CARD);
+        }
+        return readAll(format, out.toByteArray());
+    }
+
+    private static List<ImportRecord> readAll(final ExportFormat format, final byte[] content) throws IOException {
+        List<ImportRecord> records = new ArrayList<>();
+        try (var reader = ImportRecordReader.open(format, new ByteArrayInputStream(content))) {
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+}
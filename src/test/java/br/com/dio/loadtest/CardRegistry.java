@@ -0,0 +1,69 @@
+package br.com.dio.loadtest;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * Ids de cards conhecidos por board, compartilhados entre os usuários virtuais
+ * para que movimentações e bloqueios disputem os mesmos registros
+ */
+public class CardRegistry {
+
+    private final Map<Long, Ids> idsByBoard = new ConcurrentHashMap<>();
+
+    public void load(final Connection connection, final List<Long> boardIds) throws SQLException {
+        var sql = """
+                SELECT c.id
+                  FROM CARDS c
+                 INNER JOIN BOARDS_COLUMNS bc
+                    ON bc.id = c.board_column_id
+                 WHERE bc.board_id = ?
+                """;
+        for (var boardId : boardIds) {
+            try (var statement = connection.prepareStatement(sql)) {
+                statement.setLong(1, boardId);
+                try (var resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        add(boardId, resultSet.getLong(1));
+                    }
+                }
+            }
+        }
+    }
+
+    public void add(final Long boardId, final long cardId) {
+        idsByBoard.computeIfAbsent(boardId, id -> new Ids()).add(cardId);
+    }
+
+    /**
+     * Retorna um card aleatório do board ou -1 se o board ainda não possui cards
+     */
+    public long random(final Long boardId, final RandomGenerator random) {
+        var ids = idsByBoard.get(boardId);
+        return ids == null ? -1 : ids.random(random);
+    }
+
+    private static final class Ids {
+
+        private long[] values = new long[256];
+        private int size;
+
+        synchronized void add(final long id) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = id;
+        }
+
+        synchronized long random(final RandomGenerator random) {
+            return size == 0 ? -1 : values[random.nextInt(size)];
+        }
+
+    }
+
+}
@@ -0,0 +1,115 @@
+package br.com.dio.loadtest;
+
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.service.BoardService;
+import br.com.dio.service.CardService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.PENDING;
+
+/**
+ * Banco em memória compatível com MySQL (H2 em modo MySQL) usado pelo teste de carga
+ */
+public class EmbeddedDatabase {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedDatabase.class);
+
+    private static final String SCHEMA_RESOURCE = "/loadtest/schema-h2.sql";
+
+    private final String url;
+
+    public EmbeddedDatabase(final String url) {
+        this.url = url;
+    }
+
+    public Connection getConnection() throws SQLException {
+        var connection = DriverManager.getConnection(url, "sa", "");
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    public void createSchema() throws SQLException, IOException {
+        String script;
+        try (var is = getClass().getResourceAsStream(SCHEMA_RESOURCE)) {
+            if (is == null) {
+                throw new IOException("Script de schema não encontrado: " + SCHEMA_RESOURCE);
+            }
+            script = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (var connection = getConnection(); var statement = connection.createStatement()) {
+            for (var sql : script.split(";")) {
+                var trimmed = stripComments(sql);
+                if (!trimmed.isEmpty()) {
+                    statement.execute(trimmed);
+                }
+            }
+            connection.commit();
+        }
+        log.info("Schema do teste de carga criado em {}", url);
+    }
+
+    /**
+     * Cria os boards iniciais (inicial, duas pendentes, final e cancelamento) e popula cada um com cards
+     */
+    public List<Long> seed(final int boards, final int cardsPerBoard) throws SQLException {
+        List<Long> boardIds = new ArrayList<>();
+        try (var connection = getConnection()) {
+            var boardService = new BoardService(connection);
+            var cardService = new CardService(connection);
+            for (var b = 0; b < boards; b++) {
+                var board = new BoardEntity();
+                board.setName("Board de carga " + (b + 1));
+                board.setBoardColumns(new ArrayList<>(List.of(
+                        column("A fazer", INITIAL, 0),
+                        column("Em andamento", PENDING, 1),
+                        column("Revisão", PENDING, 2),
+                        column("Concluído", FINAL, 3),
+                        column("Cancelado", CANCEL, 4))));
+                boardService.insert(board);
+                boardIds.add(board.getId());
+                for (var c = 0; c < cardsPerBoard; c++) {
+                    var card = new CardEntity();
+                    card.setTitle("Card inicial " + c);
+                    card.setDescription("Card criado na carga inicial do board " + board.getId());
+                    card.setBoardColumn(board.getInitialColumn());
+                    cardService.create(card);
+                }
+            }
+        }
+        return boardIds;
+    }
+
+    private static BoardColumnEntity column(final String name, final BoardColumnKindEnum kind, final int order) {
+        var column = new BoardColumnEntity();
+        column.setName(name);
+        column.setKind(kind);
+        column.setOrder(order);
+        return column;
+    }
+
+    private static String stripComments(final String sql) {
+        var builder = new StringBuilder();
+        for (var line : sql.split("\n")) {
+            if (!line.trim().startsWith("--")) {
+                builder.append(line).append('\n');
+            }
+        }
+        return builder.toString().trim();
+    }
+
+}
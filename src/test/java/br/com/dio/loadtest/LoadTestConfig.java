@@ -0,0 +1,56 @@
+package br.com.dio.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Parâmetros do teste de carga, lidos da linha de comando no formato {@code --chave=valor}
+ */
+public record LoadTestConfig(String url,
+                             int users,
+                             Duration duration,
+                             Duration warmup,
+                             int boards,
+                             int seedCardsPerBoard,
+                             OperationMix mix,
+                             long randomSeed) {
+
+    public static final String DEFAULT_URL = "jdbc:h2:mem:board_load;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    public static final String DEFAULT_MIX = "create:30,move:25,block:10,search:25,report:10";
+
+    public LoadTestConfig {
+        if (users <= 0 || boards <= 0) {
+            throw new IllegalArgumentException("users e boards devem ser maiores que zero");
+        }
+    }
+
+    public static LoadTestConfig parse(final String[] args) {
+        var url = DEFAULT_URL;
+        var users = 8;
+        var duration = Duration.ofSeconds(30);
+        var warmup = Duration.ofSeconds(5);
+        var boards = 4;
+        var seedCards = 100;
+        var mix = OperationMix.parse(DEFAULT_MIX);
+        var seed = 42L;
+        for (var arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg + " (use --chave=valor)");
+            }
+            var key = arg.substring(2, arg.indexOf('='));
+            var value = arg.substring(arg.indexOf('=') + 1);
+            switch (key) {
+                case "url" -> url = value;
+                case "users" -> users = Integer.parseInt(value);
+                case "duration" -> duration = Duration.ofSeconds(Long.parseLong(value));
+                case "warmup" -> warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "boards" -> boards = Integer.parseInt(value);
+                case "seed-cards" -> seedCards = Integer.parseInt(value);
+                case "mix" -> mix = OperationMix.parse(value);
+                case "seed" -> seed = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Parâmetro desconhecido: " + key);
+            }
+        }
+        return new LoadTestConfig(url, users, duration, warmup, boards, seedCards, mix, seed);
+    }
+
+}
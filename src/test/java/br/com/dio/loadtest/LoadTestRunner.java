@@ -0,0 +1,92 @@
+package br.com.dio.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Harness de carga ponta a ponta: N usuários concorrentes executando o mix configurado
+ * contra os serviços reais sobre um banco H2 em modo MySQL
+ *
+ * Execução: {@code ./gradlew loadTest --args="--users=16 --duration=60 --mix=create:40,move:30,search:30"}
+ */
+public class LoadTestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    public static void main(String[] args) throws Exception {
+        var config = LoadTestConfig.parse(args);
+        log.info("=== TESTE DE CARGA: {} usuários, {}s (+{}s de aquecimento), mix {} ===",
+                config.users(), config.duration().toSeconds(), config.warmup().toSeconds(), config.mix());
+
+        var database = new EmbeddedDatabase(config.url());
+        database.createSchema();
+        var boardIds = database.seed(config.boards(), config.seedCardsPerBoard());
+        var registry = new CardRegistry();
+        try (var connection = database.getConnection()) {
+            registry.load(connection, boardIds);
+        }
+
+        var measureFrom = System.nanoTime() + config.warmup().toNanos();
+        var deadline = measureFrom + config.duration().toNanos();
+        List<VirtualUser> users = new ArrayList<>();
+        for (var i = 0; i < config.users(); i++) {
+            users.add(new VirtualUser(i, database, boardIds, registry, config.mix(),
+                    config.randomSeed() + i, measureFrom, deadline));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(config.users());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            users.forEach(user -> futures.add(executor.submit(user)));
+            for (var future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        printReport(config, merge(users));
+    }
+
+    private static Map<OperationType, OperationStats> merge(final List<VirtualUser> users) {
+        Map<OperationType, OperationStats> merged = new EnumMap<>(OperationType.class);
+        for (var user : users) {
+            user.getStats().forEach((type, stats) ->
+                    merged.computeIfAbsent(type, t -> new OperationStats()).merge(stats));
+        }
+        return merged;
+    }
+
+    private static void printReport(final LoadTestConfig config, final Map<OperationType, OperationStats> results) {
+        var seconds = config.duration().toMillis() / 1000.0;
+        var total = new OperationStats();
+        results.values().forEach(total::merge);
+
+        System.out.println("\n=== RESULTADO DO TESTE DE CARGA ===");
+        System.out.printf("Usuários: %d | Duração medida: %.0fs | Mix: %s%n", config.users(), seconds, config.mix());
+        System.out.printf("%-8s %10s %10s %9s %9s %9s %9s %9s %8s %8s%n",
+                "Operação", "Total", "Ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Máx ms", "Erro %", "Confl %");
+        results.forEach((type, stats) -> printLine(type.name(), stats, seconds));
+        printLine("TOTAL", total, seconds);
+        System.out.println("===================================\n");
+    }
+
+    private static void printLine(final String name, final OperationStats stats, final double seconds) {
+        if (stats.count() == 0) {
+            return;
+        }
+        var p = stats.percentilesMillis(50, 90, 99, 99.9, 100);
+        System.out.printf("%-8s %10d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7.2f%% %7.2f%%%n",
+                name, stats.count(), stats.count() / seconds, p[0], p[1], p[2], p[3], p[4],
+                100.0 * stats.errors() / stats.count(), 100.0 * stats.conflicts() / stats.count());
+    }
+
+}
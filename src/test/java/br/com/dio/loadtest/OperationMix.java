@@ -0,0 +1,75 @@
+package br.com.dio.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Distribuição ponderada das operações executadas por cada usuário virtual
+ * Formato textual: {@code create:30,move:25,block:10,search:25,report:10}
+ */
+public class OperationMix {
+
+    private final OperationType[] types;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private OperationMix(final Map<OperationType, Integer> weights) {
+        this.types = new OperationType[weights.size()];
+        this.cumulativeWeights = new int[weights.size()];
+        var i = 0;
+        var sum = 0;
+        for (var entry : weights.entrySet()) {
+            sum += entry.getValue();
+            types[i] = entry.getKey();
+            cumulativeWeights[i++] = sum;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("O mix de operações precisa de pelo menos um peso positivo");
+        }
+        this.totalWeight = sum;
+    }
+
+    public static OperationMix parse(final String spec) {
+        Map<OperationType, Integer> weights = new EnumMap<>(OperationType.class);
+        for (var part : spec.split(",")) {
+            var pair = part.split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Entrada inválida no mix de operações: " + part);
+            }
+            var weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Peso negativo no mix de operações: " + part);
+            }
+            if (weight > 0) {
+                weights.merge(OperationType.findByName(pair[0]), weight, Integer::sum);
+            }
+        }
+        return new OperationMix(weights);
+    }
+
+    public OperationType next(final RandomGenerator random) {
+        var value = random.nextInt(totalWeight);
+        for (var i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return types[i];
+            }
+        }
+        return types[types.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        var builder = new StringBuilder();
+        var previous = 0;
+        for (var i = 0; i < types.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(types[i].name().toLowerCase()).append(':').append(cumulativeWeights[i] - previous);
+            previous = cumulativeWeights[i];
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,78 @@
+package br.com.dio.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latências e contadores de um tipo de operação
+ * Cada usuário virtual mantém as suas instâncias (sem sincronização) e elas são mescladas ao final
+ */
+public class OperationStats {
+
+    private long[] latenciesNanos = new long[1024];
+    private int size;
+    private long errors;
+    private long conflicts;
+
+    public void recordSuccess(final long latencyNanos) {
+        append(latencyNanos);
+    }
+
+    public void recordConflict(final long latencyNanos) {
+        append(latencyNanos);
+        conflicts++;
+    }
+
+    public void recordError(final long latencyNanos) {
+        append(latencyNanos);
+        errors++;
+    }
+
+    public void merge(final OperationStats other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.latenciesNanos, 0, latenciesNanos, size, other.size);
+        size += other.size;
+        errors += other.errors;
+        conflicts += other.conflicts;
+    }
+
+    public long count() {
+        return size;
+    }
+
+    public long errors() {
+        return errors;
+    }
+
+    public long conflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Retorna os percentis solicitados (0-100) em milissegundos; ordena as latências uma única vez
+     */
+    public double[] percentilesMillis(final double... percentiles) {
+        var result = new double[percentiles.length];
+        if (size == 0) {
+            return result;
+        }
+        var sorted = Arrays.copyOf(latenciesNanos, size);
+        Arrays.sort(sorted);
+        for (var i = 0; i < percentiles.length; i++) {
+            var rank = (int) Math.ceil(percentiles[i] / 100.0 * size) - 1;
+            result[i] = sorted[Math.max(0, Math.min(rank, size - 1))] / 1_000_000.0;
+        }
+        return result;
+    }
+
+    private void append(final long latencyNanos) {
+        ensureCapacity(size + 1);
+        latenciesNanos[size++] = latencyNanos;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, Math.max(capacity, latenciesNanos.length * 2));
+        }
+    }
+
+}
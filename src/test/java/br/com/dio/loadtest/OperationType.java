@@ -0,0 +1,14 @@
+package br.com.dio.loadtest;
+
+/**
+ * Operações simuladas pelos usuários virtuais do teste de carga
+ */
+public enum OperationType {
+
+    CREATE, MOVE, BLOCK, SEARCH, REPORT;
+
+    public static OperationType findByName(final String name){
+        return valueOf(name.trim().toUpperCase());
+    }
+
+}
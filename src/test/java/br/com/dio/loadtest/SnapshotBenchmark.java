@@ -0,0 +1,86 @@
+package br.com.dio.loadtest;
+
+import br.com.dio.persistence.dao.CardDAO;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.service.BoardQueryService;
+import br.com.dio.service.SnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mede as duas direções do snapshot binário (backup e restauração) sobre um banco H2 em modo MySQL
+ *
+ * Execução: {@code ./gradlew snapshotBenchmark --args="--boards=4 --cards=50000 --rounds=3"}
+ */
+public class SnapshotBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotBenchmark.class);
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    public static void main(String[] args) throws Exception {
+        var boards = 4;
+        var cardsPerBoard = 25_000;
+        var rounds = 3;
+        var url = "jdbc:h2:mem:board_snapshot;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        for (var arg : args) {
+            var value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--boards=")) {
+                boards = Integer.parseInt(value);
+            } else if (arg.startsWith("--cards=")) {
+                cardsPerBoard = Integer.parseInt(value);
+            } else if (arg.startsWith("--rounds=")) {
+                rounds = Integer.parseInt(value);
+            } else if (arg.startsWith("--url=")) {
+                url = value;
+            } else {
+                throw new IllegalArgumentException("Argumento inválido: " + arg);
+            }
+        }
+
+        var database = new EmbeddedDatabase(url);
+        database.createSchema();
+        var boardIds = database.seed(boards, 0);
+        try (var connection = database.getConnection()) {
+            var dao = new CardDAO(connection);
+            for (var boardId : boardIds) {
+                var initial = new BoardQueryService(connection).findById(boardId).orElseThrow().getInitialColumn();
+                List<CardEntity> batch = new ArrayList<>(SEED_BATCH_SIZE);
+                for (var c = 0; c < cardsPerBoard; c++) {
+                    var card = new CardEntity();
+                    card.setTitle("Card de snapshot " + c);
+                    card.setDescription("Card criado para medir backup e restauração do board " + boardId);
+                    card.setBoardColumn(initial);
+                    batch.add(card);
+                    if (batch.size() == SEED_BATCH_SIZE) {
+                        dao.insertBatch(batch);
+                        batch.clear();
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    dao.insertBatch(batch);
+                }
+            }
+            connection.commit();
+        }
+        log.info("=== BENCHMARK DE SNAPSHOT: {} boards x {} cards, {} rodadas ===", boards, cardsPerBoard, rounds);
+
+        var file = Files.createTempFile("board-snapshot", ".bin");
+        try (var connection = database.getConnection()) {
+            var service = new SnapshotService(connection);
+            for (var round = 1; round <= rounds; round++) {
+                System.out.println("--- Rodada " + round + " ---");
+                // Sempre o board semeado: a restauração cria novos boards, que não entram na medida seguinte
+                service.backup(boardIds.get(0), file).printReport();
+                service.restore(file).printReport();
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
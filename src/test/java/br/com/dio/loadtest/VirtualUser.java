@@ -0,0 +1,190 @@
+package br.com.dio.loadtest;
+
+import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.exception.CardBlockedException;
+import br.com.dio.exception.CardFinishedException;
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.service.BoardQueryService;
+import br.com.dio.service.CardQueryService;
+import br.com.dio.service.CardSearchService;
+import br.com.dio.service.CardService;
+import br.com.dio.service.ReportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Usuário simulado: mantém uma conexão própria (como uma sessão do menu) e executa
+ * operações sorteadas pelo {@link OperationMix} até o fim do teste
+ */
+public class VirtualUser implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualUser.class);
+
+    private static final String[] SEARCH_TERMS = {"Card", "inicial", "carga", "revisão", "bug"};
+
+    private final int userId;
+    private final EmbeddedDatabase database;
+    private final List<Long> boardIds;
+    private final CardRegistry registry;
+    private final OperationMix mix;
+    private final SplittableRandom random;
+    private final long measureFromNanos;
+    private final long deadlineNanos;
+    private final Map<OperationType, OperationStats> stats = new EnumMap<>(OperationType.class);
+
+    private final Map<Long, List<BoardColumnInfoDTO>> columnsByBoard = new HashMap<>();
+    private final Map<Long, BoardEntity> boards = new HashMap<>();
+    private long sequence;
+
+    public VirtualUser(final int userId, final EmbeddedDatabase database, final List<Long> boardIds,
+                       final CardRegistry registry, final OperationMix mix, final long seed,
+                       final long measureFromNanos, final long deadlineNanos) {
+        this.userId = userId;
+        this.database = database;
+        this.boardIds = boardIds;
+        this.registry = registry;
+        this.mix = mix;
+        this.random = new SplittableRandom(seed);
+        this.measureFromNanos = measureFromNanos;
+        this.deadlineNanos = deadlineNanos;
+        for (var type : OperationType.values()) {
+            stats.put(type, new OperationStats());
+        }
+    }
+
+    public Map<OperationType, OperationStats> getStats() {
+        return stats;
+    }
+
+    @Override
+    public void run() {
+        try (var connection = database.getConnection()) {
+            loadBoards(connection);
+            while (System.nanoTime() < deadlineNanos) {
+                var type = mix.next(random);
+                var boardId = boardIds.get(random.nextInt(boardIds.size()));
+                var start = System.nanoTime();
+                Outcome outcome;
+                try {
+                    execute(type, boardId, connection);
+                    outcome = Outcome.SUCCESS;
+                } catch (Exception e) {
+                    outcome = classify(e);
+                    if (outcome == Outcome.ERROR) {
+                        log.debug("Usuário {} falhou em {}: {}", userId, type, e.getMessage());
+                    }
+                }
+                var end = System.nanoTime();
+                if (start >= measureFromNanos) {
+                    record(stats.get(type), outcome, end - start);
+                }
+            }
+        } catch (SQLException e) {
+            log.error("Usuário virtual {} não conseguiu abrir conexão", userId, e);
+        }
+    }
+
+    private void loadBoards(final Connection connection) throws SQLException {
+        var queryService = new BoardQueryService(connection);
+        for (var boardId : boardIds) {
+            var board = queryService.findById(boardId).orElseThrow();
+            boards.put(boardId, board);
+            var info = new ArrayList<BoardColumnInfoDTO>();
+            board.getBoardColumns().forEach(bc -> info.add(new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind())));
+            columnsByBoard.put(boardId, info);
+        }
+    }
+
+    private void execute(final OperationType type, final Long boardId, final Connection connection) throws SQLException {
+        switch (type) {
+            case CREATE -> {
+                var card = new CardEntity();
+                card.setTitle("Card u%d-%d".formatted(userId, sequence++));
+                card.setDescription("Card criado pelo usuário virtual " + userId);
+                card.setBoardColumn(boards.get(boardId).getInitialColumn());
+                new CardService(connection).create(card);
+                registry.add(boardId, card.getId());
+            }
+            case MOVE -> {
+                var cardId = requireCard(boardId);
+                new CardService(connection).moveToNextColumn(cardId, columnsByBoard.get(boardId));
+            }
+            case BLOCK -> {
+                var cardId = requireCard(boardId);
+                var details = new CardQueryService(connection).findById(cardId)
+                        .orElseThrow(() -> new EntityNotFoundException("Card " + cardId + " não encontrado"));
+                var service = new CardService(connection);
+                if (details.blocked()) {
+                    service.unblock(cardId, "Desbloqueio do teste de carga");
+                } else {
+                    service.block(cardId, "Bloqueio do teste de carga", columnsByBoard.get(boardId));
+                }
+            }
+            case SEARCH -> {
+                var searchService = new CardSearchService(connection);
+                if (random.nextBoolean()) {
+                    searchService.searchByBoard(boardId, 20, 0);
+                } else {
+                    searchService.searchByText(SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)], 20, 0);
+                }
+            }
+            case REPORT -> {
+                if (random.nextInt(4) == 0) {
+                    new ReportService(connection).generateBoardProductivityReport(boardId);
+                } else {
+                    new BoardQueryService(connection).showBoardDetails(boardId);
+                }
+            }
+        }
+    }
+
+    private long requireCard(final Long boardId) {
+        var cardId = registry.random(boardId, random);
+        if (cardId < 0) {
+            throw new EntityNotFoundException("O board " + boardId + " ainda não possui cards");
+        }
+        return cardId;
+    }
+
+    private static void record(final OperationStats stats, final Outcome outcome, final long latencyNanos) {
+        switch (outcome) {
+            case SUCCESS -> stats.recordSuccess(latencyNanos);
+            case CONFLICT -> stats.recordConflict(latencyNanos);
+            case ERROR -> stats.recordError(latencyNanos);
+        }
+    }
+
+    /**
+     * Conflitos são recusas de negócio (card bloqueado, finalizado, cancelado) e disputas de lock;
+     * qualquer outra falha conta como erro
+     */
+    private static Outcome classify(final Throwable error) {
+        for (var current = error; current != null; current = current.getCause()) {
+            if (current instanceof CardBlockedException || current instanceof CardFinishedException
+                    || current instanceof IllegalStateException || current instanceof EntityNotFoundException) {
+                return Outcome.CONFLICT;
+            }
+            if (current instanceof SQLException sql && sql.getSQLState() != null
+                    && (sql.getSQLState().startsWith("40") || sql.getSQLState().equals("HYT00"))) {
+                return Outcome.CONFLICT;
+            }
+        }
+        return Outcome.ERROR;
+    }
+
+    private enum Outcome {
+        SUCCESS, CONFLICT, ERROR
+    }
+
+}
@@ -0,0 +1,93 @@
+package br.com.dio.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes unitários para o histograma de durações usado nas métricas de fluxo
+ */
+class DurationHistogramTest {
+
+    @Test
+    void shouldPlaceValuesOnBucketBoundaries() {
+        assertThat(DurationHistogram.bucketOf(0)).isZero();
+        assertThat(DurationHistogram.bucketOf(60)).isZero();
+        assertThat(DurationHistogram.bucketOf(61)).isEqualTo(1);
+        assertThat(DurationHistogram.bucketOf(120)).isEqualTo(2);
+        assertThat(DurationHistogram.bucketOf(121)).isEqualTo(3);
+        assertThat(DurationHistogram.bucketOf(Long.MAX_VALUE)).isEqualTo(DurationHistogram.BUCKETS);
+    }
+
+    @Test
+    void shouldEstimatePercentilesWithinBucketError() {
+        // Given
+        var histogram = new DurationHistogram();
+        for (var hours = 1; hours <= 100; hours++) {
+            histogram.record(hours * 3600L);
+        }
+
+        // Then
+        assertThat(histogram.getCount()).isEqualTo(100);
+        assertThat(histogram.meanSeconds()).isEqualTo(50.5 * 3600);
+        assertThat(histogram.percentileSeconds(50) / 3600).isBetween(50 / 1.42, 50 * 1.42);
+        assertThat(histogram.percentileSeconds(95) / 3600).isBetween(95 / 1.42, 95 * 1.42);
+        assertThat(histogram.percentileSeconds(50)).isLessThanOrEqualTo(histogram.percentileSeconds(95));
+    }
+
+    @Test
+    void shouldReturnZeroWhenEmpty() {
+        var histogram = new DurationHistogram();
+
+        assertThat(histogram.meanSeconds()).isZero();
+        assertThat(histogram.percentileSeconds(85)).isZero();
+        assertThat(histogram.encodeBuckets()).isEqualTo("0");
+    }
+
+    @Test
+    void shouldMergeLikeRecordingAllSamples() {
+        // Given
+        var first = new DurationHistogram();
+        var second = new DurationHistogram();
+        var all = new DurationHistogram();
+        for (var i = 0; i < 500; i++) {
+            var seconds = (long) (Math.pow(1.03, i) * 30);
+            (i % 2 == 0 ? first : second).record(seconds);
+            all.record(seconds);
+        }
+
+        // When
+        first.merge(second);
+
+        // Then
+        assertThat(first.getCount()).isEqualTo(all.getCount());
+        assertThat(first.getSumSeconds()).isEqualTo(all.getSumSeconds());
+        assertThat(first.encodeBuckets()).isEqualTo(all.encodeBuckets());
+    }
+
+    @Test
+    void shouldRoundTripThroughEncodedBuckets() {
+        // Given
+        var histogram = new DurationHistogram();
+        histogram.record(30);
+        histogram.record(7_200);
+        histogram.record(86_400 * 40L);
+
+        // When
+        var decoded = DurationHistogram.decode(histogram.getCount(), histogram.getSumSeconds(), histogram.encodeBuckets());
+
+        // Then
+        assertThat(decoded.encodeBuckets()).isEqualTo(histogram.encodeBuckets());
+        assertThat(decoded.percentileSeconds(50)).isEqualTo(histogram.percentileSeconds(50));
+        assertThat(decoded.meanSeconds()).isEqualTo(histogram.meanSeconds());
+    }
+
+    @Test
+    void shouldRejectTooManyBuckets() {
+        var buckets = "1,".repeat(DurationHistogram.BUCKETS + 2) + "1";
+
+        assertThatThrownBy(() -> DurationHistogram.decode(1, 1, buckets))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,122 @@
+package br.com.dio.persistence.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes das unidades em savepoint da conexão de commit adiado sobre um banco H2 em memória
+ */
+class DeferredCommitConnectionTest {
+
+    private Connection physical;
+    private List<String> actions;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        physical = DriverManager.getConnection("jdbc:h2:mem:deferred-commit-%d;DB_CLOSE_DELAY=-1"
+                .formatted(System.identityHashCode(this)), "sa", "");
+        physical.setAutoCommit(false);
+        try (var statement = physical.createStatement()) {
+            statement.execute("CREATE TABLE NOTES (text VARCHAR(20) PRIMARY KEY)");
+        }
+        physical.commit();
+        actions = new ArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (var statement = physical.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        physical.close();
+    }
+
+    @Test
+    void shouldUndoOnlyTheFailedUnit() throws Exception {
+        var session = new DeferredCommitConnection(physical);
+        session.execute(connection -> insert(connection, "a"));
+        assertThatIllegalStateException().isThrownBy(() -> session.execute(connection -> {
+            insert(connection, "b");
+            throw new IllegalStateException("falhou");
+        }));
+        session.execute(connection -> insert(connection, "c"));
+
+        session.commit();
+
+        assertThat(session.getPendingUnits()).isZero();
+        assertThat(notes()).containsExactly("a", "c");
+        assertThat(actions).containsExactly("a", "c");
+    }
+
+    @Test
+    void shouldDiscardPendingUnitsWhenSavepointRollbackFails() throws Exception {
+        var session = new DeferredCommitConnection(failingSavepointRollback(physical));
+        session.execute(connection -> insert(connection, "a"));
+        session.execute(connection -> insert(connection, "b"));
+
+        assertThatExceptionOfType(DeferredCommitConnection.UnitRollbackException.class)
+                .isThrownBy(() -> session.execute(connection -> {
+                    insert(connection, "c");
+                    throw new IllegalStateException("falhou");
+                }))
+                .satisfies(e -> {
+                    assertThat(e.getDiscardedUnits()).isEqualTo(2);
+                    assertThat(e.getSuppressed()).hasOnlyElementsOfType(IllegalStateException.class);
+                });
+        session.commit();
+
+        assertThat(session.getPendingUnits()).isZero();
+        assertThat(notes()).isEmpty();
+        assertThat(actions).isEmpty();
+    }
+
+    private String insert(final Connection connection, final String text) throws SQLException {
+        try (var statement = connection.prepareStatement("INSERT INTO NOTES (text) VALUES (?)")) {
+            statement.setString(1, text);
+            statement.executeUpdate();
+        }
+        DeferredCommitConnection.afterCommit(connection, () -> actions.add(text));
+        return text;
+    }
+
+    private List<String> notes() throws SQLException {
+        try (var statement = physical.createStatement();
+             var resultSet = statement.executeQuery("SELECT text FROM NOTES ORDER BY text")) {
+            List<String> texts = new ArrayList<>();
+            while (resultSet.next()) {
+                texts.add(resultSet.getString(1));
+            }
+            return texts;
+        }
+    }
+
+    /**
+     * Conexão cujo rollback até um savepoint falha, como em uma conexão perdida no meio do grupo
+     */
+    private static Connection failingSavepointRollback(final Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("rollback") && args != null && args[0] instanceof Savepoint) {
+                        throw new SQLException("Conexão perdida");
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+}
@@ -0,0 +1,113 @@
+package br.com.dio.persistence.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes do group commit sobre um banco H2 em memória
+ */
+class GroupCommitExecutorTest {
+
+    private ConnectionPool pool;
+    private GroupCommitExecutor executor;
+    private List<String> committed;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        var url = "jdbc:h2:mem:group-commit-%d;DB_CLOSE_DELAY=-1".formatted(System.identityHashCode(this));
+        pool = new ConnectionPool("primary", url, "sa", "", 2, 1_000);
+        try (var connection = pool.lease(); var statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE NOTES (text VARCHAR(20) PRIMARY KEY)");
+            connection.commit();
+        }
+        var router = new ShardRouter(new ReplicaRouter(pool, List.of(), ReplicaSelection.ROUND_ROBIN, 0), Map.of(), 1_000);
+        executor = new GroupCommitExecutor(router, Duration.ofMillis(300), 8);
+        committed = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+        pool.close();
+    }
+
+    @Test
+    void shouldCommitWritesArrivingInTheSameWindowTogether() throws SQLException {
+        var futures = List.of(insert("a"), insert("b"), insert("c"));
+
+        assertThat(futures.stream().map(CompletableFuture::join)).containsExactly("a", "b", "c");
+        assertThat(executor.getCommits()).isEqualTo(1);
+        assertThat(committed).containsExactly("a", "b", "c");
+        assertThat(notes()).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void shouldFallBackToOneCommitPerWriteWhenOneFails() throws SQLException {
+        var first = insert("a");
+        var duplicated = insert("a");
+        var last = insert("b");
+
+        assertThat(first.join()).isEqualTo("a");
+        assertThatThrownBy(duplicated::join).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(SQLException.class);
+        assertThat(last.join()).isEqualTo("b");
+        assertThat(executor.getFallbacks()).isEqualTo(1);
+        assertThat(executor.getCommits()).isEqualTo(2);
+        assertThat(committed).containsExactly("a", "b");
+        assertThat(notes()).containsExactly("a", "b");
+    }
+
+    @Test
+    void shouldSplitGroupsAtMaximumSize() {
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (var i = 0; i < 10; i++) {
+            futures.add(insert("n" + i));
+        }
+
+        futures.forEach(CompletableFuture::join);
+        assertThat(executor.getCommits()).isEqualTo(2);
+    }
+
+    /**
+     * Escrita no formato dos serviços: commit próprio e efeito externo só depois do commit
+     */
+    private CompletableFuture<String> insert(final String text) {
+        return executor.submit(1L, null, connection -> {
+            try (var statement = connection.prepareStatement("INSERT INTO NOTES (text) VALUES (?)")) {
+                statement.setString(1, text);
+                statement.executeUpdate();
+                connection.commit();
+                DeferredCommitConnection.afterCommit(connection, () -> committed.add(text));
+                return text;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        });
+    }
+
+    private List<String> notes() throws SQLException {
+        try (Connection connection = pool.lease(); var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT text FROM NOTES ORDER BY text")) {
+            List<String> texts = new ArrayList<>();
+            while (resultSet.next()) {
+                texts.add(resultSet.getString(1));
+            }
+            return texts;
+        }
+    }
+
+}
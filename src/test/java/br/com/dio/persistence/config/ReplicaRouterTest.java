@@ -0,0 +1,157 @@
+package br.com.dio.persistence.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes do roteamento entre primário e réplicas, usando um banco H2 em memória para cada instância
+ */
+class ReplicaRouterTest {
+
+    private static final long STICKINESS_MILLIS = 5_000;
+
+    private final MutableClock clock = new MutableClock();
+    private final List<ConnectionPool> pools = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        pools.forEach(ConnectionPool::close);
+    }
+
+    @Test
+    void shouldAlternateReplicasInRoundRobin() throws SQLException {
+        var router = router(ReplicaSelection.ROUND_ROBIN, "replica-a", "replica-b");
+
+        assertThat(List.of(readFrom(router, null), readFrom(router, null), readFrom(router, null), readFrom(router, null)))
+                .containsExactly("replica-a", "replica-b", "replica-a", "replica-b");
+    }
+
+    @Test
+    void shouldPreferReplicaWithFewestLeasedConnections() throws SQLException {
+        var router = router(ReplicaSelection.LEAST_LOADED, "busy", "idle");
+
+        var busy = router.getReplicas().get(0);
+        var held = busy.lease();
+        try {
+            assertThat(busy.getActiveCount()).isEqualTo(1);
+            assertThat(List.of(readFrom(router, null), readFrom(router, null), readFrom(router, null)))
+                    .containsOnly("idle");
+        } finally {
+            held.close();
+        }
+    }
+
+    @Test
+    void shouldReadFromPrimaryRightAfterOwnCommit() throws SQLException {
+        // Given
+        var router = router(ReplicaSelection.ROUND_ROBIN, "replica");
+
+        // When
+        try (var connection = router.leaseWrite("cliente-1")) {
+            connection.commit();
+        }
+
+        // Then
+        assertThat(readFrom(router, "cliente-1")).isEqualTo("primary");
+        assertThat(readFrom(router, "cliente-2")).isEqualTo("replica");
+        clock.advance(STICKINESS_MILLIS);
+        assertThat(readFrom(router, "cliente-1")).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldNotPinSessionWhenWriteIsRolledBack() throws SQLException {
+        var router = router(ReplicaSelection.ROUND_ROBIN, "replica");
+
+        try (var connection = router.leaseWrite("cliente-1")) {
+            connection.rollback();
+        }
+
+        assertThat(readFrom(router, "cliente-1")).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaIsUnavailable() throws SQLException {
+        var broken = new ConnectionPool("broken", "jdbc:indisponivel:replica", "sa", "", 2, 1_000);
+        pools.add(broken);
+        var router = new ReplicaRouter(pool("primary"), List.of(broken), ReplicaSelection.ROUND_ROBIN,
+                STICKINESS_MILLIS, clock);
+
+        assertThat(readFrom(router, null)).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldUsePrimaryWhenNoReplicaIsConfigured() throws SQLException {
+        var router = router(ReplicaSelection.LEAST_LOADED);
+
+        assertThat(readFrom(router, "cliente-1")).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldParseSelectionNames() {
+        assertThat(ReplicaSelection.of("round-robin")).isEqualTo(ReplicaSelection.ROUND_ROBIN);
+        assertThat(ReplicaSelection.of(" Least-Loaded ")).isEqualTo(ReplicaSelection.LEAST_LOADED);
+        assertThatThrownBy(() -> ReplicaSelection.of("random")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ReplicaRouter router(final ReplicaSelection selection, final String... replicaNames) {
+        List<ConnectionPool> replicas = new ArrayList<>();
+        for (var name : replicaNames) {
+            replicas.add(pool(name));
+        }
+        return new ReplicaRouter(pool("primary"), replicas, selection, STICKINESS_MILLIS, clock);
+    }
+
+    private ConnectionPool pool(final String name) {
+        var url = "jdbc:h2:mem:router-%s-%d;DB_CLOSE_DELAY=-1".formatted(name, System.identityHashCode(this));
+        var pool = new ConnectionPool(name, url, "sa", "", 4, 1_000);
+        pools.add(pool);
+        return pool;
+    }
+
+    /**
+     * Nome da instância que atendeu a leitura, extraído da URL do banco
+     */
+    private static String readFrom(final ReplicaRouter router, final String session) throws SQLException {
+        try (Connection connection = router.leaseRead(session)) {
+            var url = connection.getMetaData().getURL();
+            return url.substring("jdbc:h2:mem:router-".length(), url.lastIndexOf('-'));
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2026-03-10T09:00:00Z");
+
+        void advance(final long millis) {
+            instant = instant.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+    }
+
+}
@@ -0,0 +1,139 @@
+package br.com.dio.persistence.config;
+
+import br.com.dio.loadtest.EmbeddedDatabase;
+import br.com.dio.persistence.dao.BoardDAO;
+import br.com.dio.persistence.entity.BoardEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes da distribuição de boards entre shards, com um banco H2 em memória para o principal e cada shard
+ */
+class ShardRouterTest {
+
+    private final List<ConnectionPool> pools = new ArrayList<>();
+    private ConnectionPool primary;
+    private Map<String, ConnectionPool> shards;
+    private ShardRouter router;
+
+    @BeforeEach
+    void setUp() throws SQLException, IOException {
+        primary = pool("primary");
+        shards = new LinkedHashMap<>();
+        shards.put("shard-a", pool("shard-a"));
+        router = newRouter();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pools.forEach(ConnectionPool::close);
+    }
+
+    @Test
+    void shouldPlaceNewBoardsOnShardWithFewestBoards() throws SQLException {
+        var first = createBoard("Backlog");
+        var second = createBoard("Sprint");
+        var third = createBoard("Suporte");
+
+        assertThat(List.of(router.shardOf(first.getId()), router.shardOf(second.getId()), router.shardOf(third.getId())))
+                .containsExactly("primary", "shard-a", "primary");
+        assertThat(List.of(first.getId(), second.getId(), third.getId())).doesNotHaveDuplicates();
+        try (var connection = shards.get("shard-a").lease()) {
+            assertThat(new BoardDAO(connection).findById(second.getId())).isPresent();
+            assertThat(new BoardDAO(connection).findById(first.getId())).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldResolveShardFromPersistedMap() throws SQLException {
+        createBoard("Backlog");
+        var board = createBoard("Sprint");
+
+        var restarted = newRouter();
+
+        assertThat(restarted.shardOf(board.getId())).isEqualTo("shard-a");
+        assertThat(restarted.shardOf(9_999L)).isEqualTo(ShardRouter.PRIMARY_SHARD);
+    }
+
+    @Test
+    void shouldGatherResultsFromEveryShard() throws SQLException {
+        createBoard("Backlog");
+        createBoard("Sprint");
+        createBoard("Suporte");
+
+        var names = router.scatter(connection -> new BoardDAO(connection).findAll().stream()
+                .map(BoardEntity::getName)
+                .toList(), null);
+
+        assertThat(names).containsExactly(List.of("Backlog", "Suporte"), List.of("Sprint"));
+    }
+
+    @Test
+    void shouldReleaseReservedIdWhenCreationFails() throws SQLException {
+        var board = new BoardEntity();
+        board.setName("Falha");
+
+        assertThatThrownBy(() -> router.createBoard(board, null, connection -> {
+            throw new SQLException("falha simulada");
+        })).isInstanceOf(SQLException.class);
+
+        assertThat(newRouter().shardOf(board.getId())).isEqualTo(ShardRouter.PRIMARY_SHARD);
+        assertThat(createBoard("Backlog").getId()).isNotEqualTo(board.getId());
+    }
+
+    @Test
+    void shouldRegisterExistingBoardsWithoutReusingTheirIds() throws SQLException {
+        Long existingId;
+        try (var connection = primary.lease()) {
+            var existing = new BoardEntity();
+            existing.setName("Legado");
+            existingId = new BoardDAO(connection).insert(existing).getId();
+            connection.commit();
+        }
+
+        assertThat(router.registerPrimaryBoards()).isEqualTo(1);
+        assertThat(router.registerPrimaryBoards()).isZero();
+
+        var board = createBoard("Novo");
+        assertThat(board.getId()).isNotEqualTo(existingId);
+        assertThat(router.shardOf(board.getId())).isEqualTo("shard-a");
+    }
+
+    private BoardEntity createBoard(final String name) throws SQLException {
+        var board = new BoardEntity();
+        board.setName(name);
+        return router.createBoard(board, null, connection -> {
+            new BoardDAO(connection).insert(board);
+            connection.commit();
+            return board;
+        });
+    }
+
+    /**
+     * O roteador compartilha os pools do teste; fechá-lo fecharia os bancos em memória
+     */
+    private ShardRouter newRouter() {
+        return new ShardRouter(new ReplicaRouter(primary, List.of(), ReplicaSelection.ROUND_ROBIN, 0),
+                shards, 1_000);
+    }
+
+    private ConnectionPool pool(final String name) throws SQLException, IOException {
+        var url = "jdbc:h2:mem:shard-%s-%d;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+                .formatted(name, System.identityHashCode(this));
+        new EmbeddedDatabase(url).createSchema();
+        var pool = new ConnectionPool(name, url, "sa", "", 4, 1_000);
+        pools.add(pool);
+        return pool;
+    }
+
+}
@@ -0,0 +1,83 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.search.CardSearchCriteria;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes da montagem e do cache dos planos de busca de cards
+ */
+class CardSearchPlanTest {
+
+    @Test
+    void shouldReusePlanForSameFilterShape() {
+        var first = CardSearchPlan.of(CardSearchCriteria.builder().titleContains("api").boardIds(List.of(1L, 2L, 3L))
+                .limit(10).build());
+        var second = CardSearchPlan.of(CardSearchCriteria.builder().titleContains("login").boardIds(List.of(7L, 8L, 9L, 10L))
+                .limit(50).offset(50).build());
+
+        assertThat(second).isSameAs(first);
+        assertThat(CardSearchPlan.of(CardSearchCriteria.builder().titleContains("api").boardIds(List.of(1L, 2L, 3L, 4L, 5L))
+                .limit(10).build())).isNotSameAs(first);
+        assertThat(CardSearchPlan.of(CardSearchCriteria.builder().titleContains("  ").boardIds(List.of(1L, 2L, 3L))
+                .limit(10).build())).isNotSameAs(first);
+    }
+
+    @Test
+    void shouldBuildSqlWithBucketedPlaceholders() {
+        var plan = CardSearchPlan.of(CardSearchCriteria.builder().boardIds(List.of(1L, 2L, 3L)).isBlocked(true)
+                .limit(10).build());
+
+        assertThat(plan.getSelectSql())
+                .contains("board_id IN (?,?,?,?)")
+                .contains("b.id IS NOT NULL")
+                .endsWith("ORDER BY c.id DESC LIMIT ? OFFSET ?");
+        assertThat(plan.getCountSql()).startsWith("SELECT COUNT(DISTINCT c.id) ").doesNotContain("LIMIT");
+    }
+
+    @Test
+    void shouldBindTypedParametersPaddingInLists() throws SQLException {
+        var createdAfter = LocalDateTime.of(2026, 1, 5, 8, 0);
+        var criteria = CardSearchCriteria.builder()
+                .titleContains(" deploy ")
+                .boardIds(List.of(4L, 9L, 11L))
+                .createdAfter(createdAfter)
+                .limit(20)
+                .offset(40)
+                .build();
+        var plan = CardSearchPlan.of(criteria);
+        Map<Integer, Object> parameters = new TreeMap<>();
+
+        plan.bindSelect(capturing(parameters), criteria);
+
+        assertThat(parameters.values()).containsExactly(
+                "%deploy%", 4L, 9L, 11L, 11L, Timestamp.valueOf(createdAfter), 20, 40);
+    }
+
+    @Test
+    void shouldRoundListSizesUpToPowersOfTwo() {
+        assertThat(List.of(1, 2, 3, 4, 5, 8, 9).stream().map(CardSearchPlan.Shape::bucket))
+                .containsExactly(1, 2, 4, 4, 8, 8, 16);
+    }
+
+    private static PreparedStatement capturing(final Map<Integer, Object> parameters) {
+        return (PreparedStatement) Proxy.newProxyInstance(CardSearchPlanTest.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    if (method.getName().startsWith("set") && args.length == 2 && args[0] instanceof Integer index) {
+                        parameters.put(index, args[1]);
+                    }
+                    return null;
+                });
+    }
+
+}
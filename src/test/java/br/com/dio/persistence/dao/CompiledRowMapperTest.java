@@ -0,0 +1,91 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes da compilação dos mapeadores de linha sobre um banco H2 em memória
+ */
+class CompiledRowMapperTest {
+
+    private final AtomicInteger compilations = new AtomicInteger();
+    private Connection connection;
+
+    private final CompiledRowMapper<String> mapper = CompiledRowMapper.of(columns -> {
+        compilations.incrementAndGet();
+        var name = columns.of("NAME");
+        var kind = columns.of("kind");
+        return resultSet -> resultSet.getString(name) + ":" + BoardColumnKindEnum.findByName(resultSet.getString(kind));
+    });
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:row-mapper-%d".formatted(System.identityHashCode(this)),
+                "sa", "");
+        try (var statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE COLUMNS_TEST (id BIGINT, name VARCHAR(50), kind VARCHAR(10))");
+            statement.execute("INSERT INTO COLUMNS_TEST VALUES (1, 'A fazer', 'INITIAL'), (2, 'Feito', 'FINAL')");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void shouldResolveColumnsOnceAndReadByPosition() throws SQLException {
+        assertThat(query("SELECT id, name, kind FROM COLUMNS_TEST ORDER BY id"))
+                .containsExactly("A fazer:INITIAL", "Feito:FINAL");
+        assertThat(query("SELECT id, name, kind FROM COLUMNS_TEST ORDER BY id DESC"))
+                .containsExactly("Feito:FINAL", "A fazer:INITIAL");
+
+        assertThat(compilations).hasValue(1);
+    }
+
+    @Test
+    void shouldRecompileWhenResultShapeChanges() throws SQLException {
+        query("SELECT id, name, kind FROM COLUMNS_TEST");
+
+        assertThat(query("SELECT kind, name FROM COLUMNS_TEST ORDER BY id")).containsExactly("A fazer:INITIAL", "Feito:FINAL");
+        assertThat(compilations).hasValue(2);
+    }
+
+    @Test
+    void shouldFailWhenColumnIsMissing() {
+        assertThatThrownBy(() -> query("SELECT id, name FROM COLUMNS_TEST"))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("kind");
+    }
+
+    @Test
+    void shouldRejectUnknownColumnKind() {
+        assertThat(BoardColumnKindEnum.findByName("CANCEL")).isEqualTo(BoardColumnKindEnum.CANCEL);
+        assertThatThrownBy(() -> BoardColumnKindEnum.findByName("cancel")).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(() -> BoardColumnKindEnum.findByName(null)).isInstanceOf(NoSuchElementException.class);
+    }
+
+    private List<String> query(final String sql) throws SQLException {
+        try (var statement = connection.prepareStatement(sql); var resultSet = statement.executeQuery()) {
+            var rows = mapper.bind(resultSet);
+            List<String> values = new ArrayList<>();
+            while (resultSet.next()) {
+                values.add(rows.map(resultSet));
+            }
+            return values;
+        }
+    }
+
+}
@@ -0,0 +1,398 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.backup.SnapshotWriter;
+import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.loadtest.EmbeddedDatabase;
+import br.com.dio.metrics.FlowMetric;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.persistence.migration.MigrationStrategy;
+import br.com.dio.search.CardSearchCriteria;
+import br.com.dio.service.BoardQueryService;
+import br.com.dio.service.BoardService;
+import br.com.dio.service.CardService;
+import br.com.dio.service.FlowAnalyticsService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.PENDING;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Regressão de planos de execução: executa cada consulta dos DAOs sobre uma conexão que registra
+ * o SQL e os parâmetros, roda {@code EXPLAIN} com os mesmos valores e falha se o plano varrer
+ * uma tabela inteira (ou, no MySQL, ordenar com filesort onde um índice deveria servir a ordenação)
+ *
+ * O teste em H2 roda sempre; o teste em MySQL roda quando BOARD_EXPLAIN_URL aponta para um schema
+ * vazio e descartável (BOARD_EXPLAIN_USER e BOARD_EXPLAIN_PASSWORD completam a conexão)
+ */
+class QueryPlanTest {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanTest.class);
+
+    private static final String H2_URL = "jdbc:h2:mem:plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final int BOARDS = 20;
+    private static final int CARDS_PER_BOARD = 200;
+    private static final List<String> TABLES = List.of("BOARDS", "BOARDS_COLUMNS", "CARDS", "BLOCKS",
+            "CARD_MOVEMENTS", "FLOW_STATS", "BOARD_COLUMN_STATS", "APPLICATION_SETTINGS");
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void daoQueriesShouldNotScanWholeTablesOnH2() throws Exception {
+        var database = new EmbeddedDatabase(H2_URL);
+        database.createSchema();
+        try (var connection = database.getConnection()) {
+            seed(connection);
+            try (var statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+            assertThat(checkPlans(connection, QueryPlanTest::h2Violations)).isEmpty();
+        }
+    }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = "BOARD_EXPLAIN_URL", matches = ".+")
+    void daoQueriesShouldNotScanWholeTablesOnMySql() throws Exception {
+        try (var connection = DriverManager.getConnection(System.getenv("BOARD_EXPLAIN_URL"),
+                System.getenv("BOARD_EXPLAIN_USER"), System.getenv("BOARD_EXPLAIN_PASSWORD"))) {
+            connection.setAutoCommit(false);
+            new MigrationStrategy(connection).executeMigration(false);
+            seed(connection);
+            try (var statement = connection.createStatement()) {
+                for (var table : TABLES) {
+                    statement.execute("ANALYZE TABLE " + table);
+                }
+            }
+            assertThat(checkPlans(connection, QueryPlanTest::mySqlViolations)).isEmpty();
+        }
+    }
+
+    /**
+     * Cria boards com cards, movimentações, bloqueios e prazos suficientes para que o otimizador
+     * prefira os índices a uma varredura quando eles existem
+     */
+    private static void seed(final Connection connection) throws Exception {
+        var boardService = new BoardService(connection);
+        var cardDAO = new CardDAO(connection);
+        var cardService = new CardService(connection);
+        for (var b = 0; b < BOARDS; b++) {
+            var board = new BoardEntity();
+            board.setName("Board de planos " + (b + 1));
+            board.setBoardColumns(new ArrayList<>(List.of(
+                    column("A fazer", INITIAL, 0),
+                    column("Em andamento", PENDING, 1),
+                    column("Concluído", FINAL, 2),
+                    column("Cancelado", CANCEL, 3))));
+            boardService.insert(board);
+            List<CardEntity> cards = new ArrayList<>();
+            for (var c = 0; c < CARDS_PER_BOARD; c++) {
+                var card = new CardEntity();
+                card.setTitle("Card de planos " + c);
+                card.setDescription("Card usado na verificação de planos");
+                card.setBoardColumn(board.getInitialColumn());
+                card.setDueDate(c % 10 == 0 ? LocalDate.now().plusDays(c % 30 - 15) : null);
+                cards.add(card);
+            }
+            cardDAO.insertBatch(cards);
+            connection.commit();
+        }
+        new BoardColumnStatsDAO(connection).rebuild(null);
+        connection.commit();
+
+        // Um board com histórico: movimentações e bloqueios passam pelos serviços
+        var board = new BoardQueryService(connection).findById(1L).orElseThrow();
+        var columnsInfo = board.getBoardColumns().stream()
+                .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind()))
+                .toList();
+        var cardIds = cardIdsOf(connection, 1L);
+        for (var i = 0; i < 40; i++) {
+            cardService.moveToNextColumn(cardIds.get(i), columnsInfo);
+        }
+        for (var i = 40; i < 50; i++) {
+            cardService.block(cardIds.get(i), "Aguardando validação", columnsInfo);
+        }
+        new FlowAnalyticsService(connection, Duration.ZERO).refresh();
+        log.info("Base de planos criada com {} boards e {} cards por board", BOARDS, CARDS_PER_BOARD);
+    }
+
+    /**
+     * Executa cada método de leitura e atualização dos DAOs e devolve as violações encontradas
+     * Inserções simples ({@code INSERT ... VALUES}) não têm plano de acesso e são ignoradas
+     */
+    private List<String> checkPlans(final Connection connection, final PlanInspector inspector) throws Exception {
+        var recorder = new StatementRecorder();
+        var recording = recorder.wrap(connection);
+        var checker = new PlanChecker(connection, recorder, inspector);
+
+        var boardId = 1L;
+        var cardIds = cardIdsOf(connection, boardId);
+        var columns = new BoardColumnDAO(recording).findByBoardId(boardId);
+        var initialColumn = columns.get(0).getId();
+        var pendingColumn = columns.get(1).getId();
+        var openCard = cardIds.get(60);
+        var blockedCard = cardIds.get(40);
+        var today = LocalDate.now();
+
+        var boardDAO = new BoardDAO(recording);
+        checker.indexed("BoardDAO.findById", () -> boardDAO.findById(boardId));
+        checker.indexed("BoardDAO.exists", () -> boardDAO.exists(boardId));
+        checker.indexed("BoardDAO.softDelete", () -> boardDAO.softDelete(boardId));
+        checker.fullScan("BoardDAO.findDeletedIds", "o H2 não usa índice em IS NOT NULL; no MySQL, idx_boards_deleted_at",
+                boardDAO::findDeletedIds);
+        checker.fullScan("BoardDAO.findAll", "lista todos os boards", boardDAO::findAll);
+
+        var columnDAO = new BoardColumnDAO(recording);
+        checker.indexed("BoardColumnDAO.findByBoardId", () -> columnDAO.findByBoardId(boardId));
+        checker.indexed("BoardColumnDAO.findByBoardIdWithDetails", () -> columnDAO.findByBoardIdWithDetails(boardId));
+
+        var cardDAO = new CardDAO(recording);
+        checker.indexed("CardDAO.findById", () -> cardDAO.findById(openCard));
+        checker.indexed("CardDAO.findTitlesByColumn", () -> cardDAO.findTitlesByColumn(initialColumn, 0, 50));
+        checker.indexed("CardDAO.moveToColumn", () -> cardDAO.moveToColumn(pendingColumn, openCard));
+        checker.indexed("CardDAO.updateDueDate", () -> cardDAO.updateDueDate(openCard, today));
+        checker.indexed("CardDAO.findOpenDueCard", () -> cardDAO.findOpenDueCard(openCard));
+        checker.sorted("CardDAO.findByCriteria(board)", () -> cardDAO.findByCriteria(
+                CardSearchCriteria.builder().boardIds(List.of(boardId)).limit(50).build()));
+        checker.indexed("CardDAO.findByCriteria(coluna)", () -> cardDAO.findByCriteria(
+                CardSearchCriteria.builder().boardColumnIds(List.of(initialColumn)).limit(50).build()));
+        checker.sorted("CardDAO.findByCriteria(colunas)", () -> cardDAO.findByCriteria(
+                CardSearchCriteria.builder().boardColumnIds(List.of(initialColumn, pendingColumn)).limit(50).build()));
+        checker.sorted("CardDAO.findByCriteria(board bloqueados)", () -> cardDAO.findByCriteria(
+                CardSearchCriteria.builder().boardIds(List.of(boardId)).isBlocked(true).limit(50).build()));
+        checker.indexed("CardDAO.countByCriteria(board)", () -> cardDAO.countByCriteria(
+                CardSearchCriteria.builder().boardIds(List.of(boardId)).build()));
+        checker.fullScan("CardDAO.findByCriteria(texto)", "LIKE com curinga inicial não usa índice",
+                () -> cardDAO.findByCriteria(CardSearchCriteria.builder().titleContains("planos").limit(50).build()));
+        checker.sorted("CardDAO.streamForExport(board)", () -> cardDAO.streamForExport(boardId, card -> { }));
+        checker.fullScan("CardDAO.streamForExport(todos)", "exporta todos os cards",
+                () -> cardDAO.streamForExport(null, card -> { }));
+        checker.fullScan("CardDAO.countOpenByAge", "agrega todos os cards em aberto",
+                () -> cardDAO.countOpenByAge(LocalDateTime.now()));
+        checker.indexed("CardDAO.findOldestOpen", () -> cardDAO.findOldestOpen(
+                LocalDateTime.now().minusDays(30), 20, LocalDateTime.now()));
+        checker.fullScan("CardDAO.findOpenWithDueDate", "carga completa do índice de prazos",
+                cardDAO::findOpenWithDueDate);
+
+        var blockDAO = new BlockDAO(recording);
+        checker.indexed("BlockDAO.unblock", () -> blockDAO.unblock("Validação concluída", blockedCard));
+
+        var movementDAO = new CardMovementDAO(recording);
+        checker.indexed("CardMovementDAO.findAfter", () -> movementDAO.findAfter(0, 100));
+        checker.indexed("CardMovementDAO.existsAfter", () -> movementDAO.existsAfter(0));
+
+        var flowStatsDAO = new FlowStatsDAO(recording);
+        checker.indexed("FlowStatsDAO.lockHighWaterMark", flowStatsDAO::lockHighWaterMark);
+        checker.indexed("FlowStatsDAO.updateHighWaterMark", () -> flowStatsDAO.updateHighWaterMark(0));
+        checker.indexed("FlowStatsDAO.findHighWaterMark", flowStatsDAO::findHighWaterMark);
+        checker.indexed("FlowStatsDAO.find", () -> flowStatsDAO.find(boardId));
+        checker.indexed("FlowStatsDAO.findByKeys", () -> flowStatsDAO.findByKeys(List.of(
+                new FlowStatsDAO.FlowKey(boardId, 0, FlowMetric.LEAD),
+                new FlowStatsDAO.FlowKey(boardId, initialColumn, FlowMetric.DWELL))));
+
+        var statsDAO = new BoardColumnStatsDAO(recording);
+        checker.sorted("BoardColumnStatsDAO.rebuild(board)", () -> statsDAO.rebuild(boardId));
+        checker.fullScan("BoardColumnStatsDAO.rebuild(todos)", "recalcula todas as colunas",
+                () -> statsDAO.rebuild(null));
+        checker.fullScan("BoardColumnStatsDAO.insertMissing", "procura colunas sem resumo em todos os boards",
+                statsDAO::insertMissing);
+        checker.indexed("BoardColumnStatsDAO.addCards", () -> statsDAO.addCards(initialColumn, 1));
+        checker.indexed("BoardColumnStatsDAO.addCard", () -> statsDAO.addCard(initialColumn, today));
+        checker.indexed("BoardColumnStatsDAO.changeDueDate", () -> statsDAO.changeDueDate(openCard, today.minusDays(2)));
+        checker.indexed("BoardColumnStatsDAO.moveCard", () -> statsDAO.moveCard(openCard, initialColumn, pendingColumn));
+        checker.indexed("BoardColumnStatsDAO.addBlocked", () -> statsDAO.addBlocked(initialColumn, 1));
+        checker.indexed("BoardColumnStatsDAO.refreshOverdue(board)",
+                () -> statsDAO.refreshOverdue(boardId, today.plusDays(1)));
+        checker.fullScan("BoardColumnStatsDAO.refreshOverdue(todos)", "atualiza todas as colunas",
+                () -> statsDAO.refreshOverdue(null, today.plusDays(1)));
+        checker.indexed("BoardColumnStatsDAO.findByBoardId", () -> statsDAO.findByBoardId(boardId));
+
+        var purgeDAO = new BoardPurgeDAO(recording);
+        checker.indexed("BoardPurgeDAO.countCards", () -> purgeDAO.countCards(boardId));
+        checker.indexed("BoardPurgeDAO.findCardIds", () -> purgeDAO.findCardIds(boardId, 50));
+        checker.indexed("BoardPurgeDAO.deleteCards", () -> purgeDAO.deleteCards(cardIds.subList(100, 110)));
+        checker.indexed("BoardPurgeDAO.deleteBoard", () -> purgeDAO.deleteBoard(boardId));
+
+        var snapshotDAO = new SnapshotDAO(recording);
+        checker.sorted("SnapshotDAO.dump(board)", () -> {
+            try (var writer = new SnapshotWriter(tempDir.resolve("board.snapshot"))) {
+                snapshotDAO.dump(boardId, writer);
+            }
+        });
+        checker.fullScan("SnapshotDAO.dump(todos)", "copia todos os boards", () -> {
+            try (var writer = new SnapshotWriter(tempDir.resolve("all.snapshot"))) {
+                snapshotDAO.dump(null, writer);
+            }
+        });
+
+        log.info("{} comandos verificados", checker.getChecked());
+        return checker.getViolations();
+    }
+
+    private static List<Long> cardIdsOf(final Connection connection, final Long boardId) throws Exception {
+        var sql = "SELECT c.id FROM CARDS c INNER JOIN BOARDS_COLUMNS bc ON bc.id = c.board_column_id "
+                + "WHERE bc.board_id = ? ORDER BY c.id";
+        try (var statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, boardId);
+            try (var resultSet = statement.executeQuery()) {
+                List<Long> ids = new ArrayList<>();
+                while (resultSet.next()) {
+                    ids.add(resultSet.getLong(1));
+                }
+                return ids;
+            }
+        }
+    }
+
+    private static List<String> h2Violations(final String plan, final boolean sortAllowed) {
+        return plan.contains(".tableScan") ? List.of("varredura completa") : List.of();
+    }
+
+    private static List<String> mySqlViolations(final String plan, final boolean sortAllowed) throws Exception {
+        List<String> violations = new ArrayList<>();
+        collectMySqlViolations(JSON.readTree(plan), sortAllowed, violations);
+        return violations;
+    }
+
+    private static void collectMySqlViolations(final JsonNode node, final boolean sortAllowed,
+                                               final List<String> violations) {
+        if (node.isObject()) {
+            if ("ALL".equals(node.path("access_type").asText())) {
+                violations.add("varredura completa de " + node.path("table_name").asText());
+            }
+            if (!sortAllowed && node.path("using_filesort").asBoolean(false)) {
+                violations.add("filesort");
+            }
+        }
+        node.elements().forEachRemaining(child -> collectMySqlViolations(child, sortAllowed, violations));
+    }
+
+    private static BoardColumnEntity column(final String name,
+                                            final BoardColumnKindEnum kind, final int order) {
+        var column = new BoardColumnEntity();
+        column.setName(name);
+        column.setKind(kind);
+        column.setOrder(order);
+        return column;
+    }
+
+    @FunctionalInterface
+    private interface PlanInspector {
+        List<String> violations(String plan, boolean sortAllowed) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface DaoCall {
+        void run() throws Exception;
+    }
+
+    /**
+     * Executa uma chamada de DAO, desfaz o que ela alterou e confere o plano de cada comando registrado
+     */
+    private static final class PlanChecker {
+
+        private final Connection connection;
+        private final StatementRecorder recorder;
+        private final PlanInspector inspector;
+        private final List<String> violations = new ArrayList<>();
+        private int checked;
+
+        private PlanChecker(final Connection connection, final StatementRecorder recorder,
+                            final PlanInspector inspector) {
+            this.connection = connection;
+            this.recorder = recorder;
+            this.inspector = inspector;
+        }
+
+        /**
+         * Nenhum comando pode varrer tabelas nem ordenar fora de índice
+         */
+        void indexed(final String name, final DaoCall call) throws Exception {
+            check(name, call, false);
+        }
+
+        /**
+         * Nenhum comando pode varrer tabelas; ordenar o conjunto já filtrado é aceito
+         */
+        void sorted(final String name, final DaoCall call) throws Exception {
+            check(name, call, true);
+        }
+
+        /**
+         * A varredura completa é intencional; a chamada é executada mas o plano não é conferido
+         */
+        void fullScan(final String name, final String reason, final DaoCall call) throws Exception {
+            call.run();
+            connection.rollback();
+            recorder.drain();
+            log.debug("{} ignorado: {}", name, reason);
+        }
+
+        private void check(final String name, final DaoCall call, final boolean sortAllowed) throws Exception {
+            call.run();
+            connection.rollback();
+            var statements = recorder.drain();
+            assertThat(statements).as("%s não executou comandos", name).isNotEmpty();
+            for (var statement : statements) {
+                var sql = statement.compactSql().replaceAll(";$", "");
+                if (sql.startsWith("INSERT") && !sql.contains("SELECT")) {
+                    continue;
+                }
+                var plan = explain(statement, sql);
+                checked++;
+                for (var violation : inspector.violations(plan, sortAllowed)) {
+                    violations.add("%s: %s em [%s]%n%s".formatted(name, violation, sql, plan));
+                }
+            }
+        }
+
+        private String explain(final StatementRecorder.RecordedStatement recorded, final String sql)
+                throws Exception {
+            var mySql = connection.getMetaData().getDatabaseProductName().equals("MySQL");
+            try (var statement = connection.prepareStatement((mySql ? "EXPLAIN FORMAT=JSON " : "EXPLAIN ") + sql)) {
+                recorded.bind(statement);
+                try (var resultSet = statement.executeQuery()) {
+                    var plan = new StringBuilder();
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+
+        List<String> getViolations() {
+            return violations;
+        }
+
+        int getChecked() {
+            return checked;
+        }
+
+    }
+
+}
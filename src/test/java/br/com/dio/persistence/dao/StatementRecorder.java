@@ -0,0 +1,117 @@
+package br.com.dio.persistence.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Envolve uma conexão JDBC e registra cada comando executado pelos DAOs junto com os parâmetros
+ * vinculados, para que o plano de execução possa ser consultado depois com os mesmos valores
+ */
+final class StatementRecorder {
+
+    private static final Set<String> EXECUTE_METHODS =
+            Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch");
+
+    private final List<RecordedStatement> statements = new ArrayList<>();
+
+    Connection wrap(final Connection connection) {
+        return proxy(Connection.class, (method, args) -> {
+            var result = invoke(connection, method, args);
+            if (result instanceof PreparedStatement prepared && method.getName().equals("prepareStatement")) {
+                return recording(prepared, (String) args[0]);
+            }
+            if (result instanceof Statement statement && method.getName().equals("createStatement")) {
+                return recording(statement);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Devolve os comandos registrados desde a última chamada
+     */
+    List<RecordedStatement> drain() {
+        var drained = List.copyOf(statements);
+        statements.clear();
+        return drained;
+    }
+
+    private PreparedStatement recording(final PreparedStatement statement, final String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        // Em lotes o plano é o mesmo para todas as linhas: registra só a primeira execução
+        var recorded = new boolean[1];
+        return proxy(PreparedStatement.class, (method, args) -> {
+            var name = method.getName();
+            if (name.equals("setNull")) {
+                parameters.put((Integer) args[0], new SqlNull((Integer) args[1]));
+            } else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, args[1]);
+            } else if (EXECUTE_METHODS.contains(name) && (args == null || args.length == 0) && !recorded[0]) {
+                statements.add(new RecordedStatement(sql, new TreeMap<>(parameters)));
+                recorded[0] = name.equals("addBatch");
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private Statement recording(final Statement statement) {
+        return proxy(Statement.class, (method, args) -> {
+            if (EXECUTE_METHODS.contains(method.getName()) && args != null && args[0] instanceof String sql) {
+                statements.add(new RecordedStatement(sql, Map.of()));
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(final Class<T> type, final Interceptor interceptor) {
+        InvocationHandler handler = (proxy, method, args) -> interceptor.intercept(method, args);
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    @FunctionalInterface
+    private interface Interceptor {
+        Object intercept(Method method, Object[] args) throws Throwable;
+    }
+
+    record SqlNull(int sqlType) {
+    }
+
+    record RecordedStatement(String sql, Map<Integer, Object> parameters) {
+
+        void bind(final PreparedStatement statement) throws SQLException {
+            for (var entry : parameters.entrySet()) {
+                if (entry.getValue() instanceof SqlNull sqlNull) {
+                    statement.setNull(entry.getKey(), sqlNull.sqlType());
+                } else {
+                    statement.setObject(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        String compactSql() {
+            return sql.replaceAll("\\s+", " ").trim();
+        }
+
+    }
+
+}
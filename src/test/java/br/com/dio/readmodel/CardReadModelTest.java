@@ -0,0 +1,223 @@
+package br.com.dio.readmodel;
+
+import br.com.dio.dto.BoardColumnDTO;
+import br.com.dio.dto.CardReadRowDTO;
+import br.com.dio.dto.CardTitleDTO;
+import br.com.dio.dto.ColumnCardsPageDTO;
+import br.com.dio.dto.EntityChangeDTO;
+import br.com.dio.event.DomainEventBus;
+import br.com.dio.persistence.dao.CardDAO;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.ChangedEntityEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static br.com.dio.event.DomainEventType.BOARD_CREATED;
+import static br.com.dio.event.DomainEventType.BOARD_DELETED;
+import static br.com.dio.event.DomainEventType.CARD_CREATED;
+import static br.com.dio.event.DomainEventType.CARD_MOVED;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes do modelo de leitura com uma origem em memória no lugar do banco
+ */
+class CardReadModelTest {
+
+    private static final OffsetDateTime T0 = OffsetDateTime.of(2025, 1, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    private FakeSource source;
+    private CardReadModel model;
+    private DomainEventBus bus;
+    private DomainEventBus.Subscription subscription;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        source = new FakeSource();
+        source.boards.put(1L, board(1, "Sprint", 10, 11, 12));
+        source.boards.put(2L, board(2, "Suporte", 20, 21, 22));
+        source.add(new CardReadRowDTO(1, 1, 10, "Login"));
+        source.add(new CardReadRowDTO(2, 1, 10, "Ação"));
+        source.add(new CardReadRowDTO(3, 1, 11, "Deploy"));
+        // Mesmo id de card em outro board, como acontece entre shards
+        source.add(new CardReadRowDTO(1, 2, 20, "Chamado"));
+        model = new CardReadModel();
+        model.load(source);
+        bus = new DomainEventBus(16);
+        subscription = bus.subscribe("read-model", model);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.close();
+    }
+
+    @Test
+    void shouldServeBoardViewWithCardsPerColumn() {
+        var board = model.boardDetails(1).orElseThrow();
+
+        assertThat(board.name()).isEqualTo("Sprint");
+        assertThat(board.columns()).extracting(BoardColumnDTO::id, BoardColumnDTO::cardsAmount)
+                .containsExactly(tuple(10L, 2), tuple(11L, 1), tuple(12L, 0));
+        assertThat(model.boardDetails(3)).isEmpty();
+    }
+
+    @Test
+    void shouldPageColumnCardsByIdWithTitlesOnly() {
+        source.add(new CardReadRowDTO(7, 1, 10, "Sétimo"));
+        source.add(new CardReadRowDTO(5, 1, 10, "Quinto"));
+        model.onChanges(List.of(change(ChangedEntityEnum.CARD, 7, 1, false), change(ChangedEntityEnum.CARD, 5, 1, false)));
+
+        var first = model.columnPage(1, 10, 0, 2).orElseThrow();
+        var second = model.columnPage(1, 10, first.nextAfter(), 2).orElseThrow();
+
+        assertThat(first.kind()).isEqualTo(INITIAL);
+        assertThat(first.cards()).containsExactly(new CardTitleDTO(1L, "Login"), new CardTitleDTO(2L, "Ação"));
+        assertThat(first.nextAfter()).isEqualTo(2L);
+        assertThat(second.cards()).extracting(CardTitleDTO::id).containsExactly(5L, 7L);
+        assertThat(second.nextAfter()).isNull();
+        assertThat(model.columnPage(1, 20, 0, 2)).isEmpty();
+    }
+
+    @Test
+    void shouldFollowWriteEvents() throws InterruptedException {
+        source.boards.put(3L, board(3, "Novo", 30, 31, 32));
+        source.add(new CardReadRowDTO(4, 1, 10, "Novo card"));
+        bus.publish(BOARD_CREATED, 3L, null, null, null);
+        bus.publish(CARD_CREATED, 1L, 4L, null, 10L);
+        bus.publish(CARD_MOVED, 1L, 1L, 10L, 11L);
+        bus.publish(BOARD_DELETED, 2L, null, null, null);
+        awaitEvents();
+
+        assertThat(page(1, 10).cards()).extracting(CardTitleDTO::id)
+                .containsExactly(2L, 4L);
+        assertThat(page(1, 11).cards()).extracting(CardTitleDTO::id)
+                .containsExactly(1L, 3L);
+        assertThat(model.boardDetails(3)).isPresent();
+        assertThat(model.boardDetails(2)).isEmpty();
+    }
+
+    @Test
+    void shouldApplyChangeFeedBatchesFromOtherProcesses() {
+        source.boards.put(3L, board(3, "Externo", 30, 31, 32));
+        source.add(new CardReadRowDTO(5, 3, 30, "Externo"));
+        source.cards.removeIf(card -> card.boardId() == 1 && card.cardId() == 2);
+        source.cards.replaceAll(card -> card.boardId() == 1 && card.cardId() == 1
+                ? new CardReadRowDTO(1, 1, 11, "Login revisado")
+                : card);
+        var changes = List.of(
+                change(ChangedEntityEnum.BOARD, 3, 3, false),
+                change(ChangedEntityEnum.CARD, 5, 3, false),
+                change(ChangedEntityEnum.CARD, 1, 1, false),
+                change(ChangedEntityEnum.CARD, 2, 1, false),
+                change(ChangedEntityEnum.BOARD, 2, 2, true));
+
+        model.onChanges(changes);
+        model.onChanges(changes);
+
+        assertThat(page(1, 10).cards()).isEmpty();
+        assertThat(page(1, 11).cards()).extracting(CardTitleDTO::id, CardTitleDTO::title)
+                .containsExactly(tuple(1L, "Login revisado"), tuple(3L, "Deploy"));
+        assertThat(page(3, 30).cards()).extracting(CardTitleDTO::id).containsExactly(5L);
+        assertThat(model.boardDetails(2)).isEmpty();
+    }
+
+    @Test
+    void shouldReuseRowsAfterBoardDeletionAndGrowBeyondOneSegment() throws Exception {
+        var store = new CardStore();
+        store.putBoard(board(1, "Grande", 10, 11, 12));
+        store.putBoard(board(2, "Outro", 20, 21, 22));
+        for (var id = 1; id <= 70_000; id++) {
+            store.addCard(new CardReadRowDTO(id, id % 2 == 0 ? 1 : 2, id % 2 == 0 ? 10 : 20, "c" + id));
+        }
+        store.removeBoard(2);
+        for (var id = 1; id <= 10_000; id += 2) {
+            store.addCard(new CardReadRowDTO(id, 1, 11, "c" + id));
+        }
+        store.moveCard(1, 2, 12);
+
+        assertThat(store.cardCount()).isEqualTo(40_000);
+        assertThat(store.boardDetails(1).orElseThrow().columns()).extracting(BoardColumnDTO::cardsAmount)
+                .containsExactly(34_999, 5_000, 1);
+        assertThat(store.columnPage(1, 12, 0, 10).orElseThrow().cards()).extracting(CardTitleDTO::title)
+                .containsExactly("c2");
+        assertThat(store.addCard(new CardReadRowDTO(2, 1, 10, "repetido"))).isFalse();
+    }
+
+    private void awaitEvents() throws InterruptedException {
+        var deadline = System.nanoTime() + 2_000_000_000L;
+        while (subscription.getLag() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private ColumnCardsPageDTO page(final long boardId, final long columnId) {
+        return model.columnPage(boardId, columnId, 0, 100).orElseThrow();
+    }
+
+    private static EntityChangeDTO change(final ChangedEntityEnum entity, final long id, final long boardId,
+                                          final boolean deleted) {
+        return new EntityChangeDTO(entity, id, boardId, T0, deleted);
+    }
+
+    private static BoardEntity board(final long id, final String name, final long... columnIds) {
+        var board = new BoardEntity();
+        board.setId(id);
+        board.setName(name);
+        BoardColumnKindEnum[] kinds = {INITIAL, FINAL, CANCEL};
+        for (var i = 0; i < columnIds.length; i++) {
+            var column = new BoardColumnEntity();
+            column.setId(columnIds[i]);
+            column.setName("Col" + columnIds[i]);
+            column.setOrder(i);
+            column.setKind(kinds[i]);
+            board.getBoardColumns().add(column);
+        }
+        return board;
+    }
+
+    private static final class FakeSource implements CardReadModelSource {
+
+        private final Map<Long, BoardEntity> boards = new HashMap<>();
+        private final List<CardReadRowDTO> cards = new ArrayList<>();
+
+        void add(final CardReadRowDTO card) {
+            cards.add(card);
+        }
+
+        @Override
+        public List<BoardEntity> loadBoards() {
+            return List.copyOf(boards.values());
+        }
+
+        @Override
+        public void streamCards(final CardDAO.ReadRowHandler handler) {
+            cards.forEach(handler::handle);
+        }
+
+        @Override
+        public Optional<BoardEntity> loadBoard(final long boardId) {
+            return Optional.ofNullable(boards.get(boardId));
+        }
+
+        @Override
+        public Optional<CardReadRowDTO> loadCard(final long boardId, final long cardId) {
+            return cards.stream().filter(card -> card.boardId() == boardId && card.cardId() == cardId).findFirst();
+        }
+
+    }
+
+}
@@ -0,0 +1,103 @@
+package br.com.dio.scheduler;
+
+import br.com.dio.persistence.config.ConnectionPool;
+import br.com.dio.persistence.config.ReplicaRouter;
+import br.com.dio.persistence.config.ReplicaSelection;
+import br.com.dio.persistence.config.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes do expurgo de boards sobre um banco H2 em memória, em partes de dois cards e sem pausa
+ */
+class BoardPurgerTest {
+
+    private ConnectionPool pool;
+    private BoardPurger purger;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var url = "jdbc:h2:mem:board-purge-%d;DB_CLOSE_DELAY=-1".formatted(System.identityHashCode(this));
+        pool = new ConnectionPool("primary", url, "sa", "", 2, 1_000);
+        execute("""
+                CREATE TABLE BOARDS (id BIGINT PRIMARY KEY, deleted_at TIMESTAMP NULL);
+                CREATE TABLE BOARDS_COLUMNS (id BIGINT PRIMARY KEY,
+                    board_id BIGINT NOT NULL REFERENCES BOARDS(id) ON DELETE CASCADE);
+                CREATE TABLE CARDS (id BIGINT PRIMARY KEY,
+                    board_column_id BIGINT NOT NULL REFERENCES BOARDS_COLUMNS(id) ON DELETE CASCADE);
+                CREATE TABLE BLOCKS (id BIGINT PRIMARY KEY, card_id BIGINT NOT NULL REFERENCES CARDS(id));
+                CREATE TABLE CARD_MOVEMENTS (id BIGINT PRIMARY KEY, card_id BIGINT NOT NULL REFERENCES CARDS(id),
+                    board_column_id BIGINT NOT NULL REFERENCES BOARDS_COLUMNS(id));
+                INSERT INTO BOARDS (id, deleted_at) VALUES (1, CURRENT_TIMESTAMP), (2, NULL);
+                INSERT INTO BOARDS_COLUMNS (id, board_id) VALUES (10, 1), (11, 1), (20, 2);
+                INSERT INTO CARDS (id, board_column_id) VALUES (1, 10), (2, 10), (3, 11), (4, 11), (5, 11), (6, 20);
+                INSERT INTO BLOCKS (id, card_id) VALUES (1, 3), (2, 6);
+                INSERT INTO CARD_MOVEMENTS (id, card_id, board_column_id) VALUES (1, 3, 10), (2, 3, 11), (3, 6, 20);
+                """);
+        var router = new ShardRouter(new ReplicaRouter(pool, List.of(), ReplicaSelection.ROUND_ROBIN, 0), Map.of(), 1_000);
+        purger = new BoardPurger(router, 2, Duration.ZERO, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        purger.close();
+        pool.close();
+    }
+
+    @Test
+    void shouldPurgeOnlyDeletedBoardsInChunks() throws Exception {
+        purger.purgePending();
+
+        assertThat(ids("BOARDS")).containsExactly(2L);
+        assertThat(ids("BOARDS_COLUMNS")).containsExactly(20L);
+        assertThat(ids("CARDS")).containsExactly(6L);
+        assertThat(ids("BLOCKS")).containsExactly(2L);
+        assertThat(ids("CARD_MOVEMENTS")).containsExactly(3L);
+        var status = purger.getStatus();
+        assertThat(status.currentBoardId()).isNull();
+        assertThat(status.purgedBoards()).isEqualTo(1);
+        assertThat(status.purgedCards()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldResumeBoardPurgedOnlyInPart() throws Exception {
+        execute("DELETE FROM CARD_MOVEMENTS WHERE card_id = 3; DELETE FROM BLOCKS WHERE card_id = 3;"
+                + " DELETE FROM CARDS WHERE id IN (1, 2, 3);");
+
+        purger.purgePending();
+        purger.purgePending();
+
+        assertThat(ids("BOARDS")).containsExactly(2L);
+        assertThat(purger.getStatus().purgedBoards()).isEqualTo(1);
+        assertThat(purger.getStatus().purgedCards()).isEqualTo(2);
+    }
+
+    private List<Long> ids(final String table) throws SQLException {
+        try (var connection = pool.lease();
+             var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT id FROM " + table + " ORDER BY id")) {
+            List<Long> ids = new ArrayList<>();
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+            return ids;
+        }
+    }
+
+    private void execute(final String sql) throws SQLException {
+        try (var connection = pool.lease(); var statement = connection.createStatement()) {
+            statement.execute(sql);
+            connection.commit();
+        }
+    }
+
+}
@@ -0,0 +1,193 @@
+package br.com.dio.scheduler;
+
+import br.com.dio.dto.DueCardDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes unitários para o índice de prazos em memória
+ */
+class DueDateIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    private MutableClock clock;
+    private DueDateIndex index;
+    private List<DueCardDTO> fired;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(TODAY.atTime(9, 0));
+        index = new DueDateIndex(clock);
+        fired = new ArrayList<>();
+        index.addListener(fired::add);
+    }
+
+    @Test
+    void shouldTreatCardAsOverdueFromTheDayAfterItsDueDate() {
+        // Given
+        index.replaceAll(List.of(card(1, TODAY.minusDays(1)), card(2, TODAY), card(3, TODAY.minusDays(5))));
+
+        // Then
+        assertThat(index.findOverdue()).extracting(DueCardDTO::cardId).containsExactly(3L, 1L);
+        assertThat(DueDateIndex.deadlineOf(TODAY)).isEqualTo(TODAY.plusDays(1).atStartOfDay());
+    }
+
+    @Test
+    void shouldFindCardsDueWithinWindowInDeadlineOrder() {
+        // Given
+        index.replaceAll(List.of(card(1, TODAY.plusDays(2)), card(2, TODAY), card(3, TODAY.plusDays(1)), card(4, TODAY.minusDays(1))));
+
+        // Then: prazo hoje vence à meia-noite (15h à frente), amanhã em 39h
+        assertThat(index.findDueWithin(Duration.ofHours(15))).extracting(DueCardDTO::cardId).containsExactly(2L);
+        assertThat(index.findDueWithin(Duration.ofHours(40))).extracting(DueCardDTO::cardId).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void shouldFireCardsOnceWhenTheirDeadlinePasses() {
+        // Given
+        index.replaceAll(List.of(card(1, TODAY), card(2, TODAY.plusDays(1))));
+
+        // When
+        assertThat(index.fireDue()).isZero();
+        clock.set(TODAY.plusDays(1).atTime(0, 0));
+        var firstRun = index.fireDue();
+        var secondRun = index.fireDue();
+
+        // Then
+        assertThat(firstRun).isEqualTo(1);
+        assertThat(secondRun).isZero();
+        assertThat(fired).extracting(DueCardDTO::cardId).containsExactly(1L);
+        assertThat(index.findOverdue()).extracting(DueCardDTO::cardId).containsExactly(1L);
+    }
+
+    @Test
+    void shouldNotFireCardsAlreadyOverdueWhenLoaded() {
+        index.replaceAll(List.of(card(1, TODAY.minusDays(3))));
+
+        assertThat(index.fireDue()).isZero();
+        assertThat(fired).isEmpty();
+    }
+
+    @Test
+    void shouldFireImmediatelyWhenPutWithPastDueDate() {
+        index.put(card(1, TODAY.minusDays(1)));
+
+        assertThat(fired).extracting(DueCardDTO::cardId).containsExactly(1L);
+    }
+
+    @Test
+    void shouldMoveCardWhenDueDateChanges() {
+        // Given
+        index.put(card(1, TODAY.plusDays(10)));
+
+        // When
+        index.put(card(1, TODAY));
+
+        // Then
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.findDueWithin(Duration.ofHours(24))).extracting(DueCardDTO::cardId).containsExactly(1L);
+        assertThat(index.findDueWithin(Duration.ofDays(30))).hasSize(1);
+    }
+
+    @Test
+    void shouldRemoveCardsAndBoards() {
+        // Given
+        index.replaceAll(List.of(card(1, TODAY), new DueCardDTO(2L, "Outro board", 7L, TODAY), card(3, TODAY)));
+
+        // When
+        index.remove(1L, 1L);
+        index.removeBoard(7L);
+        clock.set(TODAY.plusDays(1).atTime(1, 0));
+        index.fireDue();
+
+        // Then
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(fired).extracting(DueCardDTO::cardId).containsExactly(3L);
+    }
+
+    @Test
+    void shouldKeepChangesMadeWhileReloading() throws Exception {
+        // Given
+        index.replaceAll(List.of(card(1, TODAY), card(2, TODAY)));
+
+        // When: o banco foi lido antes das alterações, que chegam ao índice antes da troca
+        index.load(() -> {
+            var cards = List.of(card(1, TODAY), card(2, TODAY));
+            index.put(card(1, TODAY.plusDays(3)));
+            index.remove(1L, 2L);
+            index.put(card(3, TODAY));
+            return cards;
+        });
+
+        // Then
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.findDueWithin(Duration.ofHours(24))).extracting(DueCardDTO::cardId).containsExactly(3L);
+        assertThat(index.findDueWithin(Duration.ofDays(5))).extracting(DueCardDTO::cardId).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void shouldKeepCardsWithSameIdOnDifferentBoardsApart() {
+        // Given: ids de cards só são únicos dentro de um shard
+        var shardA = new DueCardDTO(42L, "Card do shard A", 1L, TODAY);
+        var shardB = new DueCardDTO(42L, "Card do shard B", 2L, TODAY.plusDays(2));
+        index.replaceAll(List.of(shardA, shardB));
+
+        // When
+        index.put(new DueCardDTO(42L, "Card do shard A", 1L, TODAY.minusDays(1)));
+        index.remove(1L, 42L);
+        clock.set(TODAY.plusDays(3).atTime(1, 0));
+        index.fireDue();
+
+        // Then
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(fired).extracting(DueCardDTO::title).containsExactly("Card do shard A", "Card do shard B");
+        assertThat(index.findOverdue()).containsExactly(shardB);
+    }
+
+    private static DueCardDTO card(final long id, final LocalDate dueDate) {
+        return new DueCardDTO(id, "Card " + id, 1L, dueDate);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(final LocalDateTime start) {
+            set(start);
+        }
+
+        void set(final LocalDateTime value) {
+            instant = value.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+    }
+
+}
@@ -0,0 +1,85 @@
+package br.com.dio.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes do bitmap comprimido de ids de cards, comparado com um conjunto comum
+ */
+class CardBitmapTest {
+
+    @Test
+    void shouldAddRemoveAndCountAcrossBlocks() {
+        var bitmap = CardBitmap.of(1, 2, 70_000, 5_000_000_000L);
+        bitmap.add(2);
+        bitmap.remove(70_000);
+
+        assertThat(bitmap.cardinality()).isEqualTo(3);
+        assertThat(bitmap.contains(2)).isTrue();
+        assertThat(bitmap.contains(70_000)).isFalse();
+        assertThat(bitmap.contains(5_000_000_000L)).isTrue();
+        assertThatThrownBy(() -> bitmap.add(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldSwitchDenseBlocksToWordsAndBack() {
+        var bitmap = new CardBitmap();
+        for (var id = 0; id < 6_000; id++) {
+            bitmap.add(id);
+        }
+        for (var id = 0; id < 5_000; id++) {
+            bitmap.remove(id);
+        }
+
+        assertThat(bitmap.cardinality()).isEqualTo(1_000);
+        assertThat(bitmap.contains(4_999)).isFalse();
+        assertThat(bitmap.contains(5_000)).isTrue();
+    }
+
+    @Test
+    void shouldMatchSetOperationsOnRandomData() {
+        var random = new Random(42);
+        for (var round = 0; round < 20; round++) {
+            var left = new TreeSet<Long>();
+            var right = new TreeSet<Long>();
+            // Faixas que alternam blocos esparsos (lista) e densos (mapa de bits)
+            var range = round % 2 == 0 ? 200_000 : 9_000;
+            var count = random.nextInt(8_000);
+            for (var i = 0; i < count; i++) {
+                left.add((long) random.nextInt(range));
+                right.add((long) random.nextInt(range));
+            }
+            var a = toBitmap(left);
+            var b = toBitmap(right);
+
+            var and = new TreeSet<>(left);
+            and.retainAll(right);
+            var or = new TreeSet<>(left);
+            or.addAll(right);
+            var andNot = new TreeSet<>(left);
+            andNot.removeAll(right);
+
+            assertSameIds(a.and(b), and);
+            assertSameIds(a.or(b), or);
+            assertSameIds(a.andNot(b), andNot);
+            assertThat(a.andCardinality(b)).isEqualTo(and.size());
+            assertThat(a.copy().cardinality()).isEqualTo(left.size());
+        }
+    }
+
+    private static CardBitmap toBitmap(final TreeSet<Long> ids) {
+        var bitmap = new CardBitmap();
+        ids.forEach(bitmap::add);
+        return bitmap;
+    }
+
+    private static void assertSameIds(final CardBitmap bitmap, final TreeSet<Long> expected) {
+        assertThat(bitmap.cardinality()).isEqualTo(expected.size());
+        assertThat(expected).allMatch(bitmap::contains);
+    }
+
+}
@@ -0,0 +1,127 @@
+package br.com.dio.search;
+
+import br.com.dio.dto.CardFacetRowDTO;
+import br.com.dio.dto.ColumnFacetDTO;
+import br.com.dio.event.DomainEventBus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static br.com.dio.event.DomainEventType.BOARD_DELETED;
+import static br.com.dio.event.DomainEventType.CARD_BLOCKED;
+import static br.com.dio.event.DomainEventType.CARD_CREATED;
+import static br.com.dio.event.DomainEventType.CARD_MOVED;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes do índice de facetas: carga, acompanhamento por eventos e contagens por filtro
+ */
+class CardFacetIndexTest {
+
+    private DomainEventBus bus;
+    private DomainEventBus.Subscription subscription;
+    private CardFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CardFacetIndex();
+        index.replaceAll(List.of(
+                new CardFacetRowDTO(1, 10, 100, "HIGH", true),
+                new CardFacetRowDTO(2, 10, 100, "MEDIUM", false),
+                new CardFacetRowDTO(3, 10, 101, "MEDIUM", true),
+                new CardFacetRowDTO(4, 20, 200, "LOW", false)));
+        bus = new DomainEventBus(16);
+        subscription = bus.subscribe("facets", index);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.close();
+    }
+
+    @Test
+    void shouldCountBlockedCardsPerColumnOfBoard() {
+        var facets = index.facets(criteria().boardIds(List.of(10L)).build()).orElseThrow();
+
+        assertThat(facets.total()).isEqualTo(3);
+        assertThat(facets.blocked()).isEqualTo(2);
+        assertThat(facets.columns()).containsExactly(new ColumnFacetDTO(10, 100, 2, 1), new ColumnFacetDTO(10, 101, 1, 1));
+        assertThat(facets.priorities()).containsEntry("HIGH", 1L).containsEntry("MEDIUM", 2L);
+    }
+
+    @Test
+    void shouldApplyColumnAndBlockedFilters() {
+        var facets = index.facets(criteria().boardColumnIds(List.of(100L, 200L)).isBlocked(false).build()).orElseThrow();
+
+        assertThat(facets.total()).isEqualTo(2);
+        assertThat(facets.blocked()).isZero();
+        assertThat(facets.columns()).extracting(ColumnFacetDTO::columnId).containsExactly(100L, 200L);
+    }
+
+    @Test
+    void shouldFollowCardAndBoardEvents() throws InterruptedException {
+        bus.publish(CARD_CREATED, 20L, 5L, null, 200L);
+        bus.publish(CARD_MOVED, 10L, 2L, 100L, 101L);
+        bus.publish(CARD_BLOCKED, 10L, 2L, null, 101L);
+        bus.publish(BOARD_DELETED, 20L, null, null, null);
+        bus.publish(CARD_CREATED, 30L, 6L, null, 300L);
+        awaitEvents();
+
+        var board = index.facets(criteria().boardIds(List.of(10L)).build()).orElseThrow();
+        assertThat(board.columns()).containsExactly(new ColumnFacetDTO(10, 100, 1, 1), new ColumnFacetDTO(10, 101, 2, 2));
+        var all = index.facets(criteria().build()).orElseThrow();
+        assertThat(all.total()).isEqualTo(4);
+        assertThat(all.columns()).extracting(ColumnFacetDTO::columnId).doesNotContain(200L);
+        assertThat(all.columns()).contains(new ColumnFacetDTO(30, 300, 1, 0));
+        assertThat(all.priorities()).containsEntry(CardFacetIndex.DEFAULT_PRIORITY, 3L);
+    }
+
+    @Test
+    void shouldKeepEventsDeliveredWhileReloading() throws Exception {
+        index.load(() -> {
+            // O banco foi lido antes da movimentação, que chega ao índice antes da troca
+            var rows = List.of(new CardFacetRowDTO(1, 10, 100, "HIGH", true), new CardFacetRowDTO(2, 10, 100, "MEDIUM", false));
+            bus.publish(CARD_MOVED, 10L, 2L, 100L, 101L);
+            awaitEvents();
+            return rows;
+        });
+
+        var board = index.facets(criteria().boardIds(List.of(10L)).build()).orElseThrow();
+        assertThat(board.columns()).containsExactly(new ColumnFacetDTO(10, 100, 1, 1), new ColumnFacetDTO(10, 101, 1, 0));
+    }
+
+    @Test
+    void shouldKeepColumnsWithSameIdOnDifferentBoardsApart() {
+        // Ids de colunas só são únicos dentro de um shard: a coluna 100 do board 40 não é a do board 10
+        index.replaceAll(List.of(
+                new CardFacetRowDTO(1, 10, 100, "HIGH", true),
+                new CardFacetRowDTO(1, 40, 100, "LOW", false),
+                new CardFacetRowDTO(2, 40, 100, "LOW", false)));
+
+        var all = index.facets(criteria().build()).orElseThrow();
+
+        assertThat(all.total()).isEqualTo(3);
+        assertThat(all.columns()).containsExactly(new ColumnFacetDTO(10, 100, 1, 1), new ColumnFacetDTO(40, 100, 2, 0));
+    }
+
+    @Test
+    void shouldNotAnswerFiltersOutsideTheIndex() {
+        assertThat(index.facets(criteria().titleContains("api").build())).isEmpty();
+        assertThat(index.facets(criteria().blockReasonContains("deploy").build())).isEmpty();
+        assertThat(new CardFacetIndex().facets(criteria().build())).isEmpty();
+    }
+
+    private static CardSearchCriteria.CardSearchCriteriaBuilder criteria() {
+        return CardSearchCriteria.builder().limit(50);
+    }
+
+    private void awaitEvents() throws InterruptedException {
+        var deadline = System.nanoTime() + 2_000_000_000L;
+        while (subscription.getLag() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+}
@@ -0,0 +1,124 @@
+package br.com.dio.service;
+
+import br.com.dio.persistence.config.ConnectionPool;
+import br.com.dio.persistence.config.ReplicaRouter;
+import br.com.dio.persistence.config.ReplicaSelection;
+import br.com.dio.persistence.config.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes da fachada assíncrona sobre um banco H2 em memória
+ */
+class AsyncBoardServiceTest {
+
+    private ConnectionPool pool;
+    private AsyncBoardService service;
+
+    @BeforeEach
+    void setUp() {
+        var url = "jdbc:h2:mem:async-%d;DB_CLOSE_DELAY=-1".formatted(System.identityHashCode(this));
+        pool = new ConnectionPool("primary", url, "sa", "", 4, 1_000);
+        var router = new ShardRouter(new ReplicaRouter(pool, List.of(), ReplicaSelection.ROUND_ROBIN, 0), Map.of(), 1_000);
+        service = new AsyncBoardService(router, 2, 1, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+        pool.close();
+    }
+
+    @Test
+    void shouldOverlapIndependentReads() {
+        var bothRunning = new CountDownLatch(2);
+        var first = service.read(1L, null, connection -> awaitOther(bothRunning, 1));
+        var second = service.read(2L, null, connection -> awaitOther(bothRunning, 2));
+
+        assertThat(first.thenCombine(second, Integer::sum).join()).isEqualTo(3);
+        assertThat(pool.getActiveCount()).isZero();
+    }
+
+    @Test
+    void shouldFailWithTimeoutAndInterruptRunningTask() throws InterruptedException {
+        var interrupted = new CountDownLatch(1);
+        var future = service.read(1L, null, Duration.ofMillis(100), connection -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "tarde demais";
+        });
+
+        assertThatThrownBy(future::join).isInstanceOf(CompletionException.class).hasCauseInstanceOf(TimeoutException.class);
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void shouldSkipQueuedCallWhenCancelled() {
+        var release = new CountDownLatch(1);
+        var ran = new AtomicBoolean();
+        var blockers = List.of(
+                service.read(1L, null, connection -> hold(release)),
+                service.read(2L, null, connection -> hold(release)));
+        var queued = service.read(3L, null, connection -> ran.getAndSet(true));
+
+        queued.cancel(true);
+        release.countDown();
+        blockers.forEach(CompletableFuture::join);
+
+        assertThatThrownBy(queued::join).isInstanceOf(CancellationException.class);
+        assertThat(ran).isFalse();
+    }
+
+    @Test
+    void shouldRejectCallsWhenQueueIsFull() {
+        var release = new CountDownLatch(1);
+        service.read(1L, null, connection -> hold(release));
+        service.read(2L, null, connection -> hold(release));
+        service.read(3L, null, connection -> hold(release));
+
+        var rejected = service.read(4L, null, connection -> true);
+        release.countDown();
+
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    private static boolean hold(final CountDownLatch release) {
+        try {
+            return release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static int awaitOther(final CountDownLatch bothRunning, final int value) {
+        bothRunning.countDown();
+        try {
+            if (!bothRunning.await(2, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("As leituras não rodaram ao mesmo tempo");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+
+}
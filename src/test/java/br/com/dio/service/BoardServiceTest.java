@@ -0,0 +1,76 @@
+package br.com.dio.service;
+
+import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.loadtest.EmbeddedDatabase;
+import br.com.dio.persistence.dao.BoardDAO;
+import br.com.dio.persistence.dao.BoardPurgeDAO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes da exclusão de boards sobre o schema do harness de carga em um banco H2 em memória
+ */
+class BoardServiceTest {
+
+    private Connection connection;
+    private Long boardId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var database = new EmbeddedDatabase("jdbc:h2:mem:board-service-%d;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+                .formatted(System.identityHashCode(this)));
+        database.createSchema();
+        boardId = database.seed(1, 3).get(0);
+        connection = database.getConnection();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void shouldDeleteBoardWhoseCardsWereMoved() throws SQLException {
+        var board = new BoardQueryService(connection).findById(boardId).orElseThrow();
+        var columnsInfo = board.getBoardColumns().stream()
+                .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind()))
+                .toList();
+        var cancelColumn = board.getBoardColumns().stream().filter(bc -> bc.getKind() == CANCEL).findFirst().orElseThrow();
+        var cardIds = ids("SELECT id FROM CARDS ORDER BY id");
+        var cardService = new CardService(connection);
+        cardService.moveToNextColumn(cardIds.get(0), columnsInfo);
+        cardService.moveToNextColumn(cardIds.get(0), columnsInfo);
+        cardService.cancel(cardIds.get(1), cancelColumn.getId(), columnsInfo);
+        assertThat(ids("SELECT id FROM CARD_MOVEMENTS")).hasSize(3);
+
+        assertThat(new BoardService(connection).delete(boardId)).isTrue();
+        assertThat(new BoardDAO(connection).findById(boardId)).isEmpty();
+        // Sem apagar os cards antes: as movimentações acompanham as colunas do board
+        assertThat(new BoardPurgeDAO(connection).deleteBoard(boardId)).isTrue();
+        connection.commit();
+
+        assertThat(ids("SELECT id FROM BOARDS_COLUMNS")).isEmpty();
+        assertThat(ids("SELECT id FROM CARDS")).isEmpty();
+        assertThat(ids("SELECT id FROM CARD_MOVEMENTS")).isEmpty();
+    }
+
+    private List<Long> ids(final String sql) throws SQLException {
+        try (var statement = connection.createStatement(); var resultSet = statement.executeQuery(sql)) {
+            List<Long> ids = new ArrayList<>();
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+            return ids;
+        }
+    }
+
+}
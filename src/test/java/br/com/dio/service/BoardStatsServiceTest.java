@@ -0,0 +1,109 @@
+package br.com.dio.service;
+
+import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.loadtest.EmbeddedDatabase;
+import br.com.dio.persistence.dao.BoardColumnStatsDAO;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Confere que a manutenção incremental do resumo por coluna (BOARD_COLUMN_STATS) feita pelos serviços
+ * chega ao mesmo resultado do recálculo completo, sobre o schema do harness de carga em um banco H2
+ */
+class BoardStatsServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private Connection connection;
+    private Long boardId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var database = new EmbeddedDatabase("jdbc:h2:mem:board-stats-%d;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+                .formatted(System.identityHashCode(this)));
+        database.createSchema();
+        boardId = database.seed(1, 3).get(0);
+        connection = database.getConnection();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void shouldMatchRebuildAfterCardOperations() throws SQLException {
+        var cardIds = ids();
+        // Horas só entram por carga direta: o recálculo as incorpora antes das operações
+        execute("UPDATE CARDS SET estimated_hours = 3.5 WHERE id = " + cardIds.get(0));
+        execute("UPDATE CARDS SET actual_hours = 2 WHERE id = " + cardIds.get(1));
+        new BoardStatsService(connection).rebuild(boardId);
+
+        var board = new BoardQueryService(connection).findById(boardId).orElseThrow();
+        var columnsInfo = columnsInfo(board);
+        var cancelColumnId = board.getCancelColumn().getId();
+        var service = new CardService(connection);
+        var created = new CardEntity();
+        created.setTitle("Card com prazo");
+        created.setDescription("Card criado já atrasado");
+        created.setDueDate(TODAY.minusDays(3));
+        created.setBoardColumn(board.getInitialColumn());
+        service.create(created);
+
+        service.moveToNextColumn(cardIds.get(0), columnsInfo);
+        service.moveToNextColumn(cardIds.get(0), columnsInfo);
+        service.moveToNextColumn(created.getId(), columnsInfo);
+        service.block(cardIds.get(1), "Aguardando revisão", columnsInfo);
+        service.unblock(cardIds.get(1), "Revisão concluída");
+        service.block(cardIds.get(2), "Dependência externa", columnsInfo);
+        service.cancel(cardIds.get(1), cancelColumnId, columnsInfo);
+        service.cancel(created.getId(), cancelColumnId, columnsInfo);
+        service.updateDueDate(cardIds.get(0), TODAY.minusDays(1));
+        service.updateDueDate(cardIds.get(2), TODAY.plusDays(5));
+        service.updateDueDate(created.getId(), null);
+
+        var dao = new BoardColumnStatsDAO(connection);
+        var incremental = dao.findByBoardId(boardId);
+        new BoardStatsService(connection).rebuild(boardId);
+
+        assertThat(incremental).isNotEmpty().isEqualTo(dao.findByBoardId(boardId));
+        assertThat(incremental).anySatisfy(column -> assertThat(column.overdueCards()).isEqualTo(1));
+        assertThat(incremental).anySatisfy(column -> assertThat(column.blockedCards()).isEqualTo(1));
+    }
+
+    private List<Long> ids() throws SQLException {
+        try (var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT id FROM CARDS ORDER BY id")) {
+            List<Long> ids = new ArrayList<>();
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+            return ids;
+        }
+    }
+
+    private void execute(final String sql) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.executeUpdate(sql);
+        }
+        connection.commit();
+    }
+
+    private static List<BoardColumnInfoDTO> columnsInfo(final BoardEntity board) {
+        return board.getBoardColumns().stream()
+                .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind()))
+                .toList();
+    }
+
+}
@@ -0,0 +1,78 @@
+package br.com.dio.service;
+
+import br.com.dio.loadtest.EmbeddedDatabase;
+import br.com.dio.metrics.DurationHistogram;
+import br.com.dio.persistence.dao.CardMovementDAO;
+import br.com.dio.persistence.dao.FlowStatsDAO;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes da incorporação das movimentações em FLOW_STATS sobre o schema do harness de carga em um banco H2
+ */
+class FlowAnalyticsServiceTest {
+
+    private EmbeddedDatabase database;
+    private Connection connection;
+    private Long boardId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        database = new EmbeddedDatabase("jdbc:h2:mem:flow-analytics-%d;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+                .formatted(System.identityHashCode(this)));
+        database.createSchema();
+        boardId = database.seed(1, 2).get(0);
+        connection = database.getConnection();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void shouldFoldMovementWhoseLowerIdCommitsLate() throws SQLException {
+        var columns = new BoardQueryService(connection).findById(boardId).orElseThrow().getBoardColumns().stream()
+                .map(BoardColumnEntity::getId)
+                .toList();
+        var cardIds = ids();
+        try (var longTransaction = database.getConnection()) {
+            // Given: o id menor fica com a transação mais longa, que confirma depois do id maior
+            new CardMovementDAO(longTransaction).insert(cardIds.get(0), columns.get(0), columns.get(1));
+            new CardMovementDAO(connection).insert(cardIds.get(1), columns.get(0), columns.get(1));
+            connection.commit();
+
+            // When: a movimentação confirmada ainda está dentro da folga
+            assertThat(new FlowAnalyticsService(connection, Duration.ofMinutes(1)).refresh()).isZero();
+            longTransaction.commit();
+        }
+
+        // Then: passada a folga, as duas entram
+        assertThat(new FlowAnalyticsService(connection, Duration.ZERO).refresh()).isEqualTo(2);
+        var statsDAO = new FlowStatsDAO(connection);
+        assertThat(statsDAO.findHighWaterMark()).isEqualTo(2);
+        assertThat(statsDAO.find(boardId).values()).extracting(DurationHistogram::getCount).containsExactly(2L);
+    }
+
+    private List<Long> ids() throws SQLException {
+        try (var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT id FROM CARDS ORDER BY id")) {
+            List<Long> ids = new ArrayList<>();
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+            return ids;
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package br.com.dio.service;
+
+import br.com.dio.dto.ColumnAgingDTO;
+import br.com.dio.dto.OldCardDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.PENDING;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes da consolidação do relatório de envelhecimento a partir dos resultados de cada shard
+ */
+class ReportServiceTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void shouldKeepColumnsOfEveryShardOrderedByBoard() {
+        var merged = ReportService.mergeAging(List.of(
+                List.of(column(1, 1, 1), column(1, 2, 2), column(3, 1, 3)),
+                List.of(column(2, 1, 4), column(2, 2, 5)),
+                List.of()));
+
+        assertThat(merged)
+                .extracting(ColumnAgingDTO::boardId, ColumnAgingDTO::columnId, ColumnAgingDTO::upTo7Days)
+                .containsExactly(tuple(1L, 1L, 1L), tuple(1L, 2L, 2L), tuple(2L, 1L, 4L), tuple(2L, 2L, 5L),
+                        tuple(3L, 1L, 3L));
+    }
+
+    @Test
+    void shouldSumBucketsOfSameColumn() {
+        var merged = ReportService.mergeAging(List.of(List.of(column(1, 1, 2)), List.of(column(1, 1, 3))));
+
+        assertThat(merged).singleElement().satisfies(column -> {
+            assertThat(column.upTo7Days()).isEqualTo(5);
+            assertThat(column.total()).isEqualTo(35);
+        });
+    }
+
+    @Test
+    void shouldMergeOldestCardsByCreationAndKeepTopK() {
+        var merged = ReportService.mergeOldest(List.of(
+                List.of(card(1, 1, 0), card(1, 2, 5), card(1, 3, 9)),
+                List.of(card(2, 1, 2), card(2, 2, 5), card(2, 3, 7))), 4);
+
+        assertThat(merged)
+                .extracting(OldCardDTO::boardId, OldCardDTO::id)
+                .containsExactly(tuple(1L, 1L), tuple(2L, 1L), tuple(1L, 2L), tuple(2L, 2L));
+    }
+
+    private static ColumnAgingDTO column(final long boardId, final long columnId, final long upTo7Days) {
+        return new ColumnAgingDTO(boardId, "Board " + boardId, columnId, "Coluna " + columnId,
+                columnId == 1 ? INITIAL : PENDING, upTo7Days, 5, 5, 5);
+    }
+
+    private static OldCardDTO card(final long boardId, final long id, final int hours) {
+        return new OldCardDTO(id, "Card " + id, boardId, "Board " + boardId, "Coluna", INITIAL,
+                BASE.plusHours(hours), 100);
+    }
+
+}
@@ -0,0 +1,51 @@
+package br.com.dio.service;
+
+import br.com.dio.persistence.entity.CardEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes da intercalação das páginas devolvidas por cada shard
+ */
+class ShardedCardSearchServiceTest {
+
+    @Test
+    void shouldMergeShardListsByDescendingId() {
+        var merged = ShardedCardSearchService.mergeByIdDescending(
+                List.of(cards(9, 6, 2), cards(8, 7, 1), cards()), 0, 10);
+
+        assertThat(ids(merged)).containsExactly(9L, 8L, 7L, 6L, 2L, 1L);
+    }
+
+    @Test
+    void shouldSkipOffsetAndStopAtLimit() {
+        var merged = ShardedCardSearchService.mergeByIdDescending(
+                List.of(cards(9, 6, 2), cards(8, 7, 1)), 2, 3);
+
+        assertThat(ids(merged)).containsExactly(7L, 6L, 2L);
+    }
+
+    @Test
+    void shouldReturnEmptyPageBeyondLastCard() {
+        var merged = ShardedCardSearchService.mergeByIdDescending(List.of(cards(3), cards(2)), 5, 10);
+
+        assertThat(merged).isEmpty();
+    }
+
+    private static List<CardEntity> cards(final long... ids) {
+        return Arrays.stream(ids).mapToObj(id -> {
+            var card = new CardEntity();
+            card.setId(id);
+            return card;
+        }).toList();
+    }
+
+    private static List<Long> ids(final List<CardEntity> cards) {
+        return cards.stream().map(CardEntity::getId).toList();
+    }
+
+}
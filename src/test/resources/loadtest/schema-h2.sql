@@ -0,0 +1,132 @@
+-- Schema equivalente ao gerado pelas migrações Liquibase, em dialeto aceito pelo H2 em modo MySQL
+-- Usado apenas pelo harness de carga (br.com.dio.loadtest)
+
+CREATE TABLE BOARDS(
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    created_by VARCHAR(100),
+    updated_by VARCHAR(100),
+    deleted_at TIMESTAMP NULL
+);
+
+CREATE TABLE BOARDS_COLUMNS(
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    `order` INT NOT NULL,
+    kind VARCHAR(7) NOT NULL,
+    board_id BIGINT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT boards__boards_columns_fk FOREIGN KEY (board_id) REFERENCES BOARDS(id) ON DELETE CASCADE,
+    CONSTRAINT id_order_uk UNIQUE (board_id, `order`)
+);
+
+CREATE TABLE CARDS(
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    board_column_id BIGINT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    priority ENUM('LOW', 'MEDIUM', 'HIGH', 'URGENT') DEFAULT 'MEDIUM',
+    due_date DATE,
+    estimated_hours DECIMAL(5,2),
+    actual_hours DECIMAL(5,2),
+    CONSTRAINT boards_columns__cards_fk FOREIGN KEY (board_column_id) REFERENCES BOARDS_COLUMNS(id) ON DELETE CASCADE
+);
+
+CREATE TABLE BLOCKS(
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    blocked_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    block_reason VARCHAR(255) NOT NULL,
+    unblocked_at TIMESTAMP NULL,
+    unblock_reason VARCHAR(255) NULL,
+    card_id BIGINT NOT NULL,
+    CONSTRAINT cards__blocks_fk FOREIGN KEY (card_id) REFERENCES CARDS(id) ON DELETE CASCADE
+);
+
+CREATE TABLE CARD_MOVEMENTS (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    card_id BIGINT NOT NULL,
+    from_column_id BIGINT,
+    to_column_id BIGINT NOT NULL,
+    moved_by VARCHAR(100),
+    moved_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    notes TEXT,
+    FOREIGN KEY (card_id) REFERENCES CARDS(id) ON DELETE CASCADE,
+    FOREIGN KEY (from_column_id) REFERENCES BOARDS_COLUMNS(id) ON DELETE CASCADE,
+    FOREIGN KEY (to_column_id) REFERENCES BOARDS_COLUMNS(id) ON DELETE CASCADE
+);
+
+CREATE TABLE APPLICATION_SETTINGS (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    setting_key VARCHAR(100) NOT NULL UNIQUE,
+    setting_value TEXT NOT NULL,
+    description TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE FLOW_STATS(
+    board_id BIGINT NOT NULL,
+    column_id BIGINT NOT NULL DEFAULT 0,
+    metric VARCHAR(10) NOT NULL,
+    sample_count BIGINT NOT NULL,
+    sum_seconds BIGINT NOT NULL,
+    histogram VARCHAR(1000) NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (board_id, column_id, metric),
+    CONSTRAINT boards__flow_stats_fk FOREIGN KEY (board_id) REFERENCES BOARDS(id) ON DELETE CASCADE
+);
+
+INSERT INTO APPLICATION_SETTINGS (setting_key, setting_value, description)
+VALUES ('analytics.movements.hwm', '0', 'Último id de CARD_MOVEMENTS já incorporado em FLOW_STATS');
+
+CREATE TABLE BOARD_COLUMN_STATS(
+    column_id BIGINT PRIMARY KEY,
+    board_id BIGINT NOT NULL,
+    total_cards INT NOT NULL DEFAULT 0,
+    blocked_cards INT NOT NULL DEFAULT 0,
+    overdue_cards INT NOT NULL DEFAULT 0,
+    overdue_as_of DATE NOT NULL,
+    estimated_hours_sum DECIMAL(14,2) NOT NULL DEFAULT 0,
+    estimated_count INT NOT NULL DEFAULT 0,
+    actual_hours_sum DECIMAL(14,2) NOT NULL DEFAULT 0,
+    actual_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT boards_columns__board_column_stats_fk FOREIGN KEY (column_id) REFERENCES BOARDS_COLUMNS(id) ON DELETE CASCADE,
+    CONSTRAINT boards__board_column_stats_fk FOREIGN KEY (board_id) REFERENCES BOARDS(id) ON DELETE CASCADE
+);
+
+CREATE TABLE SHARD_MAP (
+    board_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    shard VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE CHANGE_TOMBSTONES(
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity ENUM('BOARD', 'COLUMN', 'CARD') NOT NULL,
+    entity_id BIGINT NOT NULL,
+    board_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_cards_column_id ON CARDS(board_column_id, id);
+CREATE INDEX idx_cards_created_at ON CARDS(created_at);
+CREATE INDEX idx_cards_priority ON CARDS(priority);
+CREATE INDEX idx_cards_due_date ON CARDS(due_date);
+CREATE INDEX idx_boards_name ON BOARDS(name);
+CREATE INDEX idx_boards_columns_board_id ON BOARDS_COLUMNS(board_id);
+CREATE INDEX idx_blocks_card_unblocked ON BLOCKS(card_id, unblocked_at);
+CREATE INDEX idx_card_movements_card_id ON CARD_MOVEMENTS(card_id);
+CREATE INDEX idx_card_movements_moved_at ON CARD_MOVEMENTS(moved_at);
+CREATE INDEX idx_board_column_stats_board_id ON BOARD_COLUMN_STATS(board_id);
+CREATE INDEX idx_shard_map_shard ON SHARD_MAP(shard);
+CREATE INDEX idx_boards_updated_at ON BOARDS(updated_at, id);
+CREATE INDEX idx_boards_columns_updated_at ON BOARDS_COLUMNS(updated_at, id);
+CREATE INDEX idx_cards_updated_at ON CARDS(updated_at, id);
+CREATE INDEX idx_change_tombstones_deleted_at ON CHANGE_TOMBSTONES(deleted_at, id);
+CREATE INDEX idx_boards_deleted_at ON BOARDS(deleted_at);